@@ -0,0 +1,90 @@
+package uk.gov.hmcts.reform.dev;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.MigrationInfo;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Starts the whole application on a database the original code built with ddl-auto: update (db/original-schema.sql),
+// as an existing environment would be on its first deployment with migrations: Flyway baselines it at V1, applies
+// the rest, and Hibernate's ddl-auto: validate has to accept the result.
+@SpringBootTest(properties = "spring.main.lazy-initialization=false")
+@AutoConfigureMockMvc
+@Testcontainers(disabledWithoutDocker = true)
+class BaselinedSchemaStartupTest {
+
+    @Container
+    @ServiceConnection
+    static final MySQLContainer<?> MYSQL = new MySQLContainer<>("mysql:8.0")
+        .withInitScript("db/original-schema.sql");
+
+    @Autowired
+    private Flyway flyway;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void existingSchemaIsBaselinedAndMigratedToTheLatestVersion() throws Exception {
+        MigrationInfo[] applied = flyway.info().applied();
+        assertTrue(applied[0].getType().isBaseline());
+        assertEquals("1", applied[0].getVersion().getVersion());
+        assertEquals(0, flyway.info().pending().length);
+
+        mockMvc.perform(get("/actuator/health/readiness"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.status").value("UP"));
+    }
+
+    @Test
+    void existingRowsAreReadableWithAVersionAndUniqueCaseNumbers() throws Exception {
+        mockMvc.perform(get("/tasks/1"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.title").value("Existing task"))
+            .andExpect(jsonPath("$.caseNumber").value("CASE-123456"));
+        assertEquals(0, jdbcTemplate.queryForObject("select count(*) from task where version is null", Integer.class));
+
+        mockMvc.perform(get("/tasks/120"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.caseNumber").value("CASE-123456-120"));
+    }
+
+    @Test
+    void newTasksGetIdsPastTheExistingOnes() throws Exception {
+        String created = mockMvc.perform(post("/tasks")
+                                             .contentType(MediaType.APPLICATION_JSON)
+                                             .content("{\"title\":\"After migration\"}"))
+            .andExpect(status().isCreated())
+            .andReturn().getResponse().getContentAsString();
+        JsonNode task = objectMapper.readTree(created);
+
+        assertTrue(task.get("id").asLong() > 120, created);
+        mockMvc.perform(get("/tasks/" + task.get("id").asLong()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.title").value("After migration"));
+    }
+}
@@ -0,0 +1,67 @@
+package uk.gov.hmcts.reform.dev;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Starts the whole application against an empty MySQL, as a new environment would: the Flyway migrations build the
+// schema and Hibernate's ddl-auto: validate has to accept it before the context comes up. Eager initialisation makes
+// every bean that touches the database start here rather than on first use.
+@SpringBootTest(properties = "spring.main.lazy-initialization=false")
+@AutoConfigureMockMvc
+@Testcontainers(disabledWithoutDocker = true)
+class MigratedSchemaStartupTest {
+
+    @Container
+    @ServiceConnection
+    static final MySQLContainer<?> MYSQL = new MySQLContainer<>("mysql:8.0");
+
+    @Autowired
+    private Flyway flyway;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void migrationsAreAppliedAndTheApplicationIsReady() throws Exception {
+        assertEquals(0, flyway.info().pending().length);
+
+        mockMvc.perform(get("/actuator/health/readiness"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.status").value("UP"));
+    }
+
+    @Test
+    void taskIsStoredAndReadBackThroughTheMigratedSchema() throws Exception {
+        String created = mockMvc.perform(post("/tasks")
+                                             .contentType(MediaType.APPLICATION_JSON)
+                                             .content("{\"title\":\"Migrated\",\"description\":\"Migrated\"}"))
+            .andExpect(status().isCreated())
+            .andReturn().getResponse().getContentAsString();
+        JsonNode task = objectMapper.readTree(created);
+
+        mockMvc.perform(get("/tasks/" + task.get("id").asLong()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.title").value("Migrated"))
+            .andExpect(jsonPath("$.caseNumber").value(task.get("caseNumber").asText()));
+    }
+}
@@ -1,37 +1,73 @@
 package uk.gov.hmcts.reform.dev.controllers;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import org.hamcrest.Matchers;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.MockitoAnnotations;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import uk.gov.hmcts.reform.dev.codec.BinaryFormatConfig;
+import uk.gov.hmcts.reform.dev.codec.TaskProtobuf;
+import uk.gov.hmcts.reform.dev.dto.BatchItemResult;
+import uk.gov.hmcts.reform.dev.dto.BatchResponse;
+import uk.gov.hmcts.reform.dev.dto.TaskFilter;
+import uk.gov.hmcts.reform.dev.dto.TaskPage;
 import uk.gov.hmcts.reform.dev.dto.TaskRequest;
 import uk.gov.hmcts.reform.dev.dto.TaskResponse;
+import uk.gov.hmcts.reform.dev.dto.TaskStats;
+import uk.gov.hmcts.reform.dev.dto.TaskVersion;
+import uk.gov.hmcts.reform.dev.events.TaskChangeFeed;
+import uk.gov.hmcts.reform.dev.exception.IdempotencyKeyMismatchException;
+import uk.gov.hmcts.reform.dev.exception.InvalidCursorException;
+import uk.gov.hmcts.reform.dev.exception.InvalidRequestException;
+import uk.gov.hmcts.reform.dev.exception.TaskVersionConflictException;
+import uk.gov.hmcts.reform.dev.exception.TooManySubscribersException;
+import uk.gov.hmcts.reform.dev.idempotency.IdempotencyService;
+import uk.gov.hmcts.reform.dev.logging.RequestLoggingFilter;
 import uk.gov.hmcts.reform.dev.models.Status;
+import uk.gov.hmcts.reform.dev.search.TaskSearchService;
 import uk.gov.hmcts.reform.dev.service.TaskService;
+import uk.gov.hmcts.reform.dev.stats.TaskStatistics;
 
 
 import static org.mockito.ArgumentMatchers.eq;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
 
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 
 import org.mockito.Mockito;
 
 @WebMvcTest(controllers = TaskController.class)
+@Import(BinaryFormatConfig.class)
 public class ControllerTest {
 
     @Autowired
@@ -44,6 +80,18 @@ public class ControllerTest {
     @MockitoBean
     private TaskService taskService;
 
+    @MockitoBean
+    private TaskChangeFeed changeFeed;
+
+    @MockitoBean
+    private TaskSearchService searchService;
+
+    @MockitoBean
+    private TaskStatistics statistics;
+
+    @MockitoBean
+    private IdempotencyService idempotencyService;
+
     private TaskResponse sampleTask;
 
     @BeforeEach
@@ -55,6 +103,7 @@ public class ControllerTest {
         sampleTask.setTitle("Sample Task");
         sampleTask.setDescription("Sample Description");
         sampleTask.setStatus(Status.PENDING);
+        sampleTask.setVersion(7L);
     }
 
 
@@ -64,21 +113,268 @@ public class ControllerTest {
 
         mockMvc.perform(get("/tasks/1"))
             .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.ETAG, "\"7\""))
             .andExpect(jsonPath("$.id").value(1))
+            .andExpect(jsonPath("$.title").value("Sample Task"))
+            .andExpect(jsonPath("$.version").doesNotExist());
+    }
+
+
+    @Test
+    void getTasksShouldReturnPage() throws Exception {
+        Mockito.when(taskService.findTasks(any(TaskFilter.class), eq(null), eq(TaskService.DEFAULT_PAGE_SIZE)))
+            .thenReturn(new TaskPage(Collections.singletonList(sampleTask), "next"));
+
+        mockMvc.perform(get("/tasks"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.items.length()").value(1))
+            .andExpect(jsonPath("$.items[0].id").value(1))
+            .andExpect(jsonPath("$.nextCursor").value("next"));
+    }
+
+    @Test
+    void getTasksShouldNegotiateProtobuf() throws Exception {
+        Mockito.when(taskService.findTasks(any(TaskFilter.class), eq(null), eq(TaskService.DEFAULT_PAGE_SIZE)))
+            .thenReturn(new TaskPage(Collections.singletonList(sampleTask), "next"));
+
+        MvcResult result = mockMvc.perform(get("/tasks").accept(TaskProtobuf.MEDIA_TYPE))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(TaskProtobuf.MEDIA_TYPE))
+            .andReturn();
+
+        TaskPage page = TaskProtobuf.decodePage(result.getResponse().getContentAsByteArray());
+        assertEquals(1L, page.getItems().get(0).getId());
+        assertEquals("Sample Task", page.getItems().get(0).getTitle());
+        assertEquals("next", page.getNextCursor());
+    }
+
+    @Test
+    void getTaskShouldNegotiateCbor() throws Exception {
+        Mockito.when(taskService.getTaskById(1L)).thenReturn(sampleTask);
+
+        MvcResult result = mockMvc.perform(get("/tasks/1").accept(MediaType.APPLICATION_CBOR))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+            .andExpect(header().string(HttpHeaders.ETAG, "\"7-cbor\""))
+            .andExpect(header().stringValues(HttpHeaders.VARY, Matchers.hasItem(HttpHeaders.ACCEPT)))
+            .andReturn();
+
+        TaskResponse task = new ObjectMapper(new CBORFactory()).findAndRegisterModules()
+            .readValue(result.getResponse().getContentAsByteArray(), TaskResponse.class);
+        assertEquals("Sample Task", task.getTitle());
+    }
+
+    @Test
+    void getTaskShouldOnlyBeNotModifiedForTheFormatItsTagWasIssuedFor() throws Exception {
+        Mockito.when(taskService.getTaskVersion(1L)).thenReturn(new TaskVersion(7L, LocalDateTime.now()));
+        Mockito.when(taskService.getTaskById(1L)).thenReturn(sampleTask);
+
+        mockMvc.perform(get("/tasks/1").accept(MediaType.APPLICATION_CBOR)
+                            .header(HttpHeaders.IF_NONE_MATCH, "\"7\""))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.ETAG, "\"7-cbor\""));
+        mockMvc.perform(get("/tasks/1").accept(TaskProtobuf.MEDIA_TYPE)
+                            .header(HttpHeaders.IF_NONE_MATCH, "\"7-protobuf\""))
+            .andExpect(status().isNotModified())
+            .andExpect(header().string(HttpHeaders.ETAG, "\"7-protobuf\""))
+            .andExpect(header().stringValues(HttpHeaders.VARY, Matchers.hasItem(HttpHeaders.ACCEPT)));
+    }
+
+    @Test
+    void getTaskShouldDefaultToJsonWhenAnythingIsAccepted() throws Exception {
+        Mockito.when(taskService.getTaskById(1L)).thenReturn(sampleTask);
+
+        mockMvc.perform(get("/tasks/1").accept(MediaType.ALL))
+            .andExpect(status().isOk())
+            .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON));
+    }
+
+    @Test
+    void createTaskShouldAcceptProtobuf() throws Exception {
+        TaskRequest request = new TaskRequest();
+        request.setTitle("Sample Task");
+        request.setDueDate(LocalDateTime.now().plusDays(1).withNano(0));
+        Mockito.when(taskService.createTask(any(TaskRequest.class))).thenReturn(sampleTask);
+
+        mockMvc.perform(post("/tasks")
+                            .contentType(TaskProtobuf.MEDIA_TYPE)
+                            .content(TaskProtobuf.encode(request)))
+            .andExpect(status().isCreated())
             .andExpect(jsonPath("$.title").value("Sample Task"));
+
+        Mockito.verify(taskService).createTask(Mockito.argThat(received -> "Sample Task".equals(received.getTitle())
+            && request.getDueDate().equals(received.getDueDate())));
+    }
+
+    @Test
+    void getTaskShouldReturnNotModifiedWithoutLoadingTask() throws Exception {
+        Mockito.when(taskService.getTaskVersion(1L)).thenReturn(new TaskVersion(7L, LocalDateTime.now()));
+
+        mockMvc.perform(get("/tasks/1").header(HttpHeaders.IF_NONE_MATCH, "\"7\""))
+            .andExpect(status().isNotModified())
+            .andExpect(header().stringValues(HttpHeaders.VARY, Matchers.hasItem(HttpHeaders.ACCEPT)))
+            .andExpect(content().string(""));
+
+        Mockito.verify(taskService, Mockito.never()).getTaskById(any());
     }
 
+    @Test
+    void getTaskShouldReturnBodyWhenVersionChanged() throws Exception {
+        Mockito.when(taskService.getTaskVersion(1L)).thenReturn(new TaskVersion(7L, LocalDateTime.now()));
+        Mockito.when(taskService.getTaskById(1L)).thenReturn(sampleTask);
+
+        mockMvc.perform(get("/tasks/1").header(HttpHeaders.IF_NONE_MATCH, "\"6\""))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.id").value(1));
+    }
 
     @Test
-    void getAllTasksShouldReturnList() throws Exception {
-        Mockito.when(taskService.getAllTasks()).thenReturn(Collections.singletonList(sampleTask));
+    void getTasksShouldReturnNotModifiedWhenCollectionUnchanged() throws Exception {
+        Mockito.when(taskService.getTasksLastModified()).thenReturn(1_760_000_000_000L);
+
+        String etag = mockMvc.perform(get("/tasks"))
+            .andExpect(status().isOk())
+            .andExpect(header().exists(HttpHeaders.LAST_MODIFIED))
+            .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/tasks").header(HttpHeaders.IF_NONE_MATCH, etag))
+            .andExpect(status().isNotModified())
+            .andExpect(header().stringValues(HttpHeaders.VARY, Matchers.hasItem(HttpHeaders.ACCEPT)));
+        Mockito.verify(taskService, Mockito.times(1)).findTasks(any(), any(), Mockito.anyInt());
+
+        // The JSON page's tag doesn't stand for the CBOR one
+        mockMvc.perform(get("/tasks").accept(MediaType.APPLICATION_CBOR).header(HttpHeaders.IF_NONE_MATCH, etag))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.ETAG, etag.substring(0, etag.length() - 1) + "-cbor\""));
+    }
+
+    @Test
+    void getTasksShouldPassFiltersAndCursor() throws Exception {
+        Mockito.when(taskService.findTasks(any(TaskFilter.class), eq("abc"), eq(20)))
+            .thenReturn(new TaskPage(Collections.emptyList(), null));
+
+        mockMvc.perform(get("/tasks")
+                            .param("cursor", "abc")
+                            .param("limit", "20")
+                            .param("status", "PENDING")
+                            .param("caseNumberPrefix", "CASE-12"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.items.length()").value(0));
+
+        Mockito.verify(taskService).findTasks(
+            Mockito.argThat(filter -> filter.getStatus() == Status.PENDING
+                && "CASE-12".equals(filter.getCaseNumberPrefix())),
+            eq("abc"), eq(20));
+    }
+
+    @Test
+    void getTasksShouldRejectMalformedCursor() throws Exception {
+        Mockito.when(taskService.findTasks(any(TaskFilter.class), eq("bad"), eq(TaskService.DEFAULT_PAGE_SIZE)))
+            .thenThrow(new InvalidCursorException(new IllegalArgumentException("bad")));
+
+        mockMvc.perform(get("/tasks").param("cursor", "bad"))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.error").value("Invalid cursor"));
+    }
+
+    @Test
+    void internalIllegalArgumentShouldNotBeReportedAsBadRequest() throws Exception {
+        Mockito.when(taskService.findTasks(any(TaskFilter.class), isNull(), eq(TaskService.DEFAULT_PAGE_SIZE)))
+            .thenThrow(new IllegalArgumentException("No enum constant"));
 
         mockMvc.perform(get("/tasks"))
+            .andExpect(status().isInternalServerError());
+    }
+
+
+    @Test
+    void searchTasksShouldReturnRankedPage() throws Exception {
+        Mockito.when(searchService.search("sample", null, TaskSearchService.DEFAULT_PAGE_SIZE))
+            .thenReturn(new TaskPage(List.of(sampleTask), "more"));
+
+        mockMvc.perform(get("/tasks/search").param("q", "sample"))
+            .andExpect(status().isOk())
+            .andExpect(header().exists(HttpHeaders.ETAG))
+            .andExpect(jsonPath("$.items[0].title").value("Sample Task"))
+            .andExpect(jsonPath("$.nextCursor").value("more"));
+    }
+
+    @Test
+    void searchTasksShouldRejectMissingQuery() throws Exception {
+        Mockito.when(searchService.search(isNull(), isNull(), eq(TaskSearchService.DEFAULT_PAGE_SIZE)))
+            .thenThrow(new InvalidRequestException("Search query 'q' is required"));
+
+        mockMvc.perform(get("/tasks/search"))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.error").value("Search query 'q' is required"));
+    }
+
+    @Test
+    void getStatsShouldReturnCounters() throws Exception {
+        LocalDate today = LocalDate.of(2026, 3, 2);
+        Mockito.when(statistics.snapshot()).thenReturn(new TaskStats(
+            Map.of(Status.PENDING, 3L, Status.COMPLETED, 4L), 7, 1, Map.of(today, 2L), today.atStartOfDay()));
+
+        mockMvc.perform(get("/tasks/stats"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.byStatus.PENDING").value(3))
+            .andExpect(jsonPath("$.total").value(7))
+            .andExpect(jsonPath("$.overdue").value(1))
+            .andExpect(jsonPath("$.dueByDay['2026-03-02']").value(2));
+    }
+
+    @Test
+    void exportTasksShouldStreamNdjson() throws Exception {
+        Mockito.doAnswer(invocation -> {
+            Consumer<TaskResponse> sink = invocation.getArgument(0);
+            sink.accept(sampleTask);
+            sink.accept(sampleTask);
+            return 2L;
+        }).when(taskService).exportTasks(any());
+
+        MvcResult pending = mockMvc.perform(get("/tasks/export"))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+        String body = mockMvc.perform(asyncDispatch(pending))
             .andExpect(status().isOk())
-            .andExpect(jsonPath("$.length()").value(1))
-            .andExpect(jsonPath("$[0].id").value(1));
+            .andExpect(content().contentTypeCompatibleWith(TaskController.NDJSON))
+            .andReturn().getResponse().getContentAsString();
+
+        String[] lines = body.split("\n");
+        assertEquals(2, lines.length);
+        assertEquals(1L, objectMapper.readValue(lines[1], TaskResponse.class).getId());
     }
 
+    @Test
+    void responsesShouldCarryRequestId() throws Exception {
+        Mockito.when(taskService.getTaskById(1L)).thenReturn(sampleTask);
+
+        mockMvc.perform(get("/tasks/1").header(RequestLoggingFilter.REQUEST_ID_HEADER, "trace-1"))
+            .andExpect(status().isOk())
+            .andExpect(header().string(RequestLoggingFilter.REQUEST_ID_HEADER, "trace-1"));
+    }
+
+    @Test
+    void subscribeShouldResumeFromLastEventId() throws Exception {
+        Mockito.when(changeFeed.open("abc-41")).thenReturn(new SseEmitter());
+
+        mockMvc.perform(get("/tasks/events")
+                            .accept(MediaType.TEXT_EVENT_STREAM)
+                            .header("Last-Event-ID", "abc-41"))
+            .andExpect(request().asyncStarted());
+
+        Mockito.verify(changeFeed).open("abc-41");
+    }
+
+    @Test
+    void subscribeShouldShedLoadWhenFeedIsFull() throws Exception {
+        Mockito.when(changeFeed.open(isNull())).thenThrow(new TooManySubscribersException(10));
+
+        mockMvc.perform(get("/tasks/events").accept(MediaType.TEXT_EVENT_STREAM))
+            .andExpect(status().isServiceUnavailable())
+            .andExpect(header().exists(HttpHeaders.RETRY_AFTER));
+    }
 
     @Test
     void createTaskShouldReturnCreated() throws Exception {
@@ -97,11 +393,85 @@ public class ControllerTest {
             .andExpect(jsonPath("$.title").value("Sample Task"));
     }
 
+    @Test
+    void createTaskWithRepeatedIdempotencyKeyShouldReplayOriginal() throws Exception {
+        TaskRequest request = new TaskRequest();
+        request.setTitle("New Task");
+
+        Mockito.when(idempotencyService.execute(eq("retry-1"), any(TaskRequest.class), any()))
+            .thenReturn(new IdempotencyService.Result(sampleTask, true));
+
+        mockMvc.perform(post("/tasks")
+                            .header(IdempotencyService.HEADER, "retry-1")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(request)))
+            .andExpect(status().isCreated())
+            .andExpect(header().string(TaskController.IDEMPOTENT_REPLAYED, "true"))
+            .andExpect(header().string(HttpHeaders.ETAG, "\"7\""))
+            .andExpect(jsonPath("$.id").value(1));
+        Mockito.verify(taskService, Mockito.never()).createTask(any(TaskRequest.class));
+    }
+
+    @Test
+    void createTaskWithIdempotencyKeyForAnotherTaskShouldReturnUnprocessable() throws Exception {
+        TaskRequest request = new TaskRequest();
+        request.setTitle("New Task");
+
+        Mockito.when(idempotencyService.execute(eq("retry-1"), any(TaskRequest.class), any()))
+            .thenThrow(new IdempotencyKeyMismatchException("retry-1"));
+
+        mockMvc.perform(post("/tasks")
+                            .header(IdempotencyService.HEADER, "retry-1")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(request)))
+            .andExpect(status().isUnprocessableEntity())
+            .andExpect(jsonPath("$.error").exists());
+    }
+
+    @Test
+    void createTasksShouldReturnPerItemResults() throws Exception {
+        TaskRequest request = new TaskRequest();
+        request.setTitle("New Task");
+
+        Mockito.when(taskService.createTasks(any())).thenReturn(new BatchResponse(List.of(
+            new BatchItemResult(0, 1L, BatchItemResult.Outcome.CREATED, sampleTask, null))));
+
+        mockMvc.perform(post("/tasks/batch")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(List.of(request))))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.succeeded").value(1))
+            .andExpect(jsonPath("$.results[0].outcome").value("CREATED"))
+            .andExpect(jsonPath("$.results[0].task.title").value("Sample Task"));
+    }
+
+    @Test
+    void updateStatusesShouldRejectMissingStatus() throws Exception {
+        mockMvc.perform(put("/tasks/batch/status")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("{\"ids\": [1, 2]}"))
+            .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void deleteTasksShouldReturnPerItemResults() throws Exception {
+        Mockito.when(taskService.deleteTasks(List.of(1L, 2L))).thenReturn(new BatchResponse(List.of(
+            new BatchItemResult(0, 1L, BatchItemResult.Outcome.DELETED, null, null),
+            new BatchItemResult(1, 2L, BatchItemResult.Outcome.NOT_FOUND, null, null))));
+
+        mockMvc.perform(delete("/tasks/batch")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("{\"ids\": [1, 2]}"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.failed").value(1))
+            .andExpect(jsonPath("$.results[1].outcome").value("NOT_FOUND"));
+    }
+
     @Test
     void updateStatusShouldReturnUpdatedTask() throws Exception {
         sampleTask.setStatus(Status.COMPLETED);
 
-        Mockito.when(taskService.updateTaskStatus(eq(1L), eq("COMPLETED"))).thenReturn(sampleTask);
+        Mockito.when(taskService.updateTaskStatus(eq(1L), eq("COMPLETED"), isNull())).thenReturn(sampleTask);
 
         mockMvc.perform(put("/tasks/1")
                             .param("status", "COMPLETED"))
@@ -109,6 +479,77 @@ public class ControllerTest {
             .andExpect(jsonPath("$.status").value("COMPLETED"));
     }
 
+    @Test
+    void updateStatusShouldPassIfMatchVersion() throws Exception {
+        sampleTask.setStatus(Status.COMPLETED);
+        sampleTask.setVersion(8L);
+
+        Mockito.when(taskService.updateTaskStatus(eq(1L), eq("COMPLETED"), eq(7L))).thenReturn(sampleTask);
+
+        mockMvc.perform(put("/tasks/1")
+                            .param("status", "COMPLETED")
+                            .header(HttpHeaders.IF_MATCH, "\"7\""))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.ETAG, "\"8\""));
+    }
+
+    @Test
+    void updateStatusShouldAcceptATagIssuedForAnotherFormat() throws Exception {
+        sampleTask.setVersion(8L);
+        Mockito.when(taskService.updateTaskStatus(eq(1L), eq("COMPLETED"), eq(7L))).thenReturn(sampleTask);
+
+        mockMvc.perform(put("/tasks/1")
+                            .param("status", "COMPLETED")
+                            .accept(MediaType.APPLICATION_CBOR)
+                            .header(HttpHeaders.IF_MATCH, "\"7-smile\""))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.ETAG, "\"8-cbor\""));
+    }
+
+    @Test
+    void updateStatusShouldReturnPreconditionFailedOnStaleVersion() throws Exception {
+        Mockito.when(taskService.updateTaskStatus(eq(1L), eq("COMPLETED"), eq(6L)))
+            .thenThrow(new TaskVersionConflictException(1L, 6L));
+
+        mockMvc.perform(put("/tasks/1")
+                            .param("status", "COMPLETED")
+                            .header(HttpHeaders.IF_MATCH, "\"6\""))
+            .andExpect(status().isPreconditionFailed());
+    }
+
+    @Test
+    void updateStatusShouldMatchAnyVersionInTheIfMatchList() throws Exception {
+        sampleTask.setVersion(8L);
+        Mockito.when(taskService.getTaskVersion(1L)).thenReturn(new TaskVersion(7L, LocalDateTime.now()));
+        Mockito.when(taskService.updateTaskStatus(eq(1L), eq("COMPLETED"), eq(7L))).thenReturn(sampleTask);
+
+        mockMvc.perform(put("/tasks/1")
+                            .param("status", "COMPLETED")
+                            .header(HttpHeaders.IF_MATCH, "\"5\", W/\"6\",\"7\""))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.ETAG, "\"8\""));
+    }
+
+    @Test
+    void updateStatusShouldFailWhenNoListedVersionIsCurrent() throws Exception {
+        Mockito.when(taskService.getTaskVersion(1L)).thenReturn(new TaskVersion(9L, LocalDateTime.now()));
+
+        mockMvc.perform(put("/tasks/1")
+                            .param("status", "COMPLETED")
+                            .header(HttpHeaders.IF_MATCH, "\"5\", \"7\""))
+            .andExpect(status().isPreconditionFailed());
+        Mockito.verify(taskService, Mockito.never()).updateTaskStatus(any(), any(), any());
+    }
+
+    @Test
+    void updateStatusShouldNeverMatchAWeakIfMatchTag() throws Exception {
+        mockMvc.perform(put("/tasks/1")
+                            .param("status", "COMPLETED")
+                            .header(HttpHeaders.IF_MATCH, "W/\"7\""))
+            .andExpect(status().isPreconditionFailed());
+        Mockito.verify(taskService, Mockito.never()).updateTaskStatus(any(), any(), any());
+    }
+
     @Test
     void deleteTaskShouldReturnNoContent() throws Exception {
         Mockito.doNothing().when(taskService).deleteTask(1L);
@@ -0,0 +1,20 @@
+-- A production database as the original code left it: the task table ddl-auto: update created for the first Task
+-- entity (IDENTITY ids, no version), holding rows that include a case number the random generator gave out twice
+
+create table task (
+    status tinyint,
+    date_created datetime(6),
+    date_updated datetime(6),
+    due_date datetime(6),
+    id bigint not null auto_increment,
+    case_number varchar(255),
+    description varchar(255),
+    title varchar(255),
+    primary key (id)
+) engine = InnoDB;
+
+insert into task (id, case_number, title, description, status, due_date, date_created, date_updated) values
+    (1, 'CASE-123456', 'Existing task', 'Written by the original code', 0, '2030-01-01 09:00:00',
+     '2024-05-01 10:00:00', '2024-05-01 10:00:00'),
+    (2, 'CASE-654321', 'Completed task', null, 1, null, '2024-05-02 10:00:00', '2024-05-03 10:00:00'),
+    (120, 'CASE-123456', 'Repeated case number', null, 0, null, '2024-06-01 10:00:00', '2024-06-01 10:00:00');
@@ -0,0 +1,87 @@
+package uk.gov.hmcts.reform.dev.codec;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import uk.gov.hmcts.reform.dev.dto.TaskPage;
+import uk.gov.hmcts.reform.dev.dto.TaskResponse;
+import uk.gov.hmcts.reform.dev.models.Status;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Encoding and decoding a page of tasks in each format GET /tasks can negotiate, with the mappers set up as
+ * BinaryFormatConfig sets them up. The encoded size of the page in each format is printed when the trial starts.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TaskFormatBenchmark {
+
+    @Param({"json", "cbor", "smile", "protobuf"})
+    private String format;
+
+    @Param({"50", "1000"})
+    private int pageSize;
+
+    private ObjectWriter writer;
+    private ObjectReader reader;
+    private TaskPage page;
+    private byte[] encoded;
+
+    @Setup
+    public void setUp() throws IOException {
+        ObjectMapper json = Jackson2ObjectMapperBuilder.json()
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+        ObjectMapper mapper = switch (format) {
+            case "cbor" -> BinaryFormatConfig.binaryMapper(json, new CBORFactory());
+            case "smile" -> BinaryFormatConfig.binaryMapper(json, new SmileFactory());
+            default -> json;
+        };
+        writer = mapper.writerFor(TaskPage.class);
+        reader = mapper.readerFor(TaskPage.class);
+
+        LocalDateTime due = LocalDateTime.of(2030, 1, 15, 9, 30);
+        List<TaskResponse> items = new ArrayList<>(pageSize);
+        for (long i = 0; i < pageSize; i++) {
+            items.add(new TaskResponse(100000 + i, "Finish report " + i, "CASE-" + (100000 + i),
+                                       "Complete the financial report by Tuesday", Status.PENDING, due.plusHours(i)));
+        }
+        page = new TaskPage(items, "MjAzMC0wMS0xNVQwOTozMHw0Mg");
+        encoded = encode();
+        System.out.printf("%n%s, %d tasks: %d bytes%n", format, pageSize, encoded.length);
+    }
+
+    @Benchmark
+    public byte[] encode() throws IOException {
+        return "protobuf".equals(format) ? TaskProtobuf.encode(page) : writer.writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    public TaskPage decode() throws IOException {
+        return "protobuf".equals(format) ? TaskProtobuf.decodePage(encoded) : reader.readValue(encoded);
+    }
+}
@@ -0,0 +1,94 @@
+package uk.gov.hmcts.reform.dev.dto;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import uk.gov.hmcts.reform.dev.models.Status;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson (de)serialization of the task DTOs, configured the way Spring Boot configures the application mapper,
+ * including the @JsonFormat LocalDateTime patterns.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TaskJsonBenchmark {
+
+    private static final int PAGE_SIZE = 50;
+
+    private ObjectWriter responseWriter;
+    private ObjectWriter pageWriter;
+    private ObjectReader responseReader;
+    private ObjectReader requestReader;
+
+    private TaskResponse response;
+    private TaskPage page;
+    private String responseJson;
+    private String requestJson;
+
+    @Setup
+    public void setUp() throws JsonProcessingException {
+        ObjectMapper mapper = Jackson2ObjectMapperBuilder.json()
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+        responseWriter = mapper.writerFor(TaskResponse.class);
+        pageWriter = mapper.writerFor(TaskPage.class);
+        responseReader = mapper.readerFor(TaskResponse.class);
+        requestReader = mapper.readerFor(TaskRequest.class);
+
+        LocalDateTime due = LocalDateTime.of(2030, 1, 15, 9, 30);
+        response = new TaskResponse(42L, "Finish report", "CASE-123456",
+                                    "Complete the financial report by Tuesday", Status.PENDING, due);
+        List<TaskResponse> items = new ArrayList<>(PAGE_SIZE);
+        for (long i = 0; i < PAGE_SIZE; i++) {
+            items.add(new TaskResponse(i, "Finish report " + i, "CASE-" + (100000 + i),
+                                       "Complete the financial report by Tuesday", Status.PENDING, due));
+        }
+        page = new TaskPage(items, "MjAzMC0wMS0xNVQwOTozMHw0Mg");
+
+        responseJson = responseWriter.writeValueAsString(response);
+        requestJson = "{\"title\":\"Finish report\",\"description\":\"Complete the financial report by Tuesday\","
+            + "\"status\":\"PENDING\",\"dueDate\":\"2030-01-15T09:30:00\"}";
+    }
+
+    @Benchmark
+    public String serializeResponse() throws JsonProcessingException {
+        return responseWriter.writeValueAsString(response);
+    }
+
+    @Benchmark
+    public byte[] serializePage() throws JsonProcessingException {
+        return pageWriter.writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    public TaskResponse deserializeResponse() throws JsonProcessingException {
+        return responseReader.readValue(responseJson);
+    }
+
+    @Benchmark
+    public TaskRequest deserializeRequest() throws JsonProcessingException {
+        return requestReader.readValue(requestJson);
+    }
+}
@@ -0,0 +1,100 @@
+package uk.gov.hmcts.reform.dev.logging;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.FileAppender;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * What the update path paid per request for its logging, with 8 request threads contending. systemOutPrintln
+ * is the old synchronous println (twice per PUT, controller and service); asyncDebugDisabled is what replaced
+ * it at the default level; asyncInfo is an enabled line through the bounded async appender.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(8)
+@Fork(1)
+public class LoggingBenchmark {
+
+    private PrintStream synchronousOut;
+    private LoggerContext loggerContext;
+    private Logger asyncLogger;
+
+    @Setup(Level.Trial)
+    public void start() throws IOException {
+        synchronousOut = new PrintStream(new FileOutputStream(Files.createTempFile("println", ".log").toFile()), true);
+
+        loggerContext = new LoggerContext();
+        PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+        encoder.setContext(loggerContext);
+        encoder.setPattern("%d %level [%thread] [%X{requestId:-}] %logger - %msg%n");
+        encoder.start();
+
+        Path logFile = Files.createTempFile("async", ".log");
+        FileAppender<ILoggingEvent> file = new FileAppender<>();
+        file.setContext(loggerContext);
+        file.setFile(logFile.toString());
+        file.setEncoder(encoder);
+        file.start();
+
+        AsyncAppender async = new AsyncAppender();
+        async.setContext(loggerContext);
+        async.setQueueSize(8192);
+        async.setDiscardingThreshold(0);
+        async.setNeverBlock(true);
+        async.addAppender(file);
+        async.start();
+
+        asyncLogger = loggerContext.getLogger("bench");
+        asyncLogger.setAdditive(false);
+        asyncLogger.setLevel(ch.qos.logback.classic.Level.INFO);
+        asyncLogger.addAppender(async);
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        loggerContext.stop();
+        synchronousOut.close();
+    }
+
+    @Benchmark
+    public void systemOutPrintln() {
+        synchronousOut.println("DEBUG - received request: id=" + 42L + " status=" + "COMPLETED");
+        synchronousOut.println("DEBUG - received request: id=" + 42L + " status=" + "COMPLETED");
+    }
+
+    @Benchmark
+    public void asyncDebugDisabled() {
+        asyncLogger.debug("Updating task {} to {} (expected version {})", 42L, "COMPLETED", 3L);
+    }
+
+    @Benchmark
+    public void asyncInfo() {
+        asyncLogger.info("Updating task {} to {} (expected version {})", 42L, "COMPLETED", 3L);
+    }
+}
@@ -0,0 +1,92 @@
+package uk.gov.hmcts.reform.dev.metrics;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.prometheusmetrics.PrometheusConfig;
+import io.micrometer.prometheusmetrics.PrometheusMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import uk.gov.hmcts.reform.dev.Application;
+import uk.gov.hmcts.reform.dev.dto.TaskRequest;
+import uk.gov.hmcts.reform.dev.dto.TaskResponse;
+import uk.gov.hmcts.reform.dev.service.TaskService;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of the tasks.service timing on the cheapest service path, a cache hit in getTaskById. Compare the
+ * serviceTiming=false and serviceTiming=true results; recordHistogramTimer shows the timer update on its own.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MetricsOverheadBenchmark {
+
+    @Param({"false", "true"})
+    public String serviceTiming;
+
+    private ConfigurableApplicationContext context;
+    private TaskService taskService;
+    private Long taskId;
+    private Timer histogramTimer;
+
+    @Setup(Level.Trial)
+    public void start() {
+        context = new SpringApplicationBuilder(Application.class)
+            .web(WebApplicationType.NONE)
+            // as arguments, which take precedence over the MySQL datasource in application.yaml; default
+            // properties would not
+            .run(
+                "--spring.datasource.url=jdbc:h2:mem:metrics-bench;MODE=MySQL;DB_CLOSE_DELAY=-1",
+                "--spring.datasource.driver-class-name=org.h2.Driver",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.jpa.hibernate.ddl-auto=create-drop",
+                "--spring.flyway.enabled=false",
+                "--spring.jpa.show-sql=false",
+                "--tasks.metrics.service-timing=" + serviceTiming);
+        taskService = context.getBean(TaskService.class);
+
+        TaskRequest request = new TaskRequest();
+        request.setTitle("Benchmark task");
+        request.setDueDate(LocalDateTime.now().plusDays(7));
+        taskId = taskService.createTask(request).getId();
+
+        PrometheusMeterRegistry registry = new PrometheusMeterRegistry(PrometheusConfig.DEFAULT);
+        histogramTimer = Timer.builder(ServiceTimingAspect.TIMER)
+            .publishPercentileHistogram()
+            .register(registry);
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+    }
+
+    @Benchmark
+    public TaskResponse getTaskByIdCached() {
+        return taskService.getTaskById(taskId);
+    }
+
+    @Benchmark
+    public void recordHistogramTimer() {
+        histogramTimer.record(1_000, TimeUnit.NANOSECONDS);
+    }
+}
@@ -0,0 +1,74 @@
+package uk.gov.hmcts.reform.dev.search;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import uk.gov.hmcts.reform.dev.dto.TaskResponse;
+import uk.gov.hmcts.reform.dev.models.Status;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Ranking cost of the in-memory index as the task count grows, for a rare word and for two words that each appear
+ * in about half of all tasks. Every match is scored, so the common-word case grows with the table; the full-text
+ * index is what production relies on, and is measured against MySQL rather than here.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class TaskSearchBenchmark {
+
+    private static final String[] WORDS = {
+        "review", "hearing", "bundle", "witness", "statement", "file", "order", "appeal", "listing", "court",
+        "judge", "applicant", "respondent", "evidence", "draft", "serve", "notice", "payment", "transcript", "urgent"
+    };
+
+    @Param({"100000", "1000000"})
+    public int tasks;
+
+    private InMemoryTaskSearchIndex index;
+
+    @Setup(Level.Trial)
+    public void start() {
+        index = new InMemoryTaskSearchIndex();
+        SplittableRandom random = new SplittableRandom(42);
+        for (long id = 1; id <= tasks; id++) {
+            String title = words(random, 4);
+            // One task in ten thousand mentions the rare word
+            String description = words(random, 12) + (id % 10_000 == 0 ? " adjournment" : "");
+            index.index(new TaskResponse(id, title, "CASE-" + id, description, Status.PENDING, null));
+        }
+    }
+
+    @Benchmark
+    public List<Long> rareWord() {
+        return index.search("adjournment", 0, TaskSearchService.DEFAULT_PAGE_SIZE + 1);
+    }
+
+    @Benchmark
+    public List<Long> commonWords() {
+        return index.search("urgent hearing", 0, TaskSearchService.DEFAULT_PAGE_SIZE + 1);
+    }
+
+    private static String words(SplittableRandom random, int count) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            text.append(i == 0 ? "" : " ").append(WORDS[random.nextInt(WORDS.length)]);
+        }
+        return text.toString();
+    }
+}
@@ -0,0 +1,119 @@
+package uk.gov.hmcts.reform.dev.service;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import uk.gov.hmcts.reform.dev.Application;
+import uk.gov.hmcts.reform.dev.dto.TaskFilter;
+import uk.gov.hmcts.reform.dev.dto.TaskRequest;
+import uk.gov.hmcts.reform.dev.dto.TaskResponse;
+import uk.gov.hmcts.reform.dev.models.Task;
+import uk.gov.hmcts.reform.dev.repository.TaskRepository;
+import uk.gov.hmcts.reform.dev.repository.TaskSpecifications;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Entity loading plus mapping against constructor projections for the task read paths, on pages of up to 10k rows.
+ * Run with the gc profiler (configured in build.gradle) and compare gc.alloc.rate.norm, the bytes allocated per
+ * page, as well as the time.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TaskReadBenchmark {
+
+    private static final int ROWS = 10_000;
+    private static final Sort PAGE_ORDER = Sort.by(Sort.Direction.DESC, "dateUpdated", "id");
+
+    @Param({"50", "500", "10000"})
+    public int pageSize;
+
+    private ConfigurableApplicationContext context;
+    private TaskService taskService;
+    private TaskRepository taskRepository;
+    private Specification<Task> spec;
+    private Long taskId;
+
+    @Setup(Level.Trial)
+    public void start() {
+        context = new SpringApplicationBuilder(Application.class)
+            .web(WebApplicationType.NONE)
+            // as arguments, which take precedence over the MySQL datasource in application.yaml; default
+            // properties would not
+            .run(
+                "--spring.datasource.url=jdbc:h2:mem:read-bench;MODE=MySQL;DB_CLOSE_DELAY=-1",
+                "--spring.datasource.driver-class-name=org.h2.Driver",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.jpa.hibernate.ddl-auto=create-drop",
+                "--spring.flyway.enabled=false",
+                "--spring.jpa.show-sql=false",
+                "--tasks.cache.enabled=false");
+        taskService = context.getBean(TaskService.class);
+        taskRepository = context.getBean(TaskRepository.class);
+        spec = TaskSpecifications.matching(new TaskFilter());
+
+        for (int created = 0; created < ROWS; created += TaskService.MAX_BATCH_SIZE) {
+            List<TaskRequest> batch = new ArrayList<>(TaskService.MAX_BATCH_SIZE);
+            for (int i = 0; i < TaskService.MAX_BATCH_SIZE; i++) {
+                TaskRequest request = new TaskRequest();
+                request.setTitle("Benchmark task " + (created + i));
+                request.setDescription("Read by TaskReadBenchmark");
+                request.setDueDate(LocalDateTime.now().plusDays(7));
+                batch.add(request);
+            }
+            taskService.createTasks(batch);
+        }
+        taskId = taskRepository.findPage(spec, 1).get(0).getId();
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+    }
+
+    // The read path before projections: managed entities, then a TaskResponse per row
+    @Benchmark
+    public List<TaskResponse> entityPage() {
+        List<Task> rows = taskRepository.findBy(spec, query -> query.sortBy(PAGE_ORDER).limit(pageSize).all());
+        return rows.stream().map(taskService::mapToResponse).collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public List<TaskResponse> projectionPage() {
+        return taskRepository.findPage(spec, pageSize);
+    }
+
+    @Benchmark
+    public TaskResponse entityById() {
+        return taskRepository.findById(taskId).map(taskService::mapToResponse).orElseThrow();
+    }
+
+    @Benchmark
+    public TaskResponse projectionById() {
+        return taskRepository.findResponseById(taskId).orElseThrow();
+    }
+}
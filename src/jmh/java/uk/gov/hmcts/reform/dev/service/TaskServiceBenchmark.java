@@ -0,0 +1,91 @@
+package uk.gov.hmcts.reform.dev.service;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import uk.gov.hmcts.reform.dev.Application;
+import uk.gov.hmcts.reform.dev.dto.TaskRequest;
+import uk.gov.hmcts.reform.dev.dto.TaskResponse;
+import uk.gov.hmcts.reform.dev.models.Status;
+import uk.gov.hmcts.reform.dev.models.Task;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * TaskService hot paths, including case number generation, against an embedded H2 database in MySQL mode.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TaskServiceBenchmark {
+
+    private ConfigurableApplicationContext context;
+    private TaskService taskService;
+    private CaseNumberGenerator caseNumberGenerator;
+    private TaskRequest request;
+    private Task entity;
+
+    @Setup(Level.Trial)
+    public void start() {
+        context = new SpringApplicationBuilder(Application.class)
+            .web(WebApplicationType.NONE)
+            // as arguments, which take precedence over the MySQL datasource in application.yaml; default
+            // properties would not
+            .run(
+                "--spring.datasource.url=jdbc:h2:mem:bench;MODE=MySQL;DB_CLOSE_DELAY=-1",
+                "--spring.datasource.driver-class-name=org.h2.Driver",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.jpa.hibernate.ddl-auto=create-drop",
+                "--spring.flyway.enabled=false",
+                "--spring.jpa.show-sql=false",
+                "--tasks.cache.enabled=false");
+        taskService = context.getBean(TaskService.class);
+        caseNumberGenerator = context.getBean(CaseNumberGenerator.class);
+
+        request = new TaskRequest();
+        request.setTitle("Benchmark task");
+        request.setDescription("Created by TaskServiceBenchmark");
+        request.setDueDate(LocalDateTime.now().plusDays(7));
+
+        LocalDateTime now = LocalDateTime.now();
+        entity = new Task(42L, "CASE-123456", "Benchmark task", "Mapped by TaskServiceBenchmark",
+                          Status.PENDING, now.plusDays(7), now, now, 0L);
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+    }
+
+    @Benchmark
+    public TaskResponse createTask() {
+        return taskService.createTask(request);
+    }
+
+    @Benchmark
+    public TaskResponse mapToResponse() {
+        return taskService.mapToResponse(entity);
+    }
+
+    @Benchmark
+    public String nextCaseNumber() {
+        return caseNumberGenerator.next();
+    }
+}
@@ -0,0 +1,67 @@
+package uk.gov.hmcts.reform.dev.stats;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import uk.gov.hmcts.reform.dev.dto.TaskStats;
+import uk.gov.hmcts.reform.dev.models.Status;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of reading /tasks/stats and of the counter updates made on every write, with pending tasks spread over two
+ * years of due dates. statusChanged runs on 8 threads to show writers don't contend.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TaskStatisticsBenchmark {
+
+    private static final int DAYS = 730;
+
+    private TaskStatistics statistics;
+    private LocalDateTime now;
+
+    @Setup(Level.Trial)
+    public void start() {
+        // Reconciliation isn't started, so the repository is never used
+        statistics = new TaskStatistics(null, new TaskStatsProperties(), Clock.systemDefaultZone());
+        now = LocalDateTime.now();
+        for (int i = 0; i < 1_000_000; i++) {
+            statistics.added(Status.PENDING, dueDate());
+        }
+    }
+
+    @Benchmark
+    public TaskStats snapshot() {
+        return statistics.snapshot();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public void statusChanged() {
+        LocalDateTime dueDate = dueDate();
+        statistics.statusChanged(Status.PENDING, Status.COMPLETED, dueDate);
+        statistics.statusChanged(Status.COMPLETED, Status.PENDING, dueDate);
+    }
+
+    // Within a year either side of now, to the minute
+    private LocalDateTime dueDate() {
+        return now.plusMinutes(ThreadLocalRandom.current().nextLong(-DAYS / 2 * 1440L, DAYS / 2 * 1440L));
+    }
+}
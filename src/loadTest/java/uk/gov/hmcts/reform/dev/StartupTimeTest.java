@@ -0,0 +1,107 @@
+package uk.gov.hmcts.reform.dev;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Starts the application jar STARTUP_RUNS times and records how long each start takes, from launching the JVM to
+ * the readiness probe answering 200, which is what the platform waits for before routing traffic to a new pod.
+ * Run by ./gradlew startupTime against the database in DB_*; label each JVM setup with STARTUP_LABEL and give its
+ * options in STARTUP_JAVA_OPTS (e.g. -Dspring.aot.enabled=true, -XX:SharedArchiveFile=...), then compare the files
+ * written to build/startup.
+ */
+class StartupTimeTest {
+
+    private static final String JAR = env("STARTUP_JAR", System.getProperty("startup.jar"));
+    private static final String JAVA = System.getProperty("startup.java", "java");
+    private static final String JAVA_OPTS = env("STARTUP_JAVA_OPTS", "");
+    private static final int RUNS = Integer.parseInt(env("STARTUP_RUNS", "5"));
+    private static final int PORT = Integer.parseInt(env("STARTUP_PORT", "4100"));
+    private static final String LABEL = env("STARTUP_LABEL", "default");
+    private static final Duration TIMEOUT = Duration.ofMinutes(2);
+
+    @Test
+    void timeToReadiness() throws Exception {
+        Assertions.assertNotNull(JAR, "Set STARTUP_JAR or run through ./gradlew startupTime");
+        List<String> command = new ArrayList<>();
+        command.add(JAVA);
+        if (!JAVA_OPTS.isBlank()) {
+            command.addAll(Arrays.asList(JAVA_OPTS.trim().split("\\s+")));
+        }
+        command.addAll(List.of("-jar", JAR, "--server.port=" + PORT));
+
+        Path dir = Path.of("build", "startup");
+        Files.createDirectories(dir);
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(1)).build();
+        HttpRequest readiness = HttpRequest.newBuilder(
+                URI.create("http://localhost:" + PORT + "/actuator/health/readiness"))
+            .timeout(Duration.ofSeconds(5))
+            .GET()
+            .build();
+
+        long[] millis = new long[RUNS];
+        for (int run = 0; run < RUNS; run++) {
+            Process process = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(dir.resolve(LABEL + "-" + run + ".log").toFile())
+                .start();
+            long started = System.nanoTime();
+            try {
+                millis[run] = awaitReady(client, readiness, process, started);
+            } finally {
+                process.destroy();
+                if (!process.waitFor(30, TimeUnit.SECONDS)) {
+                    process.destroyForcibly().waitFor();
+                }
+            }
+        }
+
+        long[] sorted = millis.clone();
+        Arrays.sort(sorted);
+        String summary = String.format(
+            "label=%s runs=%d javaOpts=\"%s\" minMs=%d medianMs=%d maxMs=%d allMs=%s%n",
+            LABEL, RUNS, JAVA_OPTS, sorted[0], sorted[sorted.length / 2], sorted[sorted.length - 1],
+            Arrays.toString(millis));
+
+        Path out = dir.resolve("results-" + LABEL + ".txt");
+        Files.writeString(out, summary);
+        System.out.print(summary);
+    }
+
+    private static long awaitReady(HttpClient client, HttpRequest readiness, Process process, long started)
+        throws InterruptedException {
+        long deadline = started + TIMEOUT.toNanos();
+        while (System.nanoTime() < deadline) {
+            Assertions.assertTrue(process.isAlive(), () -> "Application exited with " + process.exitValue()
+                + " before becoming ready; see build/startup/" + LABEL + "-*.log");
+            try {
+                HttpResponse<Void> response = client.send(readiness, HttpResponse.BodyHandlers.discarding());
+                if (response.statusCode() == 200) {
+                    return (System.nanoTime() - started) / 1_000_000;
+                }
+            } catch (IOException ex) {
+                // not listening yet
+            }
+            Thread.sleep(50);
+        }
+        return Assertions.fail("Not ready within " + TIMEOUT);
+    }
+
+    private static String env(String name, String fallback) {
+        String value = System.getenv(name);
+        return value == null || value.isBlank() ? fallback : value;
+    }
+}
@@ -0,0 +1,111 @@
+package uk.gov.hmcts.reform.dev;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Drives many concurrent clients at a running instance and records throughput and latency percentiles.
+ * Run once against an instance started with VIRTUAL_THREADS_ENABLED=false and once with true, labelling each
+ * run with LOAD_LABEL, then compare the files written to build/load-test. The same applies to comparing the default
+ * servlet stack with the reactive profile (SPRING_PROFILES_ACTIVE=reactive). Rate limiting is off by default, so
+ * this measures raw capacity; to see the per-client limits and load shedding, start the instance with
+ * RATE_LIMIT_ENABLED=true. Each client sends its own X-Api-Key, so each is then limited separately.
+ */
+class TaskApiLoadTest {
+
+    private static final String TEST_URL = env("TEST_URL", "http://localhost:4000");
+    private static final int CLIENTS = Integer.parseInt(env("LOAD_CLIENTS", "1000"));
+    private static final int REQUESTS_PER_CLIENT = Integer.parseInt(env("LOAD_REQUESTS_PER_CLIENT", "20"));
+    private static final String PATH = env("LOAD_PATH", "/tasks?limit=20");
+    private static final String LABEL = env("LOAD_LABEL", "default");
+
+    @Test
+    void concurrentClients() throws Exception {
+        HttpClient client = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(10))
+            .executor(Executors.newVirtualThreadPerTaskExecutor())
+            .build();
+        long[] latencies = new long[CLIENTS * REQUESTS_PER_CLIENT];
+        AtomicInteger next = new AtomicInteger();
+        AtomicInteger failures = new AtomicInteger();
+
+        long started = System.nanoTime();
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<?>> running = new ArrayList<>(CLIENTS);
+            for (int c = 0; c < CLIENTS; c++) {
+                HttpRequest request = HttpRequest.newBuilder(URI.create(TEST_URL + PATH))
+                    .timeout(Duration.ofSeconds(60))
+                    .header("X-Api-Key", "load-test-" + c)
+                    .GET()
+                    .build();
+                running.add(clients.submit(() -> {
+                    for (int r = 0; r < REQUESTS_PER_CLIENT; r++) {
+                        long sent = System.nanoTime();
+                        try {
+                            HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                            if (response.statusCode() != 200) {
+                                failures.incrementAndGet();
+                            }
+                        } catch (IOException ex) {
+                            failures.incrementAndGet();
+                        } catch (InterruptedException ex) {
+                            Thread.currentThread().interrupt();
+                            return;
+                        }
+                        latencies[next.getAndIncrement()] = System.nanoTime() - sent;
+                    }
+                }));
+            }
+            for (Future<?> pending : running) {
+                pending.get();
+            }
+        }
+        long elapsed = System.nanoTime() - started;
+
+        long[] recorded = Arrays.copyOf(latencies, next.get());
+        Arrays.sort(recorded);
+        String summary = String.format(
+            "label=%s clients=%d requests=%d failures=%d elapsedMs=%d throughputPerSec=%.1f "
+                + "p50Ms=%.1f p95Ms=%.1f p99Ms=%.1f maxMs=%.1f%n",
+            LABEL, CLIENTS, recorded.length, failures.get(), elapsed / 1_000_000,
+            recorded.length / (elapsed / 1e9),
+            percentile(recorded, 0.50), percentile(recorded, 0.95), percentile(recorded, 0.99),
+            percentile(recorded, 1.0));
+
+        Path out = Path.of("build", "load-test", "results-" + LABEL + ".txt");
+        Files.createDirectories(out.getParent());
+        Files.writeString(out, summary);
+        System.out.print(summary);
+
+        Assertions.assertEquals(0, failures.get(), summary);
+    }
+
+    private static double percentile(long[] sorted, double quantile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(quantile * sorted.length) - 1;
+        return sorted[Math.max(index, 0)] / 1e6;
+    }
+
+    private static String env(String name, String fallback) {
+        String value = System.getenv(name);
+        return value == null || value.isBlank() ? fallback : value;
+    }
+}
@@ -0,0 +1,29 @@
+package uk.gov.hmcts.reform.dev.datasource;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * An H2 function standing in for a database with a fixed number of cores. A call takes the service time while no
+ * more than capacity calls are running, and proportionally longer beyond that, as the running calls share the cores.
+ */
+public final class SlowDatabase {
+
+    static volatile int capacity = 16;
+    static volatile long serviceMillis = 10;
+
+    private static final AtomicInteger RUNNING = new AtomicInteger();
+
+    private SlowDatabase() {
+    }
+
+    // Registered with: create alias slow_query for 'uk.gov.hmcts.reform.dev.datasource.SlowDatabase.query'
+    public static int query() throws InterruptedException {
+        int running = RUNNING.incrementAndGet();
+        try {
+            Thread.sleep(serviceMillis * Math.max(running, capacity) / capacity);
+            return running;
+        } finally {
+            RUNNING.decrementAndGet();
+        }
+    }
+}
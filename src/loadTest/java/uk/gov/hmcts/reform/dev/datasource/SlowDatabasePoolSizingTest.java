@@ -0,0 +1,144 @@
+package uk.gov.hmcts.reform.dev.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Runs AdaptivePoolSizer against a Hikari pool over an in-memory H2 database whose queries behave like a database
+ * with SLOW_DB_CAPACITY cores (SlowDatabase): quiet, then POOL_PEAK_CLIENTS clients at once, then quiet again. The
+ * pool should grow at the peak until waits stop or the database's own latency rises, and shrink afterwards. Each
+ * phase's throughput and pool sizes, and every resize, are written to build/pool-sizing/results.txt.
+ */
+class SlowDatabasePoolSizingTest {
+
+    private static final int CAPACITY = Integer.parseInt(env("SLOW_DB_CAPACITY", "16"));
+    private static final long SERVICE_MILLIS = Long.parseLong(env("SLOW_DB_SERVICE_MS", "10"));
+    private static final int PEAK_CLIENTS = Integer.parseInt(env("POOL_PEAK_CLIENTS", "64"));
+    private static final int QUIET_CLIENTS = 2;
+    private static final int INITIAL_SIZE = 4;
+
+    @Test
+    void poolFollowsTheLoadOnASlowDatabase() throws Exception {
+        SlowDatabase.capacity = CAPACITY;
+        SlowDatabase.serviceMillis = SERVICE_MILLIS;
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        PoolSizingProperties properties = new PoolSizingProperties();
+        properties.setMinSize(2);
+        properties.setMaxSize(48);
+        properties.setSampleInterval(Duration.ofMillis(50));
+        properties.setWindow(Duration.ofMillis(500));
+        properties.setMaxPoolWait(Duration.ofMillis(5));
+        properties.setLatencyTolerance(1.5);
+
+        StringBuilder results = new StringBuilder();
+        PhaseResult peak;
+        PhaseResult after;
+        AdaptivePoolSizer sizer;
+        try (HikariDataSource dataSource = new HikariDataSource()) {
+            dataSource.setJdbcUrl("jdbc:h2:mem:slow-db;DB_CLOSE_DELAY=-1");
+            dataSource.setUsername("sa");
+            dataSource.setPoolName("slow-db");
+            dataSource.setMaximumPoolSize(INITIAL_SIZE);
+            dataSource.setMinimumIdle(2);
+            dataSource.setMetricRegistry(meterRegistry);
+            try (Connection connection = dataSource.getConnection();
+                 Statement statement = connection.createStatement()) {
+                statement.execute("create alias if not exists slow_query for '" + SlowDatabase.class.getName()
+                                      + ".query'");
+            }
+
+            sizer = new AdaptivePoolSizer(List.of(dataSource), properties, meterRegistry);
+            sizer.start();
+            try {
+                results.append(run("quiet", dataSource, QUIET_CLIENTS, Duration.ofSeconds(5)));
+                peak = run("peak", dataSource, PEAK_CLIENTS, Duration.ofSeconds(10));
+                results.append(peak);
+                after = run("after", dataSource, QUIET_CLIENTS, Duration.ofSeconds(10));
+                results.append(after);
+            } finally {
+                sizer.shutdown();
+            }
+        }
+        sizer.report().getFirst().decisions().forEach(decision -> results.append(decision).append('\n'));
+
+        Path out = Path.of("build", "pool-sizing", "results.txt");
+        Files.createDirectories(out.getParent());
+        Files.writeString(out, results);
+        System.out.print(results);
+
+        Assertions.assertTrue(peak.largestSize() > INITIAL_SIZE, results::toString);
+        Assertions.assertTrue(peak.largestSize() <= properties.getMaxSize(), results::toString);
+        Assertions.assertTrue(after.finalSize() < peak.largestSize(), results::toString);
+    }
+
+    // Clients run queries back to back for the duration while the pool size is watched
+    private static PhaseResult run(String phase, HikariDataSource dataSource, int clients, Duration duration)
+        throws Exception {
+        long until = System.nanoTime() + duration.toNanos();
+        LongAdder queries = new LongAdder();
+        LongAdder latencyNanos = new LongAdder();
+        AtomicInteger failures = new AtomicInteger();
+        int largest = dataSource.getMaximumPoolSize();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<?>> running = new ArrayList<>(clients);
+            for (int c = 0; c < clients; c++) {
+                running.add(executor.submit(() -> {
+                    while (System.nanoTime() < until) {
+                        long started = System.nanoTime();
+                        try (Connection connection = dataSource.getConnection();
+                             Statement statement = connection.createStatement()) {
+                            statement.execute("select slow_query()");
+                            queries.increment();
+                            latencyNanos.add(System.nanoTime() - started);
+                        } catch (SQLException ex) {
+                            failures.incrementAndGet();
+                        }
+                    }
+                }));
+            }
+            while (System.nanoTime() < until) {
+                largest = Math.max(largest, dataSource.getMaximumPoolSize());
+                Thread.sleep(50);
+            }
+            for (Future<?> pending : running) {
+                pending.get();
+            }
+        }
+        long count = queries.sum();
+        return new PhaseResult(phase, clients, count, failures.get(), count / (duration.toNanos() / 1e9),
+                               count == 0 ? 0 : latencyNanos.sum() / 1e6 / count, largest,
+                               dataSource.getMaximumPoolSize());
+    }
+
+    private record PhaseResult(String phase, int clients, long queries, int failures, double throughputPerSec,
+                               double meanMs, int largestSize, int finalSize) {
+
+        @Override
+        public String toString() {
+            return String.format("phase=%s clients=%d queries=%d failures=%d throughputPerSec=%.1f meanMs=%.1f "
+                                     + "largestPoolSize=%d finalPoolSize=%d%n", phase, clients, queries, failures,
+                                 throughputPerSec, meanMs, largestSize, finalSize);
+        }
+    }
+
+    private static String env(String name, String fallback) {
+        String value = System.getenv(name);
+        return value == null || value.isBlank() ? fallback : value;
+    }
+}
@@ -0,0 +1,36 @@
+package uk.gov.hmcts.reform.dev.cache;
+
+import uk.gov.hmcts.reform.dev.dto.TaskResponse;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Process-local stand-in for a shared second tier, for tests and single-node runs.
+ */
+public class InMemoryTaskCacheTier implements TaskCacheTier {
+
+    private final Map<Long, TaskResponse> entries = new ConcurrentHashMap<>();
+
+    @Override
+    public Optional<TaskResponse> get(Long id) {
+        return Optional.ofNullable(entries.get(id));
+    }
+
+    @Override
+    public void put(TaskResponse task) {
+        entries.merge(task.getId(), task,
+                      (cached, candidate) -> TaskCacheTier.isNewerOrSame(candidate, cached) ? candidate : cached);
+    }
+
+    @Override
+    public void evict(Collection<Long> ids) {
+        ids.forEach(entries::remove);
+    }
+
+    public int size() {
+        return entries.size();
+    }
+}
@@ -0,0 +1,113 @@
+package uk.gov.hmcts.reform.dev.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+import uk.gov.hmcts.reform.dev.dto.TaskResponse;
+import uk.gov.hmcts.reform.dev.service.TransactionHooks;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Bounded read-through cache of TaskResponse by id: a local Caffeine tier in front of an optional shared tier.
+ * Loads fill the local tier only; the shared tier is filled by writes once they commit.
+ * Hit, miss and eviction counts are published as the "tasks" cache metrics.
+ */
+@Component
+public class TaskCache {
+
+    public static final String NAME = "tasks";
+
+    private final boolean enabled;
+    private final Cache<Long, TaskResponse> local;
+    private final TaskCacheTier secondTier;
+    private final Counter secondTierHits;
+    private final Counter secondTierMisses;
+
+    public TaskCache(TaskCacheProperties properties, ObjectProvider<TaskCacheTier> secondTier,
+                     MeterRegistry meterRegistry) {
+        this.enabled = properties.isEnabled();
+        this.local = Caffeine.newBuilder()
+            .maximumSize(properties.getMaximumSize())
+            .expireAfterWrite(properties.getTtl())
+            .recordStats()
+            .build();
+        this.secondTier = secondTier.getIfAvailable();
+        CaffeineCacheMetrics.monitor(meterRegistry, local, NAME);
+        this.secondTierHits = Counter.builder("tasks.cache.second.tier")
+            .tag("result", "hit")
+            .register(meterRegistry);
+        this.secondTierMisses = Counter.builder("tasks.cache.second.tier")
+            .tag("result", "miss")
+            .register(meterRegistry);
+    }
+
+    // Concurrent misses for the same id share one load
+    public TaskResponse get(Long id, Function<Long, TaskResponse> loader) {
+        if (!enabled) {
+            return loader.apply(id);
+        }
+        return local.get(id, key -> loadThroughSecondTier(key, loader));
+    }
+
+    public TaskResponse getIfPresent(Long id) {
+        return enabled ? local.getIfPresent(id) : null;
+    }
+
+    public void put(TaskResponse task) {
+        if (!enabled) {
+            return;
+        }
+        // A write inside a transaction only becomes visible on commit, so drop any stale entry now and
+        // publish the new value once the row is committed
+        evictNow(List.of(task.getId()));
+        TransactionHooks.afterCommit(() -> {
+            local.put(task.getId(), task);
+            if (secondTier != null) {
+                secondTier.put(task);
+            }
+        });
+    }
+
+    public void evict(Long id) {
+        evict(List.of(id));
+    }
+
+    public void evict(Collection<Long> ids) {
+        if (!enabled || ids.isEmpty()) {
+            return;
+        }
+        // Evict again after commit so a read racing the transaction cannot re-cache the old row
+        evictNow(ids);
+        TransactionHooks.afterCommit(() -> evictNow(ids));
+    }
+
+    private TaskResponse loadThroughSecondTier(Long id, Function<Long, TaskResponse> loader) {
+        if (secondTier == null) {
+            return loader.apply(id);
+        }
+        Optional<TaskResponse> shared = secondTier.get(id);
+        if (shared.isPresent()) {
+            secondTierHits.increment();
+            return shared.get();
+        }
+        secondTierMisses.increment();
+        // Not written back: another node may have committed a newer version, and evicted this id, since the load
+        // read the row. Only writes, after their commit, put into the shared tier.
+        return loader.apply(id);
+    }
+
+    private void evictNow(Collection<Long> ids) {
+        local.invalidateAll(ids);
+        if (secondTier != null) {
+            secondTier.evict(ids);
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package uk.gov.hmcts.reform.dev.cache;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(TaskCacheProperties.class)
+public class TaskCacheConfig {
+
+    // A shared implementation (e.g. Redis) can be plugged in by declaring any other TaskCacheTier bean
+    @Bean
+    @ConditionalOnProperty(prefix = "tasks.cache", name = "second-tier", havingValue = "in-memory")
+    public TaskCacheTier inMemoryTaskCacheTier() {
+        return new InMemoryTaskCacheTier();
+    }
+}
@@ -0,0 +1,21 @@
+package uk.gov.hmcts.reform.dev.cache;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "tasks.cache")
+public class TaskCacheProperties {
+
+    private boolean enabled = true;
+
+    // Upper bound on cached TaskResponse entries held by each node
+    private long maximumSize = 10_000;
+
+    // Also bounds how long a node can serve a status changed on another node
+    private Duration ttl = Duration.ofSeconds(30);
+}
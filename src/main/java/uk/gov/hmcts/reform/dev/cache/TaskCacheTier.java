@@ -0,0 +1,27 @@
+package uk.gov.hmcts.reform.dev.cache;
+
+import uk.gov.hmcts.reform.dev.dto.TaskResponse;
+
+import java.util.Collection;
+import java.util.Optional;
+
+/**
+ * Optional shared cache consulted when the local cache misses, e.g. Redis shared by every node.
+ * Implementations must be thread-safe and should treat failures as misses rather than throwing.
+ */
+public interface TaskCacheTier {
+
+    Optional<TaskResponse> get(Long id);
+
+    // Puts from different nodes can arrive out of commit order, so an entry must never be replaced by an older
+    // version of the task (e.g. a compare-and-set on the version in Redis); see isNewerOrSame
+    void put(TaskResponse task);
+
+    void evict(Collection<Long> ids);
+
+    // True if the candidate may replace the cached copy; an unversioned task replaces anything
+    static boolean isNewerOrSame(TaskResponse candidate, TaskResponse cached) {
+        return candidate.getVersion() == null || cached.getVersion() == null
+            || candidate.getVersion() >= cached.getVersion();
+    }
+}
@@ -0,0 +1,166 @@
+package uk.gov.hmcts.reform.dev.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import uk.gov.hmcts.reform.dev.dto.TaskPage;
+import uk.gov.hmcts.reform.dev.dto.TaskResponse;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Serialized JSON of individual tasks, and gzipped JSON of whole pages, held within a memory budget. Entries are
+ * keyed by each task's id, version and last-modified time, so a changed task simply misses and its old bytes age
+ * out; nothing has to be invalidated. A page is keyed by the keys of its tasks and its cursor.
+ *
+ * <p>Bytes served from here rather than produced again are counted by tasks.response.bytes.saved: reason
+ * serialization for task JSON that Jackson didn't have to write, reason compression for the difference between a
+ * page and its gzipped body.
+ */
+public class TaskJsonCache {
+
+    public static final String NAME = "task-json";
+
+    // Rough cost of a key, a Caffeine node and an array header, on top of the bytes themselves
+    private static final int ENTRY_OVERHEAD = 96;
+    private static final int PAGE_ITEM_OVERHEAD = 48;
+
+    private final ObjectWriter writer;
+    private final Cache<Object, Bytes> entries;
+    private final boolean cacheCompressedPages;
+    private final Counter serializationSaved;
+    private final Counter compressionSaved;
+
+    public TaskJsonCache(ObjectMapper objectMapper, TaskJsonCacheProperties properties, MeterRegistry meterRegistry) {
+        this.writer = objectMapper.writerFor(TaskResponse.class);
+        this.cacheCompressedPages = properties.isCacheCompressedPages();
+        this.entries = Caffeine.newBuilder()
+            .maximumWeight(properties.getMaximumSize().toBytes())
+            .weigher(TaskJsonCache::weigh)
+            .recordStats()
+            .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, entries, NAME);
+        Gauge.builder("tasks.response.cache.size", this, TaskJsonCache::weightedSize)
+            .baseUnit("bytes")
+            .description("Memory held by serialized tasks and compressed pages")
+            .register(meterRegistry);
+        this.serializationSaved = savedCounter(meterRegistry, "serialization");
+        this.compressionSaved = savedCounter(meterRegistry, "compression");
+    }
+
+    /**
+     * The task's JSON, as the application ObjectMapper writes it. Tasks without a version or last-modified time
+     * can't be told apart from a changed copy, so they are serialized every time.
+     */
+    public byte[] fragment(TaskResponse task) {
+        TaskKey key = key(task);
+        if (key == null) {
+            return serialize(task);
+        }
+        Bytes cached = entries.getIfPresent(key);
+        if (cached != null) {
+            serializationSaved.increment(cached.data().length);
+            return cached.data();
+        }
+        byte[] json = serialize(task);
+        entries.put(key, new Bytes(json, json.length));
+        return json;
+    }
+
+    /**
+     * The page's body gzipped: from the cache when the same tasks at the same versions were compressed before,
+     * otherwise by compressing what body supplies.
+     */
+    public byte[] compressedPage(TaskPage page, Supplier<byte[]> body) {
+        PageKey key = cacheCompressedPages ? pageKey(page) : null;
+        Bytes cached = key == null ? null : entries.getIfPresent(key);
+        if (cached == null) {
+            byte[] uncompressed = body.get();
+            cached = new Bytes(gzip(uncompressed), uncompressed.length);
+            if (key != null) {
+                entries.put(key, cached);
+            }
+        }
+        compressionSaved.increment(Math.max(cached.uncompressedLength() - cached.data().length, 0));
+        return cached.data();
+    }
+
+    long weightedSize() {
+        return entries.policy().eviction().map(eviction -> eviction.weightedSize().orElse(0)).orElse(0L);
+    }
+
+    void cleanUp() {
+        entries.cleanUp();
+    }
+
+    private byte[] serialize(TaskResponse task) {
+        try {
+            return writer.writeValueAsBytes(task);
+        } catch (JsonProcessingException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private static TaskKey key(TaskResponse task) {
+        if (task.getId() == null || task.getVersion() == null || task.getLastModified() == null) {
+            return null;
+        }
+        return new TaskKey(task.getId(), task.getVersion(), task.getLastModified());
+    }
+
+    private static PageKey pageKey(TaskPage page) {
+        List<TaskKey> items = new ArrayList<>(page.getItems().size());
+        for (TaskResponse task : page.getItems()) {
+            TaskKey key = key(task);
+            if (key == null) {
+                return null;
+            }
+            items.add(key);
+        }
+        return new PageKey(items, page.getNextCursor());
+    }
+
+    private static byte[] gzip(byte[] body) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(body.length / 4 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(body);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        return out.toByteArray();
+    }
+
+    private static int weigh(Object key, Bytes value) {
+        int keyWeight = key instanceof PageKey page ? page.items().size() * PAGE_ITEM_OVERHEAD : 0;
+        return ENTRY_OVERHEAD + keyWeight + value.data().length;
+    }
+
+    private static Counter savedCounter(MeterRegistry meterRegistry, String reason) {
+        return Counter.builder("tasks.response.bytes.saved")
+            .baseUnit("bytes")
+            .tag("reason", reason)
+            .register(meterRegistry);
+    }
+
+    private record TaskKey(Long id, Long version, LocalDateTime lastModified) {
+    }
+
+    private record PageKey(List<TaskKey> items, String nextCursor) {
+    }
+
+    private record Bytes(byte[] data, int uncompressedLength) {
+    }
+}
@@ -0,0 +1,41 @@
+package uk.gov.hmcts.reform.dev.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import uk.gov.hmcts.reform.dev.codec.TaskPageJsonHttpMessageConverter;
+
+import java.util.List;
+
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@ConditionalOnProperty(prefix = "tasks.response-cache", name = "enabled", havingValue = "true", matchIfMissing = true)
+@EnableConfigurationProperties(TaskJsonCacheProperties.class)
+public class TaskJsonCacheConfig {
+
+    @Bean
+    public TaskJsonCache taskJsonCache(ObjectMapper objectMapper, TaskJsonCacheProperties properties,
+                                       MeterRegistry meterRegistry) {
+        return new TaskJsonCache(objectMapper, properties, meterRegistry);
+    }
+
+    // Ahead of the Jackson converter, which still writes every other body and pages in the other formats
+    @Bean
+    public WebMvcConfigurer taskJsonCacheWebMvcConfigurer(ObjectMapper objectMapper, TaskJsonCache cache,
+                                                          TaskJsonCacheProperties properties) {
+        TaskPageJsonHttpMessageConverter converter = new TaskPageJsonHttpMessageConverter(
+            objectMapper, cache, properties.getCompressionThreshold().toBytes());
+        return new WebMvcConfigurer() {
+            @Override
+            public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+                converters.add(0, converter);
+            }
+        };
+    }
+}
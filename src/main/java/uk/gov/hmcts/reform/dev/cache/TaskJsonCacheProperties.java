@@ -0,0 +1,23 @@
+package uk.gov.hmcts.reform.dev.cache;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "tasks.response-cache")
+public class TaskJsonCacheProperties {
+
+    private boolean enabled = true;
+
+    // Memory each node may spend on serialized tasks and compressed pages; least recently used entries go first
+    private DataSize maximumSize = DataSize.ofMegabytes(64);
+
+    // JSON pages at least this large are gzipped for clients that send Accept-Encoding: gzip
+    private DataSize compressionThreshold = DataSize.ofKilobytes(2);
+
+    // Keep each compressed page, so a page that hasn't changed is not compressed again
+    private boolean cacheCompressedPages = true;
+}
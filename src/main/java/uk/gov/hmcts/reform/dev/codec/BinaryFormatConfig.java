@@ -0,0 +1,77 @@
+package uk.gov.hmcts.reform.dev.codec;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import uk.gov.hmcts.reform.dev.dto.TaskResponse;
+
+import java.util.List;
+
+/**
+ * Lets clients ask for a compact binary body with Accept: application/cbor, application/x-jackson-smile or
+ * application/x-protobuf. CBOR and Smile cover every endpoint that JSON does, with the application's Jackson
+ * settings; Protobuf covers the task bodies (see TaskProtobufHttpMessageConverter).
+ *
+ * <p>The converters are appended after the JSON one, so a request with no Accept header, or one that accepts
+ * anything, still gets JSON. Task responses send Vary: Accept, 304s included, so shared caches keep each format
+ * apart.
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class BinaryFormatConfig implements WebMvcConfigurer {
+
+    public static final MediaType SMILE = new MediaType("application", "x-jackson-smile");
+
+    // The formats a task or page can be written in, in the order their converters are tried
+    public static final List<MediaType> TASK_FORMATS = List.of(MediaType.APPLICATION_JSON, MediaType.APPLICATION_CBOR,
+                                                               SMILE, TaskProtobuf.MEDIA_TYPE);
+
+    private final ObjectMapper objectMapper;
+
+    public BinaryFormatConfig(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        // Spring MVC adds its own when the formats are on the classpath, with a mapper that lacks our settings
+        converters.removeIf(converter -> converter instanceof MappingJackson2CborHttpMessageConverter
+            || converter instanceof MappingJackson2SmileHttpMessageConverter);
+        converters.add(new MappingJackson2CborHttpMessageConverter(binaryMapper(objectMapper, new CBORFactory())));
+        converters.add(new MappingJackson2SmileHttpMessageConverter(binaryMapper(objectMapper, new SmileFactory())));
+        converters.add(new TaskProtobufHttpMessageConverter());
+    }
+
+    // The export and the event stream have a single fixed format
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new HandlerInterceptor() {
+            @Override
+            public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+                response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+                return true;
+            }
+        }).addPathPatterns("/tasks", "/tasks/**").excludePathPatterns("/tasks/export", "/tasks/events");
+    }
+
+    // Dates are written as numbers rather than formatted text, which is where JSON spends most of its time
+    static ObjectMapper binaryMapper(ObjectMapper objectMapper, JsonFactory factory) {
+        return objectMapper.copyWith(factory)
+            .enable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .addMixIn(TaskResponse.class, BinaryTaskResponseMixin.class);
+    }
+}
@@ -0,0 +1,16 @@
+package uk.gov.hmcts.reform.dev.codec;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+
+import java.time.LocalDateTime;
+
+/**
+ * Applied to TaskResponse by the CBOR and Smile mappers only. The JSON body formats dueDate with a text pattern;
+ * in the binary formats it is written as [year, month, day, hour, minute] in small integers instead, which is less
+ * than half the size and needs no formatting or parsing.
+ */
+abstract class BinaryTaskResponseMixin {
+
+    @JsonFormat(shape = JsonFormat.Shape.ARRAY)
+    private LocalDateTime dueDate;
+}
@@ -0,0 +1,129 @@
+package uk.gov.hmcts.reform.dev.codec;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import uk.gov.hmcts.reform.dev.cache.TaskJsonCache;
+import uk.gov.hmcts.reform.dev.dto.TaskPage;
+import uk.gov.hmcts.reform.dev.dto.TaskResponse;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Writes TaskPage as JSON by joining the cached JSON of each task (TaskJsonCache) instead of serializing every
+ * task again, so a page costs Jackson only the tasks that changed since they were last served. The output is
+ * byte-for-byte what the Jackson converter would write.
+ *
+ * <p>Pages of at least the compression threshold are sent gzipped to clients that accept it. Only pages are
+ * handled here; every other body, and pages in other formats, go through the usual converters.
+ */
+public class TaskPageJsonHttpMessageConverter extends AbstractHttpMessageConverter<TaskPage> {
+
+    private static final String GZIP = "gzip";
+    // {"items":[ ... ],"nextCursor":"..."} around the tasks, and a comma between each
+    private static final int ENVELOPE_ESTIMATE = 128;
+
+    private final ObjectMapper objectMapper;
+    private final TaskJsonCache cache;
+    private final long compressionThreshold;
+
+    public TaskPageJsonHttpMessageConverter(ObjectMapper objectMapper, TaskJsonCache cache,
+                                            long compressionThreshold) {
+        super(MediaType.APPLICATION_JSON);
+        this.objectMapper = objectMapper;
+        this.cache = cache;
+        this.compressionThreshold = compressionThreshold;
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return clazz == TaskPage.class;
+    }
+
+    @Override
+    public boolean canRead(Class<?> clazz, MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected TaskPage readInternal(Class<? extends TaskPage> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("TaskPage is not accepted as a request body", inputMessage);
+    }
+
+    @Override
+    protected void writeInternal(TaskPage page, HttpOutputMessage outputMessage) throws IOException {
+        List<byte[]> fragments = new ArrayList<>(page.getItems().size());
+        int length = ENVELOPE_ESTIMATE;
+        for (TaskResponse task : page.getItems()) {
+            byte[] fragment = cache.fragment(task);
+            fragments.add(fragment);
+            length += fragment.length + 1;
+        }
+        HttpHeaders headers = outputMessage.getHeaders();
+        headers.add(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        byte[] body;
+        if (length >= compressionThreshold && acceptsGzip()) {
+            int estimate = length;
+            body = cache.compressedPage(page, () -> assemble(page, fragments, estimate));
+            headers.set(HttpHeaders.CONTENT_ENCODING, GZIP);
+        } else {
+            body = assemble(page, fragments, length);
+        }
+        headers.setContentLength(body.length);
+        outputMessage.getBody().write(body);
+    }
+
+    // The envelope is written by a generator from the application mapper, so it follows the same settings; the
+    // tasks are copied in between as they are
+    byte[] assemble(TaskPage page, List<byte[]> fragments, int estimate) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(estimate);
+        try (JsonGenerator generator = objectMapper.createGenerator(out)) {
+            generator.writeStartObject();
+            generator.writeFieldName("items");
+            generator.writeStartArray();
+            generator.flush();
+            for (int i = 0; i < fragments.size(); i++) {
+                if (i > 0) {
+                    out.write(',');
+                }
+                out.write(fragments.get(i));
+            }
+            generator.writeEndArray();
+            generator.writeStringField("nextCursor", page.getNextCursor());
+            generator.writeEndObject();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        return out.toByteArray();
+    }
+
+    private static boolean acceptsGzip() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (!(attributes instanceof ServletRequestAttributes servlet)) {
+            return false;
+        }
+        String acceptEncoding = servlet.getRequest().getHeader(HttpHeaders.ACCEPT_ENCODING);
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.split(";");
+            if (GZIP.equalsIgnoreCase(parts[0].trim())) {
+                return parts.length == 1 || !parts[1].replace(" ", "").matches("q=0(\\.0*)?");
+            }
+        }
+        return false;
+    }
+}
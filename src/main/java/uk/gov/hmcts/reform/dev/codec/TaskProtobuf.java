@@ -0,0 +1,231 @@
+package uk.gov.hmcts.reform.dev.codec;
+
+import com.google.protobuf.CodedInputStream;
+import com.google.protobuf.CodedOutputStream;
+import com.google.protobuf.WireFormat;
+import org.springframework.http.MediaType;
+import uk.gov.hmcts.reform.dev.dto.TaskPage;
+import uk.gov.hmcts.reform.dev.dto.TaskRequest;
+import uk.gov.hmcts.reform.dev.dto.TaskResponse;
+import uk.gov.hmcts.reform.dev.models.Status;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Protobuf wire encoding of the task DTOs, to the schema in proto/task.proto. Written against CodedOutputStream and
+ * CodedInputStream directly rather than through generated message classes, so responses are encoded straight from
+ * the DTOs the service already returns without building a copy of each one first.
+ *
+ * <p>Absent (null) fields are left out and decode back to null. Unknown fields are skipped, so older readers accept
+ * messages from a newer schema.
+ */
+public final class TaskProtobuf {
+
+    public static final MediaType MEDIA_TYPE = new MediaType("application", "x-protobuf");
+
+    // TaskResponse
+    private static final int ID = 1;
+    private static final int TITLE = 2;
+    private static final int CASE_NUMBER = 3;
+    private static final int DESCRIPTION = 4;
+    private static final int STATUS = 5;
+    private static final int DUE_DATE = 6;
+
+    // TaskPage
+    private static final int ITEMS = 1;
+    private static final int NEXT_CURSOR = 2;
+
+    // TaskRequest
+    private static final int REQUEST_TITLE = 1;
+    private static final int REQUEST_DESCRIPTION = 2;
+    private static final int REQUEST_DUE_DATE = 3;
+
+    private static final Status[] STATUSES = Status.values();
+
+    private TaskProtobuf() {
+    }
+
+    public static byte[] encode(TaskResponse task) throws IOException {
+        byte[] bytes = new byte[size(task)];
+        CodedOutputStream out = CodedOutputStream.newInstance(bytes);
+        write(task, out);
+        out.checkNoSpaceLeft();
+        return bytes;
+    }
+
+    public static byte[] encode(TaskPage page) throws IOException {
+        byte[] bytes = new byte[size(page)];
+        CodedOutputStream out = CodedOutputStream.newInstance(bytes);
+        write(page, out);
+        out.checkNoSpaceLeft();
+        return bytes;
+    }
+
+    public static byte[] encode(TaskRequest request) throws IOException {
+        byte[] bytes = new byte[size(request)];
+        CodedOutputStream out = CodedOutputStream.newInstance(bytes);
+        write(request, out);
+        out.checkNoSpaceLeft();
+        return bytes;
+    }
+
+    public static TaskResponse decodeResponse(byte[] bytes) throws IOException {
+        return readResponse(CodedInputStream.newInstance(bytes));
+    }
+
+    public static TaskPage decodePage(byte[] bytes) throws IOException {
+        return readPage(CodedInputStream.newInstance(bytes));
+    }
+
+    public static TaskRequest decodeRequest(byte[] bytes) throws IOException {
+        return readRequest(CodedInputStream.newInstance(bytes));
+    }
+
+    static int size(TaskResponse task) {
+        int size = 0;
+        if (task.getId() != null) {
+            size += CodedOutputStream.computeInt64Size(ID, task.getId());
+        }
+        size += stringSize(TITLE, task.getTitle());
+        size += stringSize(CASE_NUMBER, task.getCaseNumber());
+        size += stringSize(DESCRIPTION, task.getDescription());
+        if (task.getStatus() != null) {
+            size += CodedOutputStream.computeEnumSize(STATUS, task.getStatus().ordinal() + 1);
+        }
+        if (task.getDueDate() != null) {
+            size += CodedOutputStream.computeInt64Size(DUE_DATE, seconds(task.getDueDate()));
+        }
+        return size;
+    }
+
+    static int size(TaskPage page) {
+        int size = 0;
+        if (page.getItems() != null) {
+            for (TaskResponse item : page.getItems()) {
+                size += messageSize(ITEMS, size(item));
+            }
+        }
+        return size + stringSize(NEXT_CURSOR, page.getNextCursor());
+    }
+
+    static int size(TaskRequest request) {
+        int size = stringSize(REQUEST_TITLE, request.getTitle());
+        size += stringSize(REQUEST_DESCRIPTION, request.getDescription());
+        if (request.getDueDate() != null) {
+            size += CodedOutputStream.computeInt64Size(REQUEST_DUE_DATE, seconds(request.getDueDate()));
+        }
+        return size;
+    }
+
+    static void write(TaskResponse task, CodedOutputStream out) throws IOException {
+        if (task.getId() != null) {
+            out.writeInt64(ID, task.getId());
+        }
+        writeString(out, TITLE, task.getTitle());
+        writeString(out, CASE_NUMBER, task.getCaseNumber());
+        writeString(out, DESCRIPTION, task.getDescription());
+        if (task.getStatus() != null) {
+            out.writeEnum(STATUS, task.getStatus().ordinal() + 1);
+        }
+        if (task.getDueDate() != null) {
+            out.writeInt64(DUE_DATE, seconds(task.getDueDate()));
+        }
+    }
+
+    // Each item is length-prefixed, so its size is worked out before it is written
+    static void write(TaskPage page, CodedOutputStream out) throws IOException {
+        if (page.getItems() != null) {
+            for (TaskResponse item : page.getItems()) {
+                out.writeTag(ITEMS, WireFormat.WIRETYPE_LENGTH_DELIMITED);
+                out.writeUInt32NoTag(size(item));
+                write(item, out);
+            }
+        }
+        writeString(out, NEXT_CURSOR, page.getNextCursor());
+    }
+
+    static void write(TaskRequest request, CodedOutputStream out) throws IOException {
+        writeString(out, REQUEST_TITLE, request.getTitle());
+        writeString(out, REQUEST_DESCRIPTION, request.getDescription());
+        if (request.getDueDate() != null) {
+            out.writeInt64(REQUEST_DUE_DATE, seconds(request.getDueDate()));
+        }
+    }
+
+    static TaskResponse readResponse(CodedInputStream in) throws IOException {
+        TaskResponse task = new TaskResponse();
+        for (int tag = in.readTag(); tag != 0; tag = in.readTag()) {
+            switch (WireFormat.getTagFieldNumber(tag)) {
+                case ID -> task.setId(in.readInt64());
+                case TITLE -> task.setTitle(in.readString());
+                case CASE_NUMBER -> task.setCaseNumber(in.readString());
+                case DESCRIPTION -> task.setDescription(in.readString());
+                case STATUS -> task.setStatus(status(in.readEnum()));
+                case DUE_DATE -> task.setDueDate(dateTime(in.readInt64()));
+                default -> in.skipField(tag);
+            }
+        }
+        return task;
+    }
+
+    static TaskPage readPage(CodedInputStream in) throws IOException {
+        List<TaskResponse> items = new ArrayList<>();
+        String nextCursor = null;
+        for (int tag = in.readTag(); tag != 0; tag = in.readTag()) {
+            switch (WireFormat.getTagFieldNumber(tag)) {
+                case ITEMS -> {
+                    int limit = in.pushLimit(in.readRawVarint32());
+                    items.add(readResponse(in));
+                    in.popLimit(limit);
+                }
+                case NEXT_CURSOR -> nextCursor = in.readString();
+                default -> in.skipField(tag);
+            }
+        }
+        return new TaskPage(items, nextCursor);
+    }
+
+    static TaskRequest readRequest(CodedInputStream in) throws IOException {
+        TaskRequest request = new TaskRequest();
+        for (int tag = in.readTag(); tag != 0; tag = in.readTag()) {
+            switch (WireFormat.getTagFieldNumber(tag)) {
+                case REQUEST_TITLE -> request.setTitle(in.readString());
+                case REQUEST_DESCRIPTION -> request.setDescription(in.readString());
+                case REQUEST_DUE_DATE -> request.setDueDate(dateTime(in.readInt64()));
+                default -> in.skipField(tag);
+            }
+        }
+        return request;
+    }
+
+    private static int stringSize(int field, String value) {
+        return value == null ? 0 : CodedOutputStream.computeStringSize(field, value);
+    }
+
+    private static int messageSize(int field, int size) {
+        return CodedOutputStream.computeTagSize(field) + CodedOutputStream.computeUInt32SizeNoTag(size) + size;
+    }
+
+    private static void writeString(CodedOutputStream out, int field, String value) throws IOException {
+        if (value != null) {
+            out.writeString(field, value);
+        }
+    }
+
+    // 0 is STATUS_UNSPECIFIED; values this side doesn't know yet are treated the same way
+    private static Status status(int value) {
+        return value > 0 && value <= STATUSES.length ? STATUSES[value - 1] : null;
+    }
+
+    private static long seconds(LocalDateTime dateTime) {
+        return dateTime.toEpochSecond(ZoneOffset.UTC);
+    }
+
+    private static LocalDateTime dateTime(long seconds) {
+        return LocalDateTime.ofEpochSecond(seconds, 0, ZoneOffset.UTC);
+    }
+}
@@ -0,0 +1,72 @@
+package uk.gov.hmcts.reform.dev.codec;
+
+import com.google.protobuf.CodedInputStream;
+import com.google.protobuf.CodedOutputStream;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import uk.gov.hmcts.reform.dev.dto.TaskPage;
+import uk.gov.hmcts.reform.dev.dto.TaskRequest;
+import uk.gov.hmcts.reform.dev.dto.TaskResponse;
+
+import java.io.IOException;
+
+/**
+ * Reads TaskRequest and writes TaskResponse and TaskPage as application/x-protobuf. Other bodies, error responses
+ * included, are left to the JSON and Jackson binary converters, so clients should also accept one of those.
+ */
+public class TaskProtobufHttpMessageConverter extends AbstractHttpMessageConverter<Object> {
+
+    public TaskProtobufHttpMessageConverter() {
+        super(TaskProtobuf.MEDIA_TYPE);
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return clazz == TaskResponse.class || clazz == TaskPage.class || clazz == TaskRequest.class;
+    }
+
+    @Override
+    protected boolean canRead(MediaType mediaType) {
+        return mediaType != null && super.canRead(mediaType);
+    }
+
+    @Override
+    public boolean canRead(Class<?> clazz, MediaType mediaType) {
+        return clazz == TaskRequest.class && canRead(mediaType);
+    }
+
+    @Override
+    public boolean canWrite(Class<?> clazz, MediaType mediaType) {
+        return (clazz == TaskResponse.class || clazz == TaskPage.class) && canWrite(mediaType);
+    }
+
+    @Override
+    protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage) throws IOException {
+        try {
+            return TaskProtobuf.readRequest(CodedInputStream.newInstance(inputMessage.getBody()));
+        } catch (IOException ex) {
+            throw new HttpMessageNotReadableException("Invalid protobuf TaskRequest: " + ex.getMessage(), ex,
+                                                      inputMessage);
+        }
+    }
+
+    @Override
+    protected Long getContentLength(Object body, MediaType contentType) {
+        return (long) (body instanceof TaskPage page ? TaskProtobuf.size(page)
+            : TaskProtobuf.size((TaskResponse) body));
+    }
+
+    @Override
+    protected void writeInternal(Object body, HttpOutputMessage outputMessage) throws IOException {
+        CodedOutputStream out = CodedOutputStream.newInstance(outputMessage.getBody());
+        if (body instanceof TaskPage page) {
+            TaskProtobuf.write(page, out);
+        } else {
+            TaskProtobuf.write((TaskResponse) body, out);
+        }
+        out.flush();
+    }
+}
@@ -0,0 +1,37 @@
+package uk.gov.hmcts.reform.dev.config;
+
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationInitializer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import uk.gov.hmcts.reform.dev.datasource.AdaptivePoolSizer;
+import uk.gov.hmcts.reform.dev.datasource.ReplicaLagMonitor;
+import uk.gov.hmcts.reform.dev.events.TaskChangeFeed;
+import uk.gov.hmcts.reform.dev.idempotency.IdempotencyService;
+import uk.gov.hmcts.reform.dev.overdue.OverdueTaskSweeper;
+import uk.gov.hmcts.reform.dev.ratelimit.AdaptiveConcurrencyLimiter;
+import uk.gov.hmcts.reform.dev.stats.TaskStatistics;
+
+/**
+ * With spring.main.lazy-initialization most beans are created on first use rather than before the application
+ * reports ready. The ones listed here start their background work (or, for the migrations, make the schema
+ * valid) when created, so they are still created at startup. Lifecycle beans, runners and
+ * SmartInitializingSingleton beans are started by Spring Boot regardless.
+ */
+@Configuration
+public class StartupConfig {
+
+    // static: read while bean definitions are still being post-processed
+    @Bean
+    static LazyInitializationExcludeFilter backgroundWorkIsStartedEagerly() {
+        return LazyInitializationExcludeFilter.forBeanTypes(
+            FlywayMigrationInitializer.class,
+            TaskStatistics.class,
+            TaskChangeFeed.class,
+            OverdueTaskSweeper.class,
+            IdempotencyService.class,
+            ReplicaLagMonitor.class,
+            AdaptiveConcurrencyLimiter.class,
+            AdaptivePoolSizer.class);
+    }
+}
@@ -0,0 +1,98 @@
+package uk.gov.hmcts.reform.dev.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Reports virtual threads pinned to their carrier, e.g. while blocked inside a synchronized block of the
+ * MySQL driver. Pinning shows up as the jvm.threads.virtual.pinned timer, tagged by where it happened.
+ */
+@Component
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadPinningMonitor implements SmartLifecycle {
+
+    private static final Logger LOG = LoggerFactory.getLogger(VirtualThreadPinningMonitor.class);
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+
+    private final Duration threshold;
+    private final Timer mysqlPinned;
+    private final Timer otherPinned;
+
+    private RecordingStream stream;
+
+    public VirtualThreadPinningMonitor(@Value("${tasks.threads.pinning-threshold:20ms}") Duration threshold,
+                                       MeterRegistry meterRegistry) {
+        this.threshold = threshold;
+        this.mysqlPinned = pinnedTimer(meterRegistry, "mysql");
+        this.otherPinned = pinnedTimer(meterRegistry, "other");
+    }
+
+    @Override
+    public synchronized void start() {
+        try {
+            RecordingStream recording = new RecordingStream();
+            recording.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+            recording.onEvent(PINNED_EVENT, this::onPinned);
+            recording.startAsync();
+            stream = recording;
+        } catch (RuntimeException ex) {
+            // JFR can be disabled or unavailable on some JVMs; the application should still start
+            LOG.warn("Virtual thread pinning monitor not started: {}", ex.getMessage());
+        }
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (stream != null) {
+            stream.close();
+            stream = null;
+        }
+    }
+
+    @Override
+    public synchronized boolean isRunning() {
+        return stream != null;
+    }
+
+    void onPinned(RecordedEvent event) {
+        String frame = firstFrame(event.getStackTrace(), "com.mysql.");
+        boolean inDriver = frame != null;
+        (inDriver ? mysqlPinned : otherPinned).record(event.getDuration());
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("Virtual thread pinned for {} at {}", event.getDuration(),
+                      inDriver ? frame : firstFrame(event.getStackTrace(), ""));
+        }
+    }
+
+    private static String firstFrame(RecordedStackTrace stackTrace, String packagePrefix) {
+        if (stackTrace == null) {
+            return null;
+        }
+        for (RecordedFrame frame : stackTrace.getFrames()) {
+            if (frame.isJavaFrame() && frame.getMethod().getType().getName().startsWith(packagePrefix)) {
+                return frame.getMethod().getType().getName() + "." + frame.getMethod().getName();
+            }
+        }
+        return null;
+    }
+
+    private static Timer pinnedTimer(MeterRegistry meterRegistry, String source) {
+        return Timer.builder("jvm.threads.virtual.pinned")
+            .description("Time virtual threads spent pinned to a carrier thread")
+            .tag("source", source)
+            .register(meterRegistry);
+    }
+}
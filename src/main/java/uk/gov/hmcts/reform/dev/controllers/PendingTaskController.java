@@ -0,0 +1,54 @@
+package uk.gov.hmcts.reform.dev.controllers;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import uk.gov.hmcts.reform.dev.dto.TaskResponse;
+import uk.gov.hmcts.reform.dev.dto.WriteBehindStatus;
+import uk.gov.hmcts.reform.dev.writebehind.WriteBehindTaskWriter;
+
+import java.net.URI;
+
+import static org.springframework.http.ResponseEntity.ok;
+
+@Tag(name = "Task API", description = "Operations related to Tasks")
+@RestController
+@RequestMapping("/tasks/pending")
+@ConditionalOnProperty(prefix = "tasks.write-behind", name = "enabled", havingValue = "true")
+public class PendingTaskController {
+
+    private final WriteBehindTaskWriter writer;
+
+    public PendingTaskController(WriteBehindTaskWriter writer) {
+        this.writer = writer;
+    }
+
+    @Operation(summary = "Write-behind progress", description = "How many accepted tasks are still waiting to be "
+        + "written to the database, and how far behind the writer is")
+    @GetMapping
+    public ResponseEntity<WriteBehindStatus> status() {
+        return ok(writer.status());
+    }
+
+    @Operation(summary = "Get a pending task", description = "Returns a task accepted with 202 that has not been "
+        + "written yet. Once written it is no longer pending and is read from /tasks/{id}.",
+        responses = {
+            @ApiResponse(description = "Task is still pending", responseCode = "200",
+                content = @Content(schema = @Schema(implementation = TaskResponse.class))),
+            @ApiResponse(description = "Task is not pending", responseCode = "303")})
+    @GetMapping("/{id}")
+    public ResponseEntity<TaskResponse> getPendingTask(@PathVariable Long id) {
+        return writer.findPending(id)
+            .map(ResponseEntity::ok)
+            .orElseGet(() -> ResponseEntity.status(HttpStatus.SEE_OTHER).location(URI.create("/tasks/" + id)).build());
+    }
+}
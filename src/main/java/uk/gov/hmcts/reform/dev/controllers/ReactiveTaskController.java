@@ -0,0 +1,144 @@
+package uk.gov.hmcts.reform.dev.controllers;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import uk.gov.hmcts.reform.dev.dto.TaskFilter;
+import uk.gov.hmcts.reform.dev.dto.TaskPage;
+import uk.gov.hmcts.reform.dev.dto.TaskRequest;
+import uk.gov.hmcts.reform.dev.dto.TaskResponse;
+import uk.gov.hmcts.reform.dev.dto.TaskStats;
+import uk.gov.hmcts.reform.dev.models.Status;
+import uk.gov.hmcts.reform.dev.reactive.ReactiveTaskService;
+import uk.gov.hmcts.reform.dev.service.TaskService;
+import uk.gov.hmcts.reform.dev.stats.TaskStatistics;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+
+/**
+ * The task API on WebFlux, for the reactive profile. Same paths, request and response bodies, ETags and status
+ * codes as TaskController for the endpoints it serves; search, the change feed, batch operations and write-behind
+ * stay on the servlet stack.
+ */
+@Tag(name = "Task API (reactive)", description = "Operations related to Tasks, served by WebFlux and R2DBC")
+@RestController
+@RequestMapping("/tasks")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveTaskController {
+
+    private final ReactiveTaskService taskService;
+    private final TaskStatistics statistics;
+    private final boolean requireIfMatch;
+
+    public ReactiveTaskController(ReactiveTaskService taskService, TaskStatistics statistics,
+                                  @Value("${tasks.concurrency.require-if-match:false}") boolean requireIfMatch) {
+        this.taskService = taskService;
+        this.statistics = statistics;
+        this.requireIfMatch = requireIfMatch;
+    }
+
+    @Operation(summary = "Create a new task", description = "Creates a task using the provided details")
+    @PostMapping
+    public Mono<ResponseEntity<TaskResponse>> createTask(@Valid @RequestBody TaskRequest request) {
+        return taskService.createTask(request).map(task -> withETag(ResponseEntity.status(HttpStatus.CREATED), task));
+    }
+
+    @Operation(summary = "Get task by ID", description = "Retrieves a task by its unique ID")
+    @GetMapping("/{id}")
+    public Mono<ResponseEntity<TaskResponse>> getTask(@PathVariable Long id) {
+        return taskService.getTaskById(id).map(task -> withETag(ResponseEntity.ok(), task));
+    }
+
+    @Operation(summary = "List tasks", description = "Returns one page of tasks, most recently updated first. "
+        + "Pass the returned nextCursor as 'cursor' to fetch the following page.")
+    @GetMapping
+    public Mono<TaskPage> getTasks(
+        @RequestParam(required = false) String cursor,
+        @RequestParam(defaultValue = "" + TaskService.DEFAULT_PAGE_SIZE) int limit,
+        @RequestParam(required = false) Status status,
+        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime dueFrom,
+        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime dueTo,
+        @RequestParam(required = false) String caseNumberPrefix) {
+        return taskService.findTasks(new TaskFilter(status, dueFrom, dueTo, caseNumberPrefix), cursor, limit);
+    }
+
+    @Operation(summary = "Stream tasks", description = "Every task matching the filters, most recently updated "
+        + "first, as newline-delimited JSON. Rows are read from the database only as fast as the client reads them.")
+    @GetMapping(value = "/stream", produces = TaskController.NDJSON)
+    public Flux<TaskResponse> streamTasks(
+        @RequestParam(required = false) Status status,
+        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime dueFrom,
+        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime dueTo,
+        @RequestParam(required = false) String caseNumberPrefix) {
+        return taskService.streamTasks(new TaskFilter(status, dueFrom, dueTo, caseNumberPrefix));
+    }
+
+    @Operation(summary = "Export all tasks", description = "Streams every task as newline-delimited JSON")
+    @GetMapping(value = "/export", produces = TaskController.NDJSON)
+    public Flux<TaskResponse> exportTasks() {
+        return taskService.exportTasks();
+    }
+
+    @Operation(summary = "Task statistics", description = "Counts by status, overdue tasks and pending tasks due "
+        + "on each of the coming days, from the in-memory counters")
+    @GetMapping("/stats")
+    public TaskStats getStats() {
+        return statistics.snapshot();
+    }
+
+    @Operation(summary = "Update task status", description = "Updates the status of a task by ID. "
+        + "Send the ETag from a previous read as If-Match to only apply the change if the task is unchanged.")
+    @PutMapping("/{id}")
+    public Mono<ResponseEntity<TaskResponse>> updateStatus(@PathVariable Long id, @RequestParam String status,
+        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        if (ifMatch == null && requireIfMatch) {
+            return Mono.just(ResponseEntity.status(HttpStatus.PRECONDITION_REQUIRED).<TaskResponse>build());
+        }
+        return Mono.defer(() -> {
+            List<Long> versions = TaskETags.requiredVersions(id, ifMatch);
+            if (versions == null || versions.size() == 1) {
+                return taskService.updateTaskStatus(id, status, versions == null ? null : versions.getFirst());
+            }
+            // Several versions named: the write is conditional on whichever of them is current
+            return taskService.getTaskById(id)
+                .map(current -> TaskETags.matching(id, ifMatch, versions, current.getVersion()))
+                .flatMap(version -> taskService.updateTaskStatus(id, status, version));
+        }).map(task -> withETag(ResponseEntity.ok(), task));
+    }
+
+    @Operation(summary = "Delete task by ID", description = "Deletes a task permanently using its ID")
+    @DeleteMapping("/{id}")
+    public Mono<ResponseEntity<Void>> deleteTask(@PathVariable Long id) {
+        return taskService.deleteTask(id).then(Mono.fromSupplier(() -> ResponseEntity.noContent().<Void>build()));
+    }
+
+    private static ResponseEntity<TaskResponse> withETag(ResponseEntity.BodyBuilder builder, TaskResponse task) {
+        if (task.getVersion() != null) {
+            builder.eTag(TaskETags.forVersion(task.getVersion()));
+        }
+        if (task.getLastModified() != null) {
+            builder.lastModified(task.getLastModified().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli());
+        }
+        return builder.body(task);
+    }
+}
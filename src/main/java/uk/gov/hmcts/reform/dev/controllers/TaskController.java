@@ -1,12 +1,21 @@
 package uk.gov.hmcts.reform.dev.controllers;
 
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestBody;
@@ -16,28 +25,86 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.HttpMediaTypeNotAcceptableException;
+import org.springframework.web.accept.ContentNegotiationManager;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import uk.gov.hmcts.reform.dev.dto.BatchDeleteRequest;
+import uk.gov.hmcts.reform.dev.dto.BatchItemResult;
+import uk.gov.hmcts.reform.dev.dto.BatchResponse;
+import uk.gov.hmcts.reform.dev.dto.BatchStatusRequest;
+import uk.gov.hmcts.reform.dev.dto.TaskFilter;
+import uk.gov.hmcts.reform.dev.dto.TaskPage;
 import uk.gov.hmcts.reform.dev.dto.TaskRequest;
 import uk.gov.hmcts.reform.dev.dto.TaskResponse;
+import uk.gov.hmcts.reform.dev.dto.TaskStats;
+import uk.gov.hmcts.reform.dev.dto.TaskVersion;
+import uk.gov.hmcts.reform.dev.events.TaskChangeFeed;
+import uk.gov.hmcts.reform.dev.idempotency.IdempotencyService;
 import uk.gov.hmcts.reform.dev.models.Status;
 import uk.gov.hmcts.reform.dev.models.Task;
+import uk.gov.hmcts.reform.dev.search.TaskSearchService;
 import uk.gov.hmcts.reform.dev.service.TaskService;
+import uk.gov.hmcts.reform.dev.stats.TaskStatistics;
+import uk.gov.hmcts.reform.dev.writebehind.WriteBehindTaskWriter;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 import static org.springframework.http.ResponseEntity.ok;
 
 @Tag(name = "Task API", description = "Operations related to Tasks")
 @RestController
 @RequestMapping("/tasks")
+// The reactive profile serves these paths from ReactiveTaskController instead
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class TaskController {
 
+    public static final String NDJSON = "application/x-ndjson";
+
+    // Set on a create answered from an earlier request with the same Idempotency-Key
+    public static final String IDEMPOTENT_REPLAYED = "Idempotent-Replayed";
+
+    // Flush the export this often so clients see steady progress rather than one large burst per buffer
+    private static final int EXPORT_FLUSH_INTERVAL = 500;
 
     private final TaskService taskService;
+    private final TaskChangeFeed changeFeed;
+    private final TaskSearchService searchService;
+    private final TaskStatistics statistics;
+    private final ObjectMapper objectMapper;
+    private final ContentNegotiationManager contentNegotiation;
+    private final boolean requireIfMatch;
+    // Present only when tasks.write-behind.enabled is set
+    private final WriteBehindTaskWriter writeBehind;
+    // Absent when tasks.idempotency.enabled is false, in which case Idempotency-Key is ignored
+    private final IdempotencyService idempotency;
 
-    public TaskController(TaskService taskService) {
+    public TaskController(TaskService taskService, TaskChangeFeed changeFeed, TaskSearchService searchService,
+                          TaskStatistics statistics, ObjectMapper objectMapper,
+                          ContentNegotiationManager contentNegotiation,
+                          @Value("${tasks.concurrency.require-if-match:false}") boolean requireIfMatch,
+                          ObjectProvider<WriteBehindTaskWriter> writeBehind,
+                          ObjectProvider<IdempotencyService> idempotency) {
         this.taskService = taskService;
+        this.changeFeed = changeFeed;
+        this.searchService = searchService;
+        this.statistics = statistics;
+        this.objectMapper = objectMapper;
+        this.contentNegotiation = contentNegotiation;
+        this.requireIfMatch = requireIfMatch;
+        this.writeBehind = writeBehind.getIfAvailable();
+        this.idempotency = idempotency.getIfAvailable();
     }
 
     @Operation(summary = "Get example task", description = "Returns a sample Task object")
@@ -51,51 +118,258 @@ public class TaskController {
             Status.COMPLETED,
             LocalDateTime.now(),
             LocalDateTime.now(),
-            LocalDateTime.now()
+            LocalDateTime.now(),
+            0L
         ));
     }
 
     // Create
-    @Operation(summary = "Create a new task", description = "Creates a task using the provided details",
+    @Operation(summary = "Create a new task", description = "Creates a task using the provided details. "
+        + "In write-behind mode the task is accepted with 202 and written shortly after; its id and case number are "
+        + "final, and /tasks/pending/{id} reports it until it is written. A request repeated with the same "
+        + "Idempotency-Key gets the original response again, marked " + IDEMPOTENT_REPLAYED + ", instead of "
+        + "creating another task.",
         responses = {
             @ApiResponse(description = "Task successfully created", responseCode = "201",
-                content = @Content(schema = @Schema(implementation = TaskResponse.class)))})
+                content = @Content(schema = @Schema(implementation = TaskResponse.class))),
+            @ApiResponse(description = "Task accepted for writing (write-behind mode)", responseCode = "202",
+                content = @Content(schema = @Schema(implementation = TaskResponse.class))),
+            @ApiResponse(description = "Idempotency-Key already used for a different task", responseCode = "422"),
+            @ApiResponse(description = "Too many tasks waiting to be written (write-behind mode)",
+                responseCode = "503")})
     @PostMapping
-    public ResponseEntity<TaskResponse> createTask(@Valid @RequestBody TaskRequest request) {
+    public ResponseEntity<TaskResponse> createTask(
+        @Valid @RequestBody TaskRequest request,
+        @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey,
+        NativeWebRequest webRequest) {
+        TaskResponse task;
+        boolean replayed = false;
+        if (idempotencyKey != null && idempotency != null) {
+            IdempotencyService.Result result = idempotency.execute(idempotencyKey, request, () -> create(request));
+            task = result.response();
+            replayed = result.replayed();
+        } else {
+            task = create(request);
+        }
+        ResponseEntity.BodyBuilder builder = writeBehind != null
+            ? ResponseEntity.accepted().location(URI.create("/tasks/pending/" + task.getId()))
+            : ResponseEntity.status(201);
+        if (replayed) {
+            builder.header(IDEMPOTENT_REPLAYED, "true");
+        }
+        return writeBehind != null ? builder.body(task) : withETag(builder, task, format(webRequest));
+    }
+
+    @Operation(summary = "Create many tasks", description = "Creates up to " + TaskService.MAX_BATCH_SIZE
+        + " tasks in one call. Each item is validated on its own and reported in request order.",
+        responses = {
+            @ApiResponse(description = "Per-item results", responseCode = "200",
+                content = @Content(schema = @Schema(implementation = BatchResponse.class)))})
+    @PostMapping("/batch")
+    public ResponseEntity<BatchResponse> createTasks(@RequestBody List<TaskRequest> requests) {
+        return ok(taskService.createTasks(requests));
+    }
 
-        TaskResponse createdTask = taskService.createTask(request);
-        return ResponseEntity.status(201).body(createdTask);
+    @Operation(summary = "Update the status of many tasks", description = "Applies one status to every listed task")
+    @PutMapping("/batch/status")
+    public ResponseEntity<BatchResponse> updateStatuses(@Valid @RequestBody BatchStatusRequest request) {
+        return ok(taskService.updateTaskStatuses(request.getIds(), request.getStatus()));
     }
 
-    @Operation(summary = "Get task by ID", description = "Retrieves a task by its unique ID",
+    @Operation(summary = "Delete many tasks", description = "Deletes every listed task; unknown IDs are reported")
+    @DeleteMapping("/batch")
+    public ResponseEntity<BatchResponse> deleteTasks(@Valid @RequestBody BatchDeleteRequest request) {
+        Set<Long> withdrawn = withdrawPending(request.getIds());
+        BatchResponse deleted = taskService.deleteTasks(request.getIds());
+        if (withdrawn.isEmpty()) {
+            return ok(deleted);
+        }
+        return ok(new BatchResponse(deleted.getResults().stream()
+            .map(result -> withdrawn.contains(result.getId())
+                ? new BatchItemResult(result.getIndex(), result.getId(), BatchItemResult.Outcome.DELETED, null, null)
+                : result)
+            .collect(Collectors.toList())));
+    }
+
+    @Operation(summary = "Get task by ID", description = "Retrieves a task by its unique ID. In write-behind mode "
+        + "a task not yet written is returned as accepted, without an ETag.",
         responses = {
             @ApiResponse(description = "Task retrieved successfully", responseCode = "200",
                 content = @Content(schema = @Schema(implementation = TaskResponse.class)))})
     @GetMapping("/{id}")
-    public ResponseEntity<TaskResponse> getTask(@PathVariable Long id) {
-        return ok(taskService.getTaskById(id));
+    public ResponseEntity<TaskResponse> getTask(@PathVariable Long id, NativeWebRequest request) {
+        // Looked at before the database: a task leaves pending only once its row is committed. It has no ETag yet.
+        Optional<TaskResponse> pending = writeBehind != null ? writeBehind.findPending(id) : Optional.empty();
+        if (pending.isPresent()) {
+            return ok(pending.get());
+        }
+        // Answer revalidation from the version alone, so an unchanged task is neither loaded nor serialised
+        MediaType format = format(request);
+        if (isConditional(request)) {
+            TaskVersion current = taskService.getTaskVersion(id);
+            if (request.checkNotModified(TaskETags.forVersion(current.getVersion(), format),
+                                         epochMillis(current.getLastModified()))) {
+                return null;
+            }
+        }
+        TaskResponse task = taskService.getTaskById(id);
+        return withETag(ResponseEntity.ok(), task, format);
     }
 
-    @Operation(summary = "Get all tasks")
+    @Operation(summary = "List tasks", description = "Returns one page of tasks, most recently updated first. "
+        + "Pass the returned nextCursor as 'cursor' to fetch the following page.")
     @GetMapping
-    public ResponseEntity<List<TaskResponse>> getAllTasks() {
-        return ok(taskService.getAllTasks());
+    public ResponseEntity<TaskPage> getTasks(
+        @RequestParam(required = false) String cursor,
+        @RequestParam(defaultValue = "" + TaskService.DEFAULT_PAGE_SIZE) int limit,
+        @RequestParam(required = false) Status status,
+        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime dueFrom,
+        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime dueTo,
+        @RequestParam(required = false) String caseNumberPrefix,
+        NativeWebRequest request) {
+        // Any change to any task moves the collection marker, so one weak tag covers every page and filter
+        long lastModified = taskService.getTasksLastModified();
+        String etag = TaskETags.forCollection(lastModified, format(request));
+        if (request.checkNotModified(etag, lastModified)) {
+            return null;
+        }
+        TaskFilter filter = new TaskFilter(status, dueFrom, dueTo, caseNumberPrefix);
+        return ResponseEntity.ok()
+            .eTag(etag)
+            .lastModified(lastModified)
+            .body(taskService.findTasks(filter, cursor, limit));
+    }
+
+    @Operation(summary = "Search tasks", description = "Finds tasks by words in their title or description, best "
+        + "match first. Pass the returned nextCursor as 'cursor' to fetch the following page.",
+        responses = {
+            @ApiResponse(description = "Missing or overlong query, or a malformed cursor", responseCode = "400")})
+    @GetMapping("/search")
+    public ResponseEntity<TaskPage> searchTasks(
+        @RequestParam(required = false) String q,
+        @RequestParam(required = false) String cursor,
+        @RequestParam(defaultValue = "" + TaskSearchService.DEFAULT_PAGE_SIZE) int limit,
+        NativeWebRequest request) {
+        // Results can only change when some task does, so the listing's collection tag applies here too
+        long lastModified = taskService.getTasksLastModified();
+        String etag = TaskETags.forCollection(lastModified, format(request));
+        if (request.checkNotModified(etag, lastModified)) {
+            return null;
+        }
+        return ResponseEntity.ok()
+            .eTag(etag)
+            .lastModified(lastModified)
+            .body(searchService.search(q, cursor, limit));
+    }
+
+    @Operation(summary = "Task statistics", description = "Counts by status, overdue tasks and pending tasks due "
+        + "on each of the coming days. Served from counters kept in memory and reconciled with the database "
+        + "periodically (see reconciledAt), so it costs no database work.")
+    @GetMapping("/stats")
+    public ResponseEntity<TaskStats> getStats() {
+        return ok(statistics.snapshot());
     }
 
-    @Operation(summary = "Update task status", description = "Updates the status of a task by ID")
+    @Operation(summary = "Export all tasks", description = "Streams every task as newline-delimited JSON")
+    @GetMapping(value = "/export", produces = NDJSON)
+    public ResponseEntity<StreamingResponseBody> exportTasks() {
+        StreamingResponseBody body = out -> {
+            try (JsonGenerator generator = objectMapper.createGenerator(out)) {
+                generator.setRootValueSeparator(null);
+                long[] written = {0};
+                taskService.exportTasks(task -> {
+                    try {
+                        generator.writeObject(task);
+                        generator.writeRaw('\n');
+                        if (written[0]++ % EXPORT_FLUSH_INTERVAL == 0) {
+                            generator.flush();
+                        }
+                    } catch (IOException ex) {
+                        throw new UncheckedIOException(ex);
+                    }
+                });
+            }
+        };
+        // No message converter runs for a streamed body, so the produced type has to be set here
+        return ResponseEntity.ok().contentType(MediaType.parseMediaType(NDJSON)).body(body);
+    }
+
+    @Operation(summary = "Subscribe to task changes", description = "Server-sent events for every create, status "
+        + "change and delete. Reconnect with Last-Event-ID to resume; a 'reset' event means the position could not "
+        + "be resumed and the client should reload the task list.",
+        responses = {@ApiResponse(description = "Too many subscribers on this node", responseCode = "503")})
+    @GetMapping(value = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter subscribe(@RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        return changeFeed.open(lastEventId);
+    }
+
+    @Operation(summary = "Update task status", description = "Updates the status of a task by ID. "
+        + "Send the ETag from a previous read as If-Match to only apply the change if the task is unchanged.",
+        responses = {
+            @ApiResponse(description = "Task updated", responseCode = "200",
+                content = @Content(schema = @Schema(implementation = TaskResponse.class))),
+            @ApiResponse(description = "The task changed since the If-Match ETag was issued", responseCode = "412"),
+            @ApiResponse(description = "If-Match is required but was not sent", responseCode = "428")})
     @PutMapping("/{id}")
-    public ResponseEntity<TaskResponse> updateStatus(@PathVariable Long id, @RequestParam String status) {
-        System.out.println("DEBUG - received request: id=" + id + " status=" + status);
-        return ok(taskService.updateTaskStatus(id, status));
+    public ResponseEntity<TaskResponse> updateStatus(@PathVariable Long id, @RequestParam String status,
+        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch, NativeWebRequest request) {
+        if (ifMatch == null && requireIfMatch) {
+            return ResponseEntity.status(HttpStatus.PRECONDITION_REQUIRED).build();
+        }
+        Long expectedVersion = TaskETags.requiredVersion(id, ifMatch,
+                                                         () -> taskService.getTaskVersion(id).getVersion());
+        TaskResponse updated = taskService.updateTaskStatus(id, status, expectedVersion);
+        return withETag(ResponseEntity.ok(), updated, format(request));
     }
 
-    @Operation(summary = "Delete task by ID", description = "Deletes a task permanently using its ID",
+    @Operation(summary = "Delete task by ID", description = "Deletes a task permanently using its ID. In "
+        + "write-behind mode a task not yet written is withdrawn and never written.",
         responses = {@ApiResponse(description = "Task successfully deleted", responseCode = "204")})
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteTask(@PathVariable Long id) {
-        taskService.deleteTask(id);
+        if (withdrawPending(List.of(id)).isEmpty()) {
+            taskService.deleteTask(id);
+        }
         return ResponseEntity.noContent().build();
     }
 
+    private TaskResponse create(TaskRequest request) {
+        return writeBehind != null ? writeBehind.accept(request) : taskService.createTask(request);
+    }
+
+    // Tasks accepted in write-behind mode and not yet written are withdrawn rather than deleted; done before the
+    // database delete, since a task can only fail to be withdrawn once its row is committed
+    private Set<Long> withdrawPending(List<Long> ids) {
+        return writeBehind != null ? writeBehind.withdraw(ids) : Set.of();
+    }
 
+    // The format the body will be written in, for its ETag. An Accept header that can't be parsed is left for the
+    // body's own negotiation to reject.
+    private MediaType format(NativeWebRequest request) {
+        try {
+            return TaskETags.format(contentNegotiation.resolveMediaTypes(request));
+        } catch (HttpMediaTypeNotAcceptableException ex) {
+            return MediaType.APPLICATION_JSON;
+        }
+    }
+
+    private static ResponseEntity<TaskResponse> withETag(ResponseEntity.BodyBuilder builder, TaskResponse task,
+                                                         MediaType format) {
+        if (task.getVersion() != null) {
+            builder.eTag(TaskETags.forVersion(task.getVersion(), format));
+        }
+        if (task.getLastModified() != null) {
+            builder.lastModified(epochMillis(task.getLastModified()));
+        }
+        return builder.body(task);
+    }
+
+    private static boolean isConditional(NativeWebRequest request) {
+        return request.getHeader(HttpHeaders.IF_NONE_MATCH) != null
+            || request.getHeader(HttpHeaders.IF_MODIFIED_SINCE) != null;
+    }
+
+    private static long epochMillis(LocalDateTime dateTime) {
+        return dateTime == null ? -1 : dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
 }
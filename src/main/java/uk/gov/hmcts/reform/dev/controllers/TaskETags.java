@@ -0,0 +1,127 @@
+package uk.gov.hmcts.reform.dev.controllers;
+
+import org.springframework.http.MediaType;
+import uk.gov.hmcts.reform.dev.codec.BinaryFormatConfig;
+import uk.gov.hmcts.reform.dev.codec.TaskProtobuf;
+import uk.gov.hmcts.reform.dev.exception.TaskVersionConflictException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Maps task versions to and from entity tags.
+ *
+ * <p>Each format a task is served in is a representation of its own, so each gets its own tag: JSON, the default,
+ * has the bare version and the binary formats add their name to it. If-Match compares the version alone, whichever
+ * format its tag was issued for.
+ */
+final class TaskETags {
+
+    private static final Map<MediaType, String> SUFFIXES = Map.of(
+        MediaType.APPLICATION_CBOR, "-cbor",
+        BinaryFormatConfig.SMILE, "-smile",
+        TaskProtobuf.MEDIA_TYPE, "-protobuf");
+
+    private TaskETags() {
+    }
+
+    static String forVersion(Long version) {
+        return forVersion(version, MediaType.APPLICATION_JSON);
+    }
+
+    static String forVersion(Long version, MediaType format) {
+        return "\"" + version + SUFFIXES.getOrDefault(format, "") + "\"";
+    }
+
+    // Weak, because it identifies the state of the whole collection rather than the exact bytes of one page
+    static String forCollection(long lastModified, MediaType format) {
+        return "W/\"" + Long.toHexString(lastModified) + SUFFIXES.getOrDefault(format, "") + "\"";
+    }
+
+    /**
+     * Returns the format a task or page will be written in, given the acceptable types most preferred first, as
+     * message converter selection would choose it. It is known before the body exists, so a conditional GET can be
+     * answered without loading one.
+     */
+    static MediaType format(List<MediaType> accepted) {
+        for (MediaType type : accepted) {
+            if (type.getQualityValue() == 0) {
+                continue;
+            }
+            for (MediaType format : BinaryFormatConfig.TASK_FORMATS) {
+                if (type.includes(format)) {
+                    return format;
+                }
+            }
+        }
+        return MediaType.APPLICATION_JSON;
+    }
+
+    /**
+     * Returns the version an If-Match header requires, or null when any version is acceptable. When the header
+     * lists several versions, the write is made conditional on whichever of them is current.
+     */
+    static Long requiredVersion(Long id, String ifMatch, Supplier<Long> currentVersion) {
+        List<Long> versions = requiredVersions(id, ifMatch);
+        if (versions == null) {
+            return null;
+        }
+        return versions.size() == 1 ? versions.getFirst() : matching(id, ifMatch, versions, currentVersion.get());
+    }
+
+    /**
+     * Returns the versions named by the entity tags in an If-Match header, or null when it is absent or "*".
+     * If-Match uses strong comparison (RFC 9110, section 13.1.1), so weak tags never match, nor do tags that were
+     * not issued here. A header with no tag that could match fails the precondition straight away.
+     */
+    static List<Long> requiredVersions(Long id, String ifMatch) {
+        if (ifMatch == null || "*".equals(ifMatch.trim())) {
+            return null;
+        }
+        List<Long> versions = new ArrayList<>();
+        int at = 0;
+        while (at < ifMatch.length()) {
+            char next = ifMatch.charAt(at);
+            if (next == ',' || next == ' ' || next == '\t') {
+                at++;
+                continue;
+            }
+            boolean weak = ifMatch.startsWith("W/", at);
+            int open = weak ? at + 2 : at;
+            int close = open < ifMatch.length() && ifMatch.charAt(open) == '"' ? ifMatch.indexOf('"', open + 1) : -1;
+            if (close < 0) {
+                throw new TaskVersionConflictException(id, ifMatch);
+            }
+            if (!weak) {
+                try {
+                    versions.add(version(ifMatch.substring(open + 1, close)));
+                } catch (NumberFormatException ex) {
+                    // Not a tag we ever issued, so it cannot match the current version
+                }
+            }
+            at = close + 1;
+        }
+        if (versions.isEmpty()) {
+            throw new TaskVersionConflictException(id, ifMatch);
+        }
+        return versions;
+    }
+
+    private static Long version(String opaqueTag) {
+        for (String suffix : SUFFIXES.values()) {
+            if (opaqueTag.endsWith(suffix)) {
+                return Long.valueOf(opaqueTag.substring(0, opaqueTag.length() - suffix.length()));
+            }
+        }
+        return Long.valueOf(opaqueTag);
+    }
+
+    static Long matching(Long id, String ifMatch, List<Long> versions, Long currentVersion) {
+        if (!versions.contains(currentVersion)) {
+            throw new TaskVersionConflictException(id, ifMatch);
+        }
+        return currentVersion;
+    }
+}
@@ -0,0 +1,265 @@
+package uk.gov.hmcts.reform.dev.datasource;
+
+import com.zaxxer.hikari.HikariConfigMXBean;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Resizes each Hikari pool between the configured bounds once per window (additive increase, multiplicative
+ * decrease), from the hikaricp metrics of that pool. A pool grows by the number of threads seen waiting while the
+ * mean wait for a connection is over max-pool-wait. A full pool is cut back when the mean time connections are held
+ * rises well above its unloaded level, as more connections would only queue inside the database. A pool whose peak
+ * use stays well under its size gives a connection back each window.
+ *
+ * <p>Only maximumPoolSize changes. Hikari opens connections up to it on demand and retires idle ones above
+ * minimumIdle after idleTimeout, so a smaller pool drains without interrupting anything in use.
+ *
+ * <p>While this is running it owns waits for a connection: AdaptiveConcurrencyLimiter leaves them to it as long as
+ * {@link #canGrow()}, and only sheds requests over them once every pool is at max-size.
+ */
+public class AdaptivePoolSizer {
+
+    private static final Logger LOG = LoggerFactory.getLogger(AdaptivePoolSizer.class);
+
+    static final String ACQUIRE_TIMER = "hikaricp.connections.acquire";
+    static final String USAGE_TIMER = "hikaricp.connections.usage";
+
+    // How quickly the unloaded hold time estimate follows hold times upwards; it follows them down at once
+    private static final double BASELINE_RISE = 0.01;
+
+    private final List<Pool> pools = new ArrayList<>();
+    private final PoolSizingProperties properties;
+    private final MeterRegistry meterRegistry;
+    private ScheduledExecutorService sampler;
+    // Touched only by the sampler thread
+    private long windowStartedAt;
+
+    public AdaptivePoolSizer(List<HikariDataSource> dataSources, PoolSizingProperties properties,
+                             MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        for (HikariDataSource dataSource : dataSources) {
+            Pool pool = new Pool(dataSource);
+            int size = clamp(dataSource.getMaximumPoolSize());
+            if (size != dataSource.getMaximumPoolSize()) {
+                pool.resize(size, "bounds");
+            }
+            pools.add(pool);
+        }
+    }
+
+    @PostConstruct
+    void start() {
+        sampler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "pool-sizer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        windowStartedAt = System.nanoTime();
+        long interval = properties.getSampleInterval().toMillis();
+        sampler.scheduleWithFixedDelay(this::tickQuietly, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (sampler != null) {
+            sampler.shutdownNow();
+        }
+    }
+
+    // True while some started pool is under max-size, so a long wait for a connection can still be met by growing
+    public boolean canGrow() {
+        return pools.stream().anyMatch(pool -> pool.dataSource.getHikariPoolMXBean() != null
+            && pool.dataSource.getMaximumPoolSize() < properties.getMaxSize());
+    }
+
+    public List<PoolReport> report() {
+        return pools.stream().map(Pool::report).toList();
+    }
+
+    // Records the peaks of in-use connections and waiting threads since the last window
+    void sample() {
+        for (Pool pool : pools) {
+            HikariPoolMXBean stats = pool.dataSource.getHikariPoolMXBean();
+            if (stats != null) {
+                pool.peakActive = Math.max(pool.peakActive, stats.getActiveConnections());
+                pool.peakPending = Math.max(pool.peakPending, stats.getThreadsAwaitingConnection());
+            }
+        }
+    }
+
+    void adjust() {
+        for (Pool pool : pools) {
+            adjust(pool);
+        }
+    }
+
+    private void adjust(Pool pool) {
+        // Not started until the first connection is asked for
+        if (pool.dataSource.getHikariPoolMXBean() == null) {
+            return;
+        }
+        final double wait = pool.acquire.meanSinceLastWindow(meterRegistry);
+        final double hold = pool.usage.meanSinceLastWindow(meterRegistry);
+        int peakActive = pool.peakActive;
+        int peakPending = pool.peakPending;
+        pool.peakActive = 0;
+        pool.peakPending = 0;
+
+        boolean slow = hold > 0 && pool.baselineNanos > 0
+            && hold > pool.baselineNanos * properties.getLatencyTolerance();
+        if (hold > 0) {
+            pool.baselineNanos = pool.baselineNanos == 0 || hold < pool.baselineNanos
+                ? hold : pool.baselineNanos + (hold - pool.baselineNanos) * BASELINE_RISE;
+        }
+
+        int current = pool.dataSource.getMaximumPoolSize();
+        int next = current;
+        String reason = null;
+        if (slow && peakActive >= current) {
+            next = Math.min(current - 1, (int) (current * properties.getBackoff()));
+            reason = "latency";
+        } else if (!slow && wait > properties.getMaxPoolWait().toNanos()) {
+            next = current + Math.max(1, Math.min(peakPending, properties.getMaxIncrease()));
+            reason = "wait";
+        } else if (wait <= properties.getMaxPoolWait().toNanos()
+            && peakActive < current * properties.getShrinkUtilisation()) {
+            next = current - 1;
+            reason = "idle";
+        }
+        next = clamp(next);
+        if (next != current) {
+            pool.resize(next, reason);
+            pool.remember(new Decision(Instant.now(), current, next, reason, wait / 1e6, hold / 1e6,
+                                       peakActive, peakPending));
+            LOG.debug("Pool {} size {} -> {} ({}: mean wait {} us, mean hold {} us, peak active {}, peak waiting {})",
+                      pool.name, current, next, reason, (long) wait / 1000, (long) hold / 1000, peakActive,
+                      peakPending);
+        }
+    }
+
+    private int clamp(int size) {
+        return Math.max(properties.getMinSize(), Math.min(properties.getMaxSize(), size));
+    }
+
+    private void tickQuietly() {
+        try {
+            sample();
+            long now = System.nanoTime();
+            if (now - windowStartedAt >= properties.getWindow().toNanos()) {
+                windowStartedAt = now;
+                adjust();
+            }
+        } catch (RuntimeException ex) {
+            LOG.warn("Could not resize the connection pools: {}", ex.getMessage());
+        }
+    }
+
+    /**
+     * A change of pool size and what it was based on: the window's mean wait for a connection, mean time a
+     * connection was held, and the most connections in use and threads waiting at any sample.
+     */
+    public record Decision(Instant at, int from, int to, String reason, double meanWaitMillis,
+                           double meanHoldMillis, int peakActive, int peakWaiting) {
+    }
+
+    public record PoolReport(String pool, int size, int minSize, int maxSize, int active, int idle, int waiting,
+                             double unloadedHoldMillis, List<Decision> decisions) {
+    }
+
+    private final class Pool {
+
+        private final HikariDataSource dataSource;
+        private final String name;
+        private final int configuredMinimumIdle;
+        private final WindowedTimer acquire;
+        private final WindowedTimer usage;
+        private final Deque<Decision> decisions = new ArrayDeque<>();
+
+        // Touched only by the sampler thread
+        private int peakActive;
+        private int peakPending;
+        private volatile double baselineNanos;
+
+        Pool(HikariDataSource dataSource) {
+            this.dataSource = dataSource;
+            this.name = dataSource.getPoolName();
+            this.configuredMinimumIdle = dataSource.getMinimumIdle();
+            this.acquire = new WindowedTimer(ACQUIRE_TIMER, name);
+            this.usage = new WindowedTimer(USAGE_TIMER, name);
+        }
+
+        void resize(int size, String reason) {
+            HikariConfigMXBean config = dataSource.getHikariConfigMXBean();
+            config.setMaximumPoolSize(size);
+            // Without a configured minimumIdle Hikari keeps the pool at its maximum size, so that follows it
+            config.setMinimumIdle(configuredMinimumIdle < 0 ? size : Math.min(configuredMinimumIdle, size));
+            Counter.builder("tasks.datasource.pool.resizes")
+                .description("Changes of the connection pool's maximum size")
+                .tag("pool", name)
+                .tag("reason", reason)
+                .register(meterRegistry)
+                .increment();
+        }
+
+        synchronized void remember(Decision decision) {
+            if (decisions.size() >= properties.getHistory()) {
+                decisions.removeFirst();
+            }
+            decisions.addLast(decision);
+        }
+
+        synchronized PoolReport report() {
+            HikariPoolMXBean stats = dataSource.getHikariPoolMXBean();
+            return new PoolReport(name, dataSource.getMaximumPoolSize(), properties.getMinSize(),
+                                  properties.getMaxSize(), stats == null ? 0 : stats.getActiveConnections(),
+                                  stats == null ? 0 : stats.getIdleConnections(),
+                                  stats == null ? 0 : stats.getThreadsAwaitingConnection(), baselineNanos / 1e6,
+                                  List.copyOf(decisions));
+        }
+    }
+
+    // Mean of a pool's hikaricp timer over what was recorded since the previous call
+    private static final class WindowedTimer {
+
+        private final String meter;
+        private final String pool;
+        private double totalSeen;
+        private long countSeen;
+
+        WindowedTimer(String meter, String pool) {
+            this.meter = meter;
+            this.pool = pool;
+        }
+
+        double meanSinceLastWindow(MeterRegistry meterRegistry) {
+            Timer timer = meterRegistry.find(meter).tag("pool", pool).timer();
+            if (timer == null) {
+                return 0;
+            }
+            double total = timer.totalTime(TimeUnit.NANOSECONDS);
+            long count = timer.count();
+            double windowTotal = total - totalSeen;
+            long windowCount = count - countSeen;
+            totalSeen = total;
+            countSeen = count;
+            return windowCount > 0 ? windowTotal / windowCount : 0;
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package uk.gov.hmcts.reform.dev.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Sizes every Hikari pool in the context: the auto-configured one, or the primary and replica pools when
+ * ReplicaRoutingConfig replaces it. Off unless asked for, since it can open up to max-size connections per pool.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "tasks.datasource.pool-sizing", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties(PoolSizingProperties.class)
+public class PoolSizingConfig {
+
+    @Bean
+    public AdaptivePoolSizer adaptivePoolSizer(ObjectProvider<HikariDataSource> pools,
+                                               PoolSizingProperties properties, MeterRegistry meterRegistry) {
+        return new AdaptivePoolSizer(pools.orderedStream().toList(), properties, meterRegistry);
+    }
+
+    @Bean
+    public PoolSizingEndpoint poolSizingEndpoint(AdaptivePoolSizer sizer) {
+        return new PoolSizingEndpoint(sizer);
+    }
+}
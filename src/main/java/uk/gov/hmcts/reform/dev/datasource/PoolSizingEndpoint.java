@@ -0,0 +1,25 @@
+package uk.gov.hmcts.reform.dev.datasource;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+
+import java.util.List;
+
+/**
+ * /actuator/poolsizing: each Hikari pool's current size, bounds and use, with the most recent resizes and the
+ * signals behind them.
+ */
+@Endpoint(id = "poolsizing")
+public class PoolSizingEndpoint {
+
+    private final AdaptivePoolSizer sizer;
+
+    public PoolSizingEndpoint(AdaptivePoolSizer sizer) {
+        this.sizer = sizer;
+    }
+
+    @ReadOperation
+    public List<AdaptivePoolSizer.PoolReport> pools() {
+        return sizer.report();
+    }
+}
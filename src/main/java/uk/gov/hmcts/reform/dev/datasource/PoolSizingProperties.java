@@ -0,0 +1,46 @@
+package uk.gov.hmcts.reform.dev.datasource;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+// Applies to every Hikari pool; each pool starts from its own configured maximumPoolSize
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "tasks.datasource.pool-sizing")
+public class PoolSizingProperties {
+
+    private boolean enabled = false;
+
+    private int minSize = 4;
+
+    // Per node and per pool; keep nodes times pools times this under the database's max_connections. Three times
+    // the usual maximumPoolSize of 10, so turning sizing on can triple the connections a busy node opens.
+    private int maxSize = 30;
+
+    // How often active connections and waiting threads are sampled for the window's peaks
+    private Duration sampleInterval = Duration.ofMillis(250);
+
+    // How often each pool is resized, from what was seen since the last resize
+    private Duration window = Duration.ofSeconds(5);
+
+    // The pool grows when a window's mean wait for a connection exceeds this...
+    private Duration maxPoolWait = Duration.ofMillis(10);
+
+    // ...by the number of threads seen waiting, up to this many connections at a time
+    private int maxIncrease = 4;
+
+    // A full pool shrinks when the mean time connections are held exceeds their unloaded time by this factor
+    private double latencyTolerance = 2.0;
+
+    // Share of the pool kept when it shrinks for latency
+    private double backoff = 0.75;
+
+    // A pool whose peak use stays under this share of its size gives up a connection per window
+    private double shrinkUtilisation = 0.5;
+
+    // Decisions kept per pool for the poolsizing actuator endpoint
+    private int history = 50;
+}
@@ -0,0 +1,124 @@
+package uk.gov.hmcts.reform.dev.datasource;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures replication lag by writing a heartbeat row on the primary and reading it back from the replica, once per
+ * heartbeat interval. The replica is only used while the last measurement was within the maximum lag; until the
+ * first measurement, or when one fails, reads stay on the primary.
+ */
+public class ReplicaLagMonitor {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ReplicaLagMonitor.class);
+
+    static final String HEARTBEAT = "primary";
+
+    private static final String BEAT = "update replica_heartbeat set beat_at = current_timestamp(3) where name = ?";
+    private static final String FIRST_BEAT = "insert into replica_heartbeat (name, beat_at) "
+        + "values (?, current_timestamp(3))";
+    private static final String READ_BEAT = "select beat_at from replica_heartbeat where name = ?";
+
+    private final JdbcTemplate primary;
+    private final JdbcTemplate replica;
+    private final ReplicaProperties properties;
+    private final long maxLagMillis;
+
+    // NaN while unknown
+    private volatile double lagMillis = Double.NaN;
+    private volatile boolean replicaUsable;
+    private ScheduledExecutorService scheduler;
+
+    public ReplicaLagMonitor(DataSource primary, DataSource replica, ReplicaProperties properties,
+                             MeterRegistry meterRegistry) {
+        this.primary = new JdbcTemplate(primary);
+        this.replica = new JdbcTemplate(replica);
+        this.properties = properties;
+        this.maxLagMillis = properties.getMaxLag().toMillis();
+        TimeGauge.builder("tasks.datasource.replica.lag", this, TimeUnit.MILLISECONDS, monitor -> monitor.lagMillis)
+            .register(meterRegistry);
+        Gauge.builder("tasks.datasource.replica.usable", this, monitor -> monitor.replicaUsable ? 1 : 0)
+            .register(meterRegistry);
+    }
+
+    @PostConstruct
+    void start() {
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "replica-lag-monitor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long interval = properties.getHeartbeatInterval().toMillis();
+        scheduler.scheduleWithFixedDelay(this::check, 0, interval, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    public boolean isReplicaUsable() {
+        return replicaUsable;
+    }
+
+    void check() {
+        String problem;
+        try {
+            LocalDateTime written = beat();
+            LocalDateTime replicated = readBeat(replica);
+            if (replicated == null) {
+                lagMillis = Double.NaN;
+                problem = "it has not received the first heartbeat";
+            } else {
+                long lag = Math.max(Duration.between(replicated, written).toMillis(), 0);
+                lagMillis = lag;
+                problem = lag <= maxLagMillis ? null : "it is " + lag + " ms behind";
+            }
+        } catch (DataAccessException ex) {
+            lagMillis = Double.NaN;
+            problem = "its lag could not be measured: " + ex.getMessage();
+        }
+        boolean usable = problem == null;
+        if (usable && !replicaUsable) {
+            LOG.info("Read-only transactions now use the replica");
+        } else if (!usable && replicaUsable) {
+            LOG.warn("Read-only transactions go to the primary until the replica catches up; {}", problem);
+        }
+        replicaUsable = usable;
+    }
+
+    private LocalDateTime beat() {
+        if (primary.update(BEAT, HEARTBEAT) == 0) {
+            try {
+                primary.update(FIRST_BEAT, HEARTBEAT);
+            } catch (DuplicateKeyException ex) {
+                // Another node wrote the first heartbeat
+                primary.update(BEAT, HEARTBEAT);
+            }
+        }
+        return readBeat(primary);
+    }
+
+    private static LocalDateTime readBeat(JdbcTemplate database) {
+        List<LocalDateTime> beats = database.queryForList(READ_BEAT, LocalDateTime.class, HEARTBEAT);
+        return beats.isEmpty() ? null : beats.get(0);
+    }
+}
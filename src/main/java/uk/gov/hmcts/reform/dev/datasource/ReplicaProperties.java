@@ -0,0 +1,30 @@
+package uk.gov.hmcts.reform.dev.datasource;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+// Pool settings for the replica are bound separately, from tasks.datasource.replica.hikari
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "tasks.datasource.replica")
+public class ReplicaProperties {
+
+    private boolean enabled;
+
+    private String url;
+
+    private String username;
+
+    private String password;
+
+    // Reads from a client that made a change within this long go to the primary
+    private Duration readYourWritesWindow = Duration.ofSeconds(5);
+
+    // Reads go to the primary while the replica is further behind than this, or its lag is unknown
+    private Duration maxLag = Duration.ofSeconds(2);
+
+    private Duration heartbeatInterval = Duration.ofSeconds(1);
+}
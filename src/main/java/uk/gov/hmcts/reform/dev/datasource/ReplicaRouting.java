@@ -0,0 +1,51 @@
+package uk.gov.hmcts.reform.dev.datasource;
+
+import java.util.function.Supplier;
+
+/**
+ * Lets a request send its read-only transactions to the primary, for requests that must see changes the replica
+ * may not have yet.
+ */
+public final class ReplicaRouting {
+
+    static final String READ_YOUR_WRITES = "read-your-writes";
+    static final String CACHE_FILL = "cache-fill";
+
+    // Why the current thread is pinned, or null when it isn't
+    private static final ThreadLocal<String> PINNED = new ThreadLocal<>();
+
+    private ReplicaRouting() {
+    }
+
+    public static void pinToPrimary() {
+        PINNED.set(READ_YOUR_WRITES);
+    }
+
+    public static void unpin() {
+        PINNED.remove();
+    }
+
+    public static boolean isPinnedToPrimary() {
+        return PINNED.get() != null;
+    }
+
+    static String pinnedReason() {
+        return PINNED.get();
+    }
+
+    /**
+     * Runs a read whose result will be cached on the primary. A cache outlives the replica's lag, so a row read from
+     * a replica that hasn't caught up with an update or delete would be served long after the replica has.
+     */
+    public static <T> T readForCache(Supplier<T> read) {
+        if (isPinnedToPrimary()) {
+            return read.get();
+        }
+        PINNED.set(CACHE_FILL);
+        try {
+            return read.get();
+        } finally {
+            PINNED.remove();
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package uk.gov.hmcts.reform.dev.datasource;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * Sends connections for read-only transactions to the replica and everything else to the primary. Reads still go
+ * to the primary when the request or read is pinned there (see {@link ReplicaRouting}) or the replica is too far
+ * behind.
+ *
+ * <p>The transaction's read-only flag is only known once it has begun, so this must sit behind a
+ * LazyConnectionDataSourceProxy, which defers taking the connection until the first statement.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    enum Target {
+        PRIMARY, REPLICA
+    }
+
+    private final ReplicaLagMonitor lagMonitor;
+    private final Counter toReplica;
+    private final Counter pinned;
+    private final Counter cacheFill;
+    private final Counter lagging;
+
+    public ReplicaRoutingDataSource(DataSource primary, DataSource replica, ReplicaLagMonitor lagMonitor,
+                                    MeterRegistry meterRegistry) {
+        this.lagMonitor = lagMonitor;
+        setTargetDataSources(Map.of(Target.PRIMARY, primary, Target.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+        // Read-only transactions by where they went, and why when it wasn't the replica
+        this.toReplica = readsRouted(meterRegistry, "replica", "none");
+        this.pinned = readsRouted(meterRegistry, "primary", ReplicaRouting.READ_YOUR_WRITES);
+        this.cacheFill = readsRouted(meterRegistry, "primary", ReplicaRouting.CACHE_FILL);
+        this.lagging = readsRouted(meterRegistry, "primary", "replica-lag");
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return Target.PRIMARY;
+        }
+        String pinnedReason = ReplicaRouting.pinnedReason();
+        if (pinnedReason != null) {
+            (ReplicaRouting.CACHE_FILL.equals(pinnedReason) ? cacheFill : pinned).increment();
+            return Target.PRIMARY;
+        }
+        if (!lagMonitor.isReplicaUsable()) {
+            lagging.increment();
+            return Target.PRIMARY;
+        }
+        toReplica.increment();
+        return Target.REPLICA;
+    }
+
+    private static Counter readsRouted(MeterRegistry meterRegistry, String target, String reason) {
+        return Counter.builder("tasks.datasource.reads")
+            .tag("target", target)
+            .tag("reason", reason)
+            .register(meterRegistry);
+    }
+}
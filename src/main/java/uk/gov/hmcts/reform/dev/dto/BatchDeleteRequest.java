@@ -0,0 +1,18 @@
+package uk.gov.hmcts.reform.dev.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotEmpty;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+@Schema(description = "Request object for deleting many tasks")
+public class BatchDeleteRequest {
+
+    @NotEmpty(message = "At least one id is required")
+    @Schema(description = "IDs of the tasks to delete", example = "[1, 2, 3]")
+    private List<Long> ids;
+}
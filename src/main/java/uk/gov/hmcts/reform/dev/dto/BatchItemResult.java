@@ -0,0 +1,44 @@
+package uk.gov.hmcts.reform.dev.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.Map;
+
+@Getter
+@Setter
+@Schema(description = "Outcome of a single item in a batch operation")
+@NoArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BatchItemResult {
+
+    public enum Outcome {
+        CREATED, UPDATED, DELETED, INVALID, NOT_FOUND
+    }
+
+    @Schema(description = "Position of the item in the request", example = "0")
+    private int index;
+
+    @Schema(description = "Task ID the item refers to, when known", example = "1")
+    private Long id;
+
+    @Schema(description = "What happened to the item", example = "CREATED")
+    private Outcome outcome;
+
+    @Schema(description = "The task after the operation, for creates")
+    private TaskResponse task;
+
+    @Schema(description = "Validation messages keyed by field, for invalid items")
+    private Map<String, String> errors;
+
+    public BatchItemResult(int index, Long id, Outcome outcome, TaskResponse task, Map<String, String> errors) {
+        this.index = index;
+        this.id = id;
+        this.outcome = outcome;
+        this.task = task;
+        this.errors = errors;
+    }
+}
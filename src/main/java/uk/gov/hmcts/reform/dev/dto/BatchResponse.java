@@ -0,0 +1,36 @@
+package uk.gov.hmcts.reform.dev.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+@Schema(description = "Per-item results of a batch operation")
+@NoArgsConstructor
+public class BatchResponse {
+
+    @Schema(description = "Number of items applied", example = "49")
+    private int succeeded;
+
+    @Schema(description = "Number of items rejected or not found", example = "1")
+    private int failed;
+
+    @Schema(description = "One result per request item, in request order")
+    private List<BatchItemResult> results;
+
+    public BatchResponse(List<BatchItemResult> results) {
+        this.results = results;
+        for (BatchItemResult result : results) {
+            if (result.getOutcome() == BatchItemResult.Outcome.INVALID
+                || result.getOutcome() == BatchItemResult.Outcome.NOT_FOUND) {
+                failed++;
+            } else {
+                succeeded++;
+            }
+        }
+    }
+}
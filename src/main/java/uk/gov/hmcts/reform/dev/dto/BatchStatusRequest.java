@@ -0,0 +1,24 @@
+package uk.gov.hmcts.reform.dev.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import lombok.Getter;
+import lombok.Setter;
+import uk.gov.hmcts.reform.dev.models.Status;
+
+import java.util.List;
+
+@Getter
+@Setter
+@Schema(description = "Request object for updating the status of many tasks")
+public class BatchStatusRequest {
+
+    @NotEmpty(message = "At least one id is required")
+    @Schema(description = "IDs of the tasks to update", example = "[1, 2, 3]")
+    private List<Long> ids;
+
+    @NotNull(message = "Status is required")
+    @Schema(description = "New status for every listed task", example = "COMPLETED")
+    private Status status;
+}
@@ -0,0 +1,56 @@
+package uk.gov.hmcts.reform.dev.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Getter;
+import uk.gov.hmcts.reform.dev.models.Status;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Schema(description = "A change to a task, as delivered on the change feed")
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class TaskEvent {
+
+    public enum Type {
+        CREATED, STATUS_CHANGED, DELETED
+    }
+
+    @Schema(description = "What happened", example = "STATUS_CHANGED")
+    private final Type type;
+
+    @Schema(description = "ID of the affected task", example = "1")
+    private final Long taskId;
+
+    @Schema(description = "Task status after the change; absent for deletes", example = "COMPLETED")
+    private final Status status;
+
+    @Schema(description = "The task after the change, when it was at hand; absent for deletes and bulk updates")
+    private final TaskResponse task;
+
+    private final LocalDateTime occurredAt;
+
+    public TaskEvent(Type type, Long taskId, Status status, TaskResponse task, LocalDateTime occurredAt) {
+        this.type = type;
+        this.taskId = taskId;
+        this.status = status;
+        this.task = task;
+        this.occurredAt = occurredAt;
+    }
+
+    public static TaskEvent created(TaskResponse task, LocalDateTime occurredAt) {
+        return new TaskEvent(Type.CREATED, task.getId(), task.getStatus(), task, occurredAt);
+    }
+
+    public static TaskEvent statusChanged(TaskResponse task, LocalDateTime occurredAt) {
+        return new TaskEvent(Type.STATUS_CHANGED, task.getId(), task.getStatus(), task, occurredAt);
+    }
+
+    public static TaskEvent statusChanged(Long taskId, Status status, LocalDateTime occurredAt) {
+        return new TaskEvent(Type.STATUS_CHANGED, taskId, status, null, occurredAt);
+    }
+
+    public static TaskEvent deleted(Long taskId, LocalDateTime occurredAt) {
+        return new TaskEvent(Type.DELETED, taskId, null, null, occurredAt);
+    }
+}
@@ -0,0 +1,24 @@
+package uk.gov.hmcts.reform.dev.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import uk.gov.hmcts.reform.dev.models.Status;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskFilter {
+
+    private Status status;
+
+    private LocalDateTime dueFrom;
+
+    private LocalDateTime dueTo;
+
+    private String caseNumberPrefix;
+}
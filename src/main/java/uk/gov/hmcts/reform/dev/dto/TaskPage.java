@@ -0,0 +1,26 @@
+package uk.gov.hmcts.reform.dev.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+@Schema(description = "A single page of tasks, newest update first")
+@NoArgsConstructor
+public class TaskPage {
+
+    @Schema(description = "Tasks on this page")
+    private List<TaskResponse> items;
+
+    @Schema(description = "Opaque token to pass as 'cursor' for the next page; absent on the last page")
+    private String nextCursor;
+
+    public TaskPage(List<TaskResponse> items, String nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+    }
+}
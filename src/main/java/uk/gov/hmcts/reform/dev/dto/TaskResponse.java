@@ -1,6 +1,7 @@
 package uk.gov.hmcts.reform.dev.dto;
 
 import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import io.swagger.v3.oas.annotations.media.Schema;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -33,6 +34,14 @@ public class TaskResponse {
     @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm")
     private LocalDateTime dueDate;
 
+    // Carried in the ETag header rather than the body
+    @JsonIgnore
+    private Long version;
+
+    // Carried in the Last-Modified header rather than the body
+    @JsonIgnore
+    private LocalDateTime lastModified;
+
     // Constructor
     public TaskResponse(Long id, String title,String caseNumber,  String description, Status status,
                         LocalDateTime dueDate) {
@@ -44,4 +53,12 @@ public class TaskResponse {
         this.dueDate = dueDate;
     }
 
+    // Used by the repository's constructor projections, which fill the header fields too
+    public TaskResponse(Long id, String title, String caseNumber, String description, Status status,
+                        LocalDateTime dueDate, Long version, LocalDateTime lastModified) {
+        this(id, title, caseNumber, description, status, dueDate);
+        this.version = version;
+        this.lastModified = lastModified;
+    }
+
 }
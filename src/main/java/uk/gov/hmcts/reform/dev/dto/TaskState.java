@@ -0,0 +1,26 @@
+package uk.gov.hmcts.reform.dev.dto;
+
+import lombok.Getter;
+import uk.gov.hmcts.reform.dev.models.Status;
+
+import java.time.LocalDateTime;
+
+/**
+ * Just enough of a task to keep the task statistics up to date when it changes, and to mark the position of the
+ * overdue sweep.
+ */
+@Getter
+public class TaskState {
+
+    private final Long id;
+
+    private final Status status;
+
+    private final LocalDateTime dueDate;
+
+    public TaskState(Long id, Status status, LocalDateTime dueDate) {
+        this.id = id;
+        this.status = status;
+        this.dueDate = dueDate;
+    }
+}
@@ -0,0 +1,39 @@
+package uk.gov.hmcts.reform.dev.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Getter;
+import uk.gov.hmcts.reform.dev.models.Status;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+@Getter
+@Schema(description = "Task counts, kept up to date as tasks change and reconciled with the database periodically")
+public class TaskStats {
+
+    @Schema(description = "Number of tasks in each status")
+    private final Map<Status, Long> byStatus;
+
+    @Schema(description = "Number of tasks")
+    private final long total;
+
+    @Schema(description = "Tasks not yet completed whose due date has passed, to the minute, "
+        + "whether or not the overdue sweep has marked them OVERDUE yet")
+    private final long overdue;
+
+    @Schema(description = "Tasks not yet completed due on each of the coming days, starting today")
+    private final Map<LocalDate, Long> dueByDay;
+
+    @Schema(description = "When the counts were last checked against the database; absent until the first check")
+    private final LocalDateTime reconciledAt;
+
+    public TaskStats(Map<Status, Long> byStatus, long total, long overdue, Map<LocalDate, Long> dueByDay,
+                     LocalDateTime reconciledAt) {
+        this.byStatus = byStatus;
+        this.total = total;
+        this.overdue = overdue;
+        this.dueByDay = dueByDay;
+        this.reconciledAt = reconciledAt;
+    }
+}
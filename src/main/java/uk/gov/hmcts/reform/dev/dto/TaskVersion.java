@@ -0,0 +1,21 @@
+package uk.gov.hmcts.reform.dev.dto;
+
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Just enough of a task to answer a conditional request.
+ */
+@Getter
+public class TaskVersion {
+
+    private final Long version;
+
+    private final LocalDateTime lastModified;
+
+    public TaskVersion(Long version, LocalDateTime lastModified) {
+        this.version = version;
+        this.lastModified = lastModified;
+    }
+}
@@ -0,0 +1,34 @@
+package uk.gov.hmcts.reform.dev.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+@Getter
+@AllArgsConstructor
+@Schema(description = "Progress of tasks accepted in write-behind mode")
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class WriteBehindStatus {
+
+    @Schema(description = "Tasks accepted but not yet written to the database", example = "120")
+    private final int pending;
+
+    @Schema(description = "When the oldest pending task was accepted")
+    private final LocalDateTime oldestPendingSince;
+
+    @Schema(description = "When the last batch was written")
+    private final LocalDateTime lastWrittenAt;
+
+    @Schema(description = "Why the last write attempt failed, while the drainer is retrying")
+    private final String lastError;
+
+    @Schema(description = "Tasks the database refused, such as for a case number already taken; they stay in the "
+        + "journal and are tried again on the next start", example = "0")
+    private final int rejected;
+
+    @Schema(description = "Journal segment files on disk", example = "1")
+    private final int journalSegments;
+}
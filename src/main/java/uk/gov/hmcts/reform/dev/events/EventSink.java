@@ -0,0 +1,15 @@
+package uk.gov.hmcts.reform.dev.events;
+
+import java.io.IOException;
+
+/**
+ * Where a subscriber's events are written; an SSE connection in production.
+ */
+interface EventSink {
+
+    void send(String id, String name, Object data) throws IOException;
+
+    void heartbeat() throws IOException;
+
+    void complete();
+}
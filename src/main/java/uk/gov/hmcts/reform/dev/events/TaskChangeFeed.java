@@ -0,0 +1,336 @@
+package uk.gov.hmcts.reform.dev.events;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import uk.gov.hmcts.reform.dev.dto.TaskEvent;
+import uk.gov.hmcts.reform.dev.exception.TooManySubscribersException;
+import uk.gov.hmcts.reform.dev.service.TransactionHooks;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * In-process fan-out of task changes to server-sent-event subscribers.
+ *
+ * <p>Published events go into one ring buffer shared by every subscriber; a subscriber is just a position in
+ * that ring, so an idle connection costs a few fields and no thread. On publish, each subscriber that is not
+ * already draining gets a drain task that writes the events it hasn't seen yet. A subscriber that falls a full
+ * ring behind - a slow or stalled consumer - is sent a {@code reset} event and disconnected rather than
+ * buffered for.
+ *
+ * <p>Event ids are {@code <epoch>-<sequence>}. The epoch changes on every start, so a Last-Event-ID from another
+ * node or an earlier run is recognised as unknown and answered with {@code reset} (reload the list) instead of
+ * being misread as a position in this node's sequence.
+ *
+ * <p>The feed is per node: a subscriber hears of the changes made through the node it is connected to, not of
+ * changes made through other nodes or straight in the database. With more than one node behind the load
+ * balancer, clients must treat the feed as a hint and still revalidate the list (its ETag) periodically, or be
+ * pinned to one node for writes and the feed alike.
+ */
+@Component
+@EnableConfigurationProperties(TaskEventProperties.class)
+public class TaskChangeFeed {
+
+    private static final Logger LOG = LoggerFactory.getLogger(TaskChangeFeed.class);
+
+    static final String TASK_EVENT = "task";
+    static final String RESET_EVENT = "reset";
+
+    private final String epoch = Long.toString(UUID.randomUUID().getMostSignificantBits() & Long.MAX_VALUE, 36);
+    private final AtomicReferenceArray<Entry> ring;
+    private final int mask;
+    private final int maxSubscribers;
+    private final TaskEventProperties properties;
+    private final Executor drainExecutor;
+    private final ReentrantLock publishLock = new ReentrantLock();
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    // Slots taken, including subscribers still being set up; checked and taken in one step against maxSubscribers
+    private final AtomicInteger slots = new AtomicInteger();
+    private final Counter published;
+    private final Counter evicted;
+
+    private volatile long lastSequence;
+    private ScheduledExecutorService heartbeats;
+
+    @Autowired
+    public TaskChangeFeed(TaskEventProperties properties, MeterRegistry meterRegistry) {
+        // Drains block on socket writes; virtual threads keep a stalled client from holding a platform thread
+        this(properties, meterRegistry, Executors.newVirtualThreadPerTaskExecutor());
+    }
+
+    TaskChangeFeed(TaskEventProperties properties, MeterRegistry meterRegistry, Executor drainExecutor) {
+        int capacity = Integer.highestOneBit(Math.max(properties.getBufferSize() - 1, 1)) << 1;
+        this.ring = new AtomicReferenceArray<>(capacity);
+        this.mask = capacity - 1;
+        this.maxSubscribers = properties.getMaxSubscribers();
+        this.properties = properties;
+        this.drainExecutor = drainExecutor;
+        this.published = Counter.builder("tasks.events.published").register(meterRegistry);
+        this.evicted = Counter.builder("tasks.events.evicted")
+            .description("Subscribers disconnected for falling a full buffer behind")
+            .register(meterRegistry);
+        Gauge.builder("tasks.events.subscribers", subscribers, Set::size).register(meterRegistry);
+    }
+
+    @PostConstruct
+    void startHeartbeats() {
+        heartbeats = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "task-feed-heartbeat");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long interval = properties.getHeartbeatInterval().toMillis();
+        heartbeats.scheduleWithFixedDelay(this::heartbeat, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (heartbeats != null) {
+            heartbeats.shutdownNow();
+        }
+        subscribers.forEach(subscriber -> subscriber.close(false));
+        if (drainExecutor instanceof ExecutorService executor) {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Publishes the events once the current transaction commits, so subscribers never hear of a change that
+     * was rolled back or that a follow-up read could not yet see.
+     */
+    public void publishAfterCommit(List<TaskEvent> events) {
+        if (!events.isEmpty()) {
+            TransactionHooks.afterCommit(() -> publish(events));
+        }
+    }
+
+    public void publishAfterCommit(TaskEvent event) {
+        publishAfterCommit(List.of(event));
+    }
+
+    void publish(List<TaskEvent> events) {
+        publishLock.lock();
+        try {
+            long sequence = lastSequence;
+            for (TaskEvent event : events) {
+                sequence++;
+                ring.set(index(sequence), new Entry(sequence, event));
+            }
+            // Written after the slots, so a reader that sees the new sequence also sees the events
+            lastSequence = sequence;
+        } finally {
+            publishLock.unlock();
+        }
+        published.increment(events.size());
+        subscribers.forEach(Subscriber::signal);
+    }
+
+    /**
+     * Opens a stream starting after the given Last-Event-ID, or at the current head when there is none.
+     */
+    public SseEmitter open(String lastEventId) {
+        SseEmitter emitter = new SseEmitter(properties.getTimeout().toMillis());
+        Subscriber subscriber = subscribe(lastEventId, new SseEmitterSink(emitter));
+        emitter.onCompletion(() -> release(subscriber));
+        emitter.onTimeout(() -> subscriber.close(false));
+        emitter.onError(error -> release(subscriber));
+        return emitter;
+    }
+
+    Subscriber subscribe(String lastEventId, EventSink sink) {
+        if (slots.incrementAndGet() > maxSubscribers) {
+            slots.decrementAndGet();
+            throw new TooManySubscribersException(maxSubscribers);
+        }
+        long head = lastSequence;
+        long resumeFrom = resumePosition(lastEventId, head);
+        Subscriber subscriber = new Subscriber(sink, resumeFrom < 0 ? head : resumeFrom);
+        subscriber.resetPending = resumeFrom < 0;
+        subscribers.add(subscriber);
+        subscriber.signal();
+        return subscriber;
+    }
+
+    int subscriberCount() {
+        return subscribers.size();
+    }
+
+    // Each subscriber gives its slot back once, however many of completion, error and close remove it
+    private void release(Subscriber subscriber) {
+        if (subscribers.remove(subscriber)) {
+            slots.decrementAndGet();
+        }
+    }
+
+    String eventId(long sequence) {
+        return epoch + "-" + sequence;
+    }
+
+    // Sends keep-alives and drops subscribers whose drain is stuck behind the ring
+    void heartbeat() {
+        long head = lastSequence;
+        for (Subscriber subscriber : subscribers) {
+            if (head - subscriber.position > ring.length()) {
+                // Its drain is blocked on a write; closing takes the emitter's lock, so don't wait for it here
+                drainExecutor.execute(subscriber::evict);
+            } else {
+                subscriber.heartbeatDue = true;
+                subscriber.signal();
+            }
+        }
+    }
+
+    // The sequence to continue after, or -1 when the id can't be resumed from this node's buffer
+    private long resumePosition(String lastEventId, long head) {
+        if (lastEventId == null || lastEventId.isBlank()) {
+            return head;
+        }
+        int separator = lastEventId.lastIndexOf('-');
+        if (separator < 0 || !lastEventId.substring(0, separator).equals(epoch)) {
+            return -1;
+        }
+        long sequence;
+        try {
+            sequence = Long.parseLong(lastEventId.substring(separator + 1));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+        return sequence <= head && head - sequence <= ring.length() ? sequence : -1;
+    }
+
+    private int index(long sequence) {
+        return (int) (sequence & mask);
+    }
+
+    private record Entry(long sequence, TaskEvent event) {
+    }
+
+    final class Subscriber {
+
+        private final EventSink sink;
+        private final AtomicBoolean draining = new AtomicBoolean();
+
+        // Only touched by the drain in progress; read by heartbeat() to spot stalled subscribers
+        private volatile long position;
+        private volatile boolean resetPending;
+        private volatile boolean heartbeatDue;
+        private volatile boolean closed;
+
+        private Subscriber(EventSink sink, long position) {
+            this.sink = sink;
+            this.position = position;
+        }
+
+        void signal() {
+            if (!closed && draining.compareAndSet(false, true)) {
+                drainExecutor.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            try {
+                do {
+                    writePending();
+                    draining.set(false);
+                    // A publish between the last read and clearing the flag would otherwise go unnoticed
+                } while (!closed && hasPending() && draining.compareAndSet(false, true));
+            } catch (IOException | IllegalStateException e) {
+                LOG.debug("Change feed subscriber went away: {}", e.getMessage());
+                close(false);
+            }
+        }
+
+        private boolean hasPending() {
+            return position < lastSequence || resetPending || heartbeatDue;
+        }
+
+        private void writePending() throws IOException {
+            if (resetPending) {
+                resetPending = false;
+                sink.send(eventId(position), RESET_EVENT, Map.of("reason", "resume position unavailable"));
+            }
+            long head = lastSequence;
+            while (!closed && position < head) {
+                long next = position + 1;
+                Entry entry = ring.get(index(next));
+                if (entry == null || entry.sequence() != next) {
+                    evict();
+                    return;
+                }
+                sink.send(eventId(next), TASK_EVENT, entry.event());
+                position = next;
+            }
+            if (heartbeatDue) {
+                heartbeatDue = false;
+                sink.heartbeat();
+            }
+        }
+
+        private void evict() {
+            if (!closed) {
+                evicted.increment();
+            }
+            close(true);
+        }
+
+        private void close(boolean sendReset) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            release(this);
+            if (sendReset) {
+                try {
+                    sink.send(eventId(position), RESET_EVENT, Map.of("reason", "subscriber fell too far behind"));
+                } catch (IOException | IllegalStateException e) {
+                    LOG.debug("Could not notify evicted change feed subscriber: {}", e.getMessage());
+                }
+            }
+            sink.complete();
+        }
+
+        boolean isClosed() {
+            return closed;
+        }
+    }
+
+    private record SseEmitterSink(SseEmitter emitter) implements EventSink {
+
+        @Override
+        public void send(String id, String name, Object data) throws IOException {
+            emitter.send(SseEmitter.event().id(id).name(name).data(data));
+        }
+
+        @Override
+        public void heartbeat() throws IOException {
+            emitter.send(SseEmitter.event().comment("keep-alive"));
+        }
+
+        @Override
+        public void complete() {
+            emitter.complete();
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package uk.gov.hmcts.reform.dev.events;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "tasks.events")
+public class TaskEventProperties {
+
+    // Events kept for replay and fan-out; a subscriber further behind than this is evicted. Rounded up to a
+    // power of two.
+    private int bufferSize = 4096;
+
+    private int maxSubscribers = 10_000;
+
+    // Keeps idle connections open through proxies and detects clients that have gone away
+    private Duration heartbeatInterval = Duration.ofSeconds(15);
+
+    // Streams are closed after this; clients reconnect with Last-Event-ID and lose nothing
+    private Duration timeout = Duration.ofMinutes(30);
+}
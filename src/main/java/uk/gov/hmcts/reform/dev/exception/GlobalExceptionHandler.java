@@ -1,13 +1,18 @@
 
 package uk.gov.hmcts.reform.dev.exception;
 
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.bind.support.WebExchangeBindException;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.Map;
@@ -21,6 +26,17 @@ public class GlobalExceptionHandler {
     @ResponseStatus(HttpStatus.BAD_REQUEST) // Sets the HTTP status code for the response
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<?> handleValidationException(MethodArgumentNotValidException ex) {
+        return validationError(ex.getBindingResult());
+    }
+
+    // The same validation errors raised by the reactive stack
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    @ExceptionHandler(WebExchangeBindException.class)
+    public ResponseEntity<?> handleWebExchangeBindException(WebExchangeBindException ex) {
+        return validationError(ex.getBindingResult());
+    }
+
+    private static ResponseEntity<?> validationError(BindingResult bindingResult) {
         Map<String, Object> error = new HashMap<>();
         error.put("timestamp", LocalDateTime.now());
         error.put("status", HttpStatus.BAD_REQUEST.value());
@@ -28,7 +44,7 @@ public class GlobalExceptionHandler {
 
         // Gather all validation messages
         Map<String, String> validationErrors = new HashMap<>();
-        ex.getBindingResult().getFieldErrors().forEach(err ->
+        bindingResult.getFieldErrors().forEach(err ->
                 validationErrors.put(err.getField(), err.getDefaultMessage())
         );
 
@@ -45,6 +61,76 @@ public class GlobalExceptionHandler {
         return error;
     }
 
+    // Handles bad request input such as a malformed pagination cursor or an oversized batch
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    @ExceptionHandler(InvalidRequestException.class)
+    public Map<String, String> handleInvalidRequestExceptions(InvalidRequestException ex) {
+        Map<String, String> error = new HashMap<>();
+        error.put("error", ex.getMessage());
+        return error;
+    }
+
+    // Handles conditional writes (If-Match) against a version that has since changed
+    @ResponseStatus(HttpStatus.PRECONDITION_FAILED)
+    @ExceptionHandler(TaskVersionConflictException.class)
+    public Map<String, String> handleVersionConflictExceptions(TaskVersionConflictException ex) {
+        Map<String, String> error = new HashMap<>();
+        error.put("error", ex.getMessage());
+        return error;
+    }
+
+    // Handles an Idempotency-Key resent with a different task
+    @ResponseStatus(HttpStatus.UNPROCESSABLE_ENTITY)
+    @ExceptionHandler(IdempotencyKeyMismatchException.class)
+    public Map<String, String> handleIdempotencyKeyMismatchExceptions(IdempotencyKeyMismatchException ex) {
+        Map<String, String> error = new HashMap<>();
+        error.put("error", ex.getMessage());
+        return error;
+    }
+
+    // Handles concurrent changes detected by the @Version check on a managed entity
+    @ResponseStatus(HttpStatus.CONFLICT)
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public Map<String, String> handleOptimisticLockingExceptions(OptimisticLockingFailureException ex) {
+        Map<String, String> error = new HashMap<>();
+        error.put("error", "The task was changed by another request; reload it and try again");
+        return error;
+    }
+
+    // Handles change-feed subscriptions beyond what this node will hold open. No body: the client asked for
+    // text/event-stream, which a JSON error can't be written as.
+    @ExceptionHandler(TooManySubscribersException.class)
+    public ResponseEntity<Void> handleTooManySubscribersExceptions(TooManySubscribersException ex) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+            .header(HttpHeaders.RETRY_AFTER, "5")
+            .build();
+    }
+
+    // Handles write-behind creates beyond the configured backlog
+    @ExceptionHandler(WriteBehindFullException.class)
+    public ResponseEntity<Map<String, String>> handleWriteBehindFullExceptions(WriteBehindFullException ex) {
+        Map<String, String> error = new HashMap<>();
+        error.put("error", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+            .header(HttpHeaders.RETRY_AFTER, "1")
+            .body(error);
+    }
+
+    // Handles requests over a client's rate limit or the adaptive concurrency limit. No body: the limits also
+    // cover the change-feed stream, which a JSON error can't be written to.
+    @ExceptionHandler(RateLimitedException.class)
+    public ResponseEntity<Void> handleRateLimitedExceptions(RateLimitedException ex) {
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+            .header(HttpHeaders.RETRY_AFTER, retryAfterSeconds(ex.getRetryAfter()))
+            .build();
+    }
+
+    @ExceptionHandler(OverloadedException.class)
+    public ResponseEntity<Void> handleOverloadedExceptions(OverloadedException ex) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+            .header(HttpHeaders.RETRY_AFTER, retryAfterSeconds(ex.getRetryAfter()))
+            .build();
+    }
 
     //other exceptions
     @ExceptionHandler(Exception.class)
@@ -58,5 +144,10 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(error, HttpStatus.INTERNAL_SERVER_ERROR);
     }
 
+    // Retry-After is in whole seconds; round up so clients don't come back too soon
+    private static String retryAfterSeconds(Duration retryAfter) {
+        return Long.toString(Math.max(1, (retryAfter.toMillis() + 999) / 1000));
+    }
+
 
 }
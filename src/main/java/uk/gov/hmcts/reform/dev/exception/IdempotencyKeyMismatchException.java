@@ -0,0 +1,13 @@
+package uk.gov.hmcts.reform.dev.exception;
+
+/**
+ * Thrown when an Idempotency-Key is sent again with a request that differs from the one it was first used for.
+ */
+public class IdempotencyKeyMismatchException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public IdempotencyKeyMismatchException(String key) {
+        super("Idempotency-Key " + key + " was already used for a different request");
+    }
+}
@@ -0,0 +1,13 @@
+package uk.gov.hmcts.reform.dev.exception;
+
+/**
+ * Thrown when a pagination cursor sent back by the client can't be decoded.
+ */
+public class InvalidCursorException extends InvalidRequestException {
+
+    private static final long serialVersionUID = 1L;
+
+    public InvalidCursorException(Throwable cause) {
+        super("Invalid cursor", cause);
+    }
+}
@@ -0,0 +1,22 @@
+package uk.gov.hmcts.reform.dev.exception;
+
+import java.time.Duration;
+
+/**
+ * Thrown when the service is already handling as many requests as it can without slowing down.
+ */
+public class OverloadedException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final Duration retryAfter;
+
+    public OverloadedException(int limit, Duration retryAfter) {
+        super("Already handling " + limit + " requests; retry shortly");
+        this.retryAfter = retryAfter;
+    }
+
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
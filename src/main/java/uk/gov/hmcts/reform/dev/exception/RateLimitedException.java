@@ -0,0 +1,22 @@
+package uk.gov.hmcts.reform.dev.exception;
+
+import java.time.Duration;
+
+/**
+ * Thrown when a client has used up its request allowance for an endpoint.
+ */
+public class RateLimitedException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final Duration retryAfter;
+
+    public RateLimitedException(String endpoint, Duration retryAfter) {
+        super("Too many requests to " + endpoint + "; retry after " + retryAfter.toMillis() + " ms");
+        this.retryAfter = retryAfter;
+    }
+
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
@@ -0,0 +1,17 @@
+package uk.gov.hmcts.reform.dev.exception;
+
+/**
+ * Thrown when a conditional write names a task version that is no longer current.
+ */
+public class TaskVersionConflictException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public TaskVersionConflictException(Long id, Long expectedVersion) {
+        super("Task " + id + " is no longer at version " + expectedVersion);
+    }
+
+    public TaskVersionConflictException(Long id, String ifMatch) {
+        super("Task " + id + " is not at a version matching If-Match " + ifMatch);
+    }
+}
@@ -0,0 +1,13 @@
+package uk.gov.hmcts.reform.dev.exception;
+
+/**
+ * Thrown when a node already serves as many change-feed subscribers as it is configured for.
+ */
+public class TooManySubscribersException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public TooManySubscribersException(int limit) {
+        super("The change feed is at its limit of " + limit + " subscribers; retry shortly");
+    }
+}
@@ -0,0 +1,13 @@
+package uk.gov.hmcts.reform.dev.exception;
+
+/**
+ * Thrown when write-behind mode already holds as many unwritten tasks as it is configured for.
+ */
+public class WriteBehindFullException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public WriteBehindFullException(int limit) {
+        super("Too many tasks are waiting to be written (limit " + limit + "); retry shortly");
+    }
+}
@@ -0,0 +1,24 @@
+package uk.gov.hmcts.reform.dev.idempotency;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.PlatformTransactionManager;
+import uk.gov.hmcts.reform.dev.repository.IdempotencyRecordRepository;
+
+@Configuration
+@ConditionalOnProperty(prefix = "tasks.idempotency", name = "enabled", havingValue = "true", matchIfMissing = true)
+@EnableConfigurationProperties(IdempotencyProperties.class)
+public class IdempotencyConfig {
+
+    @Bean
+    public IdempotencyService idempotencyService(IdempotencyRecordRepository repository,
+                                                 PlatformTransactionManager transactionManager,
+                                                 ObjectMapper objectMapper, IdempotencyProperties properties,
+                                                 MeterRegistry meterRegistry) {
+        return new IdempotencyService(repository, transactionManager, objectMapper, properties, meterRegistry);
+    }
+}
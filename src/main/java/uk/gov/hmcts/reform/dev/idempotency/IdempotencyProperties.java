@@ -0,0 +1,25 @@
+package uk.gov.hmcts.reform.dev.idempotency;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "tasks.idempotency")
+public class IdempotencyProperties {
+
+    private boolean enabled = true;
+
+    // How long a key is remembered, which should comfortably cover the callers' retry window
+    private Duration ttl = Duration.ofHours(24);
+
+    // Keys each node keeps in memory; older ones are still answered from idempotency_record
+    private long maximumSize = 10_000;
+
+    // How often expired rows are deleted from idempotency_record, and how many per statement
+    private Duration purgeInterval = Duration.ofMinutes(10);
+    private int purgeBatchSize = 1000;
+}
@@ -0,0 +1,262 @@
+package uk.gov.hmcts.reform.dev.idempotency;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import uk.gov.hmcts.reform.dev.dto.TaskRequest;
+import uk.gov.hmcts.reform.dev.dto.TaskResponse;
+import uk.gov.hmcts.reform.dev.exception.IdempotencyKeyMismatchException;
+import uk.gov.hmcts.reform.dev.exception.InvalidRequestException;
+import uk.gov.hmcts.reform.dev.models.IdempotencyRecord;
+import uk.gov.hmcts.reform.dev.repository.IdempotencyRecordRepository;
+
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Makes POST /tasks safe to retry: the first request with a given Idempotency-Key creates the task, and later ones
+ * with the same key get the original response back without creating another.
+ *
+ * <p>Each node keeps recent keys in a bounded Caffeine store that expires them after the TTL, so a retry landing on
+ * the same node is answered without touching the database. The store holds a future per key, so concurrent
+ * duplicates wait for the first request's outcome instead of running their own insert. Behind that, the key is
+ * written to idempotency_record in the same transaction as the task. A duplicate racing on another node blocks on
+ * the key's primary key until the first commits, then fails and rolls its own task back, and answers from the row.
+ */
+public class IdempotencyService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(IdempotencyService.class);
+
+    public static final String HEADER = "Idempotency-Key";
+    static final int MAX_KEY_LENGTH = 255;
+
+    private final IdempotencyRecordRepository repository;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final IdempotencyProperties properties;
+    // Completed outcomes, and the in-flight create that requests with the same key wait on
+    private final Cache<String, CompletableFuture<Outcome>> outcomes;
+    private final Counter created;
+    private final Counter replayed;
+    private final Counter coalesced;
+    private final Counter mismatched;
+    private ScheduledExecutorService purger;
+
+    public IdempotencyService(IdempotencyRecordRepository repository, PlatformTransactionManager transactionManager,
+                              ObjectMapper objectMapper, IdempotencyProperties properties,
+                              MeterRegistry meterRegistry) {
+        this.repository = repository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.objectMapper = objectMapper;
+        this.properties = properties;
+        this.outcomes = Caffeine.newBuilder()
+            .maximumSize(properties.getMaximumSize())
+            .expireAfterWrite(properties.getTtl())
+            .recordStats()
+            .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, outcomes, "idempotency");
+        this.created = counter(meterRegistry, "created");
+        this.replayed = counter(meterRegistry, "replayed");
+        this.coalesced = counter(meterRegistry, "coalesced");
+        this.mismatched = counter(meterRegistry, "mismatched");
+    }
+
+    @PostConstruct
+    void startPurging() {
+        purger = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "idempotency-purge");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long interval = properties.getPurgeInterval().toMillis();
+        purger.scheduleWithFixedDelay(this::purgeQuietly, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (purger != null) {
+            purger.shutdownNow();
+        }
+    }
+
+    /**
+     * Runs create for the first request with this key and returns its response; for any later request with the same
+     * key, returns that response again with replayed set. Throws IdempotencyKeyMismatchException if the key was
+     * first used for a different request.
+     */
+    public Result execute(String key, TaskRequest request, Supplier<TaskResponse> create) {
+        checkKey(key);
+        String requestHash = hash(request);
+        CompletableFuture<Outcome> mine = new CompletableFuture<>();
+        CompletableFuture<Outcome> existing = outcomes.asMap().putIfAbsent(key, mine);
+        if (existing != null) {
+            (existing.isDone() ? replayed : coalesced).increment();
+            return replay(key, await(existing), requestHash);
+        }
+        Result result;
+        try {
+            result = createOnce(key, requestHash, create);
+        } catch (RuntimeException ex) {
+            // Leave the key free for the caller's retry, and fail the requests that were waiting on this one
+            outcomes.asMap().remove(key, mine);
+            mine.completeExceptionally(ex);
+            throw ex;
+        }
+        // A row read back from the table has already been checked against this request's hash
+        mine.complete(new Outcome(requestHash, result.response()));
+        (result.replayed() ? replayed : created).increment();
+        return result;
+    }
+
+    /**
+     * Deletes expired rows from idempotency_record a batch at a time. Returns the number deleted.
+     */
+    int purge() {
+        int batchSize = properties.getPurgeBatchSize();
+        int total = 0;
+        int deleted;
+        do {
+            deleted = Objects.requireNonNull(transactionTemplate.execute(
+                status -> repository.deleteExpired(batchSize)));
+            total += deleted;
+        } while (deleted == batchSize);
+        return total;
+    }
+
+    private void purgeQuietly() {
+        try {
+            int deleted = purge();
+            if (deleted > 0) {
+                LOG.debug("Purged {} expired idempotency keys", deleted);
+            }
+        } catch (RuntimeException ex) {
+            LOG.warn("Could not purge expired idempotency keys: {}", ex.getMessage());
+        }
+    }
+
+    // The row is checked and the task created in one transaction with the key's row, so the task only survives if
+    // the key does
+    private Result createOnce(String key, String requestHash, Supplier<TaskResponse> create) {
+        try {
+            return transactionTemplate.execute(status -> {
+                repository.deleteIfExpired(key);
+                Optional<IdempotencyRecord> existing = repository.findById(key);
+                if (existing.isPresent()) {
+                    return new Result(checkedResponse(key, existing.get(), requestHash), true);
+                }
+                TaskResponse response = create.get();
+                repository.insert(key, requestHash, response.getId(), toJson(response), response.getVersion(),
+                                  response.getLastModified(), Math.max(properties.getTtl().toSeconds(), 1));
+                return new Result(response, false);
+            });
+        } catch (DataIntegrityViolationException ex) {
+            // Another node committed this key first. Read its row in a read-write transaction so it comes from the
+            // primary rather than a replica that may not have it yet.
+            IdempotencyRecord winner = transactionTemplate.execute(status -> repository.findById(key).orElse(null));
+            if (winner == null) {
+                throw ex;
+            }
+            return new Result(checkedResponse(key, winner, requestHash), true);
+        }
+    }
+
+    private Result replay(String key, Outcome outcome, String requestHash) {
+        if (!outcome.requestHash().equals(requestHash)) {
+            mismatched.increment();
+            throw new IdempotencyKeyMismatchException(key);
+        }
+        return new Result(outcome.response(), true);
+    }
+
+    private TaskResponse checkedResponse(String key, IdempotencyRecord record, String requestHash) {
+        if (!record.getRequestHash().equals(requestHash)) {
+            mismatched.increment();
+            throw new IdempotencyKeyMismatchException(key);
+        }
+        TaskResponse response = fromJson(record.getResponse());
+        response.setVersion(record.getTaskVersion());
+        response.setLastModified(record.getLastModified());
+        return response;
+    }
+
+    private static Outcome await(CompletableFuture<Outcome> future) {
+        try {
+            return future.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw ex;
+        }
+    }
+
+    private static void checkKey(String key) {
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            throw new InvalidRequestException(HEADER + " must be between 1 and " + MAX_KEY_LENGTH + " characters");
+        }
+    }
+
+    // Covers the fields a create actually uses, so resending the same task with other fields changed still matches
+    static String hash(TaskRequest request) {
+        String canonical = request.getTitle() + '\0' + request.getDescription() + '\0' + request.getDueDate();
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(canonical.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    private String toJson(TaskResponse response) {
+        try {
+            return objectMapper.writeValueAsString(response);
+        } catch (JsonProcessingException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private TaskResponse fromJson(String json) {
+        try {
+            return objectMapper.readValue(json, TaskResponse.class);
+        } catch (JsonProcessingException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private static Counter counter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("tasks.idempotency.requests")
+            .tag("result", result)
+            .register(meterRegistry);
+    }
+
+    /**
+     * The response to return, and whether it was given before to an earlier request with the same key.
+     */
+    public record Result(TaskResponse response, boolean replayed) {
+    }
+
+    private record Outcome(String requestHash, TaskResponse response) {
+    }
+}
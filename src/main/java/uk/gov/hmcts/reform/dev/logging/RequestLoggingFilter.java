@@ -0,0 +1,83 @@
+package uk.gov.hmcts.reform.dev.logging;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tags every log line written while handling a request with its request id (taken from X-Request-Id or
+ * generated, and echoed back), and writes one structured summary line for a sample of requests. Server errors
+ * and requests slower than the threshold are always summarised.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@EnableConfigurationProperties(RequestLoggingProperties.class)
+public class RequestLoggingFilter extends OncePerRequestFilter {
+
+    public static final String REQUEST_ID_HEADER = "X-Request-Id";
+    public static final String REQUEST_ID_KEY = "requestId";
+
+    private static final Logger LOG = LoggerFactory.getLogger(RequestLoggingFilter.class);
+    private static final int MAX_REQUEST_ID_LENGTH = 64;
+
+    private final double sampleRate;
+    private final long slowRequestNanos;
+
+    public RequestLoggingFilter(RequestLoggingProperties properties) {
+        this.sampleRate = properties.getSampleRate();
+        this.slowRequestNanos = properties.getSlowRequestThreshold().toNanos();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+        throws ServletException, IOException {
+        String requestId = requestId(request.getHeader(REQUEST_ID_HEADER));
+        MDC.put(REQUEST_ID_KEY, requestId);
+        response.setHeader(REQUEST_ID_HEADER, requestId);
+        long start = System.nanoTime();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            if (shouldLog(response.getStatus(), elapsed)) {
+                LOG.atInfo()
+                    .addKeyValue("method", request.getMethod())
+                    .addKeyValue("path", request.getRequestURI())
+                    .addKeyValue("status", response.getStatus())
+                    .addKeyValue("durationMs", TimeUnit.NANOSECONDS.toMillis(elapsed))
+                    .log("{} {} {} in {} ms", request.getMethod(), request.getRequestURI(), response.getStatus(),
+                         TimeUnit.NANOSECONDS.toMillis(elapsed));
+            }
+            MDC.remove(REQUEST_ID_KEY);
+        }
+    }
+
+    private boolean shouldLog(int status, long elapsedNanos) {
+        return status >= 500
+            || elapsedNanos >= slowRequestNanos
+            || ThreadLocalRandom.current().nextDouble() < sampleRate;
+    }
+
+    // Ids from clients are echoed into headers and logs, so only accept short, plain ones
+    private static String requestId(String supplied) {
+        if (supplied != null && !supplied.isEmpty() && supplied.length() <= MAX_REQUEST_ID_LENGTH
+            && supplied.chars().allMatch(c -> Character.isLetterOrDigit(c) || c == '-' || c == '_')) {
+            return supplied;
+        }
+        return UUID.randomUUID().toString();
+    }
+}
@@ -0,0 +1,18 @@
+package uk.gov.hmcts.reform.dev.logging;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "tasks.logging")
+public class RequestLoggingProperties {
+
+    // Fraction of ordinary requests that get a summary line; errors and slow requests are always logged
+    private double sampleRate = 0.01;
+
+    private Duration slowRequestThreshold = Duration.ofMillis(500);
+}
@@ -0,0 +1,24 @@
+package uk.gov.hmcts.reform.dev.models;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Cluster-wide high-water mark for case numbers. Nodes reserve whole blocks by advancing nextValue.
+ */
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+@Entity
+public class CaseNumberSequence {
+
+    @Id
+    private String name;
+
+    private long nextValue;
+}
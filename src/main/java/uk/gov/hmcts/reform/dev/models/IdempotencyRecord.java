@@ -0,0 +1,45 @@
+package uk.gov.hmcts.reform.dev.models;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * The response first given to a POST /tasks carrying an Idempotency-Key, kept so a retry with the same key gets it
+ * again instead of creating another task. It is written in the same transaction as the task it describes.
+ */
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+@Entity
+@Table(indexes = @Index(name = "idx_idempotency_record_expires_at", columnList = "expires_at"))
+public class IdempotencyRecord {
+
+    @Id
+    private String idempotencyKey;
+
+    // SHA-256 of the request, so the key can't be reused for a different task
+    @Column(length = 64)
+    private String requestHash;
+
+    private Long taskId;
+
+    // The TaskResponse body as JSON; its version and last-modified time are kept alongside for the headers
+    @Column(columnDefinition = "text")
+    private String response;
+
+    private Long taskVersion;
+
+    private LocalDateTime lastModified;
+
+    private LocalDateTime expiresAt;
+}
@@ -0,0 +1,27 @@
+package uk.gov.hmcts.reform.dev.models;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Written on the primary and read back from the read replica; the difference between the two copies of beatAt is
+ * how far replication is behind.
+ */
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+@Entity
+public class ReplicaHeartbeat {
+
+    @Id
+    private String name;
+
+    private LocalDateTime beatAt;
+}
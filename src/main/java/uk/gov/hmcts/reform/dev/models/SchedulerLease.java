@@ -0,0 +1,28 @@
+package uk.gov.hmcts.reform.dev.models;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * A named lease on background work that should run on one node at a time. The owner holds it until expiresAt.
+ */
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+@Entity
+public class SchedulerLease {
+
+    @Id
+    private String name;
+
+    private String owner;
+
+    private LocalDateTime expiresAt;
+}
@@ -2,5 +2,9 @@ package uk.gov.hmcts.reform.dev.models;
 
 public enum Status {
 
-   PENDING,  COMPLETED
+   PENDING,  COMPLETED,
+
+   // Stored by ordinal, so new values go on the end. Pending tasks past their due date are moved here by the
+   // overdue sweep.
+   OVERDUE
 }
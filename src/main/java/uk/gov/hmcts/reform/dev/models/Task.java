@@ -7,8 +7,13 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.PreUpdate;
 import jakarta.persistence.PrePersist;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import jakarta.persistence.Version;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -22,9 +27,21 @@ import java.time.LocalDateTime;
 @Getter
 @Setter
 @Entity
+// Composite indexes back the keyset pagination on (date_updated, id) and its filters, so each page is an index
+// range scan rather than a filesort over the whole table. The unique case number index also serves prefix filters.
+@Table(indexes = {
+    @Index(name = "idx_task_updated_id", columnList = "date_updated, id"),
+    @Index(name = "idx_task_status_updated_id", columnList = "status, date_updated, id"),
+    @Index(name = "idx_task_due_date", columnList = "due_date"),
+    // The overdue sweep walks pending tasks in (due_date, id) order along this index
+    @Index(name = "idx_task_status_due_id", columnList = "status, due_date, id")
+}, uniqueConstraints = @UniqueConstraint(name = "uk_task_case_number", columnNames = "case_number"))
 public class Task {
+    // Pooled sequence (table-backed on MySQL) rather than IDENTITY: ids are reserved 50 at a time without an
+    // insert, which lets Hibernate group inserts into JDBC batches. Keep allocationSize equal to the batch size.
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "task_seq")
+    @SequenceGenerator(name = "task_seq", sequenceName = "task_seq", allocationSize = 50)
     private Long id;
 
     private String caseNumber;
@@ -43,6 +60,10 @@ public class Task {
 
     private LocalDateTime dateUpdated;
 
+    // Incremented on every change; exposed to clients as the ETag for optimistic concurrency
+    @Version
+    private Long version;
+
 
     @PreUpdate
     public void preUpdateFunction() {
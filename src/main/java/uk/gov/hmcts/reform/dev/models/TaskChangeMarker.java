@@ -0,0 +1,26 @@
+package uk.gov.hmcts.reform.dev.models;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Records when the task collection last changed in a way max(task.date_updated) cannot show, i.e. a delete.
+ */
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+@Entity
+public class TaskChangeMarker {
+
+    @Id
+    private String name;
+
+    private LocalDateTime changedAt;
+}
@@ -0,0 +1,24 @@
+package uk.gov.hmcts.reform.dev.overdue;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "tasks.overdue")
+public class OverdueSweepProperties {
+
+    private boolean enabled = true;
+
+    // Pause between the end of one sweep and the start of the next
+    private Duration interval = Duration.ofMinutes(1);
+
+    // Tasks marked per transaction, which bounds how long the batch's row locks are held
+    private int batchSize = 500;
+
+    // How long a node that stops renewing (e.g. it died mid-sweep) keeps other nodes from sweeping
+    private Duration leaseDuration = Duration.ofMinutes(5);
+}
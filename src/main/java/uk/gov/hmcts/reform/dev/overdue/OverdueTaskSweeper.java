@@ -0,0 +1,154 @@
+package uk.gov.hmcts.reform.dev.overdue;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Component;
+import uk.gov.hmcts.reform.dev.dto.TaskState;
+import uk.gov.hmcts.reform.dev.models.Status;
+import uk.gov.hmcts.reform.dev.repository.TaskRepository;
+import uk.gov.hmcts.reform.dev.service.DatabaseLease;
+import uk.gov.hmcts.reform.dev.service.TaskService;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Marks pending tasks whose due date has passed as OVERDUE. Each sweep walks idx_task_status_due_id from the oldest
+ * due date up to the time the sweep started, a batch per transaction, so no transaction holds more than one batch
+ * of row locks and rows that are no longer pending are never read. Each batch carries on from the (dueDate, id) of
+ * the last task the previous one marked rather than from the start of the index, so the sweep doesn't rescan the
+ * entries its own updates have just moved out of the pending range.
+ *
+ * <p>Only the node holding the overdue_sweep lease sweeps; the others try again next interval.
+ */
+@Component
+@ConditionalOnProperty(prefix = "tasks.overdue", name = "enabled", havingValue = "true", matchIfMissing = true)
+@EnableConfigurationProperties(OverdueSweepProperties.class)
+public class OverdueTaskSweeper {
+
+    private static final Logger LOG = LoggerFactory.getLogger(OverdueTaskSweeper.class);
+
+    static final String LEASE_NAME = "overdue_sweep";
+
+    private final TaskService taskService;
+    private final TaskRepository taskRepository;
+    private final DatabaseLease lease;
+    private final OverdueSweepProperties properties;
+    private final Clock clock;
+    private final Timer batchTimer;
+    private final Counter marked;
+    private final AtomicLong lagMillis = new AtomicLong();
+    private ScheduledExecutorService scheduler;
+
+    @Autowired
+    public OverdueTaskSweeper(TaskService taskService, TaskRepository taskRepository, DatabaseLease lease,
+                              OverdueSweepProperties properties, MeterRegistry meterRegistry) {
+        this(taskService, taskRepository, lease, properties, meterRegistry, Clock.systemDefaultZone());
+    }
+
+    OverdueTaskSweeper(TaskService taskService, TaskRepository taskRepository, DatabaseLease lease,
+                       OverdueSweepProperties properties, MeterRegistry meterRegistry, Clock clock) {
+        this.taskService = taskService;
+        this.taskRepository = taskRepository;
+        this.lease = lease;
+        this.properties = properties;
+        this.clock = clock;
+        this.batchTimer = Timer.builder("tasks.overdue.batch").register(meterRegistry);
+        this.marked = Counter.builder("tasks.overdue.marked").register(meterRegistry);
+        // How long the longest-overdue task still marked PENDING has been due; 0 when the sweep is keeping up
+        TimeGauge.builder("tasks.overdue.lag", lagMillis, TimeUnit.MILLISECONDS, AtomicLong::get)
+            .register(meterRegistry);
+    }
+
+    @PostConstruct
+    void start() {
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "task-overdue-sweep");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long interval = properties.getInterval().toMillis();
+        scheduler.scheduleWithFixedDelay(this::sweepQuietly, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+        try {
+            lease.release(LEASE_NAME);
+        } catch (RuntimeException ex) {
+            LOG.debug("Could not release the overdue sweep lease: {}", ex.getMessage());
+        }
+    }
+
+    /**
+     * Runs one sweep if this node holds the lease, renewing it as the sweep goes. Returns the number of tasks
+     * marked.
+     */
+    int sweep() {
+        Duration leaseDuration = properties.getLeaseDuration();
+        if (!lease.tryAcquire(LEASE_NAME, leaseDuration)) {
+            return 0;
+        }
+        long renewedAt = System.nanoTime();
+        LocalDateTime cutoff = LocalDateTime.now(clock);
+        int batchSize = properties.getBatchSize();
+        TaskState after = null;
+        int total = 0;
+        List<TaskState> batch;
+        do {
+            // Renewed at half time, so a long sweep keeps the lease and a lost one stops before the next batch
+            if (System.nanoTime() - renewedAt > leaseDuration.toNanos() / 2) {
+                if (!lease.tryAcquire(LEASE_NAME, leaseDuration)) {
+                    LOG.warn("Lost the overdue sweep lease after marking {} tasks", total);
+                    break;
+                }
+                renewedAt = System.nanoTime();
+            }
+            TaskState position = after;
+            batch = batchTimer.record(() -> taskService.markOverdue(cutoff, position, batchSize));
+            if (!batch.isEmpty()) {
+                after = batch.get(batch.size() - 1);
+                total += batch.size();
+                marked.increment(batch.size());
+            }
+        } while (batch.size() == batchSize);
+        if (total > 0) {
+            LOG.info("Marked {} tasks overdue", total);
+        }
+        return total;
+    }
+
+    // Measured on every node, so the gauge is meaningful whichever one holds the lease
+    void measureLag() {
+        LocalDateTime now = LocalDateTime.now(clock);
+        LocalDateTime earliest = taskRepository.findEarliestDueDate(Status.PENDING);
+        lagMillis.set(earliest == null || !earliest.isBefore(now) ? 0 : Duration.between(earliest, now).toMillis());
+    }
+
+    private void sweepQuietly() {
+        try {
+            sweep();
+            measureLag();
+        } catch (RuntimeException ex) {
+            LOG.warn("Overdue sweep failed: {}", ex.getMessage());
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package uk.gov.hmcts.reform.dev.ratelimit;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.search.Search;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Caps the requests handled at once, adjusting the cap once per window (additive increase, multiplicative
+ * decrease). It is cut back when the window's mean latency rises well above the no-load latency, or when requests
+ * waited too long for a database connection, and grows by one while requests are pressing against it without
+ * either happening. Requests over the cap are turned away rather than queued for the pool.
+ *
+ * <p>With AdaptivePoolSizer running, waits for a connection are its signal first: they only cut the cap back once
+ * the pools can grow no further. Rising latency cuts it back either way.
+ */
+public class AdaptiveConcurrencyLimiter {
+
+    private static final Logger LOG = LoggerFactory.getLogger(AdaptiveConcurrencyLimiter.class);
+
+    static final String POOL_WAIT_TIMER = "hikaricp.connections.acquire";
+
+    // How quickly the no-load latency estimate follows latency upwards; it follows it down at once
+    private static final double BASELINE_RISE = 0.01;
+
+    private final RateLimitProperties.Concurrency properties;
+    private final MeterRegistry meterRegistry;
+    private final BooleanSupplier poolCanGrow;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger peakInFlight = new AtomicInteger();
+    private final LongAdder latencyNanos = new LongAdder();
+    private final LongAdder completed = new LongAdder();
+    private volatile int limit;
+
+    // Touched only by adjust()
+    private double baselineNanos;
+    private double poolWaitNanosSeen;
+    private long poolWaitsSeen;
+    private ScheduledExecutorService adjuster;
+
+    public AdaptiveConcurrencyLimiter(RateLimitProperties.Concurrency properties, MeterRegistry meterRegistry) {
+        this(properties, meterRegistry, () -> false);
+    }
+
+    public AdaptiveConcurrencyLimiter(RateLimitProperties.Concurrency properties, MeterRegistry meterRegistry,
+                                      BooleanSupplier poolCanGrow) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.poolCanGrow = poolCanGrow;
+        this.limit = properties.getInitialLimit();
+        Gauge.builder("tasks.concurrency.limit", this, limiter -> limiter.limit).register(meterRegistry);
+        Gauge.builder("tasks.concurrency.in.flight", inFlight, AtomicInteger::get).register(meterRegistry);
+    }
+
+    @PostConstruct
+    void start() {
+        adjuster = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "concurrency-limit");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long window = properties.getWindow().toMillis();
+        adjuster.scheduleWithFixedDelay(this::adjustQuietly, window, window, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (adjuster != null) {
+            adjuster.shutdownNow();
+        }
+    }
+
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= limit) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                peakInFlight.accumulateAndGet(current + 1, Math::max);
+                return true;
+            }
+        }
+    }
+
+    // A negative latency releases the slot without a sample, e.g. for a response that goes on streaming
+    public void release(long latency) {
+        inFlight.decrementAndGet();
+        if (latency >= 0) {
+            latencyNanos.add(latency);
+            completed.increment();
+        }
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    void adjust() {
+        long count = completed.sumThenReset();
+        long total = latencyNanos.sumThenReset();
+        int peak = peakInFlight.getAndSet(inFlight.get());
+        double poolWait = poolWaitSinceLastWindow();
+        if (count == 0) {
+            return;
+        }
+        double latency = (double) total / count;
+        boolean slow = baselineNanos > 0 && latency > baselineNanos * properties.getLatencyTolerance();
+        boolean poolStarved = poolWait > properties.getMaxPoolWait().toNanos() && !poolCanGrow.getAsBoolean();
+        baselineNanos = baselineNanos == 0 || latency < baselineNanos
+            ? latency : baselineNanos + (latency - baselineNanos) * BASELINE_RISE;
+
+        int current = limit;
+        int next = current;
+        if (slow || poolStarved) {
+            next = Math.max(properties.getMinLimit(), (int) (current * properties.getBackoff()));
+        } else if (peak >= current) {
+            next = Math.min(properties.getMaxLimit(), current + 1);
+        }
+        if (next != current) {
+            limit = next;
+            LOG.debug("Concurrency limit {} -> {} (mean latency {} us, mean pool wait {} us)", current, next,
+                      (long) latency / 1000, (long) poolWait / 1000);
+        }
+    }
+
+    // Mean wait for a pooled connection since the last window, across every Hikari pool
+    private double poolWaitSinceLastWindow() {
+        double waitNanos = 0;
+        long waits = 0;
+        for (Timer timer : Search.in(meterRegistry).name(POOL_WAIT_TIMER).timers()) {
+            waitNanos += timer.totalTime(TimeUnit.NANOSECONDS);
+            waits += timer.count();
+        }
+        double windowWait = waitNanos - poolWaitNanosSeen;
+        long windowWaits = waits - poolWaitsSeen;
+        poolWaitNanosSeen = waitNanos;
+        poolWaitsSeen = waits;
+        return windowWaits > 0 ? windowWait / windowWaits : 0;
+    }
+
+    private void adjustQuietly() {
+        try {
+            adjust();
+        } catch (RuntimeException ex) {
+            LOG.warn("Could not adjust the concurrency limit: {}", ex.getMessage());
+        }
+    }
+}
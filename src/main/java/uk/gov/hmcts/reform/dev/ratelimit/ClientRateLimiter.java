@@ -0,0 +1,46 @@
+package uk.gov.hmcts.reform.dev.ratelimit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.Map;
+
+/**
+ * A token bucket for each client on each endpoint, created on first use. Limits apply per node, so behind a load
+ * balancer a client gets up to the configured rate from every node.
+ */
+public class ClientRateLimiter {
+
+    private final RateLimitProperties.Limit defaults;
+    private final Map<String, RateLimitProperties.Limit> endpoints;
+    private final Cache<BucketKey, TokenBucket> buckets;
+
+    public ClientRateLimiter(RateLimitProperties properties, MeterRegistry meterRegistry) {
+        this.defaults = properties.getDefaults();
+        this.endpoints = Map.copyOf(properties.getEndpoints());
+        this.buckets = Caffeine.newBuilder()
+            .maximumSize(properties.getMaxClients())
+            .expireAfterAccess(properties.getIdleTimeout())
+            .build();
+        Gauge.builder("tasks.ratelimit.buckets", buckets, Cache::estimatedSize).register(meterRegistry);
+    }
+
+    /**
+     * Takes a token from the client's bucket for the endpoint. Returns 0 if it was taken, otherwise how many
+     * nanoseconds until the client may try again.
+     */
+    public long tryAcquire(String endpoint, String client) {
+        long now = System.nanoTime();
+        return buckets.get(new BucketKey(endpoint, client), key -> newBucket(key.endpoint(), now)).tryAcquire(now);
+    }
+
+    private TokenBucket newBucket(String endpoint, long now) {
+        RateLimitProperties.Limit limit = endpoints.getOrDefault(endpoint, defaults);
+        return new TokenBucket(limit.getPermitsPerSecond(), limit.getBurst(), now);
+    }
+
+    private record BucketKey(String endpoint, String client) {
+    }
+}
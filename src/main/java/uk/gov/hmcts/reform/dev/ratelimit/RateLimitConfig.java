@@ -0,0 +1,49 @@
+package uk.gov.hmcts.reform.dev.ratelimit;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import uk.gov.hmcts.reform.dev.datasource.AdaptivePoolSizer;
+
+@Configuration
+// Off unless asked for: per-client limits are only as good as the client key, which must come from a trusted source
+@ConditionalOnProperty(prefix = "tasks.rate-limit", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties(RateLimitProperties.class)
+public class RateLimitConfig {
+
+    @Bean
+    public ClientRateLimiter clientRateLimiter(RateLimitProperties properties, MeterRegistry meterRegistry) {
+        return new ClientRateLimiter(properties, meterRegistry);
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "tasks.rate-limit.concurrency", name = "enabled", havingValue = "true",
+        matchIfMissing = true)
+    public AdaptiveConcurrencyLimiter adaptiveConcurrencyLimiter(RateLimitProperties properties,
+                                                                 MeterRegistry meterRegistry,
+                                                                 ObjectProvider<AdaptivePoolSizer> poolSizer) {
+        AdaptivePoolSizer sizer = poolSizer.getIfAvailable();
+        return new AdaptiveConcurrencyLimiter(properties.getConcurrency(), meterRegistry,
+                                              sizer == null ? () -> false : sizer::canGrow);
+    }
+
+    // Registered for the task endpoints only, so health checks and metrics scrapes are never turned away
+    @Bean
+    public WebMvcConfigurer rateLimitWebMvcConfigurer(ClientRateLimiter rateLimiter,
+                                                      ObjectProvider<AdaptiveConcurrencyLimiter> concurrencyLimiter,
+                                                      RateLimitProperties properties, MeterRegistry meterRegistry) {
+        RateLimitInterceptor interceptor = new RateLimitInterceptor(rateLimiter, concurrencyLimiter.getIfAvailable(),
+                                                                    properties, meterRegistry);
+        return new WebMvcConfigurer() {
+            @Override
+            public void addInterceptors(InterceptorRegistry registry) {
+                registry.addInterceptor(interceptor).addPathPatterns("/tasks", "/tasks/**");
+            }
+        };
+    }
+}
@@ -0,0 +1,99 @@
+package uk.gov.hmcts.reform.dev.ratelimit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+import uk.gov.hmcts.reform.dev.exception.OverloadedException;
+import uk.gov.hmcts.reform.dev.exception.RateLimitedException;
+
+import java.time.Duration;
+
+/**
+ * Applies the client's rate limit for the endpoint, then the adaptive concurrency limit, before the controller
+ * runs. Rejections are thrown so GlobalExceptionHandler turns them into 429 or 503 with Retry-After. A streamed
+ * response (the change feed or the export) gives its concurrency slot back once streaming starts.
+ */
+public class RateLimitInterceptor implements AsyncHandlerInterceptor {
+
+    private static final String STARTED_AT = RateLimitInterceptor.class.getName() + ".startedAt";
+
+    private final ClientRateLimiter rateLimiter;
+    // Null when adaptive concurrency limiting is off
+    private final AdaptiveConcurrencyLimiter concurrencyLimiter;
+    private final String clientHeader;
+    private final Duration overloadRetryAfter;
+    private final MeterRegistry meterRegistry;
+
+    public RateLimitInterceptor(ClientRateLimiter rateLimiter, AdaptiveConcurrencyLimiter concurrencyLimiter,
+                                RateLimitProperties properties, MeterRegistry meterRegistry) {
+        this.rateLimiter = rateLimiter;
+        this.concurrencyLimiter = concurrencyLimiter;
+        this.clientHeader = properties.getClientHeader();
+        this.overloadRetryAfter = properties.getConcurrency().getRetryAfter();
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        // Async and error dispatches belong to a request that was already let through
+        if (request.getDispatcherType() != DispatcherType.REQUEST || !(handler instanceof HandlerMethod)) {
+            return true;
+        }
+        String endpoint = request.getMethod() + " "
+            + request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        long waitNanos = rateLimiter.tryAcquire(endpoint, client(request));
+        if (waitNanos > 0) {
+            rejected(endpoint, "rate").increment();
+            throw new RateLimitedException(endpoint, Duration.ofNanos(waitNanos));
+        }
+        if (concurrencyLimiter != null) {
+            if (!concurrencyLimiter.tryAcquire()) {
+                rejected(endpoint, "concurrency").increment();
+                throw new OverloadedException(concurrencyLimiter.getLimit(), overloadRetryAfter);
+            }
+            request.setAttribute(STARTED_AT, System.nanoTime());
+        }
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response,
+                                               Object handler) {
+        release(request, false);
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        release(request, true);
+    }
+
+    private void release(HttpServletRequest request, boolean completed) {
+        Object startedAt = request.getAttribute(STARTED_AT);
+        if (startedAt == null) {
+            return;
+        }
+        request.removeAttribute(STARTED_AT);
+        concurrencyLimiter.release(completed ? System.nanoTime() - (Long) startedAt : -1);
+    }
+
+    // The header is taken on trust; see RateLimitProperties.clientHeader. Behind a proxy the remote address is the
+    // proxy's unless server.forward-headers-strategy is set, in which case every unkeyed caller shares one bucket
+    private String client(HttpServletRequest request) {
+        String key = request.getHeader(clientHeader);
+        return key == null || key.isBlank() ? request.getRemoteAddr() : key;
+    }
+
+    // Tagged by endpoint rather than client, which would make a series per client
+    private Counter rejected(String endpoint, String reason) {
+        return Counter.builder("tasks.ratelimit.rejected")
+            .tag("endpoint", endpoint)
+            .tag("reason", reason)
+            .register(meterRegistry);
+    }
+}
@@ -0,0 +1,87 @@
+package uk.gov.hmcts.reform.dev.ratelimit;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Positive;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+@Getter
+@Setter
+@Validated
+@ConfigurationProperties(prefix = "tasks.rate-limit")
+public class RateLimitProperties {
+
+    private boolean enabled = false;
+
+    // Identifies the client; requests without it are limited by remote address. Anyone can send any value, so only
+    // enable limiting where a gateway that authenticates callers sets it (and strips it from what callers send)
+    private String clientHeader = "X-Api-Key";
+
+    // Applies to each client on each endpoint not listed under endpoints
+    @Valid
+    private Limit defaults = new Limit(50, 100);
+
+    // Keyed by method and path pattern, e.g. "GET /tasks/{id}"
+    private Map<String, @Valid Limit> endpoints = new HashMap<>();
+
+    // Buckets kept per node; the least recently used beyond this are dropped, which resets their clients
+    private long maxClients = 100_000;
+
+    // A bucket idle this long is dropped; by then it would have refilled anyway
+    private Duration idleTimeout = Duration.ofMinutes(10);
+
+    private Concurrency concurrency = new Concurrency();
+
+    @Getter
+    @Setter
+    public static class Limit {
+
+        // A rate of zero would make every token infinitely far apart; a blocked endpoint belongs in the gateway
+        @Positive
+        private double permitsPerSecond;
+
+        @Positive
+        private int burst;
+
+        public Limit() {
+        }
+
+        public Limit(double permitsPerSecond, int burst) {
+            this.permitsPerSecond = permitsPerSecond;
+            this.burst = burst;
+        }
+    }
+
+    @Getter
+    @Setter
+    public static class Concurrency {
+
+        private boolean enabled = true;
+
+        private int initialLimit = 40;
+
+        private int minLimit = 4;
+
+        private int maxLimit = 200;
+
+        // How often the limit is adjusted, from the latency and pool waits seen since the last adjustment
+        private Duration window = Duration.ofSeconds(1);
+
+        // Overloaded when a window's mean latency exceeds the no-load latency by this factor
+        private double latencyTolerance = 2.0;
+
+        // ...or its mean wait for a pooled database connection exceeds this
+        private Duration maxPoolWait = Duration.ofMillis(50);
+
+        // Share of the limit kept on each overloaded window
+        private double backoff = 0.9;
+
+        private Duration retryAfter = Duration.ofSeconds(1);
+    }
+}
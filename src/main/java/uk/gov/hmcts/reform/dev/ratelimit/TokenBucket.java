@@ -0,0 +1,42 @@
+package uk.gov.hmcts.reform.dev.ratelimit;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token bucket kept as a single timestamp (the generic cell rate algorithm): the time at which the bucket would be
+ * full again. Taking a token pushes it one interval later, and a request is refused when that would put it more
+ * than a full burst ahead of now. One compare-and-set per request, no lock and no refill thread.
+ */
+final class TokenBucket {
+
+    // Longer than any node runs, and small enough that a timestamp plus a burst can't overflow
+    private static final long MAX_SPAN_NANOS = Long.MAX_VALUE / 4;
+
+    private final long intervalNanos;
+    private final long burstNanos;
+    private final AtomicLong fullAt;
+
+    TokenBucket(double permitsPerSecond, int burst, long nowNanos) {
+        this.intervalNanos = Math.clamp((long) (1_000_000_000L / permitsPerSecond), 1, MAX_SPAN_NANOS);
+        long tokens = Math.max(burst, 1);
+        this.burstNanos = tokens > MAX_SPAN_NANOS / intervalNanos ? MAX_SPAN_NANOS : intervalNanos * tokens;
+        this.fullAt = new AtomicLong(nowNanos);
+    }
+
+    /**
+     * Takes a token if one is available. Returns 0 if it was taken, otherwise how many nanoseconds until one will be.
+     */
+    long tryAcquire(long nowNanos) {
+        while (true) {
+            long current = fullAt.get();
+            long next = Math.max(current, nowNanos) + intervalNanos;
+            long ahead = next - nowNanos;
+            if (ahead > burstNanos) {
+                return ahead - burstNanos;
+            }
+            if (fullAt.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+}
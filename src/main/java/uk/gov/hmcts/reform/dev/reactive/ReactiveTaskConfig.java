@@ -0,0 +1,47 @@
+package uk.gov.hmcts.reform.dev.reactive;
+
+import io.r2dbc.spi.ConnectionFactory;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.r2dbc.connection.R2dbcTransactionManager;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import uk.gov.hmcts.reform.dev.cache.TaskCache;
+import uk.gov.hmcts.reform.dev.events.TaskChangeFeed;
+import uk.gov.hmcts.reform.dev.search.TaskSearchIndex;
+import uk.gov.hmcts.reform.dev.service.CaseNumberGenerator;
+import uk.gov.hmcts.reform.dev.service.TaskChangeTracker;
+import uk.gov.hmcts.reform.dev.service.TaskIdAllocator;
+import uk.gov.hmcts.reform.dev.stats.TaskStatistics;
+
+/**
+ * Wiring for the reactive profile (application-reactive.yaml), which runs the application as a WebFlux app. The
+ * JPA side stays up for the background work that shares its beans (statistics, overdue sweep, search loading).
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveTaskConfig {
+
+    // Netty's event loop; Tomcat is also on the classpath and would otherwise serve WebFlux through its adapter
+    @Bean
+    public NettyReactiveWebServerFactory nettyReactiveWebServerFactory() {
+        return new NettyReactiveWebServerFactory();
+    }
+
+    @Bean
+    public ReactiveTaskService reactiveTaskService(ConnectionFactory connectionFactory,
+                                                   EntityManagerFactory entityManagerFactory,
+                                                   CaseNumberGenerator caseNumberGenerator, TaskCache taskCache,
+                                                   TaskChangeTracker changeTracker, TaskChangeFeed changeFeed,
+                                                   TaskSearchIndex searchIndex, TaskStatistics statistics) {
+        // Not a bean: a second TransactionManager alongside JPA's would leave @Transactional without a default
+        TransactionalOperator transactions = TransactionalOperator.create(
+            new R2dbcTransactionManager(connectionFactory));
+        return new ReactiveTaskService(new ReactiveTaskRepository(DatabaseClient.create(connectionFactory)),
+                                       transactions, new TaskIdAllocator(entityManagerFactory), caseNumberGenerator,
+                                       taskCache, changeTracker, changeFeed, searchIndex, statistics);
+    }
+}
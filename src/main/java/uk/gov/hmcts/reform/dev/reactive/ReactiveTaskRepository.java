@@ -0,0 +1,177 @@
+package uk.gov.hmcts.reform.dev.reactive;
+
+import io.r2dbc.spi.Readable;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import uk.gov.hmcts.reform.dev.dto.TaskFilter;
+import uk.gov.hmcts.reform.dev.dto.TaskResponse;
+import uk.gov.hmcts.reform.dev.dto.TaskState;
+import uk.gov.hmcts.reform.dev.models.Status;
+import uk.gov.hmcts.reform.dev.repository.TaskSpecifications;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * R2DBC access to the task table that the JPA Task entity maps, in SQL written to the same columns and indexes:
+ * status is stored by ordinal, and listings walk idx_task_updated_id (or idx_task_status_updated_id) in
+ * (date_updated, id) order just as TaskSpecifications does.
+ */
+public class ReactiveTaskRepository {
+
+    private static final String SELECT_RESPONSE = "select id, title, case_number, description, status, due_date, "
+        + "version, date_updated from task";
+
+    private static final String INSERT = "insert into task"
+        + " (id, case_number, title, description, status, due_date, date_created, date_updated, version)"
+        + " values (:id, :caseNumber, :title, :description, :status, :dueDate, :createdAt, :createdAt, 0)";
+
+    private static final Status[] STATUSES = Status.values();
+
+    private final DatabaseClient client;
+
+    public ReactiveTaskRepository(DatabaseClient client) {
+        this.client = client;
+    }
+
+    public Mono<TaskResponse> findById(Long id) {
+        return client.sql(SELECT_RESPONSE + " where id = :id")
+            .bind("id", id)
+            .map(ReactiveTaskRepository::toResponse)
+            .one();
+    }
+
+    // Locks the row until the transaction ends, as TaskRepository.lockResponseById does
+    public Mono<TaskResponse> lockById(Long id) {
+        return client.sql(SELECT_RESPONSE + " where id = :id for update")
+            .bind("id", id)
+            .map(ReactiveTaskRepository::toResponse)
+            .one();
+    }
+
+    public Mono<TaskState> findStateById(Long id) {
+        return client.sql("select id, status, due_date from task where id = :id")
+            .bind("id", id)
+            .map(row -> new TaskState(row.get("id", Long.class), status(row),
+                                      row.get("due_date", LocalDateTime.class)))
+            .one();
+    }
+
+    /**
+     * Tasks matching the filter, newest update first, starting after the given (dateUpdated, id) when there is one.
+     * A null limit returns every match; rows are emitted as they are read, as fast as the subscriber asks for them.
+     */
+    public Flux<TaskResponse> findPage(TaskFilter filter, LocalDateTime afterUpdated, Long afterId, Integer limit) {
+        StringBuilder sql = new StringBuilder(SELECT_RESPONSE).append(" where 1 = 1");
+        Map<String, Object> binds = new LinkedHashMap<>();
+        if (filter != null) {
+            if (filter.getStatus() != null) {
+                sql.append(" and status = :status");
+                binds.put("status", filter.getStatus().ordinal());
+            }
+            if (filter.getDueFrom() != null) {
+                sql.append(" and due_date >= :dueFrom");
+                binds.put("dueFrom", filter.getDueFrom());
+            }
+            if (filter.getDueTo() != null) {
+                sql.append(" and due_date < :dueTo");
+                binds.put("dueTo", filter.getDueTo());
+            }
+            if (filter.getCaseNumberPrefix() != null && !filter.getCaseNumberPrefix().isBlank()) {
+                sql.append(" and case_number like :caseNumberPrefix escape '\\\\'");
+                binds.put("caseNumberPrefix", TaskSpecifications.escapeLike(filter.getCaseNumberPrefix()) + "%");
+            }
+        }
+        if (afterUpdated != null) {
+            sql.append(" and (date_updated < :afterUpdated or (date_updated = :afterUpdated and id < :afterId))");
+            binds.put("afterUpdated", afterUpdated);
+            binds.put("afterId", afterId);
+        }
+        sql.append(" order by date_updated desc, id desc");
+        if (limit != null) {
+            sql.append(" limit :limit");
+            binds.put("limit", limit);
+        }
+        DatabaseClient.GenericExecuteSpec spec = client.sql(sql.toString());
+        for (Map.Entry<String, Object> bind : binds.entrySet()) {
+            spec = spec.bind(bind.getKey(), bind.getValue());
+        }
+        return spec.map(ReactiveTaskRepository::toResponse).all();
+    }
+
+    // In primary key order, which reads the table sequentially
+    public Flux<TaskResponse> streamAll() {
+        return client.sql(SELECT_RESPONSE + " order by id")
+            .map(ReactiveTaskRepository::toResponse)
+            .all();
+    }
+
+    // The id is already assigned, so this is a single autocommitted statement
+    public Mono<Long> insert(TaskResponse task) {
+        DatabaseClient.GenericExecuteSpec spec = client.sql(INSERT)
+            .bind("id", task.getId())
+            .bind("caseNumber", task.getCaseNumber())
+            .bind("title", task.getTitle())
+            .bind("status", task.getStatus().ordinal())
+            .bind("createdAt", task.getLastModified());
+        spec = task.getDescription() == null
+            ? spec.bindNull("description", String.class)
+            : spec.bind("description", task.getDescription());
+        spec = task.getDueDate() == null
+            ? spec.bindNull("dueDate", LocalDateTime.class)
+            : spec.bind("dueDate", task.getDueDate());
+        return spec.fetch().rowsUpdated();
+    }
+
+    public Mono<Long> updateStatus(Long id, Status status, LocalDateTime now) {
+        return client.sql("update task set status = :status, version = version + 1, date_updated = :now "
+                              + "where id = :id")
+            .bind("status", status.ordinal())
+            .bind("now", now)
+            .bind("id", id)
+            .fetch()
+            .rowsUpdated();
+    }
+
+    public Mono<Long> updateStatusIfVersion(Long id, Status status, Long version, LocalDateTime now) {
+        return client.sql("update task set status = :status, version = version + 1, date_updated = :now "
+                              + "where id = :id and version = :version")
+            .bind("status", status.ordinal())
+            .bind("now", now)
+            .bind("id", id)
+            .bind("version", version)
+            .fetch()
+            .rowsUpdated();
+    }
+
+    public Mono<Long> deleteById(Long id) {
+        return client.sql("delete from task where id = :id")
+            .bind("id", id)
+            .fetch()
+            .rowsUpdated();
+    }
+
+    // Same statement as TaskChangeMarkerRepository.touch
+    public Mono<Long> touchChangeMarker(String name, LocalDateTime changedAt) {
+        return client.sql("insert into task_change_marker (name, changed_at) values (:name, :changedAt) "
+                              + "on duplicate key update changed_at = greatest(changed_at, :changedAt)")
+            .bind("name", name)
+            .bind("changedAt", changedAt)
+            .fetch()
+            .rowsUpdated();
+    }
+
+    private static TaskResponse toResponse(Readable row) {
+        return new TaskResponse(row.get("id", Long.class), row.get("title", String.class),
+                                row.get("case_number", String.class), row.get("description", String.class),
+                                status(row), row.get("due_date", LocalDateTime.class),
+                                row.get("version", Long.class), row.get("date_updated", LocalDateTime.class));
+    }
+
+    private static Status status(Readable row) {
+        Integer ordinal = row.get("status", Integer.class);
+        return ordinal == null ? null : STATUSES[ordinal];
+    }
+}
@@ -0,0 +1,200 @@
+package uk.gov.hmcts.reform.dev.reactive;
+
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import uk.gov.hmcts.reform.dev.cache.TaskCache;
+import uk.gov.hmcts.reform.dev.dto.TaskEvent;
+import uk.gov.hmcts.reform.dev.dto.TaskFilter;
+import uk.gov.hmcts.reform.dev.dto.TaskPage;
+import uk.gov.hmcts.reform.dev.dto.TaskRequest;
+import uk.gov.hmcts.reform.dev.dto.TaskResponse;
+import uk.gov.hmcts.reform.dev.dto.TaskState;
+import uk.gov.hmcts.reform.dev.events.TaskChangeFeed;
+import uk.gov.hmcts.reform.dev.exception.TaskVersionConflictException;
+import uk.gov.hmcts.reform.dev.models.Status;
+import uk.gov.hmcts.reform.dev.search.TaskSearchIndex;
+import uk.gov.hmcts.reform.dev.service.CaseNumberGenerator;
+import uk.gov.hmcts.reform.dev.service.TaskChangeTracker;
+import uk.gov.hmcts.reform.dev.service.TaskCursor;
+import uk.gov.hmcts.reform.dev.service.TaskIdAllocator;
+import uk.gov.hmcts.reform.dev.service.TaskService;
+import uk.gov.hmcts.reform.dev.stats.TaskStatistics;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Non-blocking counterpart of TaskService for the reactive profile, over R2DBC. It keeps the same contracts and the
+ * same side effects once a change commits (cache, change marker, change feed, search index and statistics), all of
+ * which are in memory. Nothing here waits on a thread for the database, so concurrency is bounded by the R2DBC pool
+ * and the event loop rather than by request threads.
+ */
+public class ReactiveTaskService {
+
+    // Rows requested from the database at a time while streaming, so a slow client holds the query back rather
+    // than have rows pile up in memory
+    static final int STREAM_PREFETCH = 256;
+
+    private final ReactiveTaskRepository repository;
+    private final TransactionalOperator transactions;
+    private final TaskIdAllocator idAllocator;
+    private final CaseNumberGenerator caseNumberGenerator;
+    private final TaskCache taskCache;
+    private final TaskChangeTracker changeTracker;
+    private final TaskChangeFeed changeFeed;
+    private final TaskSearchIndex searchIndex;
+    private final TaskStatistics statistics;
+
+    public ReactiveTaskService(ReactiveTaskRepository repository, TransactionalOperator transactions,
+                               TaskIdAllocator idAllocator, CaseNumberGenerator caseNumberGenerator,
+                               TaskCache taskCache, TaskChangeTracker changeTracker, TaskChangeFeed changeFeed,
+                               TaskSearchIndex searchIndex, TaskStatistics statistics) {
+        this.repository = repository;
+        this.transactions = transactions;
+        this.idAllocator = idAllocator;
+        this.caseNumberGenerator = caseNumberGenerator;
+        this.taskCache = taskCache;
+        this.changeTracker = changeTracker;
+        this.changeFeed = changeFeed;
+        this.searchIndex = searchIndex;
+        this.statistics = statistics;
+    }
+
+    // The id and case number come from the same generators as the servlet stack. They only reach the database when
+    // a block runs out (every 50 ids, every block-size case numbers), so they run off the event loop rather than
+    // being rewritten for R2DBC.
+    public Mono<TaskResponse> createTask(TaskRequest request) {
+        return Mono.fromCallable(() -> newTask(request))
+            .subscribeOn(Schedulers.boundedElastic())
+            .flatMap(task -> repository.insert(task).thenReturn(task))
+            .doOnNext(this::created);
+    }
+
+    // Served from the cache when another write has put the task there; misses read the row without filling it
+    public Mono<TaskResponse> getTaskById(Long id) {
+        TaskResponse cached = taskCache.getIfPresent(id);
+        if (cached != null) {
+            return Mono.just(cached);
+        }
+        return repository.findById(id).switchIfEmpty(Mono.error(() -> notFound(id)));
+    }
+
+    // Keyset pagination, as TaskService.findTasks: one row beyond the page says whether another page exists
+    public Mono<TaskPage> findTasks(TaskFilter filter, String cursor, int limit) {
+        return Mono.defer(() -> {
+            int pageSize = Math.min(Math.max(limit, 1), TaskService.MAX_PAGE_SIZE);
+            TaskCursor position = cursor == null || cursor.isBlank() ? null : TaskCursor.decode(cursor);
+            return repository.findPage(filter, position == null ? null : position.getDateUpdated(),
+                                       position == null ? null : position.getId(), pageSize + 1)
+                .collectList()
+                .map(rows -> page(rows, pageSize));
+        });
+    }
+
+    // Every task matching the filter in listing order, read only as fast as the subscriber consumes it
+    public Flux<TaskResponse> streamTasks(TaskFilter filter) {
+        return repository.findPage(filter, null, null, null).limitRate(STREAM_PREFETCH);
+    }
+
+    public Flux<TaskResponse> exportTasks() {
+        return repository.streamAll().limitRate(STREAM_PREFETCH);
+    }
+
+    // As TaskService.updateTaskStatus: a conditional UPDATE when the caller names the version it replaces, and the
+    // response built from the locked row it replaced rather than read back
+    public Mono<TaskResponse> updateTaskStatus(Long id, String status, Long expectedVersion) {
+        return Mono.defer(() -> {
+            Status newStatus = Status.valueOf(status);
+            LocalDateTime now = LocalDateTime.now();
+            Mono<StatusChange> change = repository.lockById(id)
+                .switchIfEmpty(Mono.error(() -> notFound(id)))
+                .filter(previous -> expectedVersion == null || expectedVersion.equals(previous.getVersion()))
+                .switchIfEmpty(Mono.error(() -> new TaskVersionConflictException(id, expectedVersion)))
+                .flatMap(previous -> update(id, newStatus, expectedVersion, now)
+                    .flatMap(updated -> updated == 0
+                        ? Mono.<TaskResponse>error(expectedVersion == null
+                            ? notFound(id) : new TaskVersionConflictException(id, expectedVersion))
+                        : Mono.just(TaskService.updatedResponse(previous, newStatus, now)))
+                    .map(response -> new StatusChange(previous, response)));
+            return transactions.transactional(change)
+                .map(committed -> {
+                    statusChanged(committed, now);
+                    return committed.response();
+                });
+        });
+    }
+
+    // The delete marker commits with the delete, as TaskChangeTracker.markDeleted does. A missing task is
+    // nothing to delete: the call succeeds and nothing is published, as in TaskService.deleteTask.
+    public Mono<Void> deleteTask(Long id) {
+        return Mono.defer(() -> {
+            LocalDateTime now = LocalDateTime.now();
+            Mono<TaskState> delete = repository.findStateById(id)
+                .flatMap(state -> repository.deleteById(id)
+                    .then(repository.touchChangeMarker(TaskChangeTracker.DELETED_MARKER, now))
+                    .thenReturn(state));
+            return transactions.transactional(delete)
+                .doOnNext(state -> deleted(id, state, now))
+                .then();
+        });
+    }
+
+
+    // There is no transaction synchronisation on this side, so these hooks apply straight away
+    private void created(TaskResponse task) {
+        taskCache.put(task);
+        changeTracker.markChanged();
+        changeFeed.publishAfterCommit(TaskEvent.created(task, task.getLastModified()));
+        searchIndex.index(task);
+        statistics.added(task.getStatus(), task.getDueDate());
+    }
+
+    private void statusChanged(StatusChange change, LocalDateTime now) {
+        TaskResponse task = change.response();
+        taskCache.put(task);
+        changeTracker.markChanged();
+        changeFeed.publishAfterCommit(TaskEvent.statusChanged(task, now));
+        statistics.statusChanged(change.previous().getStatus(), task.getStatus(), change.previous().getDueDate());
+    }
+
+    private void deleted(Long id, TaskState state, LocalDateTime now) {
+        taskCache.evict(id);
+        changeTracker.markChanged();
+        changeFeed.publishAfterCommit(TaskEvent.deleted(id, now));
+        searchIndex.remove(List.of(id));
+        statistics.removed(state.getStatus(), state.getDueDate());
+    }
+
+    private Mono<Long> update(Long id, Status status, Long expectedVersion, LocalDateTime now) {
+        return expectedVersion == null
+            ? repository.updateStatus(id, status, now)
+            : repository.updateStatusIfVersion(id, status, expectedVersion, now);
+    }
+
+    private TaskResponse newTask(TaskRequest request) {
+        TaskResponse task = new TaskResponse(idAllocator.next(), request.getTitle(), caseNumberGenerator.next(),
+                                             request.getDescription(), Status.PENDING, request.getDueDate());
+        task.setVersion(0L);
+        task.setLastModified(LocalDateTime.now());
+        return task;
+    }
+
+    private static TaskPage page(List<TaskResponse> rows, int pageSize) {
+        if (rows.size() <= pageSize) {
+            return new TaskPage(rows, null);
+        }
+        List<TaskResponse> items = rows.subList(0, pageSize);
+        TaskResponse last = items.get(pageSize - 1);
+        return new TaskPage(items, new TaskCursor(last.getLastModified(), last.getId()).encode());
+    }
+
+    private static NoSuchElementException notFound(Long id) {
+        return new NoSuchElementException("Task not found with id " + id);
+    }
+
+    private record StatusChange(TaskResponse previous, TaskResponse response) {
+    }
+}
@@ -0,0 +1,23 @@
+package uk.gov.hmcts.reform.dev.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import uk.gov.hmcts.reform.dev.models.CaseNumberSequence;
+
+public interface CaseNumberSequenceRepository extends JpaRepository<CaseNumberSequence, String> {
+
+    // The row lock taken here is held until commit, which serialises reservations across nodes
+    @Modifying(clearAutomatically = true)
+    @Query("update CaseNumberSequence s set s.nextValue = s.nextValue + :size where s.name = :name")
+    int advance(@Param("name") String name, @Param("size") long size);
+
+    @Query("select s.nextValue from CaseNumberSequence s where s.name = :name")
+    long findNextValue(@Param("name") String name);
+
+    @Modifying
+    @Query(value = "insert into case_number_sequence (name, next_value) values (:name, :nextValue)",
+        nativeQuery = true)
+    void create(@Param("name") String name, @Param("nextValue") long nextValue);
+}
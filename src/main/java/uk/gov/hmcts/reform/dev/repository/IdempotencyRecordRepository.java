@@ -0,0 +1,34 @@
+package uk.gov.hmcts.reform.dev.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import uk.gov.hmcts.reform.dev.models.IdempotencyRecord;
+
+import java.time.LocalDateTime;
+
+// Expiry is worked out on the database clock, so the nodes' own clocks don't have to agree
+public interface IdempotencyRecordRepository extends JpaRepository<IdempotencyRecord, String> {
+
+    // A plain insert rather than save(), so a key another transaction has just inserted fails here with a
+    // duplicate key, once that transaction commits, instead of being merged over
+    @Modifying
+    @Query(value = "insert into idempotency_record "
+        + "(idempotency_key, request_hash, task_id, response, task_version, last_modified, expires_at) "
+        + "values (:key, :requestHash, :taskId, :response, :taskVersion, :lastModified, "
+        + "now(3) + interval :seconds second)", nativeQuery = true)
+    int insert(@Param("key") String key, @Param("requestHash") String requestHash, @Param("taskId") Long taskId,
+               @Param("response") String response, @Param("taskVersion") Long taskVersion,
+               @Param("lastModified") LocalDateTime lastModified, @Param("seconds") long seconds);
+
+    // Frees an expired key for reuse ahead of the purge
+    @Modifying
+    @Query(value = "delete from idempotency_record where idempotency_key = :key and expires_at < now(3)",
+        nativeQuery = true)
+    int deleteIfExpired(@Param("key") String key);
+
+    @Modifying
+    @Query(value = "delete from idempotency_record where expires_at < now(3) limit :limit", nativeQuery = true)
+    int deleteExpired(@Param("limit") int limit);
+}
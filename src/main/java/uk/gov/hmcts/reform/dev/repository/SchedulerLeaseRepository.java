@@ -0,0 +1,28 @@
+package uk.gov.hmcts.reform.dev.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import uk.gov.hmcts.reform.dev.models.SchedulerLease;
+
+// Expiry is always worked out on the database clock, so the nodes' own clocks don't have to agree
+public interface SchedulerLeaseRepository extends JpaRepository<SchedulerLease, String> {
+
+    // Renews the lease for its owner, or takes it over once it has expired
+    @Modifying
+    @Query(value = "update scheduler_lease set owner = :owner, expires_at = now(3) + interval :seconds second "
+        + "where name = :name and (owner = :owner or expires_at < now(3))", nativeQuery = true)
+    int extend(@Param("name") String name, @Param("owner") String owner, @Param("seconds") long seconds);
+
+    // Does nothing if another node created the row first
+    @Modifying
+    @Query(value = "insert ignore into scheduler_lease (name, owner, expires_at) "
+        + "values (:name, :owner, now(3) + interval :seconds second)", nativeQuery = true)
+    int create(@Param("name") String name, @Param("owner") String owner, @Param("seconds") long seconds);
+
+    @Modifying
+    @Query(value = "update scheduler_lease set expires_at = now(3) where name = :name and owner = :owner",
+        nativeQuery = true)
+    int release(@Param("name") String name, @Param("owner") String owner);
+}
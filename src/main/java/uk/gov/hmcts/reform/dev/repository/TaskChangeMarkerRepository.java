@@ -0,0 +1,20 @@
+package uk.gov.hmcts.reform.dev.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import uk.gov.hmcts.reform.dev.models.TaskChangeMarker;
+
+import java.time.LocalDateTime;
+
+public interface TaskChangeMarkerRepository extends JpaRepository<TaskChangeMarker, String> {
+
+    @Modifying
+    @Query(value = "insert into task_change_marker (name, changed_at) values (:name, :changedAt) "
+        + "on duplicate key update changed_at = greatest(changed_at, :changedAt)", nativeQuery = true)
+    void touch(@Param("name") String name, @Param("changedAt") LocalDateTime changedAt);
+
+    @Query("select m.changedAt from TaskChangeMarker m where m.name = :name")
+    LocalDateTime findChangedAt(@Param("name") String name);
+}
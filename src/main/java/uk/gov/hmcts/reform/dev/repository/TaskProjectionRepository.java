@@ -0,0 +1,19 @@
+package uk.gov.hmcts.reform.dev.repository;
+
+import org.springframework.data.jpa.domain.Specification;
+import uk.gov.hmcts.reform.dev.dto.TaskResponse;
+import uk.gov.hmcts.reform.dev.models.Task;
+
+import java.util.List;
+
+/**
+ * Read paths that select straight into TaskResponse, so no entity is instantiated or tracked.
+ */
+public interface TaskProjectionRepository {
+
+    /**
+     * Tasks matching the specification, newest change first (dateUpdated DESC, id DESC), at most limit of them.
+     * Each response carries its version and lastModified, so the last one can serve as a keyset cursor.
+     */
+    List<TaskResponse> findPage(Specification<Task> spec, int limit);
+}
@@ -0,0 +1,49 @@
+package uk.gov.hmcts.reform.dev.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.transaction.annotation.Transactional;
+import uk.gov.hmcts.reform.dev.dto.TaskResponse;
+import uk.gov.hmcts.reform.dev.models.Task;
+
+import java.util.List;
+
+// Picked up by Spring Data as the implementation of the TaskProjectionRepository fragment of TaskRepository
+class TaskProjectionRepositoryImpl implements TaskProjectionRepository {
+
+    private final EntityManager entityManager;
+
+    TaskProjectionRepositoryImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<TaskResponse> findPage(Specification<Task> spec, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<TaskResponse> query = cb.createQuery(TaskResponse.class);
+        Root<Task> task = query.from(Task.class);
+        query.select(cb.construct(TaskResponse.class,
+                                  task.get("id"),
+                                  task.get("title"),
+                                  task.get("caseNumber"),
+                                  task.get("description"),
+                                  task.get("status"),
+                                  task.get("dueDate"),
+                                  task.get("version"),
+                                  task.get("dateUpdated")));
+        Predicate predicate = spec.toPredicate(task, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        // Must match the leading columns of idx_task_updated_id so pages are served straight off the index
+        query.orderBy(cb.desc(task.get("dateUpdated")), cb.desc(task.get("id")));
+        return entityManager.createQuery(query)
+            .setMaxResults(limit)
+            .getResultList();
+    }
+}
@@ -1,7 +1,128 @@
 package uk.gov.hmcts.reform.dev.repository;
 
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+import uk.gov.hmcts.reform.dev.dto.TaskResponse;
+import uk.gov.hmcts.reform.dev.dto.TaskState;
+import uk.gov.hmcts.reform.dev.dto.TaskVersion;
+import uk.gov.hmcts.reform.dev.models.Status;
 import uk.gov.hmcts.reform.dev.models.Task;
 
-public interface TaskRepository extends JpaRepository<Task,Long> {
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_CACHEABLE;
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+
+public interface TaskRepository extends JpaRepository<Task,Long>, JpaSpecificationExecutor<Task>,
+    TaskProjectionRepository {
+
+    // Read paths select straight into TaskResponse: no entity, persistence context entry or dateCreated column
+    String RESPONSE_PROJECTION = "select new uk.gov.hmcts.reform.dev.dto.TaskResponse(t.id, t.title, t.caseNumber,"
+        + " t.description, t.status, t.dueDate, t.version, t.dateUpdated) from Task t";
+
+    // Overdue sweep batches, see lockDueBefore
+    String DUE_BEFORE = "select id from task where status = :status and due_date < :cutoff";
+    String DUE_BEFORE_BATCH = " order by due_date, id limit :limit for update skip locked";
+
+    @Transactional(readOnly = true)
+    @Query(RESPONSE_PROJECTION + " where t.id = :id")
+    Optional<TaskResponse> findResponseById(@Param("id") Long id);
+
+    // As findResponseById, and locks the row until the transaction ends, so it is still current when the caller
+    // updates it
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query(RESPONSE_PROJECTION + " where t.id = :id")
+    Optional<TaskResponse> lockResponseById(@Param("id") Long id);
+
+    // In no particular order
+    @Transactional(readOnly = true)
+    @Query(RESPONSE_PROJECTION + " where t.id in :ids")
+    List<TaskResponse> findResponsesByIds(@Param("ids") Collection<Long> ids);
+
+    // Integer.MIN_VALUE makes MySQL Connector/J stream rows one at a time instead of buffering the result set.
+    // Must be consumed inside a transaction and closed by the caller.
+    @QueryHints({
+        @QueryHint(name = HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE),
+        @QueryHint(name = HINT_CACHEABLE, value = "false")
+    })
+    @Query(RESPONSE_PROJECTION + " order by t.id")
+    Stream<TaskResponse> streamAllResponses();
+
+    // Served from idx_task_updated_id without touching the rows
+    @Query("select max(t.dateUpdated) from Task t")
+    LocalDateTime findLastUpdated();
+
+    @Query("select new uk.gov.hmcts.reform.dev.dto.TaskVersion(t.version, t.dateUpdated) from Task t where t.id = :id")
+    Optional<TaskVersion> findVersionById(@Param("id") Long id);
+
+    @Query("select new uk.gov.hmcts.reform.dev.dto.TaskState(t.id, t.status, t.dueDate) from Task t where t.id = :id")
+    Optional<TaskState> findStateById(@Param("id") Long id);
+
+    @Query("select new uk.gov.hmcts.reform.dev.dto.TaskState(t.id, t.status, t.dueDate) from Task t"
+        + " where t.id in :ids")
+    List<TaskState> findStatesByIds(@Param("ids") Collection<Long> ids);
+
+    // GROUP BY queries behind the statistics reconciliation; each row is {key, count}
+    @Query("select t.status, count(t) from Task t group by t.status")
+    List<Object[]> countByStatus();
+
+    @Query("select cast(t.dueDate as LocalDate), count(t) from Task t where t.status in :statuses"
+        + " and t.dueDate is not null group by cast(t.dueDate as LocalDate)")
+    List<Object[]> countByDueDay(@Param("statuses") Collection<Status> statuses);
+
+    @Query("select t.dueDate, count(t) from Task t where t.status in :statuses and t.dueDate >= :from"
+        + " and t.dueDate < :to group by t.dueDate")
+    List<Object[]> countByDueTime(@Param("statuses") Collection<Status> statuses, @Param("from") LocalDateTime from,
+                                  @Param("to") LocalDateTime to);
+
+    // One dive into idx_task_status_due_id
+    @Query("select min(t.dueDate) from Task t where t.status = :status")
+    LocalDateTime findEarliestDueDate(@Param("status") Status status);
+
+    // Overdue sweep batches: ids of tasks in the given status (by ordinal) due before the cutoff, in (due_date, id)
+    // order along idx_task_status_due_id. Rows come back locked until commit; rows another transaction has locked
+    // are skipped rather than waited for. lockDueBeforeAfter carries on after the last task of the previous batch.
+    @Query(value = DUE_BEFORE + DUE_BEFORE_BATCH, nativeQuery = true)
+    List<Long> lockDueBefore(@Param("status") int status, @Param("cutoff") LocalDateTime cutoff,
+                             @Param("limit") int limit);
+
+    @Query(value = DUE_BEFORE + " and (due_date > :afterDue or (due_date = :afterDue and id > :afterId))"
+        + DUE_BEFORE_BATCH, nativeQuery = true)
+    List<Long> lockDueBeforeAfter(@Param("status") int status, @Param("cutoff") LocalDateTime cutoff,
+                                  @Param("afterDue") LocalDateTime afterDue, @Param("afterId") Long afterId,
+                                  @Param("limit") int limit);
+
+    // Bulk statements bypass entity callbacks, so dateUpdated is set explicitly
+    @Modifying(clearAutomatically = true)
+    @Query("update Task t set t.status = :status, t.version = t.version + 1, t.dateUpdated = :now "
+        + "where t.id in :ids")
+    int updateStatusByIds(@Param("ids") Collection<Long> ids, @Param("status") Status status,
+                          @Param("now") LocalDateTime now);
+
+    // Single-statement status change; with a version it only applies if nobody else changed the task first
+    @Modifying(clearAutomatically = true)
+    @Query("update Task t set t.status = :status, t.version = t.version + 1, t.dateUpdated = :now "
+        + "where t.id = :id and t.version = :version")
+    int updateStatusIfVersion(@Param("id") Long id, @Param("status") Status status, @Param("version") Long version,
+                              @Param("now") LocalDateTime now);
+
+    @Modifying(clearAutomatically = true)
+    @Query("update Task t set t.status = :status, t.version = t.version + 1, t.dateUpdated = :now where t.id = :id")
+    int updateStatus(@Param("id") Long id, @Param("status") Status status, @Param("now") LocalDateTime now);
+
+    @Modifying(clearAutomatically = true)
+    @Query("delete from Task t where t.id in :ids")
+    int deleteByIds(@Param("ids") Collection<Long> ids);
 }
@@ -0,0 +1,51 @@
+package uk.gov.hmcts.reform.dev.repository;
+
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.jpa.domain.Specification;
+import uk.gov.hmcts.reform.dev.dto.TaskFilter;
+import uk.gov.hmcts.reform.dev.models.Task;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+public final class TaskSpecifications {
+
+    private TaskSpecifications() {
+    }
+
+    public static Specification<Task> matching(TaskFilter filter) {
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            if (filter != null) {
+                if (filter.getStatus() != null) {
+                    predicates.add(cb.equal(root.get("status"), filter.getStatus()));
+                }
+                if (filter.getDueFrom() != null) {
+                    predicates.add(cb.greaterThanOrEqualTo(root.get("dueDate"), filter.getDueFrom()));
+                }
+                if (filter.getDueTo() != null) {
+                    predicates.add(cb.lessThan(root.get("dueDate"), filter.getDueTo()));
+                }
+                if (filter.getCaseNumberPrefix() != null && !filter.getCaseNumberPrefix().isBlank()) {
+                    String pattern = escapeLike(filter.getCaseNumberPrefix()) + "%";
+                    predicates.add(cb.like(root.get("caseNumber"), pattern, '\\'));
+                }
+            }
+            return cb.and(predicates.toArray(new Predicate[0]));
+        };
+    }
+
+    // Keyset predicate for the (dateUpdated DESC, id DESC) ordering: everything strictly after the cursor row.
+    public static Specification<Task> after(LocalDateTime dateUpdated, Long id) {
+        return (root, query, cb) -> cb.or(
+            cb.lessThan(root.get("dateUpdated"), dateUpdated),
+            cb.and(cb.equal(root.get("dateUpdated"), dateUpdated), cb.lessThan(root.get("id"), id))
+        );
+    }
+
+    // Escapes LIKE wildcards with a backslash
+    public static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
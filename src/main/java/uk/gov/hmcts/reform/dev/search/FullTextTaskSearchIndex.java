@@ -0,0 +1,77 @@
+package uk.gov.hmcts.reform.dev.search;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import uk.gov.hmcts.reform.dev.dto.TaskResponse;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Search backed by a MySQL FULLTEXT index on (title, description), ranked by InnoDB's relevance score in natural
+ * language mode. The database keeps the index in step with the rows in the same transaction, so index() and
+ * remove() have nothing to do, and every node sees the same results.
+ *
+ * <p>InnoDB ignores words shorter than innodb_ft_min_token_size (3 by default) and its built-in stopwords.
+ */
+public class FullTextTaskSearchIndex implements TaskSearchIndex, SmartInitializingSingleton {
+
+    private static final Logger LOG = LoggerFactory.getLogger(FullTextTaskSearchIndex.class);
+
+    static final String INDEX_NAME = "ft_task_title_description";
+
+    private static final String MATCH = "match(title, description) against (? in natural language mode)";
+
+    // Ordering by the same MATCH with a LIMIT lets InnoDB return the top rows straight from the index
+    private static final String SEARCH = "select id from task where " + MATCH
+        + " order by " + MATCH + " desc limit ? offset ?";
+
+    private static final String INDEX_EXISTS = "select count(*) from information_schema.statistics"
+        + " where table_schema = database() and table_name = 'task' and index_name = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public FullTextTaskSearchIndex(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public List<Long> search(String query, int offset, int limit) {
+        return jdbcTemplate.queryForList(SEARCH, Long.class, query, query, limit, offset);
+    }
+
+    @Override
+    public void index(TaskResponse task) {
+        // maintained by MySQL
+    }
+
+    @Override
+    public void remove(Collection<Long> ids) {
+        // maintained by MySQL
+    }
+
+    // The index is created by the V3 migration; ddl-auto validate doesn't look at indexes, so its absence is
+    // reported here rather than by the first search
+    @Override
+    public void afterSingletonsInstantiated() {
+        try {
+            String product = jdbcTemplate.execute(
+                (ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName());
+            if (!"MySQL".equalsIgnoreCase(product)) {
+                LOG.warn("Full-text task search needs MySQL, not {}; set tasks.search.index=in-memory", product);
+                return;
+            }
+            Integer existing = jdbcTemplate.queryForObject(INDEX_EXISTS, Integer.class, INDEX_NAME);
+            if (existing == null || existing == 0) {
+                LOG.warn("Full-text index {} is missing; task search will fail until the migrations have run",
+                         INDEX_NAME);
+            }
+        } catch (DataAccessException ex) {
+            LOG.warn("Could not check for full-text index {}: {}", INDEX_NAME, ex.getMessage());
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package uk.gov.hmcts.reform.dev.search;
+
+import uk.gov.hmcts.reform.dev.dto.TaskResponse;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * Process-local inverted index, for tests and single-node runs. Ranks with BM25, counting title words twice so a
+ * match in the title outranks the same match in the description. Each node only sees the writes it made itself
+ * after loading, so behind a load balancer use the full-text index instead.
+ */
+public class InMemoryTaskSearchIndex implements TaskSearchIndex {
+
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final int TITLE_WEIGHT = 2;
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+
+    // Best score first; among equal scores the newer (higher) id first
+    private static final Comparator<Map.Entry<Long, Double>> RANK = Map.Entry.<Long, Double>comparingByValue()
+        .thenComparing(Map.Entry.comparingByKey())
+        .reversed();
+
+    // term -> task id -> weighted occurrences of the term in that task
+    private final Map<String, Map<Long, Integer>> postings = new HashMap<>();
+    private final Map<Long, Document> documents = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private long totalLength;
+
+    @Override
+    public List<Long> search(String query, int offset, int limit) {
+        Set<String> terms = new LinkedHashSet<>(tokens(query));
+        Map<Long, Double> scores = new HashMap<>();
+        lock.readLock().lock();
+        try {
+            if (documents.isEmpty()) {
+                return List.of();
+            }
+            double averageLength = (double) totalLength / documents.size();
+            for (String term : terms) {
+                Map<Long, Integer> matches = postings.get(term);
+                if (matches == null) {
+                    continue;
+                }
+                double idf = Math.log(1 + (documents.size() - matches.size() + 0.5) / (matches.size() + 0.5));
+                for (Map.Entry<Long, Integer> match : matches.entrySet()) {
+                    double frequency = match.getValue();
+                    double lengthRatio = documents.get(match.getKey()).length() / averageLength;
+                    double score = idf * frequency * (K1 + 1) / (frequency + K1 * (1 - B + B * lengthRatio));
+                    scores.merge(match.getKey(), score, Double::sum);
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return top(scores, offset, limit);
+    }
+
+    @Override
+    public void index(TaskResponse task) {
+        Map<String, Integer> terms = new HashMap<>();
+        tokens(task.getTitle()).forEach(term -> terms.merge(term, TITLE_WEIGHT, Integer::sum));
+        tokens(task.getDescription()).forEach(term -> terms.merge(term, 1, Integer::sum));
+        int length = terms.values().stream().mapToInt(Integer::intValue).sum();
+
+        lock.writeLock().lock();
+        try {
+            removeLocked(task.getId());
+            if (terms.isEmpty()) {
+                return;
+            }
+            terms.forEach((term, count) -> postings.computeIfAbsent(term, t -> new HashMap<>())
+                .put(task.getId(), count));
+            documents.put(task.getId(), new Document(terms.keySet(), length));
+            totalLength += length;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void remove(Collection<Long> ids) {
+        lock.writeLock().lock();
+        try {
+            ids.forEach(this::removeLocked);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Lower-cased runs of letters and digits
+    static List<String> tokens(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null) {
+            return tokens;
+        }
+        for (String token : SEPARATORS.split(text.toLowerCase(Locale.ROOT))) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    // Must hold the write lock
+    private void removeLocked(Long id) {
+        Document document = documents.remove(id);
+        if (document == null) {
+            return;
+        }
+        totalLength -= document.length();
+        for (String term : document.terms()) {
+            Map<Long, Integer> matches = postings.get(term);
+            matches.remove(id);
+            if (matches.isEmpty()) {
+                postings.remove(term);
+            }
+        }
+    }
+
+    // Keeps only offset + limit candidates on a heap rather than sorting every match
+    private static List<Long> top(Map<Long, Double> scores, int offset, int limit) {
+        int wanted = offset + limit;
+        PriorityQueue<Map.Entry<Long, Double>> heap = new PriorityQueue<>(RANK.reversed());
+        for (Map.Entry<Long, Double> entry : scores.entrySet()) {
+            heap.add(entry);
+            if (heap.size() > wanted) {
+                heap.poll();
+            }
+        }
+        List<Map.Entry<Long, Double>> ranked = new ArrayList<>(heap);
+        ranked.sort(RANK);
+        List<Long> ids = new ArrayList<>(Math.min(limit, Math.max(ranked.size() - offset, 0)));
+        for (int i = offset; i < ranked.size(); i++) {
+            ids.add(ranked.get(i).getKey());
+        }
+        return ids;
+    }
+
+    private record Document(Set<String> terms, int length) {
+    }
+}
@@ -0,0 +1,36 @@
+package uk.gov.hmcts.reform.dev.search;
+
+import uk.gov.hmcts.reform.dev.exception.InvalidCursorException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Opaque continuation token for ranked search results: the rank the next page starts at.
+ */
+final class SearchCursor {
+
+    private SearchCursor() {
+    }
+
+    static String encode(int offset) {
+        return Base64.getUrlEncoder().withoutPadding()
+            .encodeToString(("s" + offset).getBytes(StandardCharsets.UTF_8));
+    }
+
+    static int decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            if (!raw.startsWith("s")) {
+                throw new IllegalArgumentException("Not a search cursor");
+            }
+            int offset = Integer.parseInt(raw.substring(1));
+            if (offset < 0) {
+                throw new IllegalArgumentException("Negative offset");
+            }
+            return offset;
+        } catch (IllegalArgumentException ex) {
+            throw new InvalidCursorException(ex);
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package uk.gov.hmcts.reform.dev.search;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import uk.gov.hmcts.reform.dev.service.TaskService;
+
+@Configuration
+@EnableConfigurationProperties(TaskSearchProperties.class)
+public class TaskSearchConfig {
+
+    private static final Logger LOG = LoggerFactory.getLogger(TaskSearchConfig.class);
+
+    @Bean
+    @ConditionalOnProperty(prefix = "tasks.search", name = "index", havingValue = "full-text", matchIfMissing = true)
+    public FullTextTaskSearchIndex fullTextTaskSearchIndex(JdbcTemplate jdbcTemplate) {
+        return new FullTextTaskSearchIndex(jdbcTemplate);
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "tasks.search", name = "index", havingValue = "in-memory")
+    public InMemoryTaskSearchIndex inMemoryTaskSearchIndex() {
+        return new InMemoryTaskSearchIndex();
+    }
+
+    // Fills the in-memory index from the database at startup; writes made meanwhile are indexed as they commit.
+    // Titles and descriptions never change, so the load can't index stale text, and a task deleted meanwhile only
+    // leaves an id that search results skip.
+    @Bean
+    @ConditionalOnProperty(prefix = "tasks.search", name = "index", havingValue = "in-memory")
+    public ApplicationRunner inMemoryTaskSearchIndexLoader(InMemoryTaskSearchIndex index, TaskService taskService) {
+        return args -> {
+            long start = System.nanoTime();
+            long count = taskService.exportTasks(index::index);
+            LOG.info("Indexed {} tasks for search in {} ms", count, (System.nanoTime() - start) / 1_000_000);
+        };
+    }
+}
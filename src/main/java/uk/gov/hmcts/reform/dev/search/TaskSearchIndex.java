@@ -0,0 +1,21 @@
+package uk.gov.hmcts.reform.dev.search;
+
+import uk.gov.hmcts.reform.dev.dto.TaskResponse;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Ranked word search over task titles and descriptions. An index only ranks: it returns ids, best match first,
+ * and the tasks themselves are read from the database, so results never show stale task data.
+ * Implementations must be thread-safe.
+ */
+public interface TaskSearchIndex {
+
+    List<Long> search(String query, int offset, int limit);
+
+    // Called once the task's row has committed; indexing a task again replaces its earlier entry
+    void index(TaskResponse task);
+
+    void remove(Collection<Long> ids);
+}
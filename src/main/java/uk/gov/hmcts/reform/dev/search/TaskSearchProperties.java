@@ -0,0 +1,17 @@
+package uk.gov.hmcts.reform.dev.search;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "tasks.search")
+public class TaskSearchProperties {
+
+    // 'full-text' (MySQL FULLTEXT index) or 'in-memory' (per-node stand-in for tests and single-node runs)
+    private String index = "full-text";
+
+    // Deepest rank a client can page to; deep offsets cost the index as much as the pages before them
+    private int maxResults = 1000;
+}
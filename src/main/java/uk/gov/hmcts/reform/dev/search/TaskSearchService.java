@@ -0,0 +1,64 @@
+package uk.gov.hmcts.reform.dev.search;
+
+import org.springframework.stereotype.Service;
+import uk.gov.hmcts.reform.dev.dto.TaskPage;
+import uk.gov.hmcts.reform.dev.dto.TaskResponse;
+import uk.gov.hmcts.reform.dev.exception.InvalidRequestException;
+import uk.gov.hmcts.reform.dev.repository.TaskRepository;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+public class TaskSearchService {
+
+    public static final int DEFAULT_PAGE_SIZE = 20;
+    public static final int MAX_PAGE_SIZE = 100;
+    public static final int MAX_QUERY_LENGTH = 200;
+
+    private final TaskSearchIndex searchIndex;
+    private final TaskRepository taskRepository;
+    private final int maxResults;
+
+    public TaskSearchService(TaskSearchIndex searchIndex, TaskRepository taskRepository,
+                             TaskSearchProperties properties) {
+        this.searchIndex = searchIndex;
+        this.taskRepository = taskRepository;
+        this.maxResults = properties.getMaxResults();
+    }
+
+    // The index ranks; the page's rows are then read by id so they show each task as it is now. Like the
+    // listing, one row beyond the page is asked for to know whether another page exists.
+    public TaskPage search(String query, String cursor, int limit) {
+        if (query == null || query.isBlank()) {
+            throw new InvalidRequestException("Search query 'q' is required");
+        }
+        if (query.length() > MAX_QUERY_LENGTH) {
+            throw new InvalidRequestException("Search query is longer than " + MAX_QUERY_LENGTH + " characters");
+        }
+        int offset = cursor == null || cursor.isBlank() ? 0 : SearchCursor.decode(cursor);
+        if (offset >= maxResults) {
+            throw new InvalidRequestException("Only the first " + maxResults + " matches can be paged through; "
+                                               + "refine the query");
+        }
+        int pageSize = Math.min(Math.min(Math.max(limit, 1), MAX_PAGE_SIZE), maxResults - offset);
+
+        List<Long> ids = searchIndex.search(query.strip(), offset, pageSize + 1);
+        boolean more = ids.size() > pageSize && offset + pageSize < maxResults;
+        if (ids.size() > pageSize) {
+            ids = ids.subList(0, pageSize);
+        }
+
+        Map<Long, TaskResponse> rows = ids.isEmpty() ? Map.of() : taskRepository.findResponsesByIds(ids).stream()
+            .collect(Collectors.toMap(TaskResponse::getId, Function.identity()));
+        // A task deleted since it was ranked is simply left out
+        List<TaskResponse> items = ids.stream()
+            .map(rows::get)
+            .filter(Objects::nonNull)
+            .collect(Collectors.toList());
+        return new TaskPage(items, more ? SearchCursor.encode(offset + pageSize) : null);
+    }
+}
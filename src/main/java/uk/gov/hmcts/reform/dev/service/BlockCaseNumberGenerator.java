@@ -0,0 +1,125 @@
+package uk.gov.hmcts.reform.dev.service;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Case numbers drawn from blocks reserved through a {@link CaseNumberBlockAllocator}. Each stripe owns its own
+ * block, so concurrent creates normally cost one uncontended getAndIncrement; only a thread that exhausts a
+ * block goes back to the allocator, and only threads on that stripe wait for it.
+ *
+ * <p>Reservations run on the prefetcher, never on the caller's thread: callers are usually inside a transaction
+ * holding a pooled connection, and reserving there would need a second one, which under load can leave every
+ * connection held by a caller waiting for another. Each stripe keeps a spare block reserved ahead, from the moment
+ * the generator is created, and a new spare is requested as soon as one is taken into use. A caller only waits for
+ * a reservation when its stripe has used a whole block in the time it takes to reserve the next.
+ */
+public class BlockCaseNumberGenerator implements CaseNumberGenerator {
+
+    private final String prefix;
+    private final int minDigits;
+    private final int blockSize;
+    private final CaseNumberBlockAllocator allocator;
+    private final Executor prefetcher;
+    private final AtomicReferenceArray<Block> blocks;
+    // Guarded by the stripe's refill lock
+    private final CompletableFuture<?>[] spares;
+    private final ReentrantLock[] refillLocks;
+
+    public BlockCaseNumberGenerator(String prefix, int minDigits, int blockSize, int stripes,
+                                    CaseNumberBlockAllocator allocator, Executor prefetcher) {
+        if (blockSize < 1 || stripes < 1) {
+            throw new IllegalArgumentException("blockSize and stripes must be positive");
+        }
+        this.prefix = prefix;
+        this.minDigits = minDigits;
+        this.blockSize = blockSize;
+        this.allocator = allocator;
+        this.prefetcher = prefetcher;
+        this.blocks = new AtomicReferenceArray<>(stripes);
+        this.spares = new CompletableFuture<?>[stripes];
+        this.refillLocks = new ReentrantLock[stripes];
+        for (int i = 0; i < stripes; i++) {
+            blocks.set(i, Block.EXHAUSTED);
+            spares[i] = prefetch();
+            refillLocks[i] = new ReentrantLock();
+        }
+    }
+
+    @Override
+    public String next() {
+        int stripe = ThreadLocalRandom.current().nextInt(blocks.length());
+        while (true) {
+            Block block = blocks.get(stripe);
+            long value = block.next.getAndIncrement();
+            if (value < block.end) {
+                return format(value);
+            }
+            refill(stripe, block);
+        }
+    }
+
+    private void refill(int stripe, Block exhausted) {
+        ReentrantLock lock = refillLocks[stripe];
+        lock.lock();
+        try {
+            // Another thread may have refilled the stripe while we waited for the lock
+            if (blocks.get(stripe) == exhausted) {
+                blocks.set(stripe, takeSpare(stripe));
+                spares[stripe] = prefetch();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private Block takeSpare(int stripe) {
+        CompletableFuture<?> spare = spares[stripe];
+        // A failed reservation is retried by the next caller rather than failing every caller from then on
+        if (spare == null || spare.isCompletedExceptionally()) {
+            spare = prefetch();
+        }
+        try {
+            return (Block) spare.join();
+        } catch (CompletionException ex) {
+            spares[stripe] = null;
+            throw ex.getCause() instanceof RuntimeException cause ? cause : ex;
+        }
+    }
+
+    private CompletableFuture<Block> prefetch() {
+        return CompletableFuture.supplyAsync(() -> {
+            long start = allocator.reserve(blockSize);
+            return new Block(start, start + blockSize);
+        }, prefetcher);
+    }
+
+    // Left-pads with zeros to minDigits without going through String.format
+    private String format(long value) {
+        String digits = Long.toString(value);
+        int padding = Math.max(minDigits - digits.length(), 0);
+        StringBuilder caseNumber = new StringBuilder(prefix.length() + padding + digits.length()).append(prefix);
+        for (int i = 0; i < padding; i++) {
+            caseNumber.append('0');
+        }
+        return caseNumber.append(digits).toString();
+    }
+
+    private static final class Block {
+
+        static final Block EXHAUSTED = new Block(0, 0);
+
+        final AtomicLong next;
+        final long end;
+
+        Block(long start, long end) {
+            this.next = new AtomicLong(start);
+            this.end = end;
+        }
+    }
+}
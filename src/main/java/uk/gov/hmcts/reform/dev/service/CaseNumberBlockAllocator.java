@@ -0,0 +1,14 @@
+package uk.gov.hmcts.reform.dev.service;
+
+/**
+ * Hands out disjoint ranges of case numbers. Every call must return a range no other caller, on any node,
+ * has been or will be given.
+ */
+@FunctionalInterface
+public interface CaseNumberBlockAllocator {
+
+    /**
+     * Reserves {@code size} consecutive numbers and returns the first.
+     */
+    long reserve(int size);
+}
@@ -0,0 +1,30 @@
+package uk.gov.hmcts.reform.dev.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.Executors;
+
+@Configuration
+public class CaseNumberConfig {
+
+    // Declare another CaseNumberGenerator bean to replace the block-reserving default
+    @Bean
+    @ConditionalOnMissingBean(CaseNumberGenerator.class)
+    public CaseNumberGenerator caseNumberGenerator(CaseNumberBlockAllocator allocator,
+                                                   @Value("${tasks.case-number.prefix:CASE-}") String prefix,
+                                                   @Value("${tasks.case-number.min-digits:8}") int minDigits,
+                                                   @Value("${tasks.case-number.block-size:1000}") int blockSize,
+                                                   @Value("${tasks.case-number.stripes:0}") int stripes) {
+        int stripeCount = stripes > 0 ? stripes : Runtime.getRuntime().availableProcessors();
+        // Blocks are reserved one at a time on this thread, outside any request's transaction
+        return new BlockCaseNumberGenerator(prefix, minDigits, blockSize, stripeCount, allocator,
+                                            Executors.newSingleThreadExecutor(runnable -> {
+                                                Thread thread = new Thread(runnable, "case-number-prefetch");
+                                                thread.setDaemon(true);
+                                                return thread;
+                                            }));
+    }
+}
@@ -0,0 +1,10 @@
+package uk.gov.hmcts.reform.dev.service;
+
+/**
+ * Source of case numbers for new tasks. Implementations must be thread-safe and never repeat a value,
+ * including across nodes; Task.caseNumber carries a unique index as the backstop.
+ */
+public interface CaseNumberGenerator {
+
+    String next();
+}
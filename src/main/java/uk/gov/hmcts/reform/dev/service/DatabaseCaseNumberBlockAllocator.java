@@ -0,0 +1,57 @@
+package uk.gov.hmcts.reform.dev.service;
+
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+import uk.gov.hmcts.reform.dev.repository.CaseNumberSequenceRepository;
+
+/**
+ * Reserves case number blocks from the case_number_sequence row, in a transaction of its own so the row lock
+ * is released as soon as the block is taken rather than when the caller's transaction ends.
+ *
+ * <p>BlockCaseNumberGenerator only calls this from its prefetch thread, which never has a transaction open, so
+ * a reservation takes one connection from the pool rather than a second one alongside a caller's.
+ */
+@Component
+public class DatabaseCaseNumberBlockAllocator implements CaseNumberBlockAllocator {
+
+    static final String SEQUENCE_NAME = "case_number";
+    static final long FIRST_VALUE = 1;
+
+    // Only the very first reservation in a fresh database can race on creating the row
+    private static final int MAX_ATTEMPTS = 3;
+
+    private final CaseNumberSequenceRepository repository;
+    private final TransactionTemplate transactionTemplate;
+
+    public DatabaseCaseNumberBlockAllocator(CaseNumberSequenceRepository repository,
+                                            PlatformTransactionManager transactionManager) {
+        this.repository = repository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @Override
+    public long reserve(int size) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transactionTemplate.execute(status -> advance(size));
+            } catch (DataIntegrityViolationException ex) {
+                // Another node created the row first; the retry will advance it instead
+                if (attempt >= MAX_ATTEMPTS) {
+                    throw ex;
+                }
+            }
+        }
+    }
+
+    private long advance(int size) {
+        if (repository.advance(SEQUENCE_NAME, size) == 0) {
+            repository.create(SEQUENCE_NAME, FIRST_VALUE + size);
+            return FIRST_VALUE;
+        }
+        return repository.findNextValue(SEQUENCE_NAME) - size;
+    }
+}
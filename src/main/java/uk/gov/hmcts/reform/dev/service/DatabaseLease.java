@@ -0,0 +1,44 @@
+package uk.gov.hmcts.reform.dev.service;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+import uk.gov.hmcts.reform.dev.repository.SchedulerLeaseRepository;
+
+import java.time.Duration;
+import java.util.UUID;
+
+/**
+ * Cluster-wide leases kept in the scheduler_lease table, so scheduled work runs on one node at a time. The holder
+ * renews a lease by acquiring it again before it expires; a node that stops renewing loses it to the next to ask.
+ * Each call is a short transaction of its own, so the lease row is never locked for longer than one statement.
+ */
+@Component
+public class DatabaseLease {
+
+    private final SchedulerLeaseRepository repository;
+    private final TransactionTemplate transactionTemplate;
+    // Unique to this instance, so a restarted node doesn't inherit the lease it held before
+    private final String owner = UUID.randomUUID().toString();
+
+    public DatabaseLease(SchedulerLeaseRepository repository, PlatformTransactionManager transactionManager) {
+        this.repository = repository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Takes or renews the lease for the given duration. Returns false if another node holds it.
+     */
+    public boolean tryAcquire(String name, Duration duration) {
+        long seconds = Math.max(duration.toSeconds(), 1);
+        return Boolean.TRUE.equals(transactionTemplate.execute(
+            status -> repository.extend(name, owner, seconds) > 0 || repository.create(name, owner, seconds) > 0));
+    }
+
+    // Lets another node take over straight away rather than wait for the lease to expire
+    public void release(String name) {
+        transactionTemplate.executeWithoutResult(status -> repository.release(name, owner));
+    }
+}
@@ -0,0 +1,105 @@
+package uk.gov.hmcts.reform.dev.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import uk.gov.hmcts.reform.dev.repository.TaskChangeMarkerRepository;
+import uk.gov.hmcts.reform.dev.repository.TaskRepository;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Collection-level change marker for the task list, as epoch millis. Writes on this node advance it as they
+ * commit; writes on other nodes are picked up by re-reading max(date_updated) and the delete marker at most once
+ * per refresh interval, so polling clients cost no database work between refreshes.
+ *
+ * <p>The marker moves to the time a change became visible, never to the timestamp the change carries: a write
+ * stamps its rows before it commits, and a client may already hold a marker later than that stamp by the time the
+ * commit lands. Local writes advance it to the clock in their after-commit hook; a change seen on refresh advances
+ * it to the time of the refresh.
+ */
+@Component
+public class TaskChangeTracker {
+
+    public static final String DELETED_MARKER = "task_deleted";
+
+    private final TaskRepository taskRepository;
+    private final TaskChangeMarkerRepository markerRepository;
+    private final long refreshIntervalNanos;
+    private final Clock clock;
+    private final AtomicLong lastModified = new AtomicLong();
+    private final ReentrantLock refreshLock = new ReentrantLock();
+
+    private volatile long refreshedAt;
+    // What the last refresh read; only touched while holding refreshLock
+    private LocalDateTime seenUpdated;
+    private LocalDateTime seenDeleted;
+    private boolean refreshed;
+
+    @Autowired
+    public TaskChangeTracker(TaskRepository taskRepository, TaskChangeMarkerRepository markerRepository,
+                             @Value("${tasks.conditional.refresh-interval:1s}") Duration refreshInterval) {
+        this(taskRepository, markerRepository, refreshInterval, Clock.systemDefaultZone());
+    }
+
+    TaskChangeTracker(TaskRepository taskRepository, TaskChangeMarkerRepository markerRepository,
+                      Duration refreshInterval, Clock clock) {
+        this.taskRepository = taskRepository;
+        this.markerRepository = markerRepository;
+        this.refreshIntervalNanos = refreshInterval.toNanos();
+        this.clock = clock;
+        this.refreshedAt = System.nanoTime() - refreshIntervalNanos - 1;
+    }
+
+    public long lastModified() {
+        // Only one caller refreshes; the rest carry on with the current value rather than queue on the database
+        if (System.nanoTime() - refreshedAt > refreshIntervalNanos && refreshLock.tryLock()) {
+            try {
+                refresh();
+            } finally {
+                refreshLock.unlock();
+            }
+        }
+        return lastModified.get();
+    }
+
+    public void markChanged() {
+        TransactionHooks.afterCommit(() -> advance(clock.millis()));
+    }
+
+    // Must run inside the deleting transaction so the marker commits with the delete
+    public void markDeleted(LocalDateTime deletedAt) {
+        markerRepository.touch(DELETED_MARKER, deletedAt);
+        markChanged();
+    }
+
+    private void refresh() {
+        LocalDateTime updated = taskRepository.findLastUpdated();
+        LocalDateTime deleted = markerRepository.findChangedAt(DELETED_MARKER);
+        if (!refreshed) {
+            // Nothing to compare with yet: start from the latest change the database records
+            advance(millis(updated));
+            advance(millis(deleted));
+            refreshed = true;
+        } else if (!Objects.equals(updated, seenUpdated) || !Objects.equals(deleted, seenDeleted)) {
+            advance(clock.millis());
+        }
+        seenUpdated = updated;
+        seenDeleted = deleted;
+        refreshedAt = System.nanoTime();
+    }
+
+    private void advance(long millis) {
+        lastModified.accumulateAndGet(millis, Math::max);
+    }
+
+    private static long millis(LocalDateTime changedAt) {
+        return changedAt == null ? 0 : changedAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
@@ -0,0 +1,41 @@
+package uk.gov.hmcts.reform.dev.service;
+
+import lombok.Getter;
+import uk.gov.hmcts.reform.dev.exception.InvalidCursorException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Opaque continuation token for keyset pagination over (dateUpdated, id).
+ */
+@Getter
+public final class TaskCursor {
+
+    private static final char SEPARATOR = '|';
+
+    private final LocalDateTime dateUpdated;
+    private final Long id;
+
+    public TaskCursor(LocalDateTime dateUpdated, Long id) {
+        this.dateUpdated = dateUpdated;
+        this.id = id;
+    }
+
+    public String encode() {
+        String raw = dateUpdated.toString() + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static TaskCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int split = raw.lastIndexOf(SEPARATOR);
+            return new TaskCursor(LocalDateTime.parse(raw.substring(0, split)), Long.valueOf(raw.substring(split + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException ex) {
+            throw new InvalidCursorException(ex);
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package uk.gov.hmcts.reform.dev.service;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.StatelessSession;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.IdentifierGenerator;
+import uk.gov.hmcts.reform.dev.models.Task;
+
+/**
+ * Hands out task ids from Hibernate's own task_seq generator, so ids assigned ahead of the insert (write-behind,
+ * and the reactive stack's SQL inserts) come from the same pooled blocks as ordinary creates and can never collide
+ * with them.
+ */
+public class TaskIdAllocator {
+
+    private final SessionFactoryImplementor sessionFactory;
+    private final IdentifierGenerator generator;
+
+    public TaskIdAllocator(EntityManagerFactory entityManagerFactory) {
+        this.sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        this.generator = (IdentifierGenerator) sessionFactory.getMappingMetamodel()
+            .getEntityDescriptor(Task.class)
+            .getGenerator();
+    }
+
+    // Only touches the database when the generator's current block of 50 runs out
+    public Long next() {
+        try (StatelessSession session = sessionFactory.openStatelessSession()) {
+            return (Long) generator.generate((SharedSessionContractImplementor) session, null);
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package uk.gov.hmcts.reform.dev.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Task ids come from the pooled task_seq generator, which knows nothing of ids already in the table: rows written
+ * under IDENTITY, restored from a backup or inserted by hand. Before the application takes requests, task_seq is
+ * moved past the largest id so no generated id can collide with one of them. It never moves backwards, so running
+ * it on every start, on every node, is safe.
+ *
+ * <p>Only MySQL backs task_seq with a table; databases with real sequences are left to their own DDL.
+ */
+@Component
+public class TaskIdSequenceSeeder implements SmartInitializingSingleton {
+
+    private static final Logger LOG = LoggerFactory.getLogger(TaskIdSequenceSeeder.class);
+
+    // The pooled generator hands out ids up to next_val + 49 from each reservation, hence max(id) + 51
+    private static final String SEED = "update task_seq set next_val = greatest(next_val,"
+        + " (select coalesce(max(id), 0) + 51 from task))";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public TaskIdSequenceSeeder(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        String product = jdbcTemplate.execute(
+            (ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName());
+        if (!"MySQL".equalsIgnoreCase(product)) {
+            return;
+        }
+        if (jdbcTemplate.update(SEED) == 0) {
+            LOG.warn("task_seq has no row to move past the existing task ids; have the migrations run?");
+        }
+    }
+}
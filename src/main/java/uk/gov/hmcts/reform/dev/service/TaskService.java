@@ -1,78 +1,398 @@
 package uk.gov.hmcts.reform.dev.service;
 
 
-import org.springframework.data.domain.Sort;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import uk.gov.hmcts.reform.dev.cache.TaskCache;
+import uk.gov.hmcts.reform.dev.datasource.ReplicaRouting;
+import uk.gov.hmcts.reform.dev.dto.BatchItemResult;
+import uk.gov.hmcts.reform.dev.dto.BatchResponse;
+import uk.gov.hmcts.reform.dev.dto.TaskEvent;
+import uk.gov.hmcts.reform.dev.dto.TaskFilter;
+import uk.gov.hmcts.reform.dev.dto.TaskPage;
 import uk.gov.hmcts.reform.dev.dto.TaskRequest;
 import uk.gov.hmcts.reform.dev.dto.TaskResponse;
+import uk.gov.hmcts.reform.dev.dto.TaskState;
+import uk.gov.hmcts.reform.dev.dto.TaskVersion;
+import uk.gov.hmcts.reform.dev.events.TaskChangeFeed;
+import uk.gov.hmcts.reform.dev.exception.InvalidRequestException;
+import uk.gov.hmcts.reform.dev.exception.TaskVersionConflictException;
 import uk.gov.hmcts.reform.dev.models.Status;
 import uk.gov.hmcts.reform.dev.models.Task;
 import uk.gov.hmcts.reform.dev.repository.TaskRepository;
+import uk.gov.hmcts.reform.dev.repository.TaskSpecifications;
+import uk.gov.hmcts.reform.dev.search.TaskSearchIndex;
+import uk.gov.hmcts.reform.dev.stats.TaskStatistics;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.Set;
 
-import java.util.Random;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 public class TaskService {
 
-    private static final int NUMBER_LENGTH = 6;
-    private static final String DIGITS = "0123456789";
+    private static final Logger LOG = LoggerFactory.getLogger(TaskService.class);
+
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    public static final int MAX_PAGE_SIZE = 500;
+
+    public static final int MAX_BATCH_SIZE = 1000;
+
+    // Matches hibernate.jdbc.batch_size and the task_seq allocation size
+    private static final int BATCH_FLUSH_SIZE = 50;
+
+    private static final Comparator<TaskState> DUE_ORDER = Comparator.comparing(TaskState::getDueDate)
+        .thenComparing(TaskState::getId);
 
     private final TaskRepository taskRepository;
+    private final EntityManager entityManager;
+    private final Validator validator;
+    private final TaskCache taskCache;
+    private final CaseNumberGenerator caseNumberGenerator;
+    private final TaskChangeTracker changeTracker;
+    private final TaskChangeFeed changeFeed;
+    private final TaskSearchIndex searchIndex;
+    private final TaskStatistics statistics;
 
-    public TaskService(TaskRepository taskRepository) {
+    public TaskService(TaskRepository taskRepository, EntityManager entityManager, Validator validator,
+                       TaskCache taskCache, CaseNumberGenerator caseNumberGenerator,
+                       TaskChangeTracker changeTracker, TaskChangeFeed changeFeed, TaskSearchIndex searchIndex,
+                       TaskStatistics statistics) {
         this.taskRepository = taskRepository;
+        this.entityManager = entityManager;
+        this.validator = validator;
+        this.taskCache = taskCache;
+        this.caseNumberGenerator = caseNumberGenerator;
+        this.changeTracker = changeTracker;
+        this.changeFeed = changeFeed;
+        this.searchIndex = searchIndex;
+        this.statistics = statistics;
     }
 
     public TaskResponse createTask(TaskRequest request) {
 
-        Task task = new Task();
-        task.setTitle(request.getTitle());
-        task.setCaseNumber("CASE-" + generateRandomNumberString());
-        task.setDescription(request.getDescription());
-        task.setStatus(Status.PENDING);
-        task.setDueDate(request.getDueDate());
+        Task saved = taskRepository.save(newTask(request));
+        TaskResponse response = mapToResponse(saved);
+        taskCache.put(response);
+        changeTracker.markChanged();
+        changeFeed.publishAfterCommit(TaskEvent.created(response, saved.getDateUpdated()));
+        TransactionHooks.afterCommit(() -> {
+            searchIndex.index(response);
+            statistics.added(response.getStatus(), response.getDueDate());
+        });
+        return response;
+
+    }
+
+    // Items are validated individually so one bad row doesn't reject the rest; valid rows are persisted and
+    // flushed every BATCH_FLUSH_SIZE so Hibernate sends them as JDBC batches and the persistence context stays small
+    @Transactional
+    public BatchResponse createTasks(List<TaskRequest> requests) {
+        checkBatchSize(requests.size());
+        List<BatchItemResult> results = new ArrayList<>(requests.size());
+        List<TaskEvent> events = new ArrayList<>();
+        List<TaskResponse> created = new ArrayList<>();
+        int pending = 0;
+
+        for (int i = 0; i < requests.size(); i++) {
+            Map<String, String> errors = validate(requests.get(i));
+            if (!errors.isEmpty()) {
+                results.add(new BatchItemResult(i, null, BatchItemResult.Outcome.INVALID, null, errors));
+                continue;
+            }
+            Task saved = taskRepository.save(newTask(requests.get(i)));
+            TaskResponse response = mapToResponse(saved);
+            results.add(new BatchItemResult(i, saved.getId(), BatchItemResult.Outcome.CREATED, response, null));
+            events.add(TaskEvent.created(response, saved.getDateUpdated()));
+            created.add(response);
+            if (++pending == BATCH_FLUSH_SIZE) {
+                entityManager.flush();
+                entityManager.clear();
+                pending = 0;
+            }
+        }
+        changeTracker.markChanged();
+        changeFeed.publishAfterCommit(events);
+        TransactionHooks.afterCommit(() -> created.forEach(response -> {
+            searchIndex.index(response);
+            statistics.added(response.getStatus(), response.getDueDate());
+        }));
+        return new BatchResponse(results);
+    }
+
+    // The existence check also reads each task's current status and due date, for the statistics
+    @Transactional
+    public BatchResponse updateTaskStatuses(List<Long> ids, Status status) {
+        checkBatchSize(ids.size());
+        List<TaskState> states = taskRepository.findStatesByIds(new LinkedHashSet<>(ids));
+        Set<Long> existing = ids(states);
+        if (!existing.isEmpty()) {
+            LocalDateTime now = LocalDateTime.now();
+            taskRepository.updateStatusByIds(existing, status, now);
+            taskCache.evict(existing);
+            changeTracker.markChanged();
+            changeFeed.publishAfterCommit(existing.stream()
+                .map(id -> TaskEvent.statusChanged(id, status, now))
+                .collect(Collectors.toList()));
+            TransactionHooks.afterCommit(() -> states.forEach(
+                state -> statistics.statusChanged(state.getStatus(), status, state.getDueDate())));
+        }
+        return idResults(ids, existing, BatchItemResult.Outcome.UPDATED);
+    }
 
-        Task saved = taskRepository.save(task);
-        return mapToResponse(saved);
+    @Transactional
+    public BatchResponse deleteTasks(List<Long> ids) {
+        checkBatchSize(ids.size());
+        List<TaskState> states = taskRepository.findStatesByIds(new LinkedHashSet<>(ids));
+        Set<Long> existing = ids(states);
+        if (!existing.isEmpty()) {
+            LocalDateTime now = LocalDateTime.now();
+            taskRepository.deleteByIds(existing);
+            taskCache.evict(existing);
+            changeTracker.markDeleted(now);
+            changeFeed.publishAfterCommit(existing.stream()
+                .map(id -> TaskEvent.deleted(id, now))
+                .collect(Collectors.toList()));
+            TransactionHooks.afterCommit(() -> {
+                searchIndex.remove(existing);
+                states.forEach(state -> statistics.removed(state.getStatus(), state.getDueDate()));
+            });
+        }
+        return idResults(ids, existing, BatchItemResult.Outcome.DELETED);
+    }
 
+    /**
+     * One batch of the overdue sweep, in a transaction of its own: marks up to limit pending tasks due before the
+     * cutoff as OVERDUE, taking them in (dueDate, id) order after the given task, or from the start when it is null.
+     * Returns the tasks marked, in that order. Tasks locked by other transactions are left for the next sweep.
+     */
+    @Transactional
+    public List<TaskState> markOverdue(LocalDateTime cutoff, TaskState after, int limit) {
+        int pending = Status.PENDING.ordinal();
+        List<Long> ids = after == null
+            ? taskRepository.lockDueBefore(pending, cutoff, limit)
+            : taskRepository.lockDueBeforeAfter(pending, cutoff, after.getDueDate(), after.getId(), limit);
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        // The rows are locked, so their state can't change before the update
+        List<TaskState> states = new ArrayList<>(taskRepository.findStatesByIds(ids));
+        states.sort(DUE_ORDER);
+        LocalDateTime now = LocalDateTime.now();
+        taskRepository.updateStatusByIds(ids, Status.OVERDUE, now);
+        taskCache.evict(ids);
+        changeTracker.markChanged();
+        changeFeed.publishAfterCommit(ids.stream()
+            .map(id -> TaskEvent.statusChanged(id, Status.OVERDUE, now))
+            .collect(Collectors.toList()));
+        TransactionHooks.afterCommit(() -> states.forEach(
+            state -> statistics.statusChanged(Status.PENDING, Status.OVERDUE, state.getDueDate())));
+        return states;
     }
 
-    // Get by ID
+    // Get by ID, served from the cache when possible
     public TaskResponse getTaskById(Long id) {
-        return taskRepository.findById(id)
-            .map(this::mapToResponse)
-            .orElseThrow(() -> new RuntimeException("Task not found with id " + id));
+        return taskCache.get(id, this::loadTask);
+    }
+
+    // Version and last-modified time for a conditional GET, without loading the full row
+    public TaskVersion getTaskVersion(Long id) {
+        TaskResponse cached = taskCache.getIfPresent(id);
+        if (cached != null && cached.getVersion() != null) {
+            return new TaskVersion(cached.getVersion(), cached.getLastModified());
+        }
+        return taskRepository.findVersionById(id)
+            .orElseThrow(() -> new NoSuchElementException("Task not found with id " + id));
+    }
+
+    // Collection-level change marker (epoch millis) for conditional GETs on task listings
+    public long getTasksLastModified() {
+        return changeTracker.lastModified();
+    }
+
+    // Not transactional itself: a cache hit in getTaskById shouldn't take a connection. Read from the primary, as the
+    // result is cached for longer than a replica lags behind the writes that evicted it.
+    private TaskResponse loadTask(Long id) {
+        return ReplicaRouting.readForCache(() -> taskRepository.findResponseById(id))
+            .orElseThrow(() -> new NoSuchElementException("Task not found with id " + id));
     }
 
 
-    public List<TaskResponse> getAllTasks() {
-        return taskRepository.findAll(Sort.by(Sort.Direction.DESC, "dateUpdated"))
-            .stream()
-            .map(this::mapToResponse)
-            .collect(Collectors.toList());
+    // Keyset pagination: fetch one row beyond the page to know whether another page exists
+    public TaskPage findTasks(TaskFilter filter, String cursor, int limit) {
+        int pageSize = Math.min(Math.max(limit, 1), MAX_PAGE_SIZE);
+
+        Specification<Task> spec = TaskSpecifications.matching(filter);
+        if (cursor != null && !cursor.isBlank()) {
+            TaskCursor position = TaskCursor.decode(cursor);
+            spec = spec.and(TaskSpecifications.after(position.getDateUpdated(), position.getId()));
+        }
+
+        List<TaskResponse> rows = taskRepository.findPage(spec, pageSize + 1);
+
+        String nextCursor = null;
+        if (rows.size() > pageSize) {
+            rows = rows.subList(0, pageSize);
+            TaskResponse last = rows.get(pageSize - 1);
+            nextCursor = new TaskCursor(last.getLastModified(), last.getId()).encode();
+        }
+
+        return new TaskPage(rows, nextCursor);
+    }
+
+    // Streams every task to the sink as it is read, so memory stays flat regardless of table size. Rows are
+    // projected rather than loaded as entities, so nothing accumulates in the persistence context.
+    @Transactional(readOnly = true)
+    public long exportTasks(Consumer<TaskResponse> sink) {
+        long count = 0;
+        try (Stream<TaskResponse> tasks = taskRepository.streamAllResponses()) {
+            Iterator<TaskResponse> rows = tasks.iterator();
+            while (rows.hasNext()) {
+                sink.accept(rows.next());
+                count++;
+            }
+        }
+        return count;
     }
 
     public TaskResponse updateTaskStatus(Long id, String status) {
+        return updateTaskStatus(id, status, null);
+    }
+
+    // One conditional UPDATE instead of load-then-save, with the row it replaces read beforehand rather than read back
+    // after. With an expected version the change only applies if the task is still at that version; without one it
+    // applies to whatever is current.
+    @Transactional
+    public TaskResponse updateTaskStatus(Long id, String status, Long expectedVersion) {
+        LOG.debug("Updating task {} to {} (expected version {})", id, status, expectedVersion);
+        Status newStatus = Status.valueOf(status);
+        LocalDateTime now = LocalDateTime.now();
+
+        // The statistics need the status being replaced, and the response everything but the new status. A cached
+        // copy at the expected version has both; otherwise the row is read once, locked so that no other change can
+        // come between it and the update. A locked row at another version is a conflict without trying the update.
+        TaskResponse cached = expectedVersion == null ? null : taskCache.getIfPresent(id);
+        final TaskResponse previous = cached != null && expectedVersion.equals(cached.getVersion())
+            ? cached
+            : taskRepository.lockResponseById(id)
+                .orElseThrow(() -> new NoSuchElementException("Task not found with id " + id));
+        if (expectedVersion != null && !expectedVersion.equals(previous.getVersion())) {
+            throw new TaskVersionConflictException(id, expectedVersion);
+        }
 
-        System.out.println("DEBUG - received request: id=" + id + " status=" + status);
-        Task task = taskRepository.findById(id)
-            .orElseThrow(() -> new RuntimeException("Task not found with id " + id));
+        int updated = expectedVersion == null
+            ? taskRepository.updateStatus(id, newStatus, now)
+            : taskRepository.updateStatusIfVersion(id, newStatus, expectedVersion, now);
 
-        task.setStatus(Status.valueOf(status));
-        // task.setStatus(status);
-        return mapToResponse(taskRepository.save(task));
+        if (updated == 0) {
+            if (expectedVersion != null && taskRepository.existsById(id)) {
+                throw new TaskVersionConflictException(id, expectedVersion);
+            }
+            throw new NoSuchElementException("Task not found with id " + id);
+        }
+
+        TaskResponse response = updatedResponse(previous, newStatus, now);
+        taskCache.put(response);
+        changeTracker.markChanged();
+        changeFeed.publishAfterCommit(TaskEvent.statusChanged(response, now));
+        TransactionHooks.afterCommit(
+            () -> statistics.statusChanged(previous.getStatus(), newStatus, previous.getDueDate()));
+        return response;
     }
 
+    // Reads the task's state rather than the entity deleteById would load, so the statistics know what went.
+    // Deleting a task that doesn't exist succeeds without changing anything, so nothing is published.
+    @Transactional
     public void deleteTask(Long id) {
-        taskRepository.deleteById(id);
+        Optional<TaskState> existing = taskRepository.findStateById(id);
+        if (existing.isEmpty()) {
+            return;
+        }
+        final TaskState state = existing.get();
+        LocalDateTime now = LocalDateTime.now();
+        taskRepository.deleteByIds(List.of(id));
+        taskCache.evict(id);
+        changeTracker.markDeleted(now);
+        changeFeed.publishAfterCommit(TaskEvent.deleted(id, now));
+        TransactionHooks.afterCommit(() -> {
+            searchIndex.remove(List.of(id));
+            statistics.removed(state.getStatus(), state.getDueDate());
+        });
+    }
+
+
+    // The task after a status change, from the row as it was at the version the change replaced: only the status,
+    // version and last-modified time differ, so the row doesn't need to be read back
+    public static TaskResponse updatedResponse(TaskResponse replaced, Status status, LocalDateTime updatedAt) {
+        TaskResponse response = new TaskResponse(replaced.getId(), replaced.getTitle(), replaced.getCaseNumber(),
+                                                 replaced.getDescription(), status, replaced.getDueDate());
+        response.setVersion(replaced.getVersion() + 1);
+        response.setLastModified(updatedAt);
+        return response;
     }
 
+    private Task newTask(TaskRequest request) {
+        Task task = new Task();
+        task.setTitle(request.getTitle());
+        task.setCaseNumber(caseNumberGenerator.next());
+        task.setDescription(request.getDescription());
+        task.setStatus(Status.PENDING);
+        task.setDueDate(request.getDueDate());
+        return task;
+    }
 
-    private TaskResponse mapToResponse(Task task) {
-        return new TaskResponse(
+    private Map<String, String> validate(TaskRequest request) {
+        Map<String, String> errors = new HashMap<>();
+        if (request == null) {
+            errors.put("request", "Task is required");
+            return errors;
+        }
+        for (ConstraintViolation<TaskRequest> violation : validator.validate(request)) {
+            errors.put(violation.getPropertyPath().toString(), violation.getMessage());
+        }
+        return errors;
+    }
+
+    private static void checkBatchSize(int size) {
+        if (size > MAX_BATCH_SIZE) {
+            throw new InvalidRequestException("Batch size " + size + " exceeds the maximum of " + MAX_BATCH_SIZE);
+        }
+    }
+
+    private static Set<Long> ids(List<TaskState> states) {
+        return states.stream().map(TaskState::getId).collect(Collectors.toSet());
+    }
+
+    private static BatchResponse idResults(List<Long> ids, Set<Long> applied, BatchItemResult.Outcome outcome) {
+        List<BatchItemResult> results = new ArrayList<>(ids.size());
+        for (int i = 0; i < ids.size(); i++) {
+            Long id = ids.get(i);
+            results.add(new BatchItemResult(i, id, applied.contains(id) ? outcome : BatchItemResult.Outcome.NOT_FOUND,
+                                            null, null));
+        }
+        return new BatchResponse(results);
+    }
+
+    TaskResponse mapToResponse(Task task) {
+        TaskResponse response = new TaskResponse(
             task.getId(),
             task.getTitle(),
             task.getCaseNumber(),
@@ -80,21 +400,9 @@ public class TaskService {
             task.getStatus(),
             task.getDueDate()
         );
-    }
-
-    public static String generateRandomNumberString() {
-        Random random = new Random();
-        StringBuilder numberBuilder = new StringBuilder(NUMBER_LENGTH);
-
-        for (int i = 0; i < NUMBER_LENGTH; i++) {
-            // Get a random index between 0 (inclusive) and 9 (inclusive)
-            int randomIndex = random.nextInt(DIGITS.length());
-
-            // Append the digit character at the random index
-            numberBuilder.append(DIGITS.charAt(randomIndex));
-        }
-
-        return numberBuilder.toString();
+        response.setVersion(task.getVersion());
+        response.setLastModified(task.getDateUpdated());
+        return response;
     }
 
 }
@@ -0,0 +1,234 @@
+package uk.gov.hmcts.reform.dev.stats;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Component;
+import uk.gov.hmcts.reform.dev.dto.TaskStats;
+import uk.gov.hmcts.reform.dev.models.Status;
+import uk.gov.hmcts.reform.dev.repository.TaskRepository;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Task counts kept in memory so GET /tasks/stats never touches the database.
+ *
+ * <p>TaskService adjusts the counters as its writes commit; LongAdder cells keep concurrent writers from contending
+ * on one counter. Open tasks (pending or overdue) are also counted by due day, and those due today or tomorrow by
+ * due minute and by exact due time, so the overdue count (due before now) can be read off without a scan, including
+ * tasks the overdue sweep hasn't reached yet. Tomorrow is held too so that at midnight its minutes are already there.
+ * A background GROUP BY reconciliation corrects the counters periodically: it picks up changes made on other nodes
+ * and any drift, such as a write that raced the previous reconciliation, and moves the two-day window on.
+ */
+@Component
+@EnableConfigurationProperties(TaskStatsProperties.class)
+public class TaskStatistics {
+
+    private static final Logger LOG = LoggerFactory.getLogger(TaskStatistics.class);
+
+    static final Set<Status> OPEN = EnumSet.of(Status.PENDING, Status.OVERDUE);
+
+    // Today and tomorrow
+    private static final int TIMED_DAYS = 2;
+
+    private final TaskRepository taskRepository;
+    private final TaskStatsProperties properties;
+    private final Clock clock;
+    // Every status has a counter from the start, so the map itself never changes
+    private final Map<Status, LongAdder> byStatus = new EnumMap<>(Status.class);
+    private final ConcurrentSkipListMap<LocalDate, LongAdder> openByDay = new ConcurrentSkipListMap<>();
+    // Both cover the same two days: minutes to count the whole minutes before now, exact times for the current one
+    private final ConcurrentSkipListMap<LocalDateTime, LongAdder> openByMinute = new ConcurrentSkipListMap<>();
+    private final ConcurrentSkipListMap<LocalDateTime, LongAdder> openByDueTime = new ConcurrentSkipListMap<>();
+
+    private volatile LocalDateTime reconciledAt;
+    private ScheduledExecutorService reconciler;
+
+    @Autowired
+    public TaskStatistics(TaskRepository taskRepository, TaskStatsProperties properties) {
+        this(taskRepository, properties, Clock.systemDefaultZone());
+    }
+
+    TaskStatistics(TaskRepository taskRepository, TaskStatsProperties properties, Clock clock) {
+        this.taskRepository = taskRepository;
+        this.properties = properties;
+        this.clock = clock;
+        for (Status status : Status.values()) {
+            byStatus.put(status, new LongAdder());
+        }
+    }
+
+    @PostConstruct
+    void startReconciling() {
+        reconciler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "task-stats-reconcile");
+            thread.setDaemon(true);
+            return thread;
+        });
+        // The first run fills the counters from the database
+        long interval = properties.getReconcileInterval().toMillis();
+        reconciler.scheduleWithFixedDelay(this::reconcileQuietly, 0, interval, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (reconciler != null) {
+            reconciler.shutdownNow();
+        }
+    }
+
+    // The methods below are called once the change has committed
+
+    public void added(Status status, LocalDateTime dueDate) {
+        adjust(status, dueDate, 1);
+    }
+
+    public void removed(Status status, LocalDateTime dueDate) {
+        adjust(status, dueDate, -1);
+    }
+
+    public void statusChanged(Status from, Status to, LocalDateTime dueDate) {
+        if (from != to) {
+            adjust(from, dueDate, -1);
+            adjust(to, dueDate, 1);
+        }
+    }
+
+    public TaskStats snapshot() {
+        LocalDateTime now = LocalDateTime.now(clock);
+        LocalDate today = now.toLocalDate();
+
+        Map<Status, Long> counts = new EnumMap<>(Status.class);
+        long total = 0;
+        for (Map.Entry<Status, LongAdder> entry : byStatus.entrySet()) {
+            long count = entry.getValue().sum();
+            counts.put(entry.getKey(), count);
+            total += count;
+        }
+
+        LocalDateTime currentMinute = minute(now);
+        long overdue = sum(openByDay.headMap(today).values())
+            + sum(openByMinute.subMap(today.atStartOfDay(), true, currentMinute, false).values())
+            + sum(openByDueTime.subMap(currentMinute, true, now, false).values());
+
+        Map<LocalDate, Long> dueByDay = new LinkedHashMap<>();
+        for (int i = 0; i < properties.getDueDays(); i++) {
+            LocalDate day = today.plusDays(i);
+            LongAdder due = openByDay.get(day);
+            dueByDay.put(day, due == null ? 0 : due.sum());
+        }
+        return new TaskStats(counts, total, overdue, dueByDay, reconciledAt);
+    }
+
+    /**
+     * Moves every counter to what the database holds now. Writes that commit while the queries run may be counted
+     * twice or not at all until the next reconciliation.
+     */
+    void reconcile() {
+        LocalDateTime startedAt = LocalDateTime.now(clock);
+        LocalDateTime todayStart = startedAt.toLocalDate().atStartOfDay();
+
+        Map<Status, Long> statusCounts = new EnumMap<>(Status.class);
+        for (Object[] row : taskRepository.countByStatus()) {
+            statusCounts.put((Status) row[0], (Long) row[1]);
+        }
+        Map<LocalDate, Long> dayCounts = new HashMap<>();
+        for (Object[] row : taskRepository.countByDueDay(OPEN)) {
+            dayCounts.put((LocalDate) row[0], (Long) row[1]);
+        }
+        Map<LocalDateTime, Long> timeCounts = new HashMap<>();
+        Map<LocalDateTime, Long> minuteCounts = new HashMap<>();
+        for (Object[] row : taskRepository.countByDueTime(OPEN, todayStart, todayStart.plusDays(TIMED_DAYS))) {
+            timeCounts.put((LocalDateTime) row[0], (Long) row[1]);
+            minuteCounts.merge(minute((LocalDateTime) row[0]), (Long) row[1], Long::sum);
+        }
+
+        long drift = 0;
+        for (Map.Entry<Status, LongAdder> entry : byStatus.entrySet()) {
+            drift += correct(entry.getValue(), statusCounts.getOrDefault(entry.getKey(), 0L));
+        }
+        drift += correct(openByDay, dayCounts);
+        // Days before today are covered by the day counts
+        openByMinute.headMap(todayStart).clear();
+        openByDueTime.headMap(todayStart).clear();
+        drift += correct(openByMinute, minuteCounts);
+        correct(openByDueTime, timeCounts);
+
+        reconciledAt = startedAt;
+        if (drift != 0) {
+            LOG.debug("Task statistics reconciled, correcting counters by {} in total", drift);
+        }
+    }
+
+    private void reconcileQuietly() {
+        try {
+            reconcile();
+        } catch (RuntimeException ex) {
+            LOG.warn("Could not reconcile task statistics: {}", ex.getMessage());
+        }
+    }
+
+    private void adjust(Status status, LocalDateTime dueDate, long delta) {
+        byStatus.get(status).add(delta);
+        if (!OPEN.contains(status) || dueDate == null) {
+            return;
+        }
+        openByDay.computeIfAbsent(dueDate.toLocalDate(), day -> new LongAdder()).add(delta);
+        LocalDate today = LocalDate.now(clock);
+        if (!dueDate.toLocalDate().isBefore(today) && dueDate.toLocalDate().isBefore(today.plusDays(TIMED_DAYS))) {
+            openByMinute.computeIfAbsent(minute(dueDate), time -> new LongAdder()).add(delta);
+            openByDueTime.computeIfAbsent(dueDate, time -> new LongAdder()).add(delta);
+        }
+    }
+
+    // Entries are adjusted rather than replaced, so an increment landing mid-reconcile isn't lost with its cell
+    private static <K> long correct(NavigableMap<K, LongAdder> counters, Map<K, Long> actual) {
+        long drift = 0;
+        for (Map.Entry<K, LongAdder> entry : counters.entrySet()) {
+            if (!actual.containsKey(entry.getKey())) {
+                drift += correct(entry.getValue(), 0);
+            }
+        }
+        for (Map.Entry<K, Long> entry : actual.entrySet()) {
+            drift += correct(counters.computeIfAbsent(entry.getKey(), key -> new LongAdder()), entry.getValue());
+        }
+        return drift;
+    }
+
+    private static long correct(LongAdder counter, long actual) {
+        long difference = actual - counter.sum();
+        counter.add(difference);
+        return Math.abs(difference);
+    }
+
+    private static long sum(Collection<LongAdder> counters) {
+        long sum = 0;
+        for (LongAdder counter : counters) {
+            sum += counter.sum();
+        }
+        return sum;
+    }
+
+    private static LocalDateTime minute(LocalDateTime dateTime) {
+        return dateTime.truncatedTo(ChronoUnit.MINUTES);
+    }
+}
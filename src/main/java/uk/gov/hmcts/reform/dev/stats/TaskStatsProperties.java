@@ -0,0 +1,19 @@
+package uk.gov.hmcts.reform.dev.stats;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "tasks.stats")
+public class TaskStatsProperties {
+
+    // Also bounds how long changes made on other nodes take to show in this node's counts
+    private Duration reconcileInterval = Duration.ofMinutes(5);
+
+    // Days reported in dueByDay, starting today
+    private int dueDays = 14;
+}
@@ -0,0 +1,29 @@
+package uk.gov.hmcts.reform.dev.writebehind;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * One line of a journal segment: either a task that was accepted, or the ids of tasks written to the database.
+ */
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+class JournalRecord {
+
+    private PendingTask accepted;
+    private List<Long> written;
+
+    static JournalRecord accepted(PendingTask task) {
+        return new JournalRecord(task, null);
+    }
+
+    static JournalRecord written(List<Long> ids) {
+        return new JournalRecord(null, ids);
+    }
+}
@@ -0,0 +1,15 @@
+package uk.gov.hmcts.reform.dev.writebehind;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * A pending task and the journal segment that holds it.
+ */
+@Getter
+@AllArgsConstructor
+class JournaledTask {
+
+    private final PendingTask task;
+    private final int segment;
+}
@@ -0,0 +1,24 @@
+package uk.gov.hmcts.reform.dev.writebehind;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * A task accepted in write-behind mode, with its id and case number already assigned, as held in the journal
+ * until it is written to the database.
+ */
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class PendingTask {
+
+    private Long id;
+    private String caseNumber;
+    private String title;
+    private String description;
+    private LocalDateTime dueDate;
+    private LocalDateTime acceptedAt;
+}
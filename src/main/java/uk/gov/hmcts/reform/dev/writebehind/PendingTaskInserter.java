@@ -0,0 +1,65 @@
+package uk.gov.hmcts.reform.dev.writebehind;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+import uk.gov.hmcts.reform.dev.models.Status;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Inserts a batch of pending tasks in one transaction. The ids are already assigned, so this is a plain JDBC
+ * batch. A task replayed from the journal may already have its row, from before a restart; that row is left as it
+ * is, and only the ids actually inserted are returned. Any other constraint violation, such as a case number
+ * already taken, fails the batch.
+ */
+class PendingTaskInserter {
+
+    // Each row is its own insert ... select, so rewriteBatchedStatements can't fold the batch into one multi-row
+    // insert; the existence check is what lets a replay skip its own rows without hiding other violations
+    private static final String INSERT = "insert into task"
+        + " (id, case_number, title, description, status, due_date, date_created, date_updated, version)"
+        + " select ?, ?, ?, ?, ?, ?, ?, ?, 0 from dual"
+        + " where not exists (select 1 from task where id = ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    PendingTaskInserter(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    // date_updated is the write time rather than the accept time, so change markers on other nodes see the rows
+    Set<Long> insert(List<PendingTask> tasks, LocalDateTime writtenAt) {
+        Timestamp updated = Timestamp.valueOf(writtenAt);
+        int[][] counts = transactionTemplate.execute(status -> jdbcTemplate.batchUpdate(INSERT, tasks, tasks.size(),
+            (statement, task) -> {
+                statement.setLong(1, task.getId());
+                statement.setString(2, task.getCaseNumber());
+                statement.setString(3, task.getTitle());
+                statement.setString(4, task.getDescription());
+                // Task.status is mapped by ordinal
+                statement.setInt(5, Status.PENDING.ordinal());
+                statement.setTimestamp(6, task.getDueDate() == null ? null : Timestamp.valueOf(task.getDueDate()));
+                statement.setTimestamp(7, Timestamp.valueOf(task.getAcceptedAt()));
+                statement.setTimestamp(8, updated);
+                statement.setLong(9, task.getId());
+            }));
+        Set<Long> inserted = new HashSet<>();
+        int index = 0;
+        for (int[] chunk : counts) {
+            for (int count : chunk) {
+                // A driver that can't tell (SUCCESS_NO_INFO) is taken at its word that the row went in
+                if (count != 0) {
+                    inserted.add(tasks.get(index).getId());
+                }
+                index++;
+            }
+        }
+        return inserted;
+    }
+}
@@ -0,0 +1,264 @@
+package uk.gov.hmcts.reform.dev.writebehind;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Append-only journal of accepted tasks, split into numbered segment files of JSON lines.
+ *
+ * <p>An append returns once the line is on disk. Threads that append at the same time share one fsync: whoever
+ * syncs first covers everything written before it. Once every task in a segment is recorded as written, and
+ * appends have moved on to a newer segment, the file is deleted. A task's written record always goes in the same
+ * segment as the task, so deleting a segment can never bring a task back on replay.
+ */
+class TaskJournal implements Closeable {
+
+    private static final Logger LOG = LoggerFactory.getLogger(TaskJournal.class);
+    private static final Pattern SEGMENT_NAME = Pattern.compile("segment-(\\d+)\\.journal");
+
+    private final Path directory;
+    private final long segmentBytes;
+    private final ObjectMapper objectMapper;
+    private final Map<Integer, Segment> segments = new TreeMap<>();
+    private final Object lock = new Object();
+
+    private Segment current;
+
+    TaskJournal(Path directory, long segmentBytes, ObjectMapper objectMapper) {
+        this.directory = directory;
+        this.segmentBytes = segmentBytes;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Reads the existing segments and returns the tasks accepted but not yet written, oldest first. Appends go to
+     * a new segment from here on.
+     */
+    List<JournaledTask> open() throws IOException {
+        Files.createDirectories(directory);
+        List<JournaledTask> unwritten = new ArrayList<>();
+        int lastNumber = 0;
+        for (Path path : segmentFiles()) {
+            int number = segmentNumber(path);
+            lastNumber = Math.max(lastNumber, number);
+            Map<Long, PendingTask> tasks = replay(path);
+            if (tasks.isEmpty()) {
+                Files.delete(path);
+                continue;
+            }
+            Segment segment = new Segment(number, path);
+            segment.terminateLastLine();
+            segment.unwritten = tasks.size();
+            segments.put(number, segment);
+            tasks.values().forEach(task -> unwritten.add(new JournaledTask(task, number)));
+        }
+        synchronized (lock) {
+            current = newSegment(lastNumber + 1);
+        }
+        return unwritten;
+    }
+
+    /**
+     * Appends the task and returns it with the segment holding it, once it is durable.
+     */
+    JournaledTask append(PendingTask task) throws IOException {
+        byte[] line = line(JournalRecord.accepted(task));
+        Segment segment;
+        long position;
+        synchronized (lock) {
+            if (current.size >= segmentBytes) {
+                Segment previous = current;
+                current = newSegment(previous.number + 1);
+                deleteIfDone(previous);
+            }
+            segment = current;
+            position = segment.write(line);
+            segment.unwritten++;
+        }
+        segment.sync(position);
+        return new JournaledTask(task, segment.number);
+    }
+
+    /**
+     * Records that the tasks are now in the database.
+     */
+    void markWritten(Collection<JournaledTask> tasks) throws IOException {
+        Map<Integer, List<Long>> idsBySegment = tasks.stream()
+            .collect(Collectors.groupingBy(JournaledTask::getSegment, TreeMap::new,
+                                           Collectors.mapping(task -> task.getTask().getId(), Collectors.toList())));
+        for (Map.Entry<Integer, List<Long>> entry : idsBySegment.entrySet()) {
+            byte[] line = line(JournalRecord.written(entry.getValue()));
+            Segment segment;
+            long position;
+            synchronized (lock) {
+                segment = segments.get(entry.getKey());
+                if (segment == null) {
+                    continue;
+                }
+                position = segment.write(line);
+            }
+            segment.sync(position);
+            synchronized (lock) {
+                segment.unwritten -= entry.getValue().size();
+                deleteIfDone(segment);
+            }
+        }
+    }
+
+    int segmentCount() {
+        synchronized (lock) {
+            return segments.size();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        synchronized (lock) {
+            for (Segment segment : segments.values()) {
+                segment.channel.close();
+            }
+        }
+    }
+
+    // Must hold lock
+    private Segment newSegment(int number) throws IOException {
+        Segment segment = new Segment(number, directory.resolve("segment-" + number + ".journal"));
+        segments.put(number, segment);
+        return segment;
+    }
+
+    // Must hold lock
+    private void deleteIfDone(Segment segment) throws IOException {
+        if (segment != current && segment.unwritten <= 0) {
+            segments.remove(segment.number);
+            segment.channel.close();
+            Files.deleteIfExists(segment.path);
+        }
+    }
+
+    private Map<Long, PendingTask> replay(Path path) throws IOException {
+        Map<Long, PendingTask> tasks = new LinkedHashMap<>();
+        try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                JournalRecord record;
+                try {
+                    record = objectMapper.readValue(line, JournalRecord.class);
+                } catch (JsonProcessingException ex) {
+                    // A line cut short by a crash mid-append; its caller was never told the task was accepted
+                    LOG.warn("Skipping unreadable line in write-behind journal {}", path);
+                    continue;
+                }
+                if (record.getAccepted() != null) {
+                    tasks.put(record.getAccepted().getId(), record.getAccepted());
+                } else if (record.getWritten() != null) {
+                    record.getWritten().forEach(tasks::remove);
+                }
+            }
+        }
+        return tasks;
+    }
+
+    private List<Path> segmentFiles() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(path -> SEGMENT_NAME.matcher(path.getFileName().toString()).matches())
+                .sorted((a, b) -> Integer.compare(segmentNumber(a), segmentNumber(b)))
+                .collect(Collectors.toList());
+        }
+    }
+
+    private static int segmentNumber(Path path) {
+        Matcher matcher = SEGMENT_NAME.matcher(path.getFileName().toString());
+        if (!matcher.matches()) {
+            throw new IllegalArgumentException("Not a journal segment: " + path);
+        }
+        return Integer.parseInt(matcher.group(1));
+    }
+
+    private byte[] line(JournalRecord record) throws JsonProcessingException {
+        byte[] json = objectMapper.writeValueAsBytes(record);
+        byte[] line = new byte[json.length + 1];
+        System.arraycopy(json, 0, line, 0, json.length);
+        line[json.length] = '\n';
+        return line;
+    }
+
+    private static final class Segment {
+
+        private final int number;
+        private final Path path;
+        private final FileChannel channel;
+        private final Object syncLock = new Object();
+
+        // size and unwritten are guarded by the journal lock
+        private long size;
+        private int unwritten;
+        private volatile long synced;
+
+        private Segment(int number, Path path) throws IOException {
+            this.number = number;
+            this.path = path;
+            this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                                            StandardOpenOption.APPEND);
+            this.size = channel.size();
+            this.synced = size;
+        }
+
+        // A crash can leave a partial line at the end; start on a fresh line so it doesn't swallow the next record
+        private void terminateLastLine() throws IOException {
+            if (size == 0) {
+                return;
+            }
+            ByteBuffer last = ByteBuffer.allocate(1);
+            try (FileChannel reader = FileChannel.open(path, StandardOpenOption.READ)) {
+                reader.read(last, size - 1);
+            }
+            if (last.get(0) != '\n') {
+                sync(write(new byte[] {'\n'}));
+            }
+        }
+
+        // Returns the position just past the line
+        private long write(byte[] line) throws IOException {
+            ByteBuffer buffer = ByteBuffer.wrap(line);
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            size += line.length;
+            return size;
+        }
+
+        private void sync(long position) throws IOException {
+            synchronized (syncLock) {
+                if (synced >= position) {
+                    return;
+                }
+                long covered = channel.size();
+                channel.force(false);
+                synced = covered;
+            }
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package uk.gov.hmcts.reform.dev.writebehind;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import uk.gov.hmcts.reform.dev.cache.TaskCache;
+import uk.gov.hmcts.reform.dev.events.TaskChangeFeed;
+import uk.gov.hmcts.reform.dev.search.TaskSearchIndex;
+import uk.gov.hmcts.reform.dev.service.CaseNumberGenerator;
+import uk.gov.hmcts.reform.dev.service.TaskChangeTracker;
+import uk.gov.hmcts.reform.dev.service.TaskIdAllocator;
+import uk.gov.hmcts.reform.dev.stats.TaskStatistics;
+
+@Configuration
+@ConditionalOnProperty(prefix = "tasks.write-behind", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties(WriteBehindProperties.class)
+public class WriteBehindConfig {
+
+    @Bean
+    public WriteBehindTaskWriter writeBehindTaskWriter(WriteBehindProperties properties, ObjectMapper objectMapper,
+                                                       EntityManagerFactory entityManagerFactory,
+                                                       CaseNumberGenerator caseNumberGenerator,
+                                                       JdbcTemplate jdbcTemplate,
+                                                       PlatformTransactionManager transactionManager,
+                                                       TaskCache taskCache, TaskChangeTracker changeTracker,
+                                                       TaskChangeFeed changeFeed, TaskSearchIndex searchIndex,
+                                                       TaskStatistics statistics, MeterRegistry meterRegistry) {
+        TaskJournal journal = new TaskJournal(properties.getDirectory(), properties.getSegmentSize().toBytes(),
+                                              objectMapper);
+        TaskIdAllocator idAllocator = new TaskIdAllocator(entityManagerFactory);
+        PendingTaskInserter inserter = new PendingTaskInserter(jdbcTemplate,
+                                                               new TransactionTemplate(transactionManager));
+        return new WriteBehindTaskWriter(properties, journal, idAllocator::next, caseNumberGenerator, inserter,
+                                         taskCache, changeTracker, changeFeed, searchIndex, statistics,
+                                         meterRegistry);
+    }
+}
@@ -0,0 +1,27 @@
+package uk.gov.hmcts.reform.dev.writebehind;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "tasks.write-behind")
+public class WriteBehindProperties {
+
+    private boolean enabled;
+
+    // Must be on storage that survives a restart of the service
+    private Path directory = Path.of("journal");
+
+    // Upper bound per insert; the drainer writes whatever has queued up while the previous batch was written
+    private int batchSize = 500;
+
+    // Accepted but unwritten tasks beyond this are refused with 503
+    private int maxPending = 100_000;
+
+    private DataSize segmentSize = DataSize.ofMegabytes(64);
+}
@@ -0,0 +1,352 @@
+package uk.gov.hmcts.reform.dev.writebehind;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.DataIntegrityViolationException;
+import uk.gov.hmcts.reform.dev.cache.TaskCache;
+import uk.gov.hmcts.reform.dev.dto.TaskEvent;
+import uk.gov.hmcts.reform.dev.dto.TaskRequest;
+import uk.gov.hmcts.reform.dev.dto.TaskResponse;
+import uk.gov.hmcts.reform.dev.dto.WriteBehindStatus;
+import uk.gov.hmcts.reform.dev.events.TaskChangeFeed;
+import uk.gov.hmcts.reform.dev.exception.WriteBehindFullException;
+import uk.gov.hmcts.reform.dev.models.Status;
+import uk.gov.hmcts.reform.dev.search.TaskSearchIndex;
+import uk.gov.hmcts.reform.dev.service.CaseNumberGenerator;
+import uk.gov.hmcts.reform.dev.service.TaskChangeTracker;
+import uk.gov.hmcts.reform.dev.stats.TaskStatistics;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Write-behind task creation. A create is given its id and case number, appended to the journal and
+ * acknowledged; a single background drainer writes accepted tasks to the database in batches and records them
+ * in the journal as written. Tasks still in the journal when the service stops are replayed on the next start.
+ *
+ * <p>A task deleted before it is written is withdrawn instead: recorded in the journal as done and never inserted.
+ * A task the database refuses outright (a constraint it breaks) is set aside rather than retried, so it can't hold
+ * up the tasks behind it; it stays in the journal and is tried again on the next start.
+ */
+public class WriteBehindTaskWriter implements SmartLifecycle {
+
+    private static final Logger LOG = LoggerFactory.getLogger(WriteBehindTaskWriter.class);
+    private static final Duration MAX_RETRY_DELAY = Duration.ofSeconds(5);
+    private static final Duration SHUTDOWN_WAIT = Duration.ofSeconds(10);
+    private static final Duration IDLE_POLL = Duration.ofMillis(200);
+
+    private final TaskJournal journal;
+    private final Supplier<Long> idAllocator;
+    private final CaseNumberGenerator caseNumberGenerator;
+    private final PendingTaskInserter inserter;
+    private final TaskCache taskCache;
+    private final TaskChangeTracker changeTracker;
+    private final TaskChangeFeed changeFeed;
+    private final TaskSearchIndex searchIndex;
+    private final TaskStatistics statistics;
+    private final int batchSize;
+    private final int maxPending;
+    private final BlockingQueue<JournaledTask> queue = new LinkedBlockingQueue<>();
+    private final Map<Long, JournaledTask> pending = new ConcurrentHashMap<>();
+    private final Map<Long, JournaledTask> rejected = new ConcurrentHashMap<>();
+    // Held by the drainer from insert to leaving pending, and by withdraw, so a task is either withdrawn or written
+    private final Object writeLock = new Object();
+    private final AtomicInteger pendingCount = new AtomicInteger();
+    private final Counter written;
+
+    private volatile boolean running;
+    private volatile LocalDateTime inFlightSince;
+    private volatile LocalDateTime lastWrittenAt;
+    private volatile String lastError;
+    private Thread drainer;
+
+    WriteBehindTaskWriter(WriteBehindProperties properties, TaskJournal journal, Supplier<Long> idAllocator,
+                          CaseNumberGenerator caseNumberGenerator, PendingTaskInserter inserter,
+                          TaskCache taskCache, TaskChangeTracker changeTracker, TaskChangeFeed changeFeed,
+                          TaskSearchIndex searchIndex, TaskStatistics statistics, MeterRegistry meterRegistry) {
+        this.journal = journal;
+        this.idAllocator = idAllocator;
+        this.caseNumberGenerator = caseNumberGenerator;
+        this.inserter = inserter;
+        this.taskCache = taskCache;
+        this.changeTracker = changeTracker;
+        this.changeFeed = changeFeed;
+        this.searchIndex = searchIndex;
+        this.statistics = statistics;
+        this.batchSize = properties.getBatchSize();
+        this.maxPending = properties.getMaxPending();
+        this.written = Counter.builder("tasks.write.behind.written").register(meterRegistry);
+        Gauge.builder("tasks.write.behind.pending", pendingCount, AtomicInteger::get).register(meterRegistry);
+        Gauge.builder("tasks.write.behind.rejected", rejected, Map::size).register(meterRegistry);
+    }
+
+    /**
+     * Accepts the task once it is durable in the journal. It can be read from the database once the drainer
+     * has written it; until then it is reported by {@link #findPending(Long)}.
+     */
+    public TaskResponse accept(TaskRequest request) {
+        if (pendingCount.incrementAndGet() > maxPending) {
+            pendingCount.decrementAndGet();
+            throw new WriteBehindFullException(maxPending);
+        }
+        try {
+            PendingTask task = new PendingTask(idAllocator.get(), caseNumberGenerator.next(), request.getTitle(),
+                                               request.getDescription(), request.getDueDate(), LocalDateTime.now());
+            JournaledTask journaled = journal.append(task);
+            pending.put(task.getId(), journaled);
+            queue.add(journaled);
+            return toResponse(task);
+        } catch (IOException ex) {
+            pendingCount.decrementAndGet();
+            throw new UncheckedIOException("Could not journal task", ex);
+        } catch (RuntimeException ex) {
+            pendingCount.decrementAndGet();
+            throw ex;
+        }
+    }
+
+    public Optional<TaskResponse> findPending(Long id) {
+        return Optional.ofNullable(pending.get(id)).map(journaled -> toResponse(journaled.getTask()));
+    }
+
+    /**
+     * Withdraws those of the tasks that have not been written, as when they are deleted, and returns their ids.
+     * A task being written at the time is waited for and left out, so the caller deletes its row instead.
+     */
+    public Set<Long> withdraw(Collection<Long> ids) {
+        synchronized (writeLock) {
+            List<JournaledTask> withdrawn = ids.stream()
+                .distinct()
+                .map(id -> pending.containsKey(id) ? pending.get(id) : rejected.get(id))
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+            if (withdrawn.isEmpty()) {
+                return Set.of();
+            }
+            try {
+                // Done as far as the journal is concerned, so a replay leaves them out as well
+                journal.markWritten(withdrawn);
+            } catch (IOException ex) {
+                throw new UncheckedIOException("Could not record withdrawn tasks in the journal", ex);
+            }
+            Set<Long> withdrawnIds = withdrawn.stream().map(task -> task.getTask().getId()).collect(Collectors.toSet());
+            for (Long id : withdrawnIds) {
+                if (pending.remove(id) != null) {
+                    pendingCount.decrementAndGet();
+                }
+                rejected.remove(id);
+            }
+            return withdrawnIds;
+        }
+    }
+
+    public WriteBehindStatus status() {
+        JournaledTask next = queue.peek();
+        LocalDateTime oldest = inFlightSince != null ? inFlightSince
+            : next == null ? null : next.getTask().getAcceptedAt();
+        return new WriteBehindStatus(pendingCount.get(), oldest, lastWrittenAt, lastError, rejected.size(),
+                                     journal.segmentCount());
+    }
+
+    @Override
+    public synchronized void start() {
+        List<JournaledTask> replayed;
+        try {
+            replayed = journal.open();
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Could not open the write-behind journal", ex);
+        }
+        if (!replayed.isEmpty()) {
+            LOG.info("Replaying {} task(s) from the write-behind journal", replayed.size());
+        }
+        for (JournaledTask task : replayed) {
+            pending.put(task.getTask().getId(), task);
+            pendingCount.incrementAndGet();
+            queue.add(task);
+        }
+        running = true;
+        drainer = new Thread(this::drain, "task-write-behind");
+        drainer.setDaemon(true);
+        drainer.start();
+    }
+
+    // Lets the drainer finish what is queued, within a limit; anything left stays in the journal for the next start
+    @Override
+    public synchronized void stop() {
+        running = false;
+        if (drainer != null) {
+            try {
+                drainer.join(SHUTDOWN_WAIT.toMillis());
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+            drainer.interrupt();
+        }
+        try {
+            journal.close();
+        } catch (IOException ex) {
+            LOG.warn("Could not close the write-behind journal: {}", ex.getMessage());
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    // Below the web server's phases: replay finishes before requests are accepted, and the drainer stops only
+    // after the server has stopped taking requests
+    @Override
+    public int getPhase() {
+        return DEFAULT_PHASE - 4096;
+    }
+
+    void drain() {
+        List<JournaledTask> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                JournaledTask first = queue.poll(IDLE_POLL.toMillis(), TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                inFlightSince = first.getTask().getAcceptedAt();
+                if (write(batch)) {
+                    batch.clear();
+                } else {
+                    // Shutting down with the database unavailable; the journal still holds the batch
+                    return;
+                }
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                inFlightSince = null;
+            }
+        }
+    }
+
+    // Retries with backoff until the batch is written, or until stop() while the database is still failing
+    private boolean write(List<JournaledTask> batch) throws InterruptedException {
+        long delayMillis = 100;
+        while (true) {
+            try {
+                synchronized (writeLock) {
+                    // Tasks withdrawn while they waited are left out
+                    batch.removeIf(task -> !pending.containsKey(task.getTask().getId()));
+                    if (!batch.isEmpty()) {
+                        insert(batch);
+                    }
+                }
+                lastError = null;
+                return true;
+            } catch (DataIntegrityViolationException ex) {
+                if (batch.size() == 1) {
+                    reject(batch.getFirst(), ex);
+                    return true;
+                }
+                // Retrying can't help the offending row; write the rest one at a time to find it
+                for (JournaledTask task : batch) {
+                    if (!write(new ArrayList<>(List.of(task)))) {
+                        return false;
+                    }
+                }
+                return true;
+            } catch (RuntimeException ex) {
+                lastError = ex.getMessage();
+                LOG.warn("Write-behind batch of {} failed, retrying in {} ms: {}", batch.size(), delayMillis,
+                         ex.getMessage());
+                if (!running) {
+                    return false;
+                }
+                Thread.sleep(delayMillis);
+                delayMillis = Math.min(delayMillis * 2, MAX_RETRY_DELAY.toMillis());
+            }
+        }
+    }
+
+    // Must hold writeLock
+    private void insert(List<JournaledTask> batch) {
+        LocalDateTime writtenAt = LocalDateTime.now();
+        Set<Long> inserted = inserter.insert(batch.stream().map(JournaledTask::getTask).collect(Collectors.toList()),
+                                             writtenAt);
+        lastWrittenAt = writtenAt;
+        try {
+            journal.markWritten(batch);
+        } catch (IOException ex) {
+            // The rows are in; if this record is lost the batch is replayed and the inserter skips them
+            LOG.warn("Could not record written tasks in the journal: {}", ex.getMessage());
+        }
+        afterWrite(batch, inserted, writtenAt);
+    }
+
+    // The same cache, marker, feed, search and statistics updates TaskService makes for an ordinary create, for
+    // the rows this batch inserted. A replayed task whose row was already there gets none: the row may have been
+    // changed since, and the statistics and search index already have it from the database.
+    private void afterWrite(List<JournaledTask> batch, Set<Long> inserted, LocalDateTime writtenAt) {
+        List<TaskEvent> events = new ArrayList<>(inserted.size());
+        for (JournaledTask journaled : batch) {
+            PendingTask task = journaled.getTask();
+            pending.remove(task.getId());
+            if (!inserted.contains(task.getId())) {
+                continue;
+            }
+            TaskResponse response = toResponse(task);
+            response.setLastModified(writtenAt);
+            taskCache.put(response);
+            searchIndex.index(response);
+            statistics.added(Status.PENDING, task.getDueDate());
+            events.add(TaskEvent.created(response, writtenAt));
+        }
+        pendingCount.addAndGet(-batch.size());
+        written.increment(inserted.size());
+        if (!events.isEmpty()) {
+            changeTracker.markChanged();
+            changeFeed.publishAfterCommit(events);
+        }
+    }
+
+    // Kept in the journal, so nothing accepted is lost, but no longer pending: it would only fail again until
+    // someone sees to the conflict
+    private void reject(JournaledTask task, DataIntegrityViolationException ex) {
+        Long id = task.getTask().getId();
+        synchronized (writeLock) {
+            if (pending.remove(id) == null) {
+                return;
+            }
+            rejected.put(id, task);
+        }
+        pendingCount.decrementAndGet();
+        LOG.error("Write-behind task {} (case number {}) was refused by the database and is set aside until the "
+                      + "next start: {}", id, task.getTask().getCaseNumber(), ex.getMessage());
+    }
+
+    private static TaskResponse toResponse(PendingTask task) {
+        TaskResponse response = new TaskResponse(task.getId(), task.getTitle(), task.getCaseNumber(),
+                                                 task.getDescription(), Status.PENDING, task.getDueDate());
+        response.setVersion(0L);
+        response.setLastModified(task.getAcceptedAt());
+        return response;
+    }
+}
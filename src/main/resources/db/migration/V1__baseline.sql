@@ -0,0 +1,15 @@
+-- The schema the original Task entity got from ddl-auto: update, exactly as Hibernate created it. Production
+-- databases already have this table; they are baselined at this version (spring.flyway.baseline-on-migrate) and
+-- start from V2. Everything added since goes in V2 onwards, never here.
+
+create table task (
+    status tinyint,
+    date_created datetime(6),
+    date_updated datetime(6),
+    due_date datetime(6),
+    id bigint not null auto_increment,
+    case_number varchar(255),
+    description varchar(255),
+    title varchar(255),
+    primary key (id)
+) engine = InnoDB;
@@ -0,0 +1,15 @@
+-- Optimistic locking, and ids from the pooled task_seq generator instead of IDENTITY, so inserts can be batched
+
+alter table task
+    modify id bigint not null,
+    add column version bigint;
+
+update task set version = 0;
+
+-- Backs the pooled task_seq generator on Task; MySQL has no sequences
+create table task_seq (
+    next_val bigint
+) engine = InnoDB;
+
+-- The pooled optimizer hands out ids up to next_val + 49 from each reservation, so start past every id in use
+insert into task_seq select coalesce(max(id), 0) + 51 from task;
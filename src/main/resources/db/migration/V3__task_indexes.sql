@@ -0,0 +1,24 @@
+-- Keyset pagination, status and due date filters, the overdue sweep, unique case numbers and full-text search
+
+-- Random case numbers from the original code could repeat; the oldest task keeps its number and the others get
+-- their id appended
+update task t
+    join task kept on kept.case_number = t.case_number and kept.id < t.id
+set t.case_number = concat(t.case_number, '-', t.id);
+
+alter table task
+    add constraint uk_task_case_number unique (case_number),
+    add index idx_task_updated_id (date_updated, id),
+    add index idx_task_status_updated_id (status, date_updated, id),
+    add index idx_task_due_date (due_date),
+    add index idx_task_status_due_id (status, due_date, id);
+
+-- On a large table the FULLTEXT index may have been created beforehand, outside the migration
+set @ddl := if(
+    (select count(*) from information_schema.statistics
+     where table_schema = database() and table_name = 'task' and index_name = 'ft_task_title_description') = 0,
+    'alter table task add fulltext index ft_task_title_description (title, description)',
+    'do 0');
+prepare ddl_statement from @ddl;
+execute ddl_statement;
+deallocate prepare ddl_statement;
@@ -0,0 +1,38 @@
+-- Case number blocks, idempotency keys, replica lag, scheduler leases and the task change marker
+
+create table case_number_sequence (
+    name varchar(255) not null,
+    next_value bigint not null,
+    primary key (name)
+) engine = InnoDB;
+
+create table idempotency_record (
+    idempotency_key varchar(255) not null,
+    request_hash varchar(64),
+    task_id bigint,
+    response text,
+    task_version bigint,
+    last_modified datetime(6),
+    expires_at datetime(6),
+    primary key (idempotency_key),
+    index idx_idempotency_record_expires_at (expires_at)
+) engine = InnoDB;
+
+create table replica_heartbeat (
+    name varchar(255) not null,
+    beat_at datetime(6),
+    primary key (name)
+) engine = InnoDB;
+
+create table scheduler_lease (
+    name varchar(255) not null,
+    owner varchar(255),
+    expires_at datetime(6),
+    primary key (name)
+) engine = InnoDB;
+
+create table task_change_marker (
+    name varchar(255) not null,
+    changed_at datetime(6),
+    primary key (name)
+) engine = InnoDB;
@@ -1,35 +1,67 @@
 package uk.gov.hmcts.reform.dev;
 
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Path;
+import jakarta.validation.Validator;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
+import org.mockito.ArgumentMatchers;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import uk.gov.hmcts.reform.dev.cache.TaskCache;
+import uk.gov.hmcts.reform.dev.datasource.ReplicaRouting;
+import uk.gov.hmcts.reform.dev.dto.BatchItemResult;
+import uk.gov.hmcts.reform.dev.dto.BatchResponse;
+import uk.gov.hmcts.reform.dev.dto.TaskEvent;
+import uk.gov.hmcts.reform.dev.dto.TaskFilter;
+import uk.gov.hmcts.reform.dev.dto.TaskPage;
 import uk.gov.hmcts.reform.dev.dto.TaskRequest;
 import uk.gov.hmcts.reform.dev.dto.TaskResponse;
+import uk.gov.hmcts.reform.dev.dto.TaskState;
+import uk.gov.hmcts.reform.dev.dto.TaskVersion;
+import uk.gov.hmcts.reform.dev.events.TaskChangeFeed;
+import uk.gov.hmcts.reform.dev.exception.TaskVersionConflictException;
 import uk.gov.hmcts.reform.dev.models.Status;
 import uk.gov.hmcts.reform.dev.models.Task;
 import uk.gov.hmcts.reform.dev.repository.TaskRepository;
+import uk.gov.hmcts.reform.dev.search.TaskSearchIndex;
+import uk.gov.hmcts.reform.dev.service.CaseNumberGenerator;
+import uk.gov.hmcts.reform.dev.service.TaskChangeTracker;
+import uk.gov.hmcts.reform.dev.service.TaskCursor;
 import uk.gov.hmcts.reform.dev.service.TaskService;
+import uk.gov.hmcts.reform.dev.stats.TaskStatistics;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.NoSuchElementException;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Stream;
 
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 
@@ -39,6 +71,30 @@ class DemoUnitTest {
     @Mock
     private TaskRepository taskRepository;
 
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private Validator validator;
+
+    @Mock
+    private TaskCache taskCache;
+
+    @Mock
+    private CaseNumberGenerator caseNumberGenerator;
+
+    @Mock
+    private TaskChangeTracker changeTracker;
+
+    @Mock
+    private TaskChangeFeed changeFeed;
+
+    @Mock
+    private TaskSearchIndex searchIndex;
+
+    @Mock
+    private TaskStatistics statistics;
+
     @InjectMocks
     private TaskService taskService;
 
@@ -58,7 +114,8 @@ class DemoUnitTest {
             uk.gov.hmcts.reform.dev.models.Status.PENDING,
             dueDate.atStartOfDay(),
             date.atStartOfDay(),
-            date.atStartOfDay()
+            date.atStartOfDay(),
+            3L
         );
 
         taskRequest = new TaskRequest();
@@ -89,6 +146,9 @@ class DemoUnitTest {
 
         // Verify that the repository's save method was called exactly once with a Task object
         verify(taskRepository).save(any(Task.class));
+        verify(caseNumberGenerator).next();
+        verify(searchIndex).index(response);
+        verify(statistics).added(Status.PENDING, dueDate.atStartOfDay());
 
 
 
@@ -110,14 +170,17 @@ class DemoUnitTest {
     void testGetTaskById_success() {
         Long taskId = 1L;
 
-        // Mock repository
-        when(taskRepository.findById(taskId)).thenReturn(Optional.of(task));
+        // Mock repository, with the cache missing and delegating to the loader
+        when(taskRepository.findResponseById(taskId)).thenReturn(Optional.of(response(task)));
+        when(taskCache.get(eq(taskId), any())).thenAnswer(invocation ->
+            invocation.<Function<Long, TaskResponse>>getArgument(1).apply(taskId));
 
         // Call the method
         TaskResponse response = taskService.getTaskById(taskId);
 
-        // Verify repository interaction
-        verify(taskRepository, times(1)).findById(taskId);
+        // Verify repository interaction: a projection, never the entity
+        verify(taskRepository, times(1)).findResponseById(taskId);
+        verify(taskRepository, never()).findById(any());
 
         // Assertions
         assertNotNull(response);
@@ -127,57 +190,299 @@ class DemoUnitTest {
     }
 
     @Test
-    void testGetAllTasks() {
+    void testGetTaskById_cacheMissReadsFromThePrimary() {
+        // A replica still behind an update or delete would put the old row back in the cache
+        when(taskRepository.findResponseById(1L)).thenAnswer(invocation -> {
+            assertTrue(ReplicaRouting.isPinnedToPrimary(), "A cache fill should be pinned to the primary");
+            return Optional.of(response(task));
+        });
+        when(taskCache.get(eq(1L), any())).thenAnswer(invocation ->
+            invocation.<Function<Long, TaskResponse>>getArgument(1).apply(1L));
+
+        taskService.getTaskById(1L);
+
+        assertFalse(ReplicaRouting.isPinnedToPrimary(), "The pin should not outlive the read");
+    }
+
+    @Test
+    void testGetTaskById_notFound() {
+        when(taskRepository.findResponseById(99L)).thenReturn(Optional.empty());
+        when(taskCache.get(eq(99L), any())).thenAnswer(invocation ->
+            invocation.<Function<Long, TaskResponse>>getArgument(1).apply(99L));
+
+        // NoSuchElementException is what GlobalExceptionHandler answers with 404
+        assertThrows(NoSuchElementException.class, () -> taskService.getTaskById(99L));
+    }
+
+    @Test
+    void testGetTaskVersion_prefersCachedCopy() {
+        TaskResponse cached = new TaskResponse(1L, "Test Task", "CASE-12345", null, Status.PENDING, null);
+        cached.setVersion(5L);
+        when(taskCache.getIfPresent(1L)).thenReturn(cached);
+
+        TaskVersion version = taskService.getTaskVersion(1L);
+
+        assertEquals(5L, version.getVersion());
+        verify(taskRepository, never()).findVersionById(any());
+    }
+
+    @Test
+    void testGetTaskVersion_readsProjectionOnCacheMiss() {
+        LocalDateTime updated = LocalDateTime.of(2025, 10, 12, 10, 0);
+        when(taskRepository.findVersionById(1L)).thenReturn(Optional.of(new TaskVersion(2L, updated)));
+
+        TaskVersion version = taskService.getTaskVersion(1L);
+
+        assertEquals(2L, version.getVersion());
+        assertEquals(updated, version.getLastModified());
+        verify(taskRepository, never()).findResponseById(any());
+    }
+
+    @Test
+    void testFindTasks_returnsPageWithoutCursorWhenExhausted() {
         Task task1 = new Task();
+        task1.setId(1L);
         task1.setTitle("Task 1");
         task1.setDateUpdated(LocalDateTime.of(2025, 10, 10, 10, 0));
 
         Task task2 = new Task();
+        task2.setId(2L);
         task2.setTitle("Task 2");
         task2.setDateUpdated(LocalDateTime.of(2025, 10, 12, 10, 0));
 
-        List<Task> tasks = Arrays.asList(task2, task1); // Already sorted descending
+        List<TaskResponse> tasks = Arrays.asList(response(task2), response(task1)); // Already sorted descending
 
         // Mock repository behavior
-        when(taskRepository.findAll(Sort.by(Sort.Direction.DESC, "dateUpdated"))).thenReturn(tasks);
+        when(taskRepository.findPage(ArgumentMatchers.<Specification<Task>>any(), eq(11))).thenReturn(tasks);
 
         // Call the method
-        List<TaskResponse> responses = taskService.getAllTasks();
-
-        // Verify repository interaction
-        verify(taskRepository, times(1)).findAll(Sort.by(Sort.Direction.DESC, "dateUpdated"));
+        TaskPage page = taskService.findTasks(new TaskFilter(), null, 10);
 
         // Assertions
-        assertNotNull(responses);
-        assertEquals(2, responses.size());
-        assertEquals("Task 2", responses.get(0).getTitle()); // First should be latest
-        assertEquals("Task 1", responses.get(1).getTitle());
+        assertNotNull(page);
+        assertEquals(2, page.getItems().size());
+        assertEquals("Task 2", page.getItems().get(0).getTitle()); // First should be latest
+        assertEquals("Task 1", page.getItems().get(1).getTitle());
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    void testFindTasks_trimsExtraRowAndIssuesCursor() {
+        Task newest = new Task();
+        newest.setId(7L);
+        newest.setDateUpdated(LocalDateTime.of(2025, 10, 12, 10, 0));
+
+        Task lookahead = new Task();
+        lookahead.setId(3L);
+        lookahead.setDateUpdated(LocalDateTime.of(2025, 10, 11, 10, 0));
+
+        when(taskRepository.findPage(ArgumentMatchers.<Specification<Task>>any(), eq(2)))
+            .thenReturn(Arrays.asList(response(newest), response(lookahead)));
+
+        TaskPage page = taskService.findTasks(new TaskFilter(), null, 1);
+
+        assertEquals(1, page.getItems().size());
+        assertEquals(7L, page.getItems().get(0).getId());
+
+        TaskCursor cursor = TaskCursor.decode(page.getNextCursor());
+        assertEquals(newest.getDateUpdated(), cursor.getDateUpdated());
+        assertEquals(7L, cursor.getId());
+    }
+
+    @Test
+    void testFindTasks_rejectsMalformedCursor() {
+        assertThrows(IllegalArgumentException.class, () ->
+            taskService.findTasks(new TaskFilter(), "not-a-cursor", 10)
+        );
+        verify(taskRepository, never()).findPage(ArgumentMatchers.<Specification<Task>>any(), anyInt());
+    }
+
+
+    @Test
+    void testExportTasks_streamsEveryRowToSink() {
+        Task other = new Task();
+        other.setId(2L);
+        other.setTitle("Other Task");
+
+        when(taskRepository.streamAllResponses()).thenReturn(Stream.of(response(task), response(other)));
+
+        List<TaskResponse> exported = new ArrayList<>();
+        long count = taskService.exportTasks(exported::add);
+
+        assertEquals(2, count);
+        assertEquals(2, exported.size());
+        assertEquals("Test Task", exported.get(0).getTitle());
+        assertEquals("Other Task", exported.get(1).getTitle());
     }
 
+    @Test
+    void testCreateTasks_savesValidItemsAndReportsInvalidOnes() {
+        TaskRequest invalid = new TaskRequest();
+
+        @SuppressWarnings("unchecked")
+        ConstraintViolation<TaskRequest> violation = mock(ConstraintViolation.class);
+        Path path = mock(Path.class);
+        when(path.toString()).thenReturn("title");
+        when(violation.getPropertyPath()).thenReturn(path);
+        when(violation.getMessage()).thenReturn("Title is required");
+        when(validator.validate(any(TaskRequest.class))).thenReturn(Set.of());
+        when(validator.validate(invalid)).thenReturn(Set.of(violation));
+        when(taskRepository.save(any(Task.class))).thenReturn(task);
+
+        BatchResponse response = taskService.createTasks(Arrays.asList(taskRequest, invalid));
+
+        verify(taskRepository, times(1)).save(any(Task.class));
+        assertEquals(1, response.getSucceeded());
+        assertEquals(1, response.getFailed());
+        assertEquals(BatchItemResult.Outcome.CREATED, response.getResults().get(0).getOutcome());
+        assertEquals(1L, response.getResults().get(0).getId());
+        assertEquals(BatchItemResult.Outcome.INVALID, response.getResults().get(1).getOutcome());
+        assertEquals("Title is required", response.getResults().get(1).getErrors().get("title"));
+    }
+
+    @Test
+    void testCreateTasks_rejectsOversizedBatch() {
+        List<TaskRequest> requests = new ArrayList<>();
+        for (int i = 0; i <= TaskService.MAX_BATCH_SIZE; i++) {
+            requests.add(taskRequest);
+        }
+
+        assertThrows(IllegalArgumentException.class, () -> taskService.createTasks(requests));
+        verify(taskRepository, never()).save(any(Task.class));
+    }
+
+    @Test
+    void testUpdateTaskStatuses_reportsMissingIds() {
+        when(taskRepository.findStatesByIds(any())).thenReturn(List.of(new TaskState(1L, Status.PENDING, null)));
+
+        BatchResponse response = taskService.updateTaskStatuses(List.of(1L, 2L), Status.COMPLETED);
+
+        verify(taskRepository).updateStatusByIds(eq(Set.of(1L)), eq(Status.COMPLETED), any(LocalDateTime.class));
+        verify(statistics).statusChanged(Status.PENDING, Status.COMPLETED, null);
+        assertEquals(BatchItemResult.Outcome.UPDATED, response.getResults().get(0).getOutcome());
+        assertEquals(BatchItemResult.Outcome.NOT_FOUND, response.getResults().get(1).getOutcome());
+        assertEquals(2L, response.getResults().get(1).getId());
+    }
+
+    @Test
+    void testMarkOverdue_marksLockedBatchInDueOrder() {
+        LocalDateTime cutoff = LocalDateTime.of(2025, 11, 3, 9, 0);
+        TaskState after = new TaskState(3L, Status.PENDING, cutoff.minusDays(5));
+        when(taskRepository.lockDueBeforeAfter(Status.PENDING.ordinal(), cutoff, after.getDueDate(), 3L, 50))
+            .thenReturn(List.of(8L, 4L));
+        when(taskRepository.findStatesByIds(List.of(8L, 4L))).thenReturn(List.of(
+            new TaskState(8L, Status.PENDING, cutoff.minusDays(1)),
+            new TaskState(4L, Status.PENDING, cutoff.minusDays(2))));
+
+        List<TaskState> marked = taskService.markOverdue(cutoff, after, 50);
+
+        assertEquals(List.of(4L, 8L), marked.stream().map(TaskState::getId).toList());
+        verify(taskRepository).updateStatusByIds(eq(List.of(8L, 4L)), eq(Status.OVERDUE), any(LocalDateTime.class));
+        verify(taskCache).evict(List.of(8L, 4L));
+        verify(statistics).statusChanged(Status.PENDING, Status.OVERDUE, cutoff.minusDays(2));
+    }
+
+    @Test
+    void testMarkOverdue_stopsWhenNothingIsDue() {
+        LocalDateTime cutoff = LocalDateTime.of(2025, 11, 3, 9, 0);
+        when(taskRepository.lockDueBefore(Status.PENDING.ordinal(), cutoff, 50)).thenReturn(List.of());
+
+        assertTrue(taskService.markOverdue(cutoff, null, 50).isEmpty());
+        verify(taskRepository, never()).updateStatusByIds(any(), any(), any());
+    }
+
+    @Test
+    void testDeleteTasks_skipsStatementWhenNothingExists() {
+        when(taskRepository.findStatesByIds(any())).thenReturn(List.of());
+
+        BatchResponse response = taskService.deleteTasks(List.of(5L));
+
+        verify(taskRepository, never()).deleteByIds(any());
+        assertEquals(0, response.getSucceeded());
+        assertEquals(1, response.getFailed());
+    }
 
     @Test
     void testUpdateTaskStatus_success() {
-        // Mock repository behavior
-        when(taskRepository.findById(1L)).thenReturn(Optional.of(task));
-        when(taskRepository.save(any(Task.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        // Mock repository behavior: the row being replaced is read once, then one UPDATE
+        task.setVersion(3L);
+        when(taskRepository.lockResponseById(1L)).thenReturn(Optional.of(response(task)));
+        when(taskRepository.updateStatus(eq(1L), eq(Status.COMPLETED), any(LocalDateTime.class))).thenReturn(1);
 
         // Call method
         TaskResponse response = taskService.updateTaskStatus(1L, "COMPLETED");
 
-        // Verify repository interactions
-        verify(taskRepository, times(1)).findById(1L);
-        verify(taskRepository, times(1)).save(any(Task.class));
+        // Verify repository interactions: nothing read back, and the cached copy is refreshed
+        verify(taskRepository, never()).save(any(Task.class));
+        verify(taskRepository, never()).findResponseById(any());
+        verify(taskRepository, never()).findStateById(any());
+        verify(taskCache).put(response);
+        verify(changeFeed).publishAfterCommit(ArgumentMatchers.<TaskEvent>argThat(
+            event -> event.getType() == TaskEvent.Type.STATUS_CHANGED && event.getTask() == response));
+        verify(statistics).statusChanged(Status.PENDING, Status.COMPLETED, task.getDueDate());
 
         // Assertions
         assertNotNull(response);
         assertEquals(Status.COMPLETED, response.getStatus());
         assertEquals("Test Task", response.getTitle());
+        assertEquals("CASE-12345", response.getCaseNumber());
+        assertEquals(4L, response.getVersion());
+        assertNotNull(response.getLastModified());
+    }
+
+    @Test
+    void testUpdateTaskStatus_withVersionUsesCachedCopy() {
+        TaskResponse cached = new TaskResponse(1L, "Test Task", "CASE-12345", null, Status.PENDING, null);
+        cached.setVersion(3L);
+        when(taskRepository.updateStatusIfVersion(eq(1L), eq(Status.COMPLETED), eq(3L), any(LocalDateTime.class)))
+            .thenReturn(1);
+        when(taskCache.getIfPresent(1L)).thenReturn(cached);
+
+        final TaskResponse response = taskService.updateTaskStatus(1L, "COMPLETED", 3L);
+
+        // No reads: the cached copy at the replaced version supplies everything but status and version
+        verify(taskRepository, never()).lockResponseById(any());
+        verify(taskRepository, never()).findResponseById(any());
+        verify(taskRepository, never()).findStateById(any());
+        verify(statistics).statusChanged(Status.PENDING, Status.COMPLETED, null);
+        assertEquals(Status.COMPLETED, response.getStatus());
+        assertEquals(4L, response.getVersion());
+        assertEquals("Test Task", response.getTitle());
+    }
+
+    @Test
+    void testUpdateTaskStatus_staleVersionConflicts() {
+        task.setVersion(3L);
+        when(taskRepository.lockResponseById(1L)).thenReturn(Optional.of(response(task)));
+
+        assertThrows(TaskVersionConflictException.class, () ->
+            taskService.updateTaskStatus(1L, "COMPLETED", 2L)
+        );
+        // The locked row already shows the conflict, so neither the UPDATE nor an existence check is sent
+        verify(taskRepository, never()).updateStatusIfVersion(any(), any(), any(), any());
+        verify(taskRepository, never()).existsById(any());
+        verify(taskCache, never()).put(any());
+        verifyNoInteractions(changeFeed);
+    }
+
+    @Test
+    void testUpdateTaskStatus_withVersionAndNoCachedCopyReadsOnce() {
+        task.setVersion(3L);
+        when(taskRepository.lockResponseById(1L)).thenReturn(Optional.of(response(task)));
+        when(taskRepository.updateStatusIfVersion(eq(1L), eq(Status.COMPLETED), eq(3L), any(LocalDateTime.class)))
+            .thenReturn(1);
+
+        TaskResponse response = taskService.updateTaskStatus(1L, "COMPLETED", 3L);
+
+        verify(taskRepository, never()).findResponseById(any());
+        verify(taskCache).put(response);
+        assertEquals(Status.COMPLETED, response.getStatus());
+        assertEquals(4L, response.getVersion());
     }
 
     @Test
     void testUpdateTaskStatus_taskNotFound() {
-        // Mock repository to return empty
-        when(taskRepository.findById(999L)).thenReturn(Optional.empty());
+        // There is no row to read (mock default of an empty Optional)
 
         // Expect exception
         RuntimeException exception = assertThrows(RuntimeException.class, () ->
@@ -192,21 +497,41 @@ class DemoUnitTest {
     @Test
     void testDeleteTask() {
         Long taskId = 1L;
+        when(taskRepository.findStateById(taskId)).thenReturn(Optional.of(new TaskState(taskId, Status.PENDING,
+                                                                                         null)));
 
         // Call the method
         taskService.deleteTask(taskId);
 
-        // Verify repository interaction
-        verify(taskRepository, times(1)).deleteById(taskId);
+        // Verify repository interaction, cache invalidation and the collection marker
+        verify(taskRepository, times(1)).deleteByIds(List.of(taskId));
+        verify(statistics).removed(Status.PENDING, null);
+        verify(taskCache).evict(taskId);
+        verify(changeTracker).markDeleted(any(LocalDateTime.class));
+        verify(changeFeed).publishAfterCommit(ArgumentMatchers.<TaskEvent>argThat(
+            event -> event.getType() == TaskEvent.Type.DELETED && event.getTaskId().equals(taskId)));
+        verify(searchIndex).remove(List.of(taskId));
     }
 
 
+    @Test
+    void testDeleteTask_missingTaskChangesNothing() {
+        when(taskRepository.findStateById(5L)).thenReturn(Optional.empty());
+
+        taskService.deleteTask(5L);
+
+        verify(taskRepository, never()).deleteByIds(any());
+        verifyNoInteractions(changeTracker, changeFeed, statistics, searchIndex);
+    }
+
     @Test
     void testDeleteTask_repositoryThrowsException() {
         Long taskId = 999L;
 
         // Mock repository to throw an exception
-        doThrow(new RuntimeException("Database error")).when(taskRepository).deleteById(taskId);
+        when(taskRepository.findStateById(taskId)).thenReturn(Optional.of(new TaskState(taskId, Status.PENDING,
+                                                                                         null)));
+        doThrow(new RuntimeException("Database error")).when(taskRepository).deleteByIds(List.of(taskId));
 
         // Expect exception
         RuntimeException exception = assertThrows(RuntimeException.class, () ->
@@ -216,7 +541,12 @@ class DemoUnitTest {
         assertEquals("Database error", exception.getMessage());
 
         // Verify repository interaction
-        verify(taskRepository, times(1)).deleteById(taskId);
+        verify(taskRepository, times(1)).deleteByIds(List.of(taskId));
     }
-}
 
+    // What the repository's constructor projection returns for the row
+    private static TaskResponse response(Task row) {
+        return new TaskResponse(row.getId(), row.getTitle(), row.getCaseNumber(), row.getDescription(),
+                                row.getStatus(), row.getDueDate(), row.getVersion(), row.getDateUpdated());
+    }
+}
@@ -0,0 +1,121 @@
+package uk.gov.hmcts.reform.dev.cache;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import uk.gov.hmcts.reform.dev.dto.TaskResponse;
+import uk.gov.hmcts.reform.dev.models.Status;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TaskCacheTest {
+
+    @Mock
+    private ObjectProvider<TaskCacheTier> secondTierProvider;
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final InMemoryTaskCacheTier secondTier = new InMemoryTaskCacheTier();
+    private final AtomicInteger loads = new AtomicInteger();
+
+    private TaskCache cache;
+
+    @BeforeEach
+    void setUp() {
+        when(secondTierProvider.getIfAvailable()).thenReturn(secondTier);
+        cache = new TaskCache(new TaskCacheProperties(), secondTierProvider, meterRegistry);
+    }
+
+    @Test
+    void secondReadIsServedWithoutLoading() {
+        TaskResponse first = cache.get(1L, this::load);
+        TaskResponse second = cache.get(1L, this::load);
+
+        assertSame(first, second);
+        assertEquals(1, loads.get());
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", TaskCache.NAME).tag("result", "hit")
+            .functionCounter().count());
+    }
+
+    @Test
+    void putReplacesCachedStatusInBothTiers() {
+        cache.get(1L, this::load);
+
+        TaskResponse updated = new TaskResponse(1L, "Title", "CASE-1", null, Status.COMPLETED, null);
+        cache.put(updated);
+
+        assertEquals(Status.COMPLETED, cache.get(1L, this::load).getStatus());
+        assertEquals(Status.COMPLETED, secondTier.get(1L).orElseThrow().getStatus());
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void evictForcesReloadAndClearsSecondTier() {
+        cache.get(1L, this::load);
+        cache.evict(List.of(1L));
+
+        assertTrue(secondTier.get(1L).isEmpty());
+        cache.get(1L, this::load);
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void secondTierHitAvoidsLoad() {
+        secondTier.put(new TaskResponse(2L, "Shared", "CASE-2", null, Status.PENDING, null));
+
+        assertEquals("Shared", cache.get(2L, this::load).getTitle());
+        assertEquals(0, loads.get());
+        assertEquals(1.0, meterRegistry.get("tasks.cache.second.tier").tag("result", "hit").counter().count());
+    }
+
+    @Test
+    void loadIsNotWrittenBackToSecondTier() {
+        cache.get(4L, this::load);
+
+        assertTrue(secondTier.get(4L).isEmpty());
+        assertEquals(1.0, meterRegistry.get("tasks.cache.second.tier").tag("result", "miss").counter().count());
+    }
+
+    @Test
+    void secondTierKeepsTheNewerVersionWhenPutsArriveOutOfOrder() {
+        // Two nodes' after-commit puts, the later commit arriving first
+        secondTier.put(versioned(5L, Status.COMPLETED, 3L));
+        secondTier.put(versioned(5L, Status.PENDING, 2L));
+
+        assertEquals(3L, secondTier.get(5L).orElseThrow().getVersion());
+        assertEquals(Status.COMPLETED, secondTier.get(5L).orElseThrow().getStatus());
+    }
+
+    @Test
+    void loaderFailureIsNotCached() {
+        assertThrows(RuntimeException.class, () -> cache.get(3L, id -> {
+            throw new RuntimeException("Task not found with id " + id);
+        }));
+
+        cache.get(3L, this::load);
+        assertEquals(1, loads.get());
+    }
+
+    private static TaskResponse versioned(Long id, Status status, Long version) {
+        TaskResponse task = new TaskResponse(id, "Title", "CASE-" + id, null, status, null);
+        task.setVersion(version);
+        return task;
+    }
+
+    private TaskResponse load(Long id) {
+        loads.incrementAndGet();
+        return new TaskResponse(id, "Title", "CASE-" + id, null, Status.PENDING, null);
+    }
+}
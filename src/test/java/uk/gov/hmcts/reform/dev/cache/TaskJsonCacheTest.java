@@ -0,0 +1,170 @@
+package uk.gov.hmcts.reform.dev.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.http.MockHttpOutputMessage;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import uk.gov.hmcts.reform.dev.codec.TaskPageJsonHttpMessageConverter;
+import uk.gov.hmcts.reform.dev.dto.TaskPage;
+import uk.gov.hmcts.reform.dev.dto.TaskResponse;
+import uk.gov.hmcts.reform.dev.models.Status;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TaskJsonCacheTest {
+
+    private static final LocalDateTime UPDATED = LocalDateTime.of(2026, 3, 2, 12, 30);
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules()
+        .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    private TaskJsonCacheProperties properties;
+    private MeterRegistry meterRegistry;
+    private TaskJsonCache cache;
+
+    @BeforeEach
+    void setUp() {
+        properties = new TaskJsonCacheProperties();
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new TaskJsonCache(objectMapper, properties, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void unchangedTaskReusesItsJson() {
+        byte[] first = cache.fragment(task(1L, 0L));
+        byte[] second = cache.fragment(task(1L, 0L));
+
+        assertSame(first, second);
+        assertEquals(first.length, saved("serialization"));
+    }
+
+    @Test
+    void changedTaskIsSerializedAgain() {
+        byte[] before = cache.fragment(task(1L, 0L));
+        TaskResponse updated = task(1L, 1L);
+        updated.setStatus(Status.COMPLETED);
+
+        byte[] after = cache.fragment(updated);
+
+        assertNotSame(before, after);
+        assertTrue(new String(after).contains("COMPLETED"));
+    }
+
+    @Test
+    void pageIsWrittenExactlyAsJacksonWritesIt() throws Exception {
+        TaskPage page = page(3, "next");
+
+        assertArrayEquals(objectMapper.writeValueAsBytes(page), write(page).getBodyAsBytes());
+        assertArrayEquals(objectMapper.writeValueAsBytes(page(0, null)), write(page(0, null)).getBodyAsBytes());
+    }
+
+    @Test
+    void largePageIsGzippedForClientsThatAcceptIt() throws Exception {
+        acceptEncoding("br, gzip");
+        TaskPage page = page(50, "next");
+
+        MockHttpOutputMessage message = write(page);
+
+        assertEquals("gzip", message.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+        assertEquals(message.getBodyAsBytes().length, message.getHeaders().getContentLength());
+        try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(message.getBodyAsBytes()))) {
+            assertArrayEquals(objectMapper.writeValueAsBytes(page), gzip.readAllBytes());
+        }
+        assertTrue(saved("compression") > 0);
+    }
+
+    @Test
+    void unchangedPageIsNotCompressedAgain() throws Exception {
+        acceptEncoding("gzip");
+
+        byte[] first = write(page(50, "next")).getBodyAsBytes();
+        byte[] second = write(page(50, "next")).getBodyAsBytes();
+
+        assertArrayEquals(first, second);
+        // The second write finds its 50 tasks and then the compressed page itself
+        assertEquals(51, meterRegistry.get("cache.gets").tag("cache", TaskJsonCache.NAME).tag("result", "hit")
+            .functionCounter().count());
+    }
+
+    @Test
+    void smallPagesAndClientsWithoutGzipGetPlainJson() throws Exception {
+        acceptEncoding("gzip");
+        assertNull(write(page(1, null)).getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+
+        acceptEncoding("gzip;q=0, identity");
+        assertNull(write(page(50, null)).getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+    }
+
+    @Test
+    void entriesStayWithinTheMemoryBudget() {
+        properties.setMaximumSize(DataSize.ofKilobytes(16));
+        cache = new TaskJsonCache(objectMapper, properties, meterRegistry);
+
+        for (long id = 0; id < 1000; id++) {
+            cache.fragment(task(id, 0L));
+        }
+        cache.cleanUp();
+
+        assertTrue(cache.weightedSize() <= DataSize.ofKilobytes(16).toBytes());
+    }
+
+    private MockHttpOutputMessage write(TaskPage page) throws IOException {
+        TaskPageJsonHttpMessageConverter converter = new TaskPageJsonHttpMessageConverter(
+            objectMapper, cache, properties.getCompressionThreshold().toBytes());
+        MockHttpOutputMessage message = new MockHttpOutputMessage();
+        converter.write(page, MediaType.APPLICATION_JSON, message);
+        return message;
+    }
+
+    private static void acceptEncoding(String value) {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(HttpHeaders.ACCEPT_ENCODING, value);
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+    }
+
+    private double saved(String reason) {
+        return meterRegistry.get("tasks.response.bytes.saved").tag("reason", reason).counter().count();
+    }
+
+    private static TaskPage page(int size, String nextCursor) {
+        List<TaskResponse> items = new ArrayList<>();
+        for (long id = 0; id < size; id++) {
+            items.add(task(id, 0L));
+        }
+        return new TaskPage(items, nextCursor);
+    }
+
+    private static TaskResponse task(Long id, Long version) {
+        TaskResponse task = new TaskResponse(id, "Task " + id, "CASE-" + id, "Description of task " + id,
+                                             Status.PENDING, UPDATED.plusDays(7));
+        task.setVersion(version);
+        task.setLastModified(UPDATED);
+        return task;
+    }
+}
@@ -0,0 +1,105 @@
+package uk.gov.hmcts.reform.dev.codec;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import org.junit.jupiter.api.Test;
+import uk.gov.hmcts.reform.dev.dto.TaskPage;
+import uk.gov.hmcts.reform.dev.dto.TaskRequest;
+import uk.gov.hmcts.reform.dev.dto.TaskResponse;
+import uk.gov.hmcts.reform.dev.models.Status;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TaskProtobufTest {
+
+    private static final LocalDateTime DUE = LocalDateTime.of(2030, 1, 15, 9, 30);
+
+    @Test
+    void responseRoundTrips() throws Exception {
+        TaskResponse task = new TaskResponse(42L, "Finish report", "CASE-123456", "By Tuesday", Status.OVERDUE, DUE);
+
+        TaskResponse decoded = TaskProtobuf.decodeResponse(TaskProtobuf.encode(task));
+
+        assertEquals(42L, decoded.getId());
+        assertEquals("Finish report", decoded.getTitle());
+        assertEquals("CASE-123456", decoded.getCaseNumber());
+        assertEquals("By Tuesday", decoded.getDescription());
+        assertEquals(Status.OVERDUE, decoded.getStatus());
+        assertEquals(DUE, decoded.getDueDate());
+    }
+
+    @Test
+    void absentFieldsDecodeAsNull() throws Exception {
+        TaskResponse decoded = TaskProtobuf.decodeResponse(TaskProtobuf.encode(new TaskResponse()));
+
+        assertNull(decoded.getId());
+        assertNull(decoded.getDescription());
+        assertNull(decoded.getStatus());
+        assertNull(decoded.getDueDate());
+    }
+
+    @Test
+    void pageRoundTripsWithItsCursor() throws Exception {
+        TaskPage decoded = TaskProtobuf.decodePage(TaskProtobuf.encode(page(3)));
+
+        assertEquals(List.of(0L, 1L, 2L), decoded.getItems().stream().map(TaskResponse::getId).toList());
+        assertEquals("Task 2", decoded.getItems().get(2).getTitle());
+        assertEquals("next", decoded.getNextCursor());
+    }
+
+    @Test
+    void requestRoundTrips() throws Exception {
+        TaskRequest request = new TaskRequest();
+        request.setTitle("Finish report");
+        request.setDueDate(DUE);
+
+        TaskRequest decoded = TaskProtobuf.decodeRequest(TaskProtobuf.encode(request));
+
+        assertEquals("Finish report", decoded.getTitle());
+        assertNull(decoded.getDescription());
+        assertEquals(DUE, decoded.getDueDate());
+    }
+
+    @Test
+    void binaryFormatsAreSmallerThanJson() throws Exception {
+        ObjectMapper json = new ObjectMapper().findAndRegisterModules()
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        TaskPage page = page(50);
+
+        int jsonSize = json.writeValueAsBytes(page).length;
+        int cborSize = BinaryFormatConfig.binaryMapper(json, new CBORFactory()).writeValueAsBytes(page).length;
+        int protobufSize = TaskProtobuf.encode(page).length;
+
+        assertTrue(cborSize < jsonSize, () -> "CBOR " + cborSize + " bytes, JSON " + jsonSize);
+        assertTrue(protobufSize < cborSize, () -> "Protobuf " + protobufSize + " bytes, CBOR " + cborSize);
+    }
+
+    @Test
+    void cborWritesTheDueDateAsNumbersAndReadsItBack() throws Exception {
+        ObjectMapper cbor = BinaryFormatConfig.binaryMapper(
+            new ObjectMapper().findAndRegisterModules().disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS),
+            new CBORFactory());
+        TaskResponse task = new TaskResponse(1L, "Task", "CASE-1", null, Status.PENDING, DUE);
+
+        TaskResponse decoded = cbor.readValue(cbor.writeValueAsBytes(task), TaskResponse.class);
+
+        assertEquals(DUE, decoded.getDueDate());
+        assertEquals(Status.PENDING, decoded.getStatus());
+    }
+
+    private static TaskPage page(int size) {
+        List<TaskResponse> items = new ArrayList<>();
+        for (long i = 0; i < size; i++) {
+            items.add(new TaskResponse(i, "Task " + i, "CASE-" + i, "Description " + i, Status.PENDING,
+                                       DUE.plusDays(i)));
+        }
+        return new TaskPage(items, "next");
+    }
+}
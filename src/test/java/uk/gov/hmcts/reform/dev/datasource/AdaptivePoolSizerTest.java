@@ -0,0 +1,154 @@
+package uk.gov.hmcts.reform.dev.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.when;
+
+class AdaptivePoolSizerTest {
+
+    private static final String POOL = "test-pool";
+
+    private MeterRegistry meterRegistry;
+    private PoolSizingProperties properties;
+    private HikariDataSource dataSource;
+    private HikariPoolMXBean stats;
+    private Timer acquire;
+    private Timer usage;
+    private AdaptivePoolSizer sizer;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        properties = new PoolSizingProperties();
+        properties.setMinSize(8);
+        properties.setMaxSize(20);
+        HikariDataSource configured = new HikariDataSource();
+        configured.setPoolName(POOL);
+        configured.setMaximumPoolSize(10);
+        configured.setMinimumIdle(2);
+        dataSource = spy(configured);
+        stats = mock(HikariPoolMXBean.class);
+        doReturn(stats).when(dataSource).getHikariPoolMXBean();
+        acquire = Timer.builder(AdaptivePoolSizer.ACQUIRE_TIMER).tag("pool", POOL).register(meterRegistry);
+        usage = Timer.builder(AdaptivePoolSizer.USAGE_TIMER).tag("pool", POOL).register(meterRegistry);
+        sizer = new AdaptivePoolSizer(List.of(dataSource), properties, meterRegistry);
+    }
+
+    @Test
+    void growsByTheThreadsSeenWaitingWhenConnectionsAreSlowToGet() {
+        window(10, 3, Duration.ofMillis(50), Duration.ofMillis(5));
+
+        assertEquals(13, dataSource.getMaximumPoolSize());
+    }
+
+    @Test
+    void growthIsLimitedPerWindowAndByTheMaximumSize() {
+        window(10, 50, Duration.ofMillis(50), Duration.ofMillis(5));
+        assertEquals(14, dataSource.getMaximumPoolSize());
+
+        window(14, 50, Duration.ofMillis(50), Duration.ofMillis(5));
+        window(18, 50, Duration.ofMillis(50), Duration.ofMillis(5));
+        assertEquals(20, dataSource.getMaximumPoolSize());
+    }
+
+    @Test
+    void cutsAFullPoolBackWhenConnectionsAreHeldLonger() {
+        window(10, 0, Duration.ZERO, Duration.ofMillis(5));
+        window(10, 4, Duration.ofMillis(50), Duration.ofMillis(20));
+
+        assertEquals(8, dataSource.getMaximumPoolSize());
+        assertEquals("latency", sizer.report().getFirst().decisions().getFirst().reason());
+    }
+
+    @Test
+    void slowerQueriesWithRoomInThePoolLeaveItAlone() {
+        window(6, 0, Duration.ZERO, Duration.ofMillis(5));
+        window(6, 0, Duration.ZERO, Duration.ofMillis(20));
+
+        assertEquals(10, dataSource.getMaximumPoolSize());
+    }
+
+    @Test
+    void idlePoolGivesBackAConnectionPerWindowDownToTheMinimumSize() {
+        window(1, 0, Duration.ZERO, Duration.ofMillis(5));
+        assertEquals(9, dataSource.getMaximumPoolSize());
+
+        window(1, 0, Duration.ZERO, Duration.ofMillis(5));
+        window(1, 0, Duration.ZERO, Duration.ofMillis(5));
+        assertEquals(8, dataSource.getMaximumPoolSize());
+        assertEquals(2, dataSource.getMinimumIdle());
+    }
+
+    @Test
+    void reportsEachResizeAndWhy() {
+        window(10, 3, Duration.ofMillis(50), Duration.ofMillis(5));
+
+        AdaptivePoolSizer.PoolReport report = sizer.report().getFirst();
+        assertEquals(POOL, report.pool());
+        assertEquals(13, report.size());
+        AdaptivePoolSizer.Decision decision = report.decisions().getFirst();
+        assertEquals(10, decision.from());
+        assertEquals(13, decision.to());
+        assertEquals("wait", decision.reason());
+        assertEquals(50.0, decision.meanWaitMillis(), 0.001);
+        assertEquals(1.0, meterRegistry.get("tasks.datasource.pool.resizes").tag("pool", POOL)
+            .tag("reason", "wait").counter().count());
+    }
+
+    @Test
+    void startingSizeOutsideTheBoundsIsBroughtWithinThem() {
+        HikariDataSource large = new HikariDataSource();
+        large.setPoolName("large");
+        large.setMaximumPoolSize(50);
+
+        new AdaptivePoolSizer(List.of(large), properties, meterRegistry);
+
+        assertEquals(20, large.getMaximumPoolSize());
+    }
+
+    @Test
+    void poolThatHasNotStartedIsLeftAlone() {
+        doReturn(null).when(dataSource).getHikariPoolMXBean();
+
+        sizer.adjust();
+
+        assertEquals(10, dataSource.getMaximumPoolSize());
+    }
+
+    @Test
+    void canGrowUntilEveryPoolIsAtTheMaximumSize() {
+        assertTrue(sizer.canGrow());
+
+        window(10, 50, Duration.ofMillis(50), Duration.ofMillis(5));
+        window(14, 50, Duration.ofMillis(50), Duration.ofMillis(5));
+        window(18, 50, Duration.ofMillis(50), Duration.ofMillis(5));
+
+        assertFalse(sizer.canGrow());
+    }
+
+    // One window in which the pool peaked at the given connections in use and threads waiting, and connections took
+    // the given time to get and were held for the given time
+    private void window(int active, int waiting, Duration wait, Duration hold) {
+        when(stats.getActiveConnections()).thenReturn(active);
+        when(stats.getThreadsAwaitingConnection()).thenReturn(waiting);
+        sizer.sample();
+        acquire.record(wait);
+        usage.record(hold);
+        sizer.adjust();
+    }
+}
@@ -0,0 +1,143 @@
+package uk.gov.hmcts.reform.dev.datasource;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Two embedded databases stand in for the primary and the replica; each knows which one it is
+class ReplicaRoutingDataSourceTest {
+
+    private EmbeddedDatabase primary;
+    private EmbeddedDatabase replica;
+    private MeterRegistry meterRegistry;
+    private ReplicaLagMonitor lagMonitor;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate readOnly;
+    private TransactionTemplate readWrite;
+
+    @BeforeEach
+    void setUp() {
+        primary = database("primary");
+        replica = database("replica");
+        meterRegistry = new SimpleMeterRegistry();
+        ReplicaProperties properties = new ReplicaProperties();
+        properties.setMaxLag(Duration.ofSeconds(2));
+        lagMonitor = new ReplicaLagMonitor(primary, replica, properties, meterRegistry);
+
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(
+            new ReplicaRoutingDataSource(primary, replica, lagMonitor, meterRegistry));
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        readWrite = new TransactionTemplate(transactionManager);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        ReplicaRouting.unpin();
+        primary.shutdown();
+        replica.shutdown();
+    }
+
+    @Test
+    void readOnlyTransactionsGoToTheReplicaOnceItHasCaughtUp() {
+        replicate();
+
+        assertTrue(lagMonitor.isReplicaUsable());
+        assertEquals("replica", readOnly.execute(status -> node()));
+        assertEquals("primary", readWrite.execute(status -> node()));
+        assertEquals("primary", node());
+        assertEquals(1, meterRegistry.get("tasks.datasource.reads").tag("target", "replica").counter().count());
+    }
+
+    @Test
+    void readsStayOnThePrimaryUntilTheReplicaHasTheFirstHeartbeat() {
+        lagMonitor.check();
+
+        assertFalse(lagMonitor.isReplicaUsable());
+        assertEquals("primary", readOnly.execute(status -> node()));
+        assertEquals(1, meterRegistry.get("tasks.datasource.reads").tag("reason", "replica-lag").counter().count());
+    }
+
+    @Test
+    void readsGoToThePrimaryWhileTheReplicaLags() {
+        replicate();
+        new JdbcTemplate(replica).update("update replica_heartbeat set beat_at = ?",
+                                         LocalDateTime.now().minusSeconds(30));
+
+        lagMonitor.check();
+
+        assertFalse(lagMonitor.isReplicaUsable());
+        assertTrue(meterRegistry.get("tasks.datasource.replica.lag").timeGauge().value(TimeUnit.SECONDS) >= 28);
+        assertEquals("primary", readOnly.execute(status -> node()));
+    }
+
+    @Test
+    void pinnedRequestsReadFromThePrimary() {
+        replicate();
+        ReplicaRouting.pinToPrimary();
+
+        assertEquals("primary", readOnly.execute(status -> node()));
+        assertEquals(1, meterRegistry.get("tasks.datasource.reads").tag("reason", "read-your-writes").counter()
+            .count());
+    }
+
+    @Test
+    void cacheFillsReadFromThePrimaryAndKeepAnExistingPin() {
+        replicate();
+
+        assertEquals("primary", ReplicaRouting.readForCache(() -> readOnly.execute(status -> node())));
+        assertFalse(ReplicaRouting.isPinnedToPrimary());
+        assertEquals(1, meterRegistry.get("tasks.datasource.reads").tag("reason", "cache-fill").counter().count());
+
+        ReplicaRouting.pinToPrimary();
+        ReplicaRouting.readForCache(() -> readOnly.execute(status -> node()));
+        assertTrue(ReplicaRouting.isPinnedToPrimary());
+        assertEquals(1, meterRegistry.get("tasks.datasource.reads").tag("reason", "read-your-writes").counter()
+            .count());
+    }
+
+    // Writes a heartbeat, copies it to the replica as replication would, then measures again
+    private void replicate() {
+        lagMonitor.check();
+        LocalDateTime beat = new JdbcTemplate(primary).queryForObject("select beat_at from replica_heartbeat",
+                                                                      LocalDateTime.class);
+        new JdbcTemplate(replica).update("insert into replica_heartbeat (name, beat_at) values (?, ?)",
+                                         ReplicaLagMonitor.HEARTBEAT, beat);
+        lagMonitor.check();
+    }
+
+    private String node() {
+        return jdbcTemplate.queryForObject("select name from node", String.class);
+    }
+
+    private static EmbeddedDatabase database(String name) {
+        EmbeddedDatabase database = new EmbeddedDatabaseBuilder()
+            .setType(EmbeddedDatabaseType.H2)
+            .generateUniqueName(true)
+            .build();
+        JdbcTemplate jdbc = new JdbcTemplate(database);
+        jdbc.execute("create table node (name varchar(16))");
+        jdbc.update("insert into node (name) values (?)", name);
+        jdbc.execute("create table replica_heartbeat (name varchar(255) primary key, beat_at timestamp(6))");
+        return database;
+    }
+}
@@ -0,0 +1,222 @@
+package uk.gov.hmcts.reform.dev.events;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import uk.gov.hmcts.reform.dev.dto.TaskEvent;
+import uk.gov.hmcts.reform.dev.exception.TooManySubscribersException;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TaskChangeFeedTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private TaskEventProperties properties;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        properties = new TaskEventProperties();
+        properties.setBufferSize(8);
+        properties.setMaxSubscribers(2);
+    }
+
+    @Test
+    void deliversEventsPublishedAfterSubscribing() {
+        TaskChangeFeed feed = feed(Runnable::run);
+        feed.publish(List.of(deleted(1L)));
+        RecordingSink sink = new RecordingSink();
+
+        feed.subscribe(null, sink);
+        feed.publish(List.of(deleted(2L), deleted(3L)));
+
+        assertEquals(List.of(feed.eventId(2), feed.eventId(3)), sink.ids);
+        assertEquals(List.of(2L, 3L), sink.taskIds());
+    }
+
+    @Test
+    void resumesAfterLastEventId() {
+        TaskChangeFeed feed = feed(Runnable::run);
+        feed.publish(List.of(deleted(1L), deleted(2L), deleted(3L)));
+        RecordingSink sink = new RecordingSink();
+
+        feed.subscribe(feed.eventId(1), sink);
+
+        assertEquals(List.of(2L, 3L), sink.taskIds());
+    }
+
+    @Test
+    void sendsResetForUnknownOrExpiredPosition() {
+        TaskChangeFeed feed = feed(Runnable::run);
+        for (long id = 1; id <= 20; id++) {
+            feed.publish(List.of(deleted(id)));
+        }
+
+        RecordingSink fromOtherNode = new RecordingSink();
+        feed.subscribe("someothernode-3", fromOtherNode);
+        RecordingSink expired = new RecordingSink();
+        feed.subscribe(feed.eventId(2), expired);
+
+        assertEquals(List.of(TaskChangeFeed.RESET_EVENT), fromOtherNode.names);
+        assertEquals(List.of(TaskChangeFeed.RESET_EVENT), expired.names);
+        // The reset carries the current position, so the next reconnect resumes from there
+        assertEquals(feed.eventId(20), expired.ids.get(0));
+    }
+
+    @Test
+    void evictsSubscriberThatFallsAFullBufferBehind() {
+        List<Runnable> queued = new ArrayList<>();
+        TaskChangeFeed feed = feed(queued::add);
+        RecordingSink sink = new RecordingSink();
+        TaskChangeFeed.Subscriber subscriber = feed.subscribe(null, sink);
+
+        // The drain never gets to run while 20 events go through an 8-slot buffer
+        for (long id = 1; id <= 20; id++) {
+            feed.publish(List.of(deleted(id)));
+        }
+        queued.forEach(Runnable::run);
+
+        assertTrue(subscriber.isClosed());
+        assertTrue(sink.completed);
+        assertEquals(List.of(TaskChangeFeed.RESET_EVENT), sink.names);
+        assertEquals(0, feed.subscriberCount());
+        assertEquals(1.0, meterRegistry.get("tasks.events.evicted").counter().count());
+    }
+
+    @Test
+    void dropsSubscriberWhenSendFails() {
+        TaskChangeFeed feed = feed(Runnable::run);
+        RecordingSink sink = new RecordingSink();
+        sink.failing = true;
+        TaskChangeFeed.Subscriber subscriber = feed.subscribe(null, sink);
+
+        feed.publish(List.of(deleted(1L)));
+
+        assertTrue(subscriber.isClosed());
+        assertEquals(0, feed.subscriberCount());
+    }
+
+    @Test
+    void heartbeatKeepsHealthySubscribersOpen() {
+        TaskChangeFeed feed = feed(Runnable::run);
+        RecordingSink sink = new RecordingSink();
+        TaskChangeFeed.Subscriber subscriber = feed.subscribe(null, sink);
+
+        feed.heartbeat();
+
+        assertEquals(1, sink.heartbeats);
+        assertFalse(subscriber.isClosed());
+    }
+
+    @Test
+    void rejectsSubscribersBeyondLimit() {
+        TaskChangeFeed feed = feed(Runnable::run);
+        feed.subscribe(null, new RecordingSink());
+        feed.subscribe(null, new RecordingSink());
+
+        assertThrows(TooManySubscribersException.class, () -> feed.subscribe(null, new RecordingSink()));
+    }
+
+    @Test
+    void closedSubscriberGivesBackItsSlot() {
+        TaskChangeFeed feed = feed(Runnable::run);
+        RecordingSink failing = new RecordingSink();
+        failing.failing = true;
+        feed.subscribe(null, failing);
+        feed.subscribe(null, new RecordingSink());
+
+        feed.publish(List.of(deleted(1L)));
+
+        feed.subscribe(null, new RecordingSink());
+        assertEquals(2, feed.subscriberCount());
+    }
+
+    @Test
+    void concurrentSubscribesNeverExceedTheLimit() throws Exception {
+        properties.setMaxSubscribers(5);
+        TaskChangeFeed feed = feed(runnable -> { });
+        AtomicInteger accepted = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService clients = Executors.newFixedThreadPool(32);
+        try {
+            List<Future<?>> attempts = new ArrayList<>();
+            for (int i = 0; i < 32; i++) {
+                attempts.add(clients.submit(() -> {
+                    start.await();
+                    try {
+                        feed.subscribe(null, new RecordingSink());
+                        accepted.incrementAndGet();
+                    } catch (TooManySubscribersException ex) {
+                        // expected for all but five
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> attempt : attempts) {
+                attempt.get();
+            }
+        } finally {
+            clients.shutdownNow();
+        }
+
+        assertEquals(5, accepted.get());
+        assertEquals(5, feed.subscriberCount());
+    }
+
+    private TaskChangeFeed feed(Executor executor) {
+        return new TaskChangeFeed(properties, meterRegistry, executor);
+    }
+
+    private static TaskEvent deleted(Long id) {
+        return TaskEvent.deleted(id, LocalDateTime.now());
+    }
+
+    private static final class RecordingSink implements EventSink {
+
+        private final List<String> ids = new ArrayList<>();
+        private final List<String> names = new ArrayList<>();
+        private final List<Object> data = new ArrayList<>();
+        private int heartbeats;
+        private boolean completed;
+        private boolean failing;
+
+        @Override
+        public void send(String id, String name, Object payload) throws IOException {
+            if (failing) {
+                throw new IOException("Broken pipe");
+            }
+            ids.add(id);
+            names.add(name);
+            data.add(payload);
+        }
+
+        @Override
+        public void heartbeat() {
+            heartbeats++;
+        }
+
+        @Override
+        public void complete() {
+            completed = true;
+        }
+
+        List<Long> taskIds() {
+            return data.stream().map(event -> ((TaskEvent) event).getTaskId()).toList();
+        }
+    }
+}
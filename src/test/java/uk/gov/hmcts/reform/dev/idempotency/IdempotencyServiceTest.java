@@ -0,0 +1,212 @@
+package uk.gov.hmcts.reform.dev.idempotency;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.transaction.PlatformTransactionManager;
+import uk.gov.hmcts.reform.dev.dto.TaskRequest;
+import uk.gov.hmcts.reform.dev.dto.TaskResponse;
+import uk.gov.hmcts.reform.dev.exception.IdempotencyKeyMismatchException;
+import uk.gov.hmcts.reform.dev.models.IdempotencyRecord;
+import uk.gov.hmcts.reform.dev.models.Status;
+import uk.gov.hmcts.reform.dev.repository.IdempotencyRecordRepository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class IdempotencyServiceTest {
+
+    private static final LocalDateTime CREATED_AT = LocalDateTime.of(2026, 3, 2, 12, 30);
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private IdempotencyRecordRepository repository;
+    private PlatformTransactionManager transactionManager;
+    private MeterRegistry meterRegistry;
+    private IdempotencyService service;
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(IdempotencyRecordRepository.class);
+        transactionManager = mock(PlatformTransactionManager.class);
+        meterRegistry = new SimpleMeterRegistry();
+        when(repository.findById(any())).thenReturn(Optional.empty());
+        service = new IdempotencyService(repository, transactionManager, objectMapper, new IdempotencyProperties(),
+                                         meterRegistry);
+    }
+
+    @Test
+    void repeatedKeyIsAnsweredFromMemory() {
+        AtomicInteger creates = new AtomicInteger();
+        TaskResponse task = task(1L);
+
+        IdempotencyService.Result first = service.execute("key-1", request("Review"), counting(creates, task));
+        IdempotencyService.Result second = service.execute("key-1", request("Review"), counting(creates, task));
+
+        assertFalse(first.replayed());
+        assertTrue(second.replayed());
+        assertSame(task, second.response());
+        assertEquals(1, creates.get());
+        verify(repository, times(1)).findById("key-1");
+        verify(repository).insert(eq("key-1"), any(), eq(1L), any(), eq(0L), eq(CREATED_AT), anyLong());
+        assertEquals(1, count("created"));
+        assertEquals(1, count("replayed"));
+    }
+
+    @Test
+    void keyReusedForAnotherTaskIsRejected() {
+        service.execute("key-1", request("Review"), () -> task(1L));
+
+        assertThrows(IdempotencyKeyMismatchException.class,
+            () -> service.execute("key-1", request("Archive"), () -> task(2L)));
+        assertEquals(1, count("mismatched"));
+    }
+
+    @Test
+    void concurrentDuplicatesShareOneCreate() throws Exception {
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger creates = new AtomicInteger();
+        Supplier<TaskResponse> slowCreate = () -> {
+            creates.incrementAndGet();
+            entered.countDown();
+            await(release);
+            return task(1L);
+        };
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<IdempotencyService.Result>> results = new ArrayList<>();
+            results.add(executor.submit(() -> service.execute("key-1", request("Review"), slowCreate)));
+            assertTrue(entered.await(5, TimeUnit.SECONDS));
+            for (int i = 0; i < 3; i++) {
+                results.add(executor.submit(() -> service.execute("key-1", request("Review"), slowCreate)));
+            }
+            // Give the duplicates time to reach the store while the first create is still running
+            Thread.sleep(100);
+            release.countDown();
+
+            for (Future<IdempotencyService.Result> result : results) {
+                assertEquals(1L, result.get(5, TimeUnit.SECONDS).response().getId());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(1, creates.get());
+        assertEquals(3, count("coalesced"));
+    }
+
+    @Test
+    void keyCreatedOnAnotherNodeIsAnsweredFromTheTable() throws Exception {
+        when(repository.findById("key-1")).thenReturn(Optional.of(record("key-1", request("Review"), task(5L))));
+        AtomicInteger creates = new AtomicInteger();
+
+        IdempotencyService.Result result = service.execute("key-1", request("Review"), counting(creates, task(9L)));
+
+        assertTrue(result.replayed());
+        assertEquals(5L, result.response().getId());
+        assertEquals(0L, result.response().getVersion());
+        assertEquals(CREATED_AT, result.response().getLastModified());
+        assertEquals(0, creates.get());
+    }
+
+    @Test
+    void losingTheInsertRaceRollsBackAndReplaysTheWinner() throws Exception {
+        when(repository.insert(eq("key-1"), any(), any(), any(), any(), any(), anyLong()))
+            .thenThrow(new DuplicateKeyException("Duplicate entry 'key-1'"));
+        when(repository.findById("key-1"))
+            .thenReturn(Optional.empty())
+            .thenReturn(Optional.of(record("key-1", request("Review"), task(5L))));
+
+        IdempotencyService.Result result = service.execute("key-1", request("Review"), () -> task(9L));
+
+        assertTrue(result.replayed());
+        assertEquals(5L, result.response().getId());
+        verify(transactionManager).rollback(any());
+    }
+
+    @Test
+    void failedCreateLeavesTheKeyFreeForARetry() {
+        assertThrows(IllegalStateException.class, () -> service.execute("key-1", request("Review"), () -> {
+            throw new IllegalStateException("database unavailable");
+        }));
+
+        IdempotencyService.Result retry = service.execute("key-1", request("Review"), () -> task(1L));
+
+        assertFalse(retry.replayed());
+        assertEquals(1L, retry.response().getId());
+    }
+
+    @Test
+    void rejectsBlankAndOverlongKeys() {
+        assertThrows(IllegalArgumentException.class, () -> service.execute(" ", request("Review"), () -> task(1L)));
+        String overlong = "k".repeat(IdempotencyService.MAX_KEY_LENGTH + 1);
+        assertThrows(IllegalArgumentException.class,
+            () -> service.execute(overlong, request("Review"), () -> task(1L)));
+        verifyNoInteractions(repository);
+    }
+
+    private double count(String result) {
+        return meterRegistry.get("tasks.idempotency.requests").tag("result", result).counter().count();
+    }
+
+    private IdempotencyRecord record(String key, TaskRequest request, TaskResponse task) throws Exception {
+        return new IdempotencyRecord(key, IdempotencyService.hash(request), task.getId(),
+                                     objectMapper.writeValueAsString(task), task.getVersion(),
+                                     task.getLastModified(), CREATED_AT.plusDays(1));
+    }
+
+    private static Supplier<TaskResponse> counting(AtomicInteger creates, TaskResponse task) {
+        return () -> {
+            creates.incrementAndGet();
+            return task;
+        };
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static TaskRequest request(String title) {
+        TaskRequest request = new TaskRequest();
+        request.setTitle(title);
+        request.setDueDate(CREATED_AT.plusDays(7));
+        return request;
+    }
+
+    private static TaskResponse task(Long id) {
+        TaskResponse task = new TaskResponse(id, "Task " + id, "CASE-" + id, null, Status.PENDING,
+                                             CREATED_AT.plusDays(7));
+        task.setVersion(0L);
+        task.setLastModified(CREATED_AT);
+        return task;
+    }
+}
@@ -0,0 +1,54 @@
+package uk.gov.hmcts.reform.dev.logging;
+
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class RequestLoggingFilterTest {
+
+    private final RequestLoggingFilter filter = new RequestLoggingFilter(new RequestLoggingProperties());
+
+    @Test
+    void usesSuppliedRequestIdForTheRequestOnly() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/tasks");
+        request.addHeader(RequestLoggingFilter.REQUEST_ID_HEADER, "abc-123");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        AtomicReference<String> seen = new AtomicReference<>();
+
+        filter.doFilter(request, response, new MockFilterChain(new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest req, HttpServletResponse res) {
+                seen.set(MDC.get(RequestLoggingFilter.REQUEST_ID_KEY));
+            }
+        }));
+
+        assertEquals("abc-123", seen.get());
+        assertEquals("abc-123", response.getHeader(RequestLoggingFilter.REQUEST_ID_HEADER));
+        assertNull(MDC.get(RequestLoggingFilter.REQUEST_ID_KEY));
+    }
+
+    @Test
+    void replacesUnsafeRequestId() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/tasks");
+        request.addHeader(RequestLoggingFilter.REQUEST_ID_HEADER, "forged\nlog line");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request, response, new MockFilterChain());
+
+        String issued = response.getHeader(RequestLoggingFilter.REQUEST_ID_HEADER);
+        assertNotNull(issued);
+        assertNotEquals("forged\nlog line", issued);
+    }
+}
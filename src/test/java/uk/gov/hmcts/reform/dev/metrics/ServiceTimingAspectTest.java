@@ -0,0 +1,66 @@
+package uk.gov.hmcts.reform.dev.metrics;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import uk.gov.hmcts.reform.dev.cache.TaskCache;
+import uk.gov.hmcts.reform.dev.events.TaskChangeFeed;
+import uk.gov.hmcts.reform.dev.repository.TaskRepository;
+import uk.gov.hmcts.reform.dev.search.TaskSearchIndex;
+import uk.gov.hmcts.reform.dev.service.CaseNumberGenerator;
+import uk.gov.hmcts.reform.dev.service.TaskChangeTracker;
+import uk.gov.hmcts.reform.dev.service.TaskService;
+import uk.gov.hmcts.reform.dev.stats.TaskStatistics;
+
+import java.util.NoSuchElementException;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ServiceTimingAspectTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private TaskRepository taskRepository;
+    private TaskService taskService;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        taskRepository = mock(TaskRepository.class);
+        TaskService target = new TaskService(taskRepository, mock(EntityManager.class), mock(Validator.class),
+                                             mock(TaskCache.class), mock(CaseNumberGenerator.class),
+                                             mock(TaskChangeTracker.class), mock(TaskChangeFeed.class),
+                                             mock(TaskSearchIndex.class), mock(TaskStatistics.class));
+        AspectJProxyFactory proxyFactory = new AspectJProxyFactory(target);
+        proxyFactory.setProxyTargetClass(true);
+        proxyFactory.addAspect(new ServiceTimingAspect(meterRegistry));
+        taskService = proxyFactory.getProxy();
+    }
+
+    @Test
+    void timesEachCallByMethod() {
+        taskService.getTasksLastModified();
+        taskService.getTasksLastModified();
+
+        assertEquals(2, meterRegistry.get(ServiceTimingAspect.TIMER)
+            .tags("method", "getTasksLastModified", "exception", "none")
+            .timer().count());
+    }
+
+    @Test
+    void tagsFailuresWithExceptionType() {
+        when(taskRepository.findVersionById(5L)).thenReturn(Optional.empty());
+
+        assertThrows(NoSuchElementException.class, () -> taskService.getTaskVersion(5L));
+
+        assertEquals(1, meterRegistry.get(ServiceTimingAspect.TIMER)
+            .tags("method", "getTaskVersion", "exception", "NoSuchElementException")
+            .timer().count());
+    }
+}
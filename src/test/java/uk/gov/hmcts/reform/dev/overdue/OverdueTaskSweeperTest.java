@@ -0,0 +1,99 @@
+package uk.gov.hmcts.reform.dev.overdue;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import uk.gov.hmcts.reform.dev.dto.TaskState;
+import uk.gov.hmcts.reform.dev.models.Status;
+import uk.gov.hmcts.reform.dev.repository.TaskRepository;
+import uk.gov.hmcts.reform.dev.service.DatabaseLease;
+import uk.gov.hmcts.reform.dev.service.TaskService;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class OverdueTaskSweeperTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2026, 3, 2, 12, 30);
+
+    private TaskService taskService;
+    private TaskRepository taskRepository;
+    private DatabaseLease lease;
+    private MeterRegistry meterRegistry;
+    private OverdueTaskSweeper sweeper;
+
+    @BeforeEach
+    void setUp() {
+        taskService = mock(TaskService.class);
+        taskRepository = mock(TaskRepository.class);
+        lease = mock(DatabaseLease.class);
+        meterRegistry = new SimpleMeterRegistry();
+        OverdueSweepProperties properties = new OverdueSweepProperties();
+        properties.setBatchSize(2);
+        ZoneId zone = ZoneId.systemDefault();
+        sweeper = new OverdueTaskSweeper(taskService, taskRepository, lease, properties, meterRegistry,
+                                         Clock.fixed(NOW.atZone(zone).toInstant(), zone));
+    }
+
+    @Test
+    void carriesOnFromTheLastTaskOfEachBatch() {
+        TaskState first = state(4L, NOW.minusDays(2));
+        TaskState second = state(1L, NOW.minusDays(1));
+        TaskState third = state(7L, NOW.minusHours(1));
+        when(lease.tryAcquire(any(), any())).thenReturn(true);
+        when(taskService.markOverdue(NOW, null, 2)).thenReturn(List.of(first, second));
+        when(taskService.markOverdue(NOW, second, 2)).thenReturn(List.of(third));
+
+        assertEquals(3, sweeper.sweep());
+
+        assertEquals(3, meterRegistry.get("tasks.overdue.marked").counter().count());
+        assertEquals(2, meterRegistry.get("tasks.overdue.batch").timer().count());
+    }
+
+    @Test
+    void stopsAfterAFullBatchWhenNothingIsLeft() {
+        when(lease.tryAcquire(any(), any())).thenReturn(true);
+        TaskState last = state(2L, NOW.minusDays(1));
+        when(taskService.markOverdue(NOW, null, 2)).thenReturn(List.of(state(1L, NOW.minusDays(1)), last));
+        when(taskService.markOverdue(NOW, last, 2)).thenReturn(List.of());
+
+        assertEquals(2, sweeper.sweep());
+
+        verify(taskService).markOverdue(NOW, last, 2);
+    }
+
+    @Test
+    void leavesSweepingToTheLeaseHolder() {
+        when(lease.tryAcquire(any(), any())).thenReturn(false);
+
+        assertEquals(0, sweeper.sweep());
+
+        verifyNoInteractions(taskService);
+    }
+
+    @Test
+    void reportsHowLongTheOldestPendingTaskHasBeenDue() {
+        when(taskRepository.findEarliestDueDate(Status.PENDING)).thenReturn(NOW.minusMinutes(3));
+        sweeper.measureLag();
+        assertEquals(180, meterRegistry.get("tasks.overdue.lag").timeGauge().value(TimeUnit.SECONDS));
+
+        when(taskRepository.findEarliestDueDate(Status.PENDING)).thenReturn(NOW.plusDays(1));
+        sweeper.measureLag();
+        assertEquals(0, meterRegistry.get("tasks.overdue.lag").timeGauge().value(TimeUnit.SECONDS));
+    }
+
+    private static TaskState state(Long id, LocalDateTime dueDate) {
+        return new TaskState(id, Status.PENDING, dueDate);
+    }
+}
@@ -0,0 +1,95 @@
+package uk.gov.hmcts.reform.dev.ratelimit;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class AdaptiveConcurrencyLimiterTest {
+
+    private static final long MILLI = 1_000_000;
+
+    private MeterRegistry meterRegistry;
+    private RateLimitProperties.Concurrency properties;
+    private AdaptiveConcurrencyLimiter limiter;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        properties = new RateLimitProperties.Concurrency();
+        properties.setInitialLimit(10);
+        properties.setMinLimit(2);
+        properties.setMaxLimit(11);
+        limiter = new AdaptiveConcurrencyLimiter(properties, meterRegistry);
+    }
+
+    @Test
+    void growsWhileRequestsPressAgainstTheLimit() {
+        window(10, 5 * MILLI);
+        assertEquals(11, limiter.getLimit());
+
+        window(11, 5 * MILLI);
+        assertEquals(11, limiter.getLimit());
+    }
+
+    @Test
+    void holdsWhenThereIsRoomToSpare() {
+        window(3, 5 * MILLI);
+        assertEquals(10, limiter.getLimit());
+    }
+
+    @Test
+    void backsOffWhenLatencyRises() {
+        window(3, 5 * MILLI);
+        window(3, 20 * MILLI);
+        assertEquals(9, limiter.getLimit());
+    }
+
+    @Test
+    void backsOffWhenRequestsWaitForTheConnectionPool() {
+        Timer poolWait = Timer.builder(AdaptiveConcurrencyLimiter.POOL_WAIT_TIMER).register(meterRegistry);
+        window(3, 5 * MILLI);
+
+        poolWait.record(Duration.ofMillis(200));
+        window(3, 5 * MILLI);
+        assertEquals(9, limiter.getLimit());
+
+        // Only waits since the previous window count
+        window(3, 5 * MILLI);
+        assertEquals(9, limiter.getLimit());
+    }
+
+    @Test
+    void leavesPoolWaitsToThePoolSizerWhileItCanStillGrowThePool() {
+        AtomicBoolean poolCanGrow = new AtomicBoolean(true);
+        limiter = new AdaptiveConcurrencyLimiter(properties, meterRegistry, poolCanGrow::get);
+        Timer poolWait = Timer.builder(AdaptiveConcurrencyLimiter.POOL_WAIT_TIMER).register(meterRegistry);
+        window(3, 5 * MILLI);
+
+        poolWait.record(Duration.ofMillis(200));
+        window(3, 5 * MILLI);
+        assertEquals(10, limiter.getLimit());
+
+        poolCanGrow.set(false);
+        poolWait.record(Duration.ofMillis(200));
+        window(3, 5 * MILLI);
+        assertEquals(9, limiter.getLimit());
+    }
+
+    // Runs requests concurrently, each taking the given latency, then ends the window
+    private void window(int concurrent, long latency) {
+        for (int i = 0; i < concurrent; i++) {
+            limiter.tryAcquire();
+        }
+        for (int i = 0; i < concurrent; i++) {
+            limiter.release(latency);
+        }
+        limiter.adjust();
+    }
+}
@@ -0,0 +1,97 @@
+package uk.gov.hmcts.reform.dev.ratelimit;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+import uk.gov.hmcts.reform.dev.exception.OverloadedException;
+import uk.gov.hmcts.reform.dev.exception.RateLimitedException;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RateLimitInterceptorTest {
+
+    private final MockHttpServletResponse response = new MockHttpServletResponse();
+    private HandlerMethod handler;
+    private MeterRegistry meterRegistry;
+    private RateLimitProperties properties;
+
+    @BeforeEach
+    void setUp() throws NoSuchMethodException {
+        handler = new HandlerMethod(new Object(), Object.class.getMethod("toString"));
+        meterRegistry = new SimpleMeterRegistry();
+        properties = new RateLimitProperties();
+        properties.setDefaults(new RateLimitProperties.Limit(1, 2));
+        properties.setEndpoints(Map.of("GET /tasks/{id}", new RateLimitProperties.Limit(1, 3)));
+    }
+
+    @Test
+    void limitsEachClientOnEachEndpointSeparately() {
+        RateLimitInterceptor interceptor = interceptor(null);
+
+        assertTrue(interceptor.preHandle(request("GET", "/tasks", "a"), response, handler));
+        assertTrue(interceptor.preHandle(request("GET", "/tasks", "a"), response, handler));
+        RateLimitedException rejected = assertThrows(RateLimitedException.class,
+            () -> interceptor.preHandle(request("GET", "/tasks", "a"), response, handler));
+
+        assertTrue(rejected.getRetryAfter().toMillis() > 0);
+        assertTrue(interceptor.preHandle(request("GET", "/tasks", "b"), response, handler));
+        assertTrue(interceptor.preHandle(request("POST", "/tasks", "a"), response, handler));
+        assertEquals(1, meterRegistry.get("tasks.ratelimit.rejected")
+            .tag("endpoint", "GET /tasks").tag("reason", "rate").counter().count());
+    }
+
+    @Test
+    void appliesEndpointSpecificLimits() {
+        RateLimitInterceptor interceptor = interceptor(null);
+
+        for (int i = 0; i < 3; i++) {
+            assertTrue(interceptor.preHandle(request("GET", "/tasks/{id}", "a"), response, handler));
+        }
+        assertThrows(RateLimitedException.class,
+            () -> interceptor.preHandle(request("GET", "/tasks/{id}", "a"), response, handler));
+    }
+
+    @Test
+    void shedsRequestsOverTheConcurrencyLimit() {
+        properties.setDefaults(new RateLimitProperties.Limit(1000, 1000));
+        RateLimitProperties.Concurrency concurrency = new RateLimitProperties.Concurrency();
+        concurrency.setInitialLimit(1);
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(concurrency, meterRegistry);
+        RateLimitInterceptor interceptor = interceptor(limiter);
+
+        MockHttpServletRequest first = request("GET", "/tasks", "a");
+        interceptor.preHandle(first, response, handler);
+        assertThrows(OverloadedException.class,
+            () -> interceptor.preHandle(request("GET", "/tasks", "b"), response, handler));
+
+        interceptor.afterCompletion(first, response, handler, null);
+        MockHttpServletRequest streamed = request("GET", "/tasks/events", "b");
+        assertTrue(interceptor.preHandle(streamed, response, handler));
+        // A streamed response frees its slot once streaming starts, and only once
+        interceptor.afterConcurrentHandlingStarted(streamed, response, handler);
+        interceptor.afterCompletion(streamed, response, handler, null);
+        assertTrue(interceptor.preHandle(request("GET", "/tasks", "c"), response, handler));
+        assertEquals(1, meterRegistry.get("tasks.ratelimit.rejected").tag("reason", "concurrency").counter().count());
+    }
+
+    private RateLimitInterceptor interceptor(AdaptiveConcurrencyLimiter concurrencyLimiter) {
+        return new RateLimitInterceptor(new ClientRateLimiter(properties, meterRegistry), concurrencyLimiter,
+                                        properties, meterRegistry);
+    }
+
+    private static MockHttpServletRequest request(String method, String pattern, String client) {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, pattern);
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, pattern);
+        request.addHeader("X-Api-Key", client);
+        return request;
+    }
+}
@@ -0,0 +1,49 @@
+package uk.gov.hmcts.reform.dev.ratelimit;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.core.NestedExceptionUtils;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Limits are checked as they are bound, so a bad one stops the application starting rather than every request
+class RateLimitPropertiesTest {
+
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+        .withUserConfiguration(RateLimitConfig.class)
+        .withBean(MeterRegistry.class, SimpleMeterRegistry::new)
+        .withPropertyValues("tasks.rate-limit.enabled=true", "tasks.rate-limit.concurrency.enabled=false");
+
+    @Test
+    void acceptsPositiveLimits() {
+        contextRunner
+            .withPropertyValues("tasks.rate-limit.endpoints.[GET /tasks].permits-per-second=0.5",
+                                "tasks.rate-limit.endpoints.[GET /tasks].burst=1")
+            .run(context -> assertNull(context.getStartupFailure()));
+    }
+
+    @Test
+    void rejectsAZeroDefaultRate() {
+        contextRunner
+            .withPropertyValues("tasks.rate-limit.defaults.permits-per-second=0")
+            .run(context -> assertRejected(context.getStartupFailure(), "defaults.permitsPerSecond"));
+    }
+
+    @Test
+    void rejectsANonPositiveEndpointBurst() {
+        contextRunner
+            .withPropertyValues("tasks.rate-limit.endpoints.[GET /tasks].permits-per-second=20",
+                                "tasks.rate-limit.endpoints.[GET /tasks].burst=0")
+            .run(context -> assertRejected(context.getStartupFailure(), "burst"));
+    }
+
+    private static void assertRejected(Throwable failure, String field) {
+        assertNotNull(failure);
+        String reason = NestedExceptionUtils.getMostSpecificCause(failure).getMessage();
+        assertTrue(reason.contains("on field '") && reason.contains(field), reason);
+    }
+}
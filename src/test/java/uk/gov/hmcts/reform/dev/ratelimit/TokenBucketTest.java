@@ -0,0 +1,33 @@
+package uk.gov.hmcts.reform.dev.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TokenBucketTest {
+
+    private static final long SECOND = 1_000_000_000L;
+
+    @Test
+    void allowsABurstThenOneTokenPerInterval() {
+        TokenBucket bucket = new TokenBucket(2, 3, 0);
+
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0, bucket.tryAcquire(0));
+        }
+        assertEquals(SECOND / 2, bucket.tryAcquire(0));
+        assertEquals(0, bucket.tryAcquire(SECOND / 2));
+    }
+
+    @Test
+    void extremeRatesDoNotOverflow() {
+        // Overflowing interval x burst would wrap negative and let every request through
+        TokenBucket slow = new TokenBucket(Double.MIN_VALUE, Integer.MAX_VALUE, 0);
+        assertEquals(0, slow.tryAcquire(0));
+        assertTrue(slow.tryAcquire(SECOND) > 0);
+
+        TokenBucket fast = new TokenBucket(1e12, 1, 0);
+        assertEquals(0, fast.tryAcquire(0));
+    }
+}
@@ -0,0 +1,207 @@
+package uk.gov.hmcts.reform.dev.reactive;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentMatchers;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import uk.gov.hmcts.reform.dev.cache.TaskCache;
+import uk.gov.hmcts.reform.dev.dto.TaskEvent;
+import uk.gov.hmcts.reform.dev.dto.TaskPage;
+import uk.gov.hmcts.reform.dev.dto.TaskRequest;
+import uk.gov.hmcts.reform.dev.dto.TaskResponse;
+import uk.gov.hmcts.reform.dev.dto.TaskState;
+import uk.gov.hmcts.reform.dev.events.TaskChangeFeed;
+import uk.gov.hmcts.reform.dev.exception.TaskVersionConflictException;
+import uk.gov.hmcts.reform.dev.models.Status;
+import uk.gov.hmcts.reform.dev.search.TaskSearchIndex;
+import uk.gov.hmcts.reform.dev.service.CaseNumberGenerator;
+import uk.gov.hmcts.reform.dev.service.TaskChangeTracker;
+import uk.gov.hmcts.reform.dev.service.TaskIdAllocator;
+import uk.gov.hmcts.reform.dev.stats.TaskStatistics;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class ReactiveTaskServiceTest {
+
+    private static final LocalDateTime DUE = LocalDateTime.of(2026, 3, 9, 12, 0);
+
+    private ReactiveTaskRepository repository;
+    private TaskIdAllocator idAllocator;
+    private CaseNumberGenerator caseNumberGenerator;
+    private TaskCache taskCache;
+    private TaskChangeTracker changeTracker;
+    private TaskChangeFeed changeFeed;
+    private TaskSearchIndex searchIndex;
+    private TaskStatistics statistics;
+    private ReactiveTaskService service;
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(ReactiveTaskRepository.class);
+        idAllocator = mock(TaskIdAllocator.class);
+        caseNumberGenerator = mock(CaseNumberGenerator.class);
+        taskCache = mock(TaskCache.class);
+        changeTracker = mock(TaskChangeTracker.class);
+        changeFeed = mock(TaskChangeFeed.class);
+        searchIndex = mock(TaskSearchIndex.class);
+        statistics = mock(TaskStatistics.class);
+        // Runs the unit of work as it is; commit and rollback are the operator's concern, not the service's
+        TransactionalOperator transactions = mock(TransactionalOperator.class);
+        when(transactions.transactional(ArgumentMatchers.<Mono<Object>>any()))
+            .thenAnswer(invocation -> invocation.getArgument(0));
+        service = new ReactiveTaskService(repository, transactions, idAllocator, caseNumberGenerator, taskCache,
+                                          changeTracker, changeFeed, searchIndex, statistics);
+    }
+
+    @Test
+    void createAssignsIdAndCaseNumberThenAppliesSideEffects() {
+        when(idAllocator.next()).thenReturn(7L);
+        when(caseNumberGenerator.next()).thenReturn("CASE-7");
+        when(repository.insert(any())).thenReturn(Mono.just(1L));
+        TaskRequest request = new TaskRequest();
+        request.setTitle("Review");
+        request.setDueDate(DUE);
+
+        TaskResponse created = service.createTask(request).block();
+
+        assertNotNull(created);
+        assertEquals(7L, created.getId());
+        assertEquals("CASE-7", created.getCaseNumber());
+        assertEquals(Status.PENDING, created.getStatus());
+        assertEquals(0L, created.getVersion());
+        verify(repository).insert(created);
+        verify(taskCache).put(created);
+        verify(searchIndex).index(created);
+        verify(statistics).added(Status.PENDING, DUE);
+        verify(changeFeed).publishAfterCommit(any(TaskEvent.class));
+    }
+
+    @Test
+    void failedInsertLeavesNoSideEffects() {
+        when(idAllocator.next()).thenReturn(7L);
+        when(caseNumberGenerator.next()).thenReturn("CASE-7");
+        when(repository.insert(any())).thenReturn(Mono.error(new IllegalStateException("database unavailable")));
+        TaskRequest request = new TaskRequest();
+        request.setTitle("Review");
+
+        assertThrows(IllegalStateException.class, () -> service.createTask(request).block());
+        verifyNoInteractions(taskCache, searchIndex, statistics, changeFeed);
+    }
+
+    @Test
+    void cachedTaskIsServedWithoutReadingTheTable() {
+        TaskResponse cached = task(3L, Status.PENDING, 1L);
+        when(taskCache.getIfPresent(3L)).thenReturn(cached);
+
+        assertSame(cached, service.getTaskById(3L).block());
+        verifyNoInteractions(repository);
+    }
+
+    @Test
+    void missingTaskIsNotFound() {
+        when(repository.findById(3L)).thenReturn(Mono.empty());
+
+        assertThrows(NoSuchElementException.class, () -> service.getTaskById(3L).block());
+    }
+
+    @Test
+    void pageWithAnExtraRowCarriesACursor() {
+        when(repository.findPage(any(), any(), any(), eq(3))).thenReturn(
+            Flux.just(task(5L, Status.PENDING, 0L), task(4L, Status.PENDING, 0L), task(3L, Status.PENDING, 0L)));
+
+        TaskPage page = service.findTasks(null, null, 2).block();
+
+        assertNotNull(page);
+        assertEquals(List.of(5L, 4L), page.getItems().stream().map(TaskResponse::getId).toList());
+        assertNotNull(page.getNextCursor());
+    }
+
+    @Test
+    void lastPageHasNoCursor() {
+        when(repository.findPage(any(), any(), any(), eq(3))).thenReturn(Flux.just(task(5L, Status.PENDING, 0L)));
+
+        TaskPage page = service.findTasks(null, null, 2).block();
+
+        assertNotNull(page);
+        assertEquals(1, page.getItems().size());
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    void statusChangeMovesTheCounters() {
+        when(repository.lockById(3L)).thenReturn(Mono.just(task(3L, Status.PENDING, 1L)));
+        when(repository.updateStatusIfVersion(eq(3L), eq(Status.COMPLETED), eq(1L), any()))
+            .thenReturn(Mono.just(1L));
+
+        TaskResponse updated = service.updateTaskStatus(3L, "COMPLETED", 1L).block();
+
+        // Built from the row that was replaced, not read back
+        assertNotNull(updated);
+        assertEquals(Status.COMPLETED, updated.getStatus());
+        assertEquals(2L, updated.getVersion());
+        assertEquals("Task 3", updated.getTitle());
+        verify(repository, never()).findById(any());
+        verify(taskCache).put(updated);
+        verify(statistics).statusChanged(Status.PENDING, Status.COMPLETED, DUE);
+    }
+
+    @Test
+    void staleVersionIsAConflict() {
+        when(repository.lockById(3L)).thenReturn(Mono.just(task(3L, Status.PENDING, 2L)));
+
+        assertThrows(TaskVersionConflictException.class,
+            () -> service.updateTaskStatus(3L, "COMPLETED", 1L).block());
+        verify(repository, never()).updateStatusIfVersion(any(), any(), any(), any());
+        verify(taskCache, never()).put(any());
+        verifyNoInteractions(statistics);
+    }
+
+    @Test
+    void deleteRecordsTheMarkerAndForgetsTheTask() {
+        when(repository.findStateById(3L)).thenReturn(Mono.just(new TaskState(3L, Status.PENDING, DUE)));
+        when(repository.deleteById(3L)).thenReturn(Mono.just(1L));
+        when(repository.touchChangeMarker(eq(TaskChangeTracker.DELETED_MARKER), any())).thenReturn(Mono.just(1L));
+
+        service.deleteTask(3L).block();
+
+        verify(taskCache).evict(3L);
+        verify(searchIndex).remove(List.of(3L));
+        verify(statistics).removed(Status.PENDING, DUE);
+    }
+
+    @Test
+    void deletingAMissingTaskStillSucceeds() {
+        when(repository.findStateById(3L)).thenReturn(Mono.empty());
+
+        service.deleteTask(3L).block();
+
+        // Nothing changed, so neither the delete marker nor the feed moves
+        verify(repository, never()).deleteById(any());
+        verify(repository, never()).touchChangeMarker(any(), any());
+        verifyNoInteractions(statistics, changeFeed);
+    }
+
+    private static TaskResponse task(Long id, Status status, Long version) {
+        TaskResponse task = new TaskResponse(id, "Task " + id, "CASE-" + id, null, status, DUE);
+        task.setVersion(version);
+        task.setLastModified(DUE.minusDays(id));
+        return task;
+    }
+}
@@ -0,0 +1,74 @@
+package uk.gov.hmcts.reform.dev.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import uk.gov.hmcts.reform.dev.dto.TaskResponse;
+import uk.gov.hmcts.reform.dev.models.Status;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class InMemoryTaskSearchIndexTest {
+
+    private InMemoryTaskSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new InMemoryTaskSearchIndex();
+        index.index(task(1L, "Review hearing bundle", "Check the bundle before the hearing"));
+        index.index(task(2L, "File witness statement", "Statement mentions the hearing date"));
+        index.index(task(3L, "Archive closed case", null));
+    }
+
+    @Test
+    void ranksTitleMatchesAboveDescriptionMatches() {
+        assertEquals(List.of(1L, 2L), index.search("hearing", 0, 10));
+    }
+
+    @Test
+    void matchesAnyQueryWordIgnoringCaseAndPunctuation() {
+        assertEquals(List.of(3L, 2L), index.search("ARCHIVE, witness!", 0, 10));
+    }
+
+    @Test
+    void ranksTasksMatchingMoreWordsFirst() {
+        List<Long> ranked = index.search("hearing bundle", 0, 10);
+
+        assertEquals(1L, ranked.get(0));
+    }
+
+    @Test
+    void pagesThroughRankedResults() {
+        assertEquals(List.of(1L), index.search("hearing", 0, 1));
+        assertEquals(List.of(2L), index.search("hearing", 1, 1));
+        assertTrue(index.search("hearing", 2, 1).isEmpty());
+    }
+
+    @Test
+    void reindexingReplacesEarlierEntry() {
+        index.index(task(3L, "Archive hearing notes", null));
+
+        assertEquals(3, index.size());
+        assertTrue(index.search("closed", 0, 10).isEmpty());
+        assertTrue(index.search("hearing", 0, 10).contains(3L));
+    }
+
+    @Test
+    void removedTasksAreNotFound() {
+        index.remove(List.of(1L, 2L));
+
+        assertTrue(index.search("hearing", 0, 10).isEmpty());
+        assertEquals(1, index.size());
+    }
+
+    @Test
+    void unknownWordsMatchNothing() {
+        assertTrue(index.search("adjournment", 0, 10).isEmpty());
+    }
+
+    private static TaskResponse task(Long id, String title, String description) {
+        return new TaskResponse(id, title, "CASE-" + id, description, Status.PENDING, null);
+    }
+}
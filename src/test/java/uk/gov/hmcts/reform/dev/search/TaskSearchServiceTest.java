@@ -0,0 +1,87 @@
+package uk.gov.hmcts.reform.dev.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import uk.gov.hmcts.reform.dev.dto.TaskPage;
+import uk.gov.hmcts.reform.dev.dto.TaskResponse;
+import uk.gov.hmcts.reform.dev.models.Status;
+import uk.gov.hmcts.reform.dev.repository.TaskRepository;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class TaskSearchServiceTest {
+
+    private TaskSearchIndex searchIndex;
+    private TaskRepository taskRepository;
+    private TaskSearchService searchService;
+
+    @BeforeEach
+    void setUp() {
+        searchIndex = mock(TaskSearchIndex.class);
+        taskRepository = mock(TaskRepository.class);
+        TaskSearchProperties properties = new TaskSearchProperties();
+        properties.setMaxResults(4);
+        searchService = new TaskSearchService(searchIndex, taskRepository, properties);
+    }
+
+    @Test
+    void keepsIndexRankingAndSkipsDeletedTasks() {
+        when(searchIndex.search("hearing", 0, 4)).thenReturn(List.of(5L, 9L, 2L));
+        // Rows come back in any order; 9 was deleted after it was ranked
+        when(taskRepository.findResponsesByIds(List.of(5L, 9L, 2L))).thenReturn(List.of(task(2L), task(5L)));
+
+        TaskPage page = searchService.search("  hearing ", null, 3);
+
+        assertEquals(List.of(5L, 2L), page.getItems().stream().map(TaskResponse::getId).toList());
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    void issuesCursorWhenMoreMatchesExist() {
+        when(searchIndex.search("hearing", 0, 3)).thenReturn(List.of(5L, 9L, 2L));
+        when(taskRepository.findResponsesByIds(List.of(5L, 9L))).thenReturn(List.of(task(5L), task(9L)));
+        when(searchIndex.search("hearing", 2, 3)).thenReturn(List.of(2L));
+        when(taskRepository.findResponsesByIds(List.of(2L))).thenReturn(List.of(task(2L)));
+
+        TaskPage first = searchService.search("hearing", null, 2);
+        TaskPage second = searchService.search("hearing", first.getNextCursor(), 2);
+
+        assertEquals(2, first.getItems().size());
+        assertEquals(List.of(2L), second.getItems().stream().map(TaskResponse::getId).toList());
+        assertNull(second.getNextCursor());
+    }
+
+    @Test
+    void stopsPagingAtMaxResults() {
+        when(searchIndex.search("hearing", 2, 3)).thenReturn(List.of(1L, 2L, 3L));
+        when(taskRepository.findResponsesByIds(List.of(1L, 2L))).thenReturn(List.of(task(1L), task(2L)));
+
+        TaskPage page = searchService.search("hearing", SearchCursor.encode(2), 10);
+
+        assertEquals(2, page.getItems().size());
+        assertNull(page.getNextCursor());
+        assertThrows(IllegalArgumentException.class,
+            () -> searchService.search("hearing", SearchCursor.encode(4), 10));
+    }
+
+    @Test
+    void rejectsBlankQueryAndForeignCursor() {
+        assertThrows(IllegalArgumentException.class, () -> searchService.search(" ", null, 10));
+        assertThrows(IllegalArgumentException.class, () -> searchService.search("hearing", "not-a-cursor", 10));
+        verify(searchIndex, never()).search(anyString(), anyInt(), anyInt());
+    }
+
+    private static TaskResponse task(Long id) {
+        return new TaskResponse(id, "Task " + id, "CASE-" + id, null, Status.PENDING, null);
+    }
+}
@@ -0,0 +1,142 @@
+package uk.gov.hmcts.reform.dev.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BlockCaseNumberGeneratorTest {
+
+    // Reserves on the calling thread
+    private static final Executor DIRECT = Runnable::run;
+
+    @Test
+    void formatsWithPrefixAndMinimumDigits() {
+        BlockCaseNumberGenerator generator = new BlockCaseNumberGenerator("CASE-", 8, 10, 1, size -> 42, DIRECT);
+
+        assertEquals("CASE-00000042", generator.next());
+        assertEquals("CASE-00000043", generator.next());
+    }
+
+    @Test
+    void reservesNewBlockWhenExhausted() {
+        AtomicLong highWater = new AtomicLong(1);
+        AtomicInteger reservations = new AtomicInteger();
+        BlockCaseNumberGenerator generator = new BlockCaseNumberGenerator("CASE-", 1, 3, 1, size -> {
+            reservations.incrementAndGet();
+            return highWater.getAndAdd(size);
+        }, DIRECT);
+
+        for (int i = 1; i <= 7; i++) {
+            assertEquals("CASE-" + i, generator.next());
+        }
+        // Three blocks in use and a spare reserved ahead
+        assertEquals(4, reservations.get());
+    }
+
+    @Test
+    void reservesOnThePrefetcherRatherThanTheCallersThread() {
+        Set<Thread> reservingThreads = ConcurrentHashMap.newKeySet();
+        AtomicLong highWater = new AtomicLong(1);
+        ExecutorService prefetcher = Executors.newSingleThreadExecutor();
+        try {
+            BlockCaseNumberGenerator generator = new BlockCaseNumberGenerator("CASE-", 1, 2, 1, size -> {
+                reservingThreads.add(Thread.currentThread());
+                return highWater.getAndAdd(size);
+            }, prefetcher);
+
+            for (int i = 1; i <= 5; i++) {
+                assertEquals("CASE-" + i, generator.next());
+            }
+        } finally {
+            prefetcher.shutdownNow();
+        }
+
+        assertEquals(1, reservingThreads.size());
+        assertFalse(reservingThreads.contains(Thread.currentThread()));
+    }
+
+    @Test
+    void failedReservationIsRetriedByTheNextCaller() {
+        AtomicInteger calls = new AtomicInteger();
+        BlockCaseNumberGenerator generator = new BlockCaseNumberGenerator("CASE-", 1, 10, 1, size -> {
+            if (calls.incrementAndGet() == 1) {
+                throw new IllegalStateException("database unavailable");
+            }
+            return 100;
+        }, DIRECT);
+
+        assertEquals("CASE-100", generator.next());
+        // The failed spare, its retry and the next spare
+        assertEquals(3, calls.get());
+    }
+
+    @Test
+    void rejectsNonPositiveBlockSize() {
+        assertThrows(IllegalArgumentException.class,
+            () -> new BlockCaseNumberGenerator("CASE-", 8, 0, 1, size -> 1, DIRECT));
+    }
+
+    // Several "nodes" share one allocator, as they would share the case_number_sequence row,
+    // and many threads per node create concurrently with small blocks to force frequent refills
+    @Test
+    void concurrentCreatesAcrossNodesNeverRepeat() throws Exception {
+        final int nodes = 4;
+        final int threadsPerNode = 16;
+        final int perThread = 5_000;
+
+        AtomicLong highWater = new AtomicLong(1);
+        CaseNumberBlockAllocator allocator = size -> highWater.getAndAdd(size);
+        ExecutorService prefetcher = Executors.newSingleThreadExecutor();
+        List<CaseNumberGenerator> generators = new ArrayList<>();
+        for (int n = 0; n < nodes; n++) {
+            generators.add(new BlockCaseNumberGenerator("CASE-", 8, 64, 8, allocator, prefetcher));
+        }
+
+        Set<String> seen = ConcurrentHashMap.newKeySet();
+        AtomicInteger duplicates = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(nodes * threadsPerNode);
+        try {
+            List<Future<?>> workers = new ArrayList<>();
+            for (CaseNumberGenerator generator : generators) {
+                for (int t = 0; t < threadsPerNode; t++) {
+                    workers.add(pool.submit(() -> {
+                        start.await();
+                        for (int i = 0; i < perThread; i++) {
+                            if (!seen.add(generator.next())) {
+                                duplicates.incrementAndGet();
+                            }
+                        }
+                        return null;
+                    }));
+                }
+            }
+            start.countDown();
+            for (Future<?> worker : workers) {
+                worker.get();
+            }
+        } finally {
+            pool.shutdownNow();
+            prefetcher.shutdownNow();
+        }
+
+        assertEquals(0, duplicates.get());
+        assertEquals(nodes * threadsPerNode * perThread, seen.size());
+        assertTrue(highWater.get() > nodes * threadsPerNode * perThread);
+    }
+}
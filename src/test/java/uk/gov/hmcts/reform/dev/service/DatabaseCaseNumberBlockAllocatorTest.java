@@ -0,0 +1,101 @@
+package uk.gov.hmcts.reform.dev.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import uk.gov.hmcts.reform.dev.repository.CaseNumberSequenceRepository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+// Runs against an embedded H2 database built from the entities; each test commits, so each reserves from where
+// the previous one left the sequence row
+@DataJpaTest(properties = {
+    "spring.flyway.enabled=false",
+    "spring.jpa.hibernate.ddl-auto=create-drop"
+})
+@Import(DatabaseCaseNumberBlockAllocator.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class DatabaseCaseNumberBlockAllocatorTest {
+
+    private static final int BLOCK = 100;
+
+    @Autowired
+    private DatabaseCaseNumberBlockAllocator allocator;
+
+    @Autowired
+    private CaseNumberSequenceRepository repository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void consecutiveReservationsAreAdjacentBlocks() {
+        long first = allocator.reserve(BLOCK);
+        long second = allocator.reserve(BLOCK);
+
+        assertEquals(first + BLOCK, second);
+        assertEquals(second + BLOCK, repository.findNextValue(DatabaseCaseNumberBlockAllocator.SEQUENCE_NAME));
+    }
+
+    @Test
+    void reservationSurvivesTheRollbackOfACallersTransaction() {
+        long before = allocator.reserve(BLOCK);
+
+        TransactionTemplate caller = new TransactionTemplate(transactionManager);
+        assertThrows(IllegalStateException.class, () -> caller.executeWithoutResult(status -> {
+            allocator.reserve(BLOCK);
+            throw new IllegalStateException("caller fails after reserving");
+        }));
+
+        // The block taken inside the rolled back transaction is never handed out again
+        assertEquals(before + 2 * BLOCK, allocator.reserve(BLOCK));
+    }
+
+    @Test
+    void concurrentReservationsNeverOverlap() throws Exception {
+        final int threads = 8;
+        final int perThread = 20;
+        Set<Long> starts = ConcurrentHashMap.newKeySet();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> workers = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                workers.add(pool.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < perThread; i++) {
+                        starts.add(allocator.reserve(BLOCK));
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> worker : workers) {
+                worker.get();
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        assertEquals(threads * perThread, starts.size());
+        long lowest = starts.stream().min(Long::compare).orElseThrow();
+        for (long blockStart : starts) {
+            assertEquals(0, (blockStart - lowest) % BLOCK);
+        }
+    }
+}
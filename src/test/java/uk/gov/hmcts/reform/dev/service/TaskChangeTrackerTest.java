@@ -0,0 +1,109 @@
+package uk.gov.hmcts.reform.dev.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import uk.gov.hmcts.reform.dev.repository.TaskChangeMarkerRepository;
+import uk.gov.hmcts.reform.dev.repository.TaskRepository;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TaskChangeTrackerTest {
+
+    private static final LocalDateTime UPDATED = LocalDateTime.of(2025, 10, 12, 10, 0);
+    private static final LocalDateTime DELETED = LocalDateTime.of(2025, 10, 12, 11, 0);
+    private static final LocalDateTime COMMITTED = LocalDateTime.of(2025, 10, 12, 12, 0);
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    @Mock
+    private TaskChangeMarkerRepository markerRepository;
+
+    @Test
+    void pollsWithinRefreshIntervalDoNotQueryTheDatabase() {
+        when(taskRepository.findLastUpdated()).thenReturn(UPDATED);
+        TaskChangeTracker tracker = new TaskChangeTracker(taskRepository, markerRepository, Duration.ofHours(1));
+
+        long first = tracker.lastModified();
+        for (int i = 0; i < 100; i++) {
+            assertEquals(first, tracker.lastModified());
+        }
+
+        assertEquals(millis(UPDATED), first);
+        verify(taskRepository, times(1)).findLastUpdated();
+    }
+
+    @Test
+    void deleteMarkerFromAnotherNodeMovesTheMarker() {
+        when(taskRepository.findLastUpdated()).thenReturn(UPDATED);
+        when(markerRepository.findChangedAt(TaskChangeTracker.DELETED_MARKER)).thenReturn(DELETED);
+        TaskChangeTracker tracker = new TaskChangeTracker(taskRepository, markerRepository, Duration.ZERO);
+
+        assertEquals(millis(DELETED), tracker.lastModified());
+    }
+
+    @Test
+    void localWriteIsVisibleBeforeNextRefresh() {
+        TaskChangeTracker tracker = tracker(Duration.ofHours(1));
+        tracker.lastModified();
+
+        tracker.markChanged();
+
+        assertEquals(millis(COMMITTED), tracker.lastModified());
+    }
+
+    @Test
+    void localWriteMovesTheMarkerToItsCommitNotItsTimestamp() {
+        when(taskRepository.findLastUpdated()).thenReturn(DELETED);
+        TaskChangeTracker tracker = tracker(Duration.ofHours(1));
+        long seenByClient = tracker.lastModified();
+
+        // The write stamped its row at UPDATED, before the marker the client holds, and committed at COMMITTED
+        tracker.markChanged();
+
+        assertTrue(tracker.lastModified() > seenByClient);
+    }
+
+    @Test
+    void changeSeenOnRefreshMovesTheMarkerEvenWhenItsTimestampIsOlder() {
+        when(taskRepository.findLastUpdated()).thenReturn(UPDATED, DELETED, DELETED);
+        TaskChangeTracker tracker = tracker(Duration.ZERO);
+        assertEquals(millis(UPDATED), tracker.lastModified());
+
+        assertEquals(millis(COMMITTED), tracker.lastModified());
+        // Unchanged since the last refresh
+        assertEquals(millis(COMMITTED), tracker.lastModified());
+    }
+
+    @Test
+    void markerNeverMovesBackwards() {
+        when(taskRepository.findLastUpdated()).thenReturn(LocalDateTime.of(2025, 10, 12, 13, 0));
+        TaskChangeTracker tracker = tracker(Duration.ofHours(1));
+        long before = tracker.lastModified();
+
+        tracker.markChanged();
+
+        assertEquals(before, tracker.lastModified());
+    }
+
+    private TaskChangeTracker tracker(Duration refreshInterval) {
+        Clock clock = Clock.fixed(COMMITTED.atZone(ZoneId.systemDefault()).toInstant(), ZoneId.systemDefault());
+        return new TaskChangeTracker(taskRepository, markerRepository, refreshInterval, clock);
+    }
+
+    private static long millis(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
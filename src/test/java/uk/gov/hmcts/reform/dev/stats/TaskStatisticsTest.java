@@ -0,0 +1,159 @@
+package uk.gov.hmcts.reform.dev.stats;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import uk.gov.hmcts.reform.dev.dto.TaskStats;
+import uk.gov.hmcts.reform.dev.models.Status;
+import uk.gov.hmcts.reform.dev.repository.TaskRepository;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class TaskStatisticsTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2026, 3, 2, 12, 30);
+    private static final LocalDate TODAY = NOW.toLocalDate();
+
+    private static final ZoneId ZONE = ZoneId.systemDefault();
+
+    private TaskRepository taskRepository;
+    private Clock clock;
+    private TaskStatistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        taskRepository = mock(TaskRepository.class);
+        TaskStatsProperties properties = new TaskStatsProperties();
+        properties.setDueDays(3);
+        clock = mock(Clock.class);
+        when(clock.getZone()).thenReturn(ZONE);
+        setTime(NOW);
+        statistics = new TaskStatistics(taskRepository, properties, clock);
+    }
+
+    @Test
+    void countsTasksAsTheyChange() {
+        statistics.added(Status.PENDING, TODAY.plusDays(1).atTime(9, 0));
+        statistics.added(Status.PENDING, TODAY.plusDays(1).atTime(17, 0));
+        statistics.added(Status.PENDING, null);
+        statistics.statusChanged(Status.PENDING, Status.COMPLETED, TODAY.plusDays(1).atTime(9, 0));
+        statistics.removed(Status.PENDING, null);
+
+        TaskStats stats = statistics.snapshot();
+
+        assertEquals(1L, stats.getByStatus().get(Status.PENDING));
+        assertEquals(1L, stats.getByStatus().get(Status.COMPLETED));
+        assertEquals(2, stats.getTotal());
+        assertEquals(List.of(0L, 1L, 0L), List.copyOf(stats.getDueByDay().values()));
+        assertEquals(TODAY, stats.getDueByDay().keySet().iterator().next());
+        assertNull(stats.getReconciledAt());
+    }
+
+    @Test
+    void countsPendingTasksDueBeforeNowAsOverdue() {
+        statistics.added(Status.PENDING, TODAY.minusDays(3).atTime(10, 0));
+        statistics.added(Status.PENDING, TODAY.atTime(8, 15));
+        statistics.added(Status.PENDING, TODAY.atTime(15, 0));
+        statistics.added(Status.COMPLETED, TODAY.minusDays(1).atTime(10, 0));
+
+        TaskStats stats = statistics.snapshot();
+
+        assertEquals(2, stats.getOverdue());
+        assertEquals(2L, stats.getDueByDay().get(TODAY));
+    }
+
+    @Test
+    void tasksMarkedOverdueStayInTheDueCounts() {
+        statistics.added(Status.PENDING, TODAY.minusDays(1).atTime(10, 0));
+        statistics.added(Status.PENDING, TODAY.atTime(9, 0));
+        statistics.statusChanged(Status.PENDING, Status.OVERDUE, TODAY.minusDays(1).atTime(10, 0));
+        statistics.statusChanged(Status.PENDING, Status.OVERDUE, TODAY.atTime(9, 0));
+
+        TaskStats stats = statistics.snapshot();
+
+        assertEquals(2L, stats.getByStatus().get(Status.OVERDUE));
+        assertEquals(0L, stats.getByStatus().get(Status.PENDING));
+        assertEquals(2, stats.getOverdue());
+        assertEquals(1L, stats.getDueByDay().get(TODAY));
+    }
+
+    @Test
+    void reconcileReplacesDriftedCountsWithTheDatabase() {
+        statistics.added(Status.PENDING, TODAY.minusDays(1).atTime(10, 0));
+        statistics.added(Status.PENDING, TODAY.atTime(8, 0));
+        statistics.added(Status.COMPLETED, null);
+        when(taskRepository.countByStatus()).thenReturn(rows(new Object[] {Status.PENDING, 5L}));
+        when(taskRepository.countByDueDay(TaskStatistics.OPEN)).thenReturn(rows(
+            new Object[] {TODAY.minusDays(2), 1L}, new Object[] {TODAY, 3L}, new Object[] {TODAY.plusDays(2), 1L}));
+        when(taskRepository.countByDueTime(any(), any(), any())).thenReturn(rows(
+            new Object[] {TODAY.atTime(9, 0, 10), 2L}, new Object[] {TODAY.atTime(9, 0, 40), 1L},
+            new Object[] {TODAY.plusDays(1).atTime(9, 0), 1L}));
+
+        statistics.reconcile();
+        TaskStats stats = statistics.snapshot();
+
+        assertEquals(5L, stats.getByStatus().get(Status.PENDING));
+        assertEquals(0L, stats.getByStatus().get(Status.COMPLETED));
+        assertEquals(5, stats.getTotal());
+        // One due two days ago and three due at 09:00 today
+        assertEquals(4, stats.getOverdue());
+        assertEquals(List.of(3L, 0L, 1L), List.copyOf(stats.getDueByDay().values()));
+        assertEquals(NOW, stats.getReconciledAt());
+        // Only today and tomorrow are counted by due time
+        verify(taskRepository).countByDueTime(TaskStatistics.OPEN, TODAY.atStartOfDay(),
+                                              TODAY.plusDays(2).atStartOfDay());
+    }
+
+    @Test
+    void taskDueLaterInTheCurrentMinuteIsNotOverdueYet() {
+        setTime(NOW.plusSeconds(20));
+        statistics.added(Status.PENDING, NOW.plusSeconds(10));
+        statistics.added(Status.PENDING, NOW.plusSeconds(30));
+
+        assertEquals(1, statistics.snapshot().getOverdue());
+
+        setTime(NOW.plusSeconds(30));
+        assertEquals(1, statistics.snapshot().getOverdue());
+
+        setTime(NOW.plusSeconds(31));
+        assertEquals(2, statistics.snapshot().getOverdue());
+    }
+
+    @Test
+    void tasksDueTomorrowBecomeOverdueFromMidnightWithoutAReconcile() {
+        LocalDateTime tomorrow = TODAY.plusDays(1).atTime(0, 5);
+        LocalDateTime dayAfter = TODAY.plusDays(2).atTime(0, 5);
+        statistics.added(Status.PENDING, tomorrow);
+        statistics.added(Status.PENDING, dayAfter);
+
+        setTime(tomorrow.plusMinutes(5));
+        assertEquals(1, statistics.snapshot().getOverdue());
+
+        // The day after was beyond the two days held by time when it was added; a reconcile brings it in
+        setTime(dayAfter.plusMinutes(5));
+        when(taskRepository.countByStatus()).thenReturn(rows(new Object[] {Status.PENDING, 2L}));
+        when(taskRepository.countByDueDay(TaskStatistics.OPEN)).thenReturn(rows(
+            new Object[] {tomorrow.toLocalDate(), 1L}, new Object[] {dayAfter.toLocalDate(), 1L}));
+        when(taskRepository.countByDueTime(any(), any(), any())).thenReturn(rows(new Object[] {dayAfter, 1L}));
+        statistics.reconcile();
+        assertEquals(2, statistics.snapshot().getOverdue());
+    }
+
+    private void setTime(LocalDateTime time) {
+        when(clock.instant()).thenReturn(time.atZone(ZONE).toInstant());
+    }
+
+    private static List<Object[]> rows(Object[]... rows) {
+        return List.of(rows);
+    }
+}
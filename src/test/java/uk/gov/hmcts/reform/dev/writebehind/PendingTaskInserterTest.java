@@ -0,0 +1,80 @@
+package uk.gov.hmcts.reform.dev.writebehind;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+// Runs against an embedded H2 database built from the entities; each insert commits
+@DataJpaTest(properties = {
+    "spring.flyway.enabled=false",
+    "spring.jpa.hibernate.ddl-auto=create-drop"
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class PendingTaskInserterTest {
+
+    private static final LocalDateTime ACCEPTED = LocalDateTime.of(2026, 3, 2, 9, 0);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private PendingTaskInserter inserter;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("delete from task");
+        inserter = new PendingTaskInserter(jdbcTemplate, new TransactionTemplate(transactionManager));
+    }
+
+    @Test
+    void insertsTheBatchAndReturnsItsIds() {
+        Set<Long> inserted = inserter.insert(List.of(task(1L, "CASE-1"), task(2L, "CASE-2")), ACCEPTED);
+
+        assertEquals(Set.of(1L, 2L), inserted);
+        assertEquals(2, count());
+    }
+
+    @Test
+    void replayLeavesRowsAlreadyWrittenAloneAndLeavesThemOut() {
+        inserter.insert(List.of(task(1L, "CASE-1")), ACCEPTED);
+        jdbcTemplate.update("update task set title = 'Changed since' where id = 1");
+
+        Set<Long> inserted = inserter.insert(List.of(task(1L, "CASE-1"), task(2L, "CASE-2")), ACCEPTED);
+
+        assertEquals(Set.of(2L), inserted);
+        assertEquals("Changed since", jdbcTemplate.queryForObject("select title from task where id = 1", String.class));
+    }
+
+    @Test
+    void caseNumberAlreadyTakenFailsTheWholeBatch() {
+        inserter.insert(List.of(task(1L, "CASE-1")), ACCEPTED);
+
+        assertThrows(DataIntegrityViolationException.class,
+                     () -> inserter.insert(List.of(task(2L, "CASE-2"), task(3L, "CASE-1")), ACCEPTED));
+        assertEquals(1, count());
+    }
+
+    private int count() {
+        return jdbcTemplate.queryForObject("select count(*) from task", Integer.class);
+    }
+
+    private static PendingTask task(Long id, String caseNumber) {
+        return new PendingTask(id, caseNumber, "Task " + id, null, ACCEPTED.plusDays(1), ACCEPTED);
+    }
+}
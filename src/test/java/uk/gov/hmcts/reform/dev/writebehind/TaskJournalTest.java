@@ -0,0 +1,86 @@
+package uk.gov.hmcts.reform.dev.writebehind;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class TaskJournalTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+        .registerModule(new JavaTimeModule())
+        .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void replaysOnlyTasksNotMarkedWritten() throws Exception {
+        TaskJournal journal = new TaskJournal(directory, 1 << 20, objectMapper);
+        journal.open();
+        JournaledTask first = journal.append(task(1L));
+        journal.append(task(2L));
+        journal.markWritten(List.of(first));
+        journal.close();
+
+        List<JournaledTask> replayed = new TaskJournal(directory, 1 << 20, objectMapper).open();
+
+        assertEquals(1, replayed.size());
+        assertEquals(2L, replayed.get(0).getTask().getId());
+        assertEquals("CASE-2", replayed.get(0).getTask().getCaseNumber());
+    }
+
+    @Test
+    void deletesSegmentsOnceEverythingInThemIsWritten() throws Exception {
+        // Tiny segments: every append rolls over to a new file
+        TaskJournal journal = new TaskJournal(directory, 1, objectMapper);
+        journal.open();
+        JournaledTask first = journal.append(task(1L));
+        JournaledTask second = journal.append(task(2L));
+        JournaledTask third = journal.append(task(3L));
+        assertEquals(3, journal.segmentCount());
+
+        journal.markWritten(List.of(first, second, third));
+
+        // The current segment is kept for further appends
+        assertEquals(1, journal.segmentCount());
+        journal.close();
+        assertEquals(0, new TaskJournal(directory, 1, objectMapper).open().size());
+    }
+
+    @Test
+    void skipsLineCutShortByACrash() throws Exception {
+        TaskJournal journal = new TaskJournal(directory, 1 << 20, objectMapper);
+        journal.open();
+        journal.append(task(1L));
+        journal.close();
+        try (var files = Files.list(directory)) {
+            Path segment = files.findFirst().orElseThrow();
+            Files.writeString(segment, "{\"accepted\":{\"id\":2,\"caseNu", StandardCharsets.UTF_8,
+                              StandardOpenOption.APPEND);
+        }
+
+        TaskJournal reopened = new TaskJournal(directory, 1 << 20, objectMapper);
+        List<JournaledTask> replayed = reopened.open();
+        assertEquals(1, replayed.size());
+
+        // The written record must not be swallowed by the partial line before it
+        reopened.markWritten(replayed);
+        reopened.close();
+        assertEquals(0, new TaskJournal(directory, 1 << 20, objectMapper).open().size());
+    }
+
+    private static PendingTask task(Long id) {
+        return new PendingTask(id, "CASE-" + id, "Task " + id, null, null, LocalDateTime.now());
+    }
+}
@@ -0,0 +1,248 @@
+package uk.gov.hmcts.reform.dev.writebehind;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentMatchers;
+import org.springframework.dao.DuplicateKeyException;
+import uk.gov.hmcts.reform.dev.cache.TaskCache;
+import uk.gov.hmcts.reform.dev.dto.TaskRequest;
+import uk.gov.hmcts.reform.dev.dto.TaskResponse;
+import uk.gov.hmcts.reform.dev.events.TaskChangeFeed;
+import uk.gov.hmcts.reform.dev.exception.WriteBehindFullException;
+import uk.gov.hmcts.reform.dev.search.TaskSearchIndex;
+import uk.gov.hmcts.reform.dev.service.TaskChangeTracker;
+import uk.gov.hmcts.reform.dev.stats.TaskStatistics;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class WriteBehindTaskWriterTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+        .registerModule(new JavaTimeModule())
+        .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    @TempDir
+    Path directory;
+
+    // The database the inserter stands in for: whether it is up, the ids it already holds, and the ids whose
+    // rows break a constraint
+    private final AtomicBoolean databaseUp = new AtomicBoolean(true);
+    private final Set<Long> rows = ConcurrentHashMap.newKeySet();
+    private final Set<Long> refused = ConcurrentHashMap.newKeySet();
+
+    private PendingTaskInserter inserter;
+    private TaskStatistics statistics;
+    private TaskChangeFeed changeFeed;
+    private WriteBehindProperties properties;
+    private WriteBehindTaskWriter writer;
+
+    @BeforeEach
+    void setUp() {
+        inserter = mock(PendingTaskInserter.class);
+        when(inserter.insert(anyList(), any())).thenAnswer(invocation -> {
+            List<PendingTask> tasks = invocation.getArgument(0);
+            if (!databaseUp.get()) {
+                throw new IllegalStateException("database unavailable");
+            }
+            if (tasks.stream().anyMatch(task -> refused.contains(task.getId()))) {
+                throw new DuplicateKeyException("Duplicate entry for key 'case_number'");
+            }
+            return tasks.stream().map(PendingTask::getId).filter(rows::add).collect(Collectors.toSet());
+        });
+        properties = new WriteBehindProperties();
+        properties.setDirectory(directory);
+        properties.setMaxPending(2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (writer != null && writer.isRunning()) {
+            writer.stop();
+        }
+    }
+
+    @Test
+    void acceptedTaskHasItsIdAndCaseNumberAndIsWrittenInTheBackground() {
+        writer = writer(100);
+        writer.start();
+
+        TaskResponse accepted = writer.accept(request("Intake"));
+
+        assertEquals(100L, accepted.getId());
+        assertEquals("CASE-1", accepted.getCaseNumber());
+        verify(inserter, timeout(5_000)).insert(anyList(), any(LocalDateTime.class));
+        awaitNothingPending();
+        assertTrue(writer.findPending(100L).isEmpty());
+    }
+
+    @Test
+    void refusesBeyondMaxPending() {
+        // The database is down, so accepted tasks stay pending
+        databaseUp.set(false);
+        writer = writer(1);
+        writer.start();
+
+        writer.accept(request("One"));
+        writer.accept(request("Two"));
+
+        assertThrows(WriteBehindFullException.class, () -> writer.accept(request("Three")));
+        assertEquals(2, writer.status().getPending());
+    }
+
+    @Test
+    void replaysUnwrittenTasksAfterRestart() {
+        // The database is down for the first run, so nothing gets written before the restart
+        databaseUp.set(false);
+        writer = writer(7);
+        writer.start();
+        writer.accept(request("Survives restart"));
+        writer.stop();
+
+        clearInvocations(inserter);
+        databaseUp.set(true);
+        writer = writer(50);
+        writer.start();
+
+        awaitNothingPending();
+        verify(inserter, timeout(5_000)).insert(
+            ArgumentMatchers.<List<PendingTask>>argThat(tasks -> tasks.size() == 1
+                && tasks.get(0).getId() == 7L && "Survives restart".equals(tasks.get(0).getTitle())),
+            any(LocalDateTime.class));
+    }
+
+    @Test
+    void replayedTaskAlreadyWrittenIsNotCountedOrAnnouncedAgain() {
+        // Written before the restart, but the journal never heard: the row is there and the task is replayed
+        databaseUp.set(false);
+        writer = writer(7);
+        writer.start();
+        writer.accept(request("Written before the crash"));
+        writer.stop();
+        rows.add(7L);
+
+        databaseUp.set(true);
+        writer = writer(50);
+        writer.start();
+
+        awaitNothingPending();
+        verify(inserter, atLeastOnce()).insert(anyList(), any());
+        verify(statistics, never()).added(any(), any());
+        verify(changeFeed, never()).publishAfterCommit(anyList());
+    }
+
+    @Test
+    void withdrawnTaskIsNeverWritten() {
+        databaseUp.set(false);
+        writer = writer(100);
+        writer.start();
+        writer.accept(request("Deleted before it was written"));
+
+        assertEquals(Set.of(100L), writer.withdraw(List.of(100L, 999L)));
+        assertTrue(writer.findPending(100L).isEmpty());
+        assertEquals(0, writer.status().getPending());
+
+        databaseUp.set(true);
+        writer.accept(request("Kept"));
+        awaitNothingPending();
+        writer.stop();
+
+        assertEquals(Set.of(101L), rows);
+        // Nor is it brought back by a restart
+        writer = writer(200);
+        writer.start();
+        assertEquals(0, writer.status().getPending());
+    }
+
+    @Test
+    void writtenTaskCannotBeWithdrawn() {
+        writer = writer(100);
+        writer.start();
+        writer.accept(request("Already written"));
+        awaitNothingPending();
+
+        assertTrue(writer.withdraw(List.of(100L)).isEmpty());
+    }
+
+    @Test
+    void taskRefusedByTheDatabaseIsSetAsideWithoutHoldingUpTheOthers() {
+        databaseUp.set(false);
+        writer = writer(100);
+        writer.start();
+        writer.accept(request("Clashing case number"));
+        writer.accept(request("Fine"));
+        writer.stop();
+
+        // Replayed together as one batch, in which only the first breaks a constraint
+        databaseUp.set(true);
+        refused.add(100L);
+        writer = writer(200);
+        writer.start();
+
+        awaitNothingPending();
+        assertEquals(Set.of(101L), rows);
+        assertEquals(1, writer.status().getRejected());
+        verify(statistics).added(any(), any());
+
+        // Still in the journal, so the next start tries it again
+        writer.stop();
+        refused.clear();
+        writer = writer(300);
+        writer.start();
+        awaitNothingPending();
+        assertEquals(Set.of(100L, 101L), rows);
+        assertEquals(0, writer.status().getRejected());
+    }
+
+    private WriteBehindTaskWriter writer(long firstId) {
+        AtomicLong ids = new AtomicLong(firstId);
+        AtomicLong caseNumbers = new AtomicLong(1);
+        TaskJournal journal = new TaskJournal(directory, properties.getSegmentSize().toBytes(), objectMapper);
+        statistics = mock(TaskStatistics.class);
+        changeFeed = mock(TaskChangeFeed.class);
+        return new WriteBehindTaskWriter(properties, journal, ids::getAndIncrement,
+                                         () -> "CASE-" + caseNumbers.getAndIncrement(),
+                                         inserter, mock(TaskCache.class), mock(TaskChangeTracker.class),
+                                         changeFeed, mock(TaskSearchIndex.class), statistics,
+                                         new SimpleMeterRegistry());
+    }
+
+    private void awaitNothingPending() {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (writer.status().getPending() > 0 && System.currentTimeMillis() < deadline) {
+            Thread.onSpinWait();
+        }
+        assertEquals(0, writer.status().getPending());
+    }
+
+    private static TaskRequest request(String title) {
+        TaskRequest request = new TaskRequest();
+        request.setTitle(title);
+        return request;
+    }
+}